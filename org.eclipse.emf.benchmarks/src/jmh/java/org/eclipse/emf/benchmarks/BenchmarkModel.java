@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   Eclipse contributors - Initial API and implementation
+ */
+package org.eclipse.emf.benchmarks;
+
+
+import java.util.HashMap;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMIResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+
+
+/**
+ * The fixture of the XMI benchmarks.
+ * <p>
+ * The model is {@link ModelGenerator generated} with the default parameters, a fanout of {@value #FANOUT} and ID addressing,
+ * so that the document contains same-document IDREFs.
+ * The containment depth is chosen so that a model has about the requested number of objects.
+ * </p>
+ */
+public final class BenchmarkModel
+{
+  public static final int FANOUT = 10;
+
+  private final ModelGenerator generator;
+
+  private final EPackage ePackage;
+
+  public BenchmarkModel(int size)
+  {
+    generator = new ModelGenerator();
+    generator.setAddressing(ModelGenerator.Addressing.ID);
+    generator.setContainmentFanout(FANOUT);
+    generator.setContainmentDepth((int)Math.round(Math.log10(Math.max(1, size))));
+    ePackage = generator.generatePackage();
+  }
+
+  public EPackage getEPackage()
+  {
+    return ePackage;
+  }
+
+  /**
+   * Returns a new resource set in which the fixture package and the XMI resource factory are registered.
+   */
+  public ResourceSet createResourceSet()
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+    return resourceSet;
+  }
+
+  /**
+   * Returns a new, empty XMI resource in a new resource set.
+   * The resource maintains an intrinsic ID map so that resolving IDREFs during load does not always walk the whole tree.
+   */
+  public XMIResource createResource()
+  {
+    XMIResourceImpl resource = new XMIResourceImpl(URI.createURI("benchmark.xmi"));
+    resource.setIntrinsicIDToEObjectMap(new HashMap<String, EObject>());
+    createResourceSet().getResources().add(resource);
+    return resource;
+  }
+
+  /**
+   * Returns a new, generated resource.
+   */
+  public XMIResource createPopulatedResource()
+  {
+    return (XMIResource)generator.generate(createResourceSet()).get(0);
+  }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   Eclipse contributors - Initial API and implementation
+ */
+package org.eclipse.emf.benchmarks;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.xmi.XMIResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+
+/**
+ * Measures {@link XMIResource#load(java.io.InputStream, Map)} of a document with about <code>size</code> objects
+ * for each {@link XMIOptionSet option set} that affects loading.
+ * The document is serialized once per trial and parsed from memory, so the file system is not measured.
+ * <p>
+ * Note that unless IDREF resolution is deferred, a reference to an object whose ID is not yet known to the resource
+ * walks the whole content tree, so the larger sizes are only practical for the option sets that defer it.
+ * The default sizes therefore stop at one million objects;
+ * larger sizes are opt-in, e.g., <code>-PjmhIncludes=XMILoad -PjmhSizes=10000000</code>, best combined with an option set that defers IDREF resolution.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class XMILoadBenchmark
+{
+  @Param({ "1000", "10000", "100000", "1000000" })
+  public int size;
+
+  @Param({ "DEFAULT", "PARSER_POOL", "XML_NAME_TO_FEATURE_MAP", "DEFER_IDREF_RESOLUTION", "CONFIGURATION_CACHE", "ALL", "STAX" })
+  public XMIOptionSet optionSet;
+
+  private BenchmarkModel model;
+
+  private byte[] document;
+
+  private Map<Object, Object> options;
+
+  @Setup
+  public void setUp() throws IOException
+  {
+    model = new BenchmarkModel(size);
+    XMIResource resource = model.createPopulatedResource();
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, null);
+    document = outputStream.toByteArray();
+    options = optionSet.createLoadOptions();
+  }
+
+  @Benchmark
+  public XMIResource load() throws IOException
+  {
+    XMIResource resource = model.createResource();
+    resource.load(new ByteArrayInputStream(document), options);
+    return resource;
+  }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   Eclipse contributors - Initial API and implementation
+ */
+package org.eclipse.emf.benchmarks;
+
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+
+
+/**
+ * The combinations of XML resource options measured by the benchmarks.
+ * <p>
+ * Several of these options carry caches, e.g., a parser pool or a name to feature map,
+ * whose benefit shows only when they are reused,
+ * so a benchmark should create its options once per trial and pass the same maps to every invocation.
+ * </p>
+ */
+public enum XMIOptionSet
+{
+  /**
+   * No option at all.
+   */
+  DEFAULT,
+
+  /**
+   * {@link XMLResource#OPTION_USE_PARSER_POOL}.
+   */
+  PARSER_POOL,
+
+  /**
+   * {@link XMLResource#OPTION_USE_XML_NAME_TO_FEATURE_MAP}.
+   */
+  XML_NAME_TO_FEATURE_MAP,
+
+  /**
+   * {@link XMLResource#OPTION_DEFER_IDREF_RESOLUTION}.
+   */
+  DEFER_IDREF_RESOLUTION,
+
+  /**
+   * {@link XMLResource#OPTION_CONFIGURATION_CACHE}.
+   */
+  CONFIGURATION_CACHE,
+
+  /**
+   * {@link XMLResource#OPTION_USE_CACHED_LOOKUP_TABLE}.
+   */
+  CACHED_LOOKUP_TABLE,
+
+  /**
+   * All of the above.
+   */
+  ALL,
+
+  /**
+   * {@link XMLResource#OPTION_PARALLEL_SAVE} with the common pool;
+   * it's not included in {@link #ALL} because it changes how many threads are measured.
+   */
+  PARALLEL_SAVE,
+
+  /**
+   * {@link XMLResource#OPTION_USE_STAX};
+   * it's not included in {@link #ALL} because it replaces the parser measured by the other option sets.
+   */
+  STAX;
+
+  /**
+   * Returns new load options for this option set.
+   */
+  public Map<Object, Object> createLoadOptions()
+  {
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    if (this == PARSER_POOL || this == ALL)
+    {
+      options.put(XMLResource.OPTION_USE_PARSER_POOL, new XMLParserPoolImpl());
+    }
+    if (this == XML_NAME_TO_FEATURE_MAP || this == ALL)
+    {
+      options.put(XMLResource.OPTION_USE_XML_NAME_TO_FEATURE_MAP, new HashMap<Object, Object>());
+    }
+    if (this == DEFER_IDREF_RESOLUTION || this == ALL)
+    {
+      options.put(XMLResource.OPTION_DEFER_IDREF_RESOLUTION, Boolean.TRUE);
+    }
+    if (this == CONFIGURATION_CACHE || this == ALL)
+    {
+      options.put(XMLResource.OPTION_CONFIGURATION_CACHE, Boolean.TRUE);
+    }
+    if (this == STAX)
+    {
+      options.put(XMLResource.OPTION_USE_STAX, Boolean.TRUE);
+    }
+    return options;
+  }
+
+  /**
+   * Returns new save options for this option set.
+   */
+  public Map<Object, Object> createSaveOptions()
+  {
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    if (this == CONFIGURATION_CACHE || this == ALL)
+    {
+      options.put(XMLResource.OPTION_CONFIGURATION_CACHE, Boolean.TRUE);
+    }
+    if (this == CACHED_LOOKUP_TABLE || this == ALL)
+    {
+      options.put(XMLResource.OPTION_USE_CACHED_LOOKUP_TABLE, new ArrayList<Object>());
+    }
+    if (this == PARALLEL_SAVE)
+    {
+      options.put(XMLResource.OPTION_PARALLEL_SAVE, Boolean.TRUE);
+    }
+    return options;
+  }
+}
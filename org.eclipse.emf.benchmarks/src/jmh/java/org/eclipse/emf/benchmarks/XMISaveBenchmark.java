@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   Eclipse contributors - Initial API and implementation
+ */
+package org.eclipse.emf.benchmarks;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.xmi.XMIResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+
+/**
+ * Measures {@link XMIResource#save(OutputStream, Map)} of a resource with about <code>size</code> objects
+ * for each {@link XMIOptionSet option set} that affects saving.
+ * The output is discarded, so the file system is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class XMISaveBenchmark
+{
+  @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+  public int size;
+
+  @Param({ "DEFAULT", "CONFIGURATION_CACHE", "CACHED_LOOKUP_TABLE", "ALL", "PARALLEL_SAVE" })
+  public XMIOptionSet optionSet;
+
+  private XMIResource resource;
+
+  private Map<Object, Object> options;
+
+  @Setup
+  public void setUp()
+  {
+    resource = new BenchmarkModel(size).createPopulatedResource();
+    options = optionSet.createSaveOptions();
+  }
+
+  @Benchmark
+  public void save() throws IOException
+  {
+    resource.save(OutputStream.nullOutputStream(), options);
+  }
+}
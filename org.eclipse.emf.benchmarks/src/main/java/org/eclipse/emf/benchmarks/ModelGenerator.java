@@ -0,0 +1,587 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   Eclipse contributors - Initial API and implementation
+ */
+package org.eclipse.emf.benchmarks;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.DynamicEObjectImpl;
+import org.eclipse.emf.ecore.impl.EFactoryImpl;
+import org.eclipse.emf.ecore.impl.MinimalEObjectImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+
+
+/**
+ * A generator of synthetic dynamic models for reproducible performance fixtures.
+ * <p>
+ * The {@link #generatePackage() generated package} has an abstract <code>Element</code> class
+ * with a <code>children</code> containment and a <code>links</code> cross reference,
+ * and, if {@link Addressing#ID ID addressing} is used, an <code>id</code> attribute.
+ * The {@link #setEClassCount(int) concrete classes} are arranged in inheritance chains of the {@link #setInheritanceDepth(int) specified depth}
+ * rooted at <code>Element</code>,
+ * and each class declares {@link #setAttributeCount(int) attributes} of mixed primitive types
+ * and {@link #setReferenceCount(int) cross references} of mixed multiplicity.
+ * </p>
+ * <p>
+ * {@link #generate(ResourceSet)} fills each {@link #setResourceCount(int) resource} with one containment tree
+ * of the {@link #setContainmentFanout(int) specified fanout} and {@link #setContainmentDepth(int) depth},
+ * sets every attribute, points every cross reference at an object of the same resource,
+ * and finally adds the {@link #setCrossResourceReferenceCount(int) specified number} of <code>links</code> to objects of other resources.
+ * </p>
+ * <p>
+ * Everything is derived from the {@link #setSeed(long) seed},
+ * so two generators with the same parameters produce the same package and the same models.
+ * </p>
+ */
+public class ModelGenerator
+{
+  /**
+   * The implementation class of the generated objects.
+   */
+  public enum ObjectKind
+  {
+    /**
+     * {@link DynamicEObjectImpl}.
+     */
+    DYNAMIC,
+
+    /**
+     * {@link MinimalEObjectImpl.Container.Dynamic}.
+     */
+    MINIMAL
+  }
+
+  /**
+   * How references to the generated objects are addressed.
+   */
+  public enum Addressing
+  {
+    /**
+     * The fragment path of the object, e.g., <code>//@children.3/@children.1</code>.
+     */
+    FRAGMENT_PATH,
+
+    /**
+     * The value of an {@link EAttribute#isID() ID attribute}.
+     */
+    ID
+  }
+
+  public static final String DEFAULT_NS_URI = "http://www.eclipse.org/emf/benchmarks/generated";
+
+  private static final EDataType [] ATTRIBUTE_TYPES =
+    {
+      EcorePackage.Literals.ESTRING,
+      EcorePackage.Literals.EINT,
+      EcorePackage.Literals.ELONG,
+      EcorePackage.Literals.EDOUBLE,
+      EcorePackage.Literals.EBOOLEAN
+    };
+
+  protected long seed;
+
+  protected int eClassCount = 10;
+
+  protected int inheritanceDepth = 2;
+
+  protected int attributeCount = 4;
+
+  protected int referenceCount = 2;
+
+  protected int containmentFanout = 10;
+
+  protected int containmentDepth = 3;
+
+  protected int resourceCount = 1;
+
+  protected int crossResourceReferenceCount;
+
+  protected Addressing addressing = Addressing.FRAGMENT_PATH;
+
+  protected ObjectKind objectKind = ObjectKind.DYNAMIC;
+
+  protected String nsURI = DEFAULT_NS_URI;
+
+  protected URI baseURI = URI.createURI("generated");
+
+  protected String fileExtension = "xmi";
+
+  protected EPackage ePackage;
+
+  protected EClass elementClass;
+
+  protected EAttribute idAttribute;
+
+  protected EReference childrenReference;
+
+  protected EReference linksReference;
+
+  protected List<EClass> concreteClasses;
+
+  public ModelGenerator()
+  {
+    super();
+  }
+
+  public long getSeed()
+  {
+    return seed;
+  }
+
+  /**
+   * Sets the seed from which the package and the models are derived.
+   */
+  public void setSeed(long seed)
+  {
+    this.seed = seed;
+    ePackage = null;
+  }
+
+  public int getEClassCount()
+  {
+    return eClassCount;
+  }
+
+  /**
+   * Sets the number of concrete classes, in addition to the abstract <code>Element</code> class.
+   */
+  public void setEClassCount(int eClassCount)
+  {
+    this.eClassCount = Math.max(1, eClassCount);
+    ePackage = null;
+  }
+
+  public int getInheritanceDepth()
+  {
+    return inheritanceDepth;
+  }
+
+  /**
+   * Sets the length of the chains of classes inheriting from each other below <code>Element</code>.
+   * A depth of 1 makes every class a direct subclass of <code>Element</code>.
+   */
+  public void setInheritanceDepth(int inheritanceDepth)
+  {
+    this.inheritanceDepth = Math.max(1, inheritanceDepth);
+    ePackage = null;
+  }
+
+  public int getAttributeCount()
+  {
+    return attributeCount;
+  }
+
+  /**
+   * Sets the number of attributes declared by each class.
+   * The types cycle through <code>EString</code>, <code>EInt</code>, <code>ELong</code>, <code>EDouble</code> and <code>EBoolean</code>
+   * from a random starting point.
+   */
+  public void setAttributeCount(int attributeCount)
+  {
+    this.attributeCount = Math.max(0, attributeCount);
+    ePackage = null;
+  }
+
+  public int getReferenceCount()
+  {
+    return referenceCount;
+  }
+
+  /**
+   * Sets the number of cross references, randomly single or many-valued, declared by each class.
+   */
+  public void setReferenceCount(int referenceCount)
+  {
+    this.referenceCount = Math.max(0, referenceCount);
+    ePackage = null;
+  }
+
+  public int getContainmentFanout()
+  {
+    return containmentFanout;
+  }
+
+  /**
+   * Sets the number of children of each object that is not a leaf.
+   */
+  public void setContainmentFanout(int containmentFanout)
+  {
+    this.containmentFanout = Math.max(0, containmentFanout);
+  }
+
+  public int getContainmentDepth()
+  {
+    return containmentDepth;
+  }
+
+  /**
+   * Sets the number of levels below the root object of each resource.
+   */
+  public void setContainmentDepth(int containmentDepth)
+  {
+    this.containmentDepth = Math.max(0, containmentDepth);
+  }
+
+  public int getResourceCount()
+  {
+    return resourceCount;
+  }
+
+  public void setResourceCount(int resourceCount)
+  {
+    this.resourceCount = Math.max(1, resourceCount);
+  }
+
+  public int getCrossResourceReferenceCount()
+  {
+    return crossResourceReferenceCount;
+  }
+
+  /**
+   * Sets the total number of references from an object of one resource to an object of another resource.
+   * They are ignored if there is only one resource.
+   */
+  public void setCrossResourceReferenceCount(int crossResourceReferenceCount)
+  {
+    this.crossResourceReferenceCount = Math.max(0, crossResourceReferenceCount);
+  }
+
+  public Addressing getAddressing()
+  {
+    return addressing;
+  }
+
+  public void setAddressing(Addressing addressing)
+  {
+    this.addressing = addressing;
+    ePackage = null;
+  }
+
+  public ObjectKind getObjectKind()
+  {
+    return objectKind;
+  }
+
+  public void setObjectKind(ObjectKind objectKind)
+  {
+    this.objectKind = objectKind;
+    ePackage = null;
+  }
+
+  public String getNsURI()
+  {
+    return nsURI;
+  }
+
+  public void setNsURI(String nsURI)
+  {
+    this.nsURI = nsURI;
+    ePackage = null;
+  }
+
+  public URI getBaseURI()
+  {
+    return baseURI;
+  }
+
+  /**
+   * Sets the URI to which the segments <code>model&lt;i>.&lt;extension></code> of the resource URIs are appended.
+   */
+  public void setBaseURI(URI baseURI)
+  {
+    this.baseURI = baseURI;
+  }
+
+  public String getFileExtension()
+  {
+    return fileExtension;
+  }
+
+  public void setFileExtension(String fileExtension)
+  {
+    this.fileExtension = fileExtension;
+  }
+
+  /**
+   * Returns the number of objects of each generated resource.
+   */
+  public long getObjectCountPerResource()
+  {
+    long result = 1;
+    long level = 1;
+    for (int i = 0; i < containmentDepth; ++i)
+    {
+      level *= containmentFanout;
+      result += level;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the generated package; it is created once and shared by all the models generated by this generator
+   * until a parameter that affects the package changes.
+   */
+  public EPackage generatePackage()
+  {
+    if (ePackage == null)
+    {
+      createPackage(new Random(seed));
+    }
+    return ePackage;
+  }
+
+  protected void createPackage(Random random)
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+
+    ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("generated");
+    ePackage.setNsPrefix("generated");
+    ePackage.setNsURI(nsURI);
+    if (objectKind == ObjectKind.MINIMAL)
+    {
+      ePackage.setEFactoryInstance(new MinimalEObjectFactory());
+    }
+
+    elementClass = ecoreFactory.createEClass();
+    elementClass.setName("Element");
+    elementClass.setAbstract(true);
+    ePackage.getEClassifiers().add(elementClass);
+
+    if (addressing == Addressing.ID)
+    {
+      idAttribute = createAttribute(elementClass, "id", EcorePackage.Literals.ESTRING);
+      idAttribute.setID(true);
+    }
+    else
+    {
+      idAttribute = null;
+    }
+
+    childrenReference = createReference(elementClass, "children", true);
+    linksReference = createReference(elementClass, "links", true);
+    childrenReference.setContainment(true);
+
+    concreteClasses = new ArrayList<EClass>(eClassCount);
+    for (int i = 0; i < eClassCount; ++i)
+    {
+      EClass eClass = ecoreFactory.createEClass();
+      eClass.setName("Class" + i);
+      eClass.getESuperTypes().add(i % inheritanceDepth == 0 ? elementClass : concreteClasses.get(i - 1));
+      ePackage.getEClassifiers().add(eClass);
+
+      int firstType = random.nextInt(ATTRIBUTE_TYPES.length);
+      for (int j = 0; j < attributeCount; ++j)
+      {
+        createAttribute(eClass, "attribute" + i + "_" + j, ATTRIBUTE_TYPES[(firstType + j) % ATTRIBUTE_TYPES.length]);
+      }
+      for (int j = 0; j < referenceCount; ++j)
+      {
+        createReference(eClass, "reference" + i + "_" + j, random.nextBoolean());
+      }
+
+      concreteClasses.add(eClass);
+    }
+  }
+
+  protected EAttribute createAttribute(EClass eClass, String name, EDataType eDataType)
+  {
+    EAttribute eAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    eAttribute.setName(name);
+    eAttribute.setEType(eDataType);
+    eClass.getEStructuralFeatures().add(eAttribute);
+    return eAttribute;
+  }
+
+  protected EReference createReference(EClass eClass, String name, boolean isMany)
+  {
+    EReference eReference = EcoreFactory.eINSTANCE.createEReference();
+    eReference.setName(name);
+    eReference.setEType(elementClass);
+    eReference.setUpperBound(isMany ? EStructuralFeature.UNBOUNDED_MULTIPLICITY : 1);
+    eClass.getEStructuralFeatures().add(eReference);
+    return eReference;
+  }
+
+  /**
+   * Registers the {@link #generatePackage() generated package} in the resource set's package registry,
+   * and adds the generated resources to the resource set.
+   * The resources are created by the resource set's resource factory registry, if it can,
+   * and are plain {@link ResourceImpl resources} otherwise.
+   * @return the generated resources.
+   */
+  public List<Resource> generate(ResourceSet resourceSet)
+  {
+    EPackage ePackage = generatePackage();
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+
+    Random random = new Random(seed + 1);
+    List<Resource> resources = new ArrayList<Resource>(resourceCount);
+    List<List<EObject>> resourceObjects = new ArrayList<List<EObject>>(resourceCount);
+    for (int i = 0; i < resourceCount; ++i)
+    {
+      URI uri = baseURI.appendSegment("model" + i).appendFileExtension(fileExtension);
+      Resource resource = resourceSet.createResource(uri);
+      if (resource == null)
+      {
+        resource = new ResourceImpl(uri);
+        resourceSet.getResources().add(resource);
+      }
+
+      List<EObject> objects = new ArrayList<EObject>((int)Math.min(Integer.MAX_VALUE - 8, getObjectCountPerResource()));
+      EObject root = createTree(random, i, objects);
+      for (EObject eObject : objects)
+      {
+        setReferences(random, eObject, objects);
+      }
+      resource.getContents().add(root);
+
+      resources.add(resource);
+      resourceObjects.add(objects);
+    }
+
+    if (resourceCount > 1)
+    {
+      for (int i = 0; i < crossResourceReferenceCount; ++i)
+      {
+        int sourceResource = random.nextInt(resourceCount);
+        int targetResource = (sourceResource + 1 + random.nextInt(resourceCount - 1)) % resourceCount;
+        EObject source = pick(random, resourceObjects.get(sourceResource));
+        EObject target = pick(random, resourceObjects.get(targetResource));
+        getList(source, linksReference).add(target);
+      }
+    }
+
+    return resources;
+  }
+
+  protected EObject createTree(Random random, int resourceIndex, List<EObject> objects)
+  {
+    EObject root = createObject(random, resourceIndex, objects);
+    int levelStart = 0;
+    for (int depth = 0; depth < containmentDepth; ++depth)
+    {
+      int levelEnd = objects.size();
+      for (int i = levelStart; i < levelEnd; ++i)
+      {
+        List<EObject> children = getList(objects.get(i), childrenReference);
+        for (int j = 0; j < containmentFanout; ++j)
+        {
+          children.add(createObject(random, resourceIndex, objects));
+        }
+      }
+      levelStart = levelEnd;
+    }
+    return root;
+  }
+
+  protected EObject createObject(Random random, int resourceIndex, List<EObject> objects)
+  {
+    EClass eClass = concreteClasses.get(random.nextInt(concreteClasses.size()));
+    EObject eObject = ePackage.getEFactoryInstance().create(eClass);
+    if (idAttribute != null)
+    {
+      eObject.eSet(idAttribute, "r" + resourceIndex + "_" + objects.size());
+    }
+    for (EAttribute eAttribute : eClass.getEAllAttributes())
+    {
+      if (eAttribute != idAttribute)
+      {
+        eObject.eSet(eAttribute, createValue(random, eAttribute.getEAttributeType()));
+      }
+    }
+    objects.add(eObject);
+    return eObject;
+  }
+
+  protected Object createValue(Random random, EDataType eDataType)
+  {
+    switch (eDataType.getClassifierID())
+    {
+      case EcorePackage.EINT:
+      {
+        return random.nextInt();
+      }
+      case EcorePackage.ELONG:
+      {
+        return random.nextLong();
+      }
+      case EcorePackage.EDOUBLE:
+      {
+        return random.nextDouble();
+      }
+      case EcorePackage.EBOOLEAN:
+      {
+        return random.nextBoolean();
+      }
+      default:
+      {
+        return "value" + random.nextInt(1000);
+      }
+    }
+  }
+
+  protected void setReferences(Random random, EObject eObject, List<EObject> objects)
+  {
+    for (EReference eReference : eObject.eClass().getEAllReferences())
+    {
+      if (eReference != childrenReference && eReference != linksReference)
+      {
+        EObject target = pick(random, objects);
+        if (eReference.isMany())
+        {
+          getList(eObject, eReference).add(target);
+        }
+        else
+        {
+          eObject.eSet(eReference, target);
+        }
+      }
+    }
+  }
+
+  protected EObject pick(Random random, List<EObject> objects)
+  {
+    return objects.get(random.nextInt(objects.size()));
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<EObject> getList(EObject eObject, EReference eReference)
+  {
+    return (List<EObject>)eObject.eGet(eReference);
+  }
+
+  /**
+   * A factory that creates {@link MinimalEObjectImpl.Container.Dynamic} instances.
+   */
+  protected static class MinimalEObjectFactory extends EFactoryImpl
+  {
+    @Override
+    protected EObject basicCreate(EClass eClass)
+    {
+      return new MinimalEObjectImpl.Container.Dynamic(eClass);
+    }
+  }
+}
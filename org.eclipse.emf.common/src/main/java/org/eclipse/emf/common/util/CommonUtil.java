@@ -1240,18 +1240,9 @@ public final class CommonUtil
       @Override
       public void clear()
       {
-        // Gain exclusive write access and then clear the entry from the pool. 
+        // Clear the entry from the pool without blocking.
         //
-        StringPool pool = this.pool;
-        pool.writeLock.lock();
-        try
-        {
-          clear(pool);
-        }
-        finally
-        {
-          pool.writeLock.unlock();
-        }
+        pool.clearEntry(this);
       }
     }
 
@@ -11,6 +11,7 @@ import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -20,6 +21,9 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * All access is thread safe, guarded with a shared {@link #getReadLock() read} lock and an exclusive {@link #getWriteLock()} lock
  * to support multiple simultaneous readers while ensuring that writes are properly serial.
  * The locks are held for the minimal period to allow maximal concurrency.
+ * In particular, looking up a value that's already in the pool doesn't lock,
+ * and entries whose values are garbage collected are {@link #clearEntry(Entry) cleared} in batches by whichever thread next holds the write lock,
+ * so clearing never blocks.
  * Removals, i.e., {@link #remove(Object) remove}, {@link #removeAll(Collection) removeAll}, {@link #clear() clear}, and {@link #retainAll(Collection) retainAll}, are not supported.
  * 
  * @since 2.9
@@ -411,6 +415,12 @@ public class Pool<E> extends WeakInterningHashSet<E>
 
   protected final AccessUnit.Queue<E> primaryAccessUnits;
 
+  /**
+   * The entries {@link #clearEntry(Entry) cleared} since the write lock was last held.
+   * @since 2.33
+   */
+  protected final ConcurrentLinkedQueue<Entry<E>> clearedEntries = new ConcurrentLinkedQueue<Entry<E>>();
+
   /**
    * Creates an instance with a capacity of 1031.
    */
@@ -552,6 +562,8 @@ public class Pool<E> extends WeakInterningHashSet<E>
               ++pool.modCount;
             }
           }
+
+          pool.removeClearedEntries();
         }
         finally
         {
@@ -617,17 +629,48 @@ public class Pool<E> extends WeakInterningHashSet<E>
     @Override
     public void clear()
     {
-      Pool<E> pool = this.pool;
-      pool.writeLock.lock();
+      pool.clearEntry(this);
+    }
+  }
+
+  /**
+   * Removes an entry whose value has been garbage collected, without blocking.
+   * If the write lock is available, the entry is removed immediately;
+   * otherwise it's queued and the next thread to acquire the write lock removes it.
+   * Until then, the entry remains in the pool, but its <code>null</code> value is ignored by all accesses.
+   * @since 2.33
+   */
+  protected void clearEntry(Entry<E> entry)
+  {
+    if (writeLock.tryLock())
+    {
       try
       {
-        clear(pool);
+        entry.clear(this);
+        removeClearedEntries();
       }
       finally
       {
-        pool.writeLock.unlock();
+        writeLock.unlock();
       }
     }
+    else
+    {
+      clearedEntries.add(entry);
+    }
+  }
+
+  /**
+   * Removes each {@link #clearEntry(Entry) cleared} entry from the pool.
+   * The write lock must be held.
+   * @since 2.33
+   */
+  protected final void removeClearedEntries()
+  {
+    for (Entry<E> entry = clearedEntries.poll(); entry != null; entry = clearedEntries.poll())
+    {
+      entry.clear(this);
+    }
   }
 
   @Override
@@ -741,6 +784,10 @@ public class Pool<E> extends WeakInterningHashSet<E>
     }
     try
     {
+      // Remove entries cleared while other threads held the lock.
+      //
+      removeClearedEntries();
+
       // We need to double check whether or not another thread has added the value since we originally checked while holding the shared read lock or no lock at all.
       //
       int hashCode = accessUnit.hashCode;
@@ -798,6 +845,7 @@ public class Pool<E> extends WeakInterningHashSet<E>
 
       // Perform any necessary garbage collection.
       //
+      removeClearedEntries();
       doCleanup();
     }
     finally
@@ -833,6 +881,7 @@ public class Pool<E> extends WeakInterningHashSet<E>
 
       // Grow the capacity.
       //
+      removeClearedEntries();
       super.grow(minimumCapacity);
     }
     finally
@@ -679,11 +679,11 @@ public abstract class URI
         URI resultURI;
         if (hasExpectedHashCode)
         {
-          resultURI = pool.intern(true, true, scheme, authority, device, absolutePath, segments, query, hashCode);
+          resultURI = pool.intern(false, true, scheme, authority, device, absolutePath, segments, query, hashCode);
         }
         else
         {
-          resultURI = pool.intern(true, URIPool.URIComponentsAccessUnit.VALIDATE_NONE, true, scheme, authority, device, absolutePath, segments, query);
+          resultURI = pool.intern(false, URIPool.URIComponentsAccessUnit.VALIDATE_NONE, true, scheme, authority, device, absolutePath, segments, query);
 
           // If something tries to add an entry for this access unit, we'd better be sure that the hash code is that of the transformed URI.
           //
@@ -1932,22 +1932,22 @@ public abstract class URI
           }
         }
 
-        writeLock.lock();
+        // Parse without holding the write lock;
+        // the components are interned via the usual double checked access,
+        // so only the final addition of a new URI holds the write lock.
+        //
+        StringAccessUnit accessUnit = stringAccessUnits.pop(false);
         try
         {
-          StringAccessUnit accessUnit = stringAccessUnits.pop(true);
           accessUnit.setValue(string, hashCode);
 
           // The implementation returns an internalized value that's already pooled as a side effect.
           //
-          URI result = accessUnit.getInternalizedValue();
-
-          accessUnit.reset(true);
-          return result;
+          return accessUnit.getInternalizedValue();
         }
         finally
         {
-          writeLock.unlock();
+          accessUnit.reset(false);
         }
       }
     }
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.common.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A scoped, thread safe interning arena for URIs,
+ * typically shared by all the loads of a resource set or used for a single load.
+ * <p>
+ * {@link URI#createURI(String) URI.createURI} interns each URI with a fragment by enqueuing a weak reference for the {@link URI global pool}'s cleaner thread,
+ * which becomes significant overhead for the many short lived fragment URIs produced while loading proxies.
+ * An arena instead holds each URI it creates strongly, without any weak reference or reference queue,
+ * so that the same string always yields the same URI instance until the arena is {@link #clear() cleared} or simply dropped.
+ * Only the URIs without a fragment are interned in the global pool,
+ * so the URIs created by an arena are {@link URI#equals(Object) equal} to, and hash like, the corresponding URIs created by {@link URI#createURI(String) URI.createURI}.
+ * </p>
+ *
+ * @since 2.33
+ */
+public class URIArena
+{
+  /**
+   * The map from each string without a fragment to its URI.
+   */
+  protected final ConcurrentMap<String, URI> baseURIs = new ConcurrentHashMap<String, URI>();
+
+  /**
+   * The map from each URI without a fragment to the map from each fragment to the URI with that fragment.
+   */
+  protected final ConcurrentMap<URI, ConcurrentMap<String, URI>> fragmentURIs = new ConcurrentHashMap<URI, ConcurrentMap<String, URI>>();
+
+  /**
+   * Creates an empty arena.
+   */
+  public URIArena()
+  {
+    super();
+  }
+
+  /**
+   * Returns the URI for the given string, as {@link URI#createURI(String) URI.createURI} would,
+   * creating it only if this arena doesn't already hold it.
+   * @param uri the string representation of a URI.
+   * @return the URI for the given string.
+   */
+  public URI createURI(String uri)
+  {
+    int index = uri.indexOf(URI.FRAGMENT_SEPARATOR);
+    return
+      index == -1 ?
+        getBaseURI(uri) :
+        appendFragment(getBaseURI(uri.substring(0, index)), uri.substring(index + 1));
+  }
+
+  /**
+   * Returns the URI formed by appending the fragment to the URI, as {@link URI#appendFragment(String) appendFragment} would,
+   * creating it only if this arena doesn't already hold it.
+   * @param uri a URI.
+   * @param fragment the fragment to append, or <code>null</code>.
+   * @return the URI with the given fragment.
+   */
+  public URI appendFragment(URI uri, String fragment)
+  {
+    if (fragment == null)
+    {
+      return uri;
+    }
+
+    URI baseURI = uri.trimFragment();
+    ConcurrentMap<String, URI> uris = fragmentURIs.get(baseURI);
+    if (uris == null)
+    {
+      uris = new ConcurrentHashMap<String, URI>();
+      ConcurrentMap<String, URI> otherURIs = fragmentURIs.putIfAbsent(baseURI, uris);
+      if (otherURIs != null)
+      {
+        uris = otherURIs;
+      }
+    }
+
+    URI result = uris.get(fragment);
+    if (result == null)
+    {
+      // The fragment is held as is rather than split and interned in the global string pool.
+      //
+      result = baseURI.rawAppendFragment(fragment);
+      URI otherResult = uris.putIfAbsent(fragment, result);
+      if (otherResult != null)
+      {
+        result = otherResult;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the URI, without a fragment, for the given string.
+   * @param uri the string representation of a URI without a fragment.
+   * @return the URI for the given string.
+   */
+  protected URI getBaseURI(String uri)
+  {
+    URI result = baseURIs.get(uri);
+    if (result == null)
+    {
+      result = URI.createURI(uri);
+      baseURIs.putIfAbsent(uri, result);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of URIs with a fragment held by this arena.
+   * @return the number of URIs with a fragment held by this arena.
+   */
+  public int size()
+  {
+    int result = 0;
+    for (ConcurrentMap<String, URI> uris : fragmentURIs.values())
+    {
+      result += uris.size();
+    }
+    return result;
+  }
+
+  /**
+   * Releases all the URIs held by this arena.
+   */
+  public void clear()
+  {
+    fragmentURIs.clear();
+    baseURIs.clear();
+  }
+}
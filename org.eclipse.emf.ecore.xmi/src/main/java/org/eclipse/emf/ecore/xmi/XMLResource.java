@@ -56,6 +56,12 @@ public interface XMLResource extends Resource
    * This option can significantly improve performance for deserialization (loading) of multiple XML resources
    * which are based on the same model (XML Schema or Ecore).
    * </p>
+   * <p>
+   * If resources are loaded concurrently with the same map,
+   * e.g., by {@link org.eclipse.emf.ecore.resource.impl.ResourceSetImpl#loadAll(java.util.Collection, Map, java.util.concurrent.Executor) loadAll},
+   * the map must support concurrent use, e.g., a {@link java.util.Collections#synchronizedMap(Map) synchronized map}.
+   * Note that the map may contain <code>null</code> values.
+   * </p>
    * @see org.eclipse.emf.ecore.EClass
    * @see org.eclipse.emf.ecore.EStructuralFeature
    */
@@ -558,6 +564,42 @@ public interface XMLResource extends Resource
    */
   String OPTION_MISSING_PACKAGE_HANDLER = "MISSING_PACKAGE_HANDLER";
 
+  /**
+   * A save option that when set to Boolean.TRUE directs the serializer to write each element to the output as soon as it is complete,
+   * rather than to build the whole document in memory before writing it.
+   * The namespace declarations and schema locations of the root element are computed by a first pass over the contents that produces no output,
+   * so the memory used is bounded independently of the size of the document, at the cost of traversing the contents twice.
+   * This option takes precedence over {@link #OPTION_USE_FILE_BUFFER}; it has no effect when saving to a DOM {@link Document}.
+   * The default value is false.
+   * @since 2.33
+   */
+  String OPTION_STREAMING_SAVE = "STREAMING_SAVE";
+
+  /**
+   * A save option that when set to Boolean.TRUE, or to a {@link java.util.concurrent.ForkJoinPool fork-join pool}, 
+   * directs the serializer to save the subtrees of wide containment lists, and of the top objects, concurrently.
+   * When set to Boolean.TRUE, the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool} is used.
+   * Each subtree is serialized into a separate segment by a separate serializer, and the segments are joined in document order;
+   * a segment whose namespace prefixes don't match those the sequential serializer would allocate is serialized again sequentially,
+   * so the result is always identical to that of a sequential save.
+   * The contents and their meta data must not be modified during the save, and must be safe to read concurrently.
+   * The option has no effect when saving to a DOM {@link Document},
+   * nor in combination with {@link #OPTION_EXTENDED_META_DATA}, {@link #OPTION_XML_MAP}, {@link #OPTION_ELEMENT_HANDLER}, or {@link #OPTION_RESOURCE_ENTITY_HANDLER}.
+   * The default value is false.
+   * @since 2.33
+   */
+  String OPTION_PARALLEL_SAVE = "PARALLEL_SAVE";
+
+  /**
+   * A load option that when set to Boolean.TRUE directs the deserializer to read the document with a StAX {@link javax.xml.stream.XMLStreamReader} rather than with a SAX parser.
+   * The reader drives the same {@link XMLDefaultHandler handler}, so the {@link XMLHelper helper} and any handler specializations apply unchanged;
+   * attribute values are read directly from the reader and character data is passed to the handler directly from the reader's buffer.
+   * The option is ignored in combination with {@link #OPTION_USE_LEXICAL_HANDLER}, {@link #OPTION_PARSER_FEATURES}, or {@link #OPTION_PARSER_PROPERTIES}, which are specific to SAX.
+   * The default value is false.
+   * @since 2.33
+   */
+  String OPTION_USE_STAX = "USE_STAX";
+
   String HREF = "href";
   String NIL = "nil";
   String TYPE = "type";
@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   Eclipse contributors - Initial API and implementation
+ */
+package org.eclipse.emf.ecore.xmi.impl;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * A writer that encodes characters directly into a reusable byte buffer for UTF-8 and ASCII,
+ * without the overhead of a general purpose {@link java.nio.charset.CharsetEncoder charset encoder}.
+ * <p>
+ * For UTF-8, the bytes are the same as those produced by an {@link java.io.OutputStreamWriter};
+ * in particular a malformed surrogate is replaced by <code>'?'</code>.
+ * For ASCII, each character is truncated to its low byte,
+ * the same as {@link StringSegment#writeAscii(OutputStream, int)};
+ * the serializer escapes every character that is not ASCII, so this only matters when escaping is disabled.
+ * </p>
+ * @since 2.33
+ */
+public class EncodingWriter extends Writer
+{
+  protected static final int BUFFER_SIZE = 8192;
+
+  protected OutputStream outputStream;
+
+  protected boolean isASCII;
+
+  protected byte[] bytes;
+
+  protected int position;
+
+  /**
+   * A high surrogate whose low surrogate has not been written yet, or 0.
+   */
+  protected char highSurrogate;
+
+  /**
+   * Returns whether the Java encoding is UTF-8 or ASCII, i.e., whether it can be handled by an encoding writer.
+   */
+  public static boolean isSupported(String javaEncoding)
+  {
+    try
+    {
+      Charset charset = Charset.forName(javaEncoding);
+      return StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset);
+    }
+    catch (IllegalArgumentException exception)
+    {
+      return false;
+    }
+  }
+
+  /**
+   * Creates an instance that writes to the output stream using the Java encoding,
+   * which must be {@link #isSupported(String) supported}.
+   */
+  public EncodingWriter(OutputStream outputStream, String javaEncoding)
+  {
+    this.outputStream = outputStream;
+    isASCII = StandardCharsets.US_ASCII.equals(Charset.forName(javaEncoding));
+    bytes = new byte [BUFFER_SIZE];
+  }
+
+  @Override
+  public void write(int c) throws IOException
+  {
+    if (position + 4 > bytes.length)
+    {
+      flushBuffer();
+    }
+    encode((char)c);
+  }
+
+  @Override
+  public void write(char[] characters, int offset, int length) throws IOException
+  {
+    byte[] bytes = this.bytes;
+    int end = offset + length;
+    int i = offset;
+    while (i < end)
+    {
+      // Encode a run of ASCII characters with as little checking as possible.
+      //
+      int position = this.position;
+      int limit = Math.min(end, i + bytes.length - position);
+      char c;
+      while (i < limit && (c = characters[i]) < 0x80)
+      {
+        bytes[position++] = (byte)c;
+        ++i;
+      }
+      this.position = position;
+
+      if (i < end)
+      {
+        if (position + 4 > bytes.length)
+        {
+          flushBuffer();
+        }
+        if (i < limit)
+        {
+          encode(characters[i++]);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void write(String string, int offset, int length) throws IOException
+  {
+    byte[] bytes = this.bytes;
+    int end = offset + length;
+    int i = offset;
+    while (i < end)
+    {
+      int position = this.position;
+      int limit = Math.min(end, i + bytes.length - position);
+      char c;
+      while (i < limit && (c = string.charAt(i)) < 0x80)
+      {
+        bytes[position++] = (byte)c;
+        ++i;
+      }
+      this.position = position;
+
+      if (i < end)
+      {
+        if (position + 4 > bytes.length)
+        {
+          flushBuffer();
+        }
+        if (i < limit)
+        {
+          encode(string.charAt(i++));
+        }
+      }
+    }
+  }
+
+  /**
+   * Encodes the character into the buffer, which must have room for at least 4 more bytes.
+   */
+  protected void encode(char c)
+  {
+    byte[] bytes = this.bytes;
+    if (highSurrogate != 0)
+    {
+      char high = highSurrogate;
+      highSurrogate = 0;
+      if (Character.isLowSurrogate(c))
+      {
+        int codePoint = Character.toCodePoint(high, c);
+        bytes[position++] = (byte)(0xF0 | (codePoint >> 18));
+        bytes[position++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+        bytes[position++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+        bytes[position++] = (byte)(0x80 | (codePoint & 0x3F));
+        return;
+      }
+
+      // The unpaired high surrogate is malformed; there's still room for the at most 3 bytes needed to encode c.
+      //
+      bytes[position++] = '?';
+    }
+
+    if (c < 0x80 || isASCII)
+    {
+      bytes[position++] = (byte)c;
+    }
+    else if (c < 0x800)
+    {
+      bytes[position++] = (byte)(0xC0 | (c >> 6));
+      bytes[position++] = (byte)(0x80 | (c & 0x3F));
+    }
+    else if (Character.isHighSurrogate(c))
+    {
+      highSurrogate = c;
+    }
+    else if (Character.isLowSurrogate(c))
+    {
+      bytes[position++] = '?';
+    }
+    else
+    {
+      bytes[position++] = (byte)(0xE0 | (c >> 12));
+      bytes[position++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+      bytes[position++] = (byte)(0x80 | (c & 0x3F));
+    }
+  }
+
+  /**
+   * Writes the buffered bytes to the output stream.
+   */
+  protected void flushBuffer() throws IOException
+  {
+    if (position > 0)
+    {
+      outputStream.write(bytes, 0, position);
+      position = 0;
+    }
+  }
+
+  @Override
+  public void flush() throws IOException
+  {
+    flushBuffer();
+    outputStream.flush();
+  }
+
+  @Override
+  public void close() throws IOException
+  {
+    if (outputStream != null)
+    {
+      if (highSurrogate != 0)
+      {
+        highSurrogate = 0;
+        if (position + 4 > bytes.length)
+        {
+          flushBuffer();
+        }
+        bytes[position++] = '?';
+      }
+      flush();
+      outputStream.close();
+      outputStream = null;
+    }
+  }
+}
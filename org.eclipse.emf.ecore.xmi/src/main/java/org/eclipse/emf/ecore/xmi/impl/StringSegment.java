@@ -65,6 +65,24 @@ public class StringSegment extends BasicEList<StringSegment.Element>
 
   protected String firstString;
 
+  /**
+   * The writer to which the added strings are written through the {@link #buffer}, instead of being held in memory.
+   * @since 2.33
+   */
+  protected Writer streamingWriter;
+
+  /**
+   * The first exception thrown while writing to the {@link #streamingWriter}.
+   * @since 2.33
+   */
+  protected IOException streamingException;
+
+  /**
+   * Whether the added strings are ignored.
+   * @since 2.33
+   */
+  protected boolean discarding;
+
   public StringSegment()
   {
     this(LIST_SIZE);
@@ -123,6 +141,9 @@ public class StringSegment extends BasicEList<StringSegment.Element>
   public void reset()
   {
     bufferPosition = 0;
+    streamingWriter = null;
+    streamingException = null;
+    discarding = false;
     cursor = (Element)data[0];
     cursorIndex = 0;
     for (int i = 0; i < size; i++)
@@ -135,9 +156,15 @@ public class StringSegment extends BasicEList<StringSegment.Element>
   {
     // System.err.println("add = ["+newString+"]");
 
-    // If there is a temporary file...
+    if (discarding)
+    {
+      return;
+    }
+
+    // If there is a temporary file or a streaming writer...
     //
-    if (temporaryFile != null)
+    Writer writer = temporaryFile != null ? temporaryFile : streamingWriter;
+    if (writer != null)
     {
       if (firstString == null)
       {
@@ -148,11 +175,18 @@ public class StringSegment extends BasicEList<StringSegment.Element>
       {
         try
         {
-          temporaryFile.write(buffer, 0, bufferPosition);
+          writer.write(buffer, 0, bufferPosition);
         }
         catch (IOException exception)
         {
-          XMIPlugin.INSTANCE.log(exception);
+          if (writer == temporaryFile)
+          {
+            XMIPlugin.INSTANCE.log(exception);
+          }
+          else if (streamingException == null)
+          {
+            streamingException = exception;
+          }
         }
         bufferPosition = 0;
         if (length > buffer.length)
@@ -218,6 +252,24 @@ public class StringSegment extends BasicEList<StringSegment.Element>
     add(lineSeparator);
   }
 
+  /**
+   * Adds all the strings of the given segment, in order.
+   * @since 2.33
+   */
+  public void append(StringSegment stringSegment)
+  {
+    Element[] elements = (Element[])stringSegment.data;
+    for (int i = 0, size = stringSegment.size; i < size; ++i)
+    {
+      Element element = elements[i];
+      String[] strings = element.data;
+      for (int j = 0, segmentSize = element.size; j < segmentSize; ++j)
+      {
+        add(strings[j]);
+      }
+    }
+  }
+
   public Object mark()
   {
     Element result = cursor;
@@ -254,6 +306,45 @@ public class StringSegment extends BasicEList<StringSegment.Element>
     }
   }
 
+  /**
+   * Directs all the subsequently added strings to the writer, in chunks, rather than holding them in memory.
+   * @see #endStreaming()
+   * @since 2.33
+   */
+  public void startStreaming(Writer writer)
+  {
+    streamingWriter = writer;
+    streamingException = null;
+    discarding = false;
+    if (buffer == null)
+    {
+      buffer = new char [BUFFER_SIZE];
+    }
+    bufferPosition = 0;
+  }
+
+  /**
+   * Writes the strings still pending to the writer specified by {@link #startStreaming(Writer)} and stops streaming.
+   * @throws IOException the first exception thrown by the writer while streaming, if any.
+   * @since 2.33
+   */
+  public void endStreaming() throws IOException
+  {
+    Writer writer = streamingWriter;
+    IOException exception = streamingException;
+    streamingWriter = null;
+    streamingException = null;
+    if (exception != null)
+    {
+      throw exception;
+    }
+    if (writer != null)
+    {
+      writer.write(buffer, 0, bufferPosition);
+      bufferPosition = 0;
+    }
+  }
+
   public void resetToMark(Object mark)
   {
     if (temporaryFile != null)
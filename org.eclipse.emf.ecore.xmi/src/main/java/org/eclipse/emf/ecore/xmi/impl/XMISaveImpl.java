@@ -17,6 +17,7 @@ import java.util.Map;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.util.ExtendedMetaData;
 import org.eclipse.emf.ecore.xmi.XMIResource;
 import org.eclipse.emf.ecore.xmi.XMLHelper;
@@ -72,23 +73,11 @@ public class XMISaveImpl extends XMLSaveImpl
       doc.startElement(XMI_TAG_NS);
       Object mark = doc.mark();
 
-      for (int i = 0, size = contents.size(); i < size; i++)
+      if (!saveSubtrees(contents, null))
       {
-        EObject top = contents.get(i);
-        EClass eClass = top.eClass();
-        if (extendedMetaData == null || featureTable.getDocumentRoot(eClass.getEPackage()) != eClass)
-        {
-          String name = helper.getQName(eClass);
-          doc.startElement(name);
-          root = top;
-          saveElementID(top);
-        }
-        else
+        for (int i = 0, size = contents.size(); i < size; i++)
         {
-          doc.startElement(null);
-          root = top;
-          saveFeatures(top);
-          doc.addLine();
+          saveSubtree(contents.get(i), null);
         }
       }
 
@@ -123,6 +112,36 @@ public class XMISaveImpl extends XMLSaveImpl
     }
   }
 
+  /**
+   * @since 2.33
+   */
+  @Override
+  protected void saveSubtree(EObject o, EStructuralFeature f)
+  {
+    if (f == null)
+    {
+      EClass eClass = o.eClass();
+      if (extendedMetaData == null || featureTable.getDocumentRoot(eClass.getEPackage()) != eClass)
+      {
+        String name = helper.getQName(eClass);
+        doc.startElement(name);
+        root = o;
+        saveElementID(o);
+      }
+      else
+      {
+        doc.startElement(null);
+        root = o;
+        saveFeatures(o);
+        doc.addLine();
+      }
+    }
+    else
+    {
+      super.saveSubtree(o, f);
+    }
+  }
+
   @Override
   protected void saveTypeAttribute(EClass eClass)
   {
@@ -31,6 +31,7 @@ import java.util.StringTokenizer;
 import org.eclipse.emf.common.util.BasicEList;
 import org.eclipse.emf.common.util.EMap;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.URIArena;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EClassifier;
@@ -41,7 +42,6 @@ import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.InternalEObject;
-import org.eclipse.emf.ecore.resource.ContentHandler;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.URIConverter;
@@ -330,6 +330,13 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
   protected boolean needsPushContext;
   protected XMLResource.ResourceEntityHandler resourceEntityHandler;
   protected XMLResource.URIHandler uriHandler;
+
+  /**
+   * The arena in which to create proxy URIs, if one is specified by {@link Resource#OPTION_URI_ARENA}.
+   * @since 2.33
+   */
+  protected URIArena uriArena;
+
   protected EObject documentRoot;
   protected boolean usedNullNamespacePackage;
   protected boolean isNamespaceAware;
@@ -486,6 +493,7 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     // So most often the entity handler will be a URI handler as well and when used as a URI handler will be an identity handler.
     //
     uriHandler = (XMLResource.URIHandler)options.get(XMLResource.OPTION_URI_HANDLER);
+    uriArena = (URIArena)options.get(Resource.OPTION_URI_ARENA);
     resourceEntityHandler = (XMLResource.ResourceEntityHandler)options.get(XMLResource.OPTION_RESOURCE_ENTITY_HANDLER);
     if (resourceEntityHandler != null)
     {
@@ -590,6 +598,7 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     // So most often the entity handler will be a URI handler as well and when used as a URI handler will be an identity handler.
     //
     uriHandler = (XMLResource.URIHandler)options.get(XMLResource.OPTION_URI_HANDLER);
+    uriArena = (URIArena)options.get(Resource.OPTION_URI_ARENA);
     resourceEntityHandler = (XMLResource.ResourceEntityHandler)options.get(XMLResource.OPTION_RESOURCE_ENTITY_HANDLER);
     if (resourceEntityHandler != null)
     {
@@ -656,6 +665,7 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     urisToLocations = null;
     resourceEntityHandler = null;
     uriHandler = null;
+    uriArena = null;
     documentRoot = null;
     usedNullNamespacePackage = false;
     isNamespaceAware = false;
@@ -2566,38 +2576,21 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
 
       if (resource == null && resourceSet != null)
       {
+        // Demand load the resource via the resource set,
+        // so that a resource set that supports concurrent loading loads it just once, and never exposes it partially loaded, to the threads that need it.
+        //
         URI trimmedURI = uri.trimFragment();
         resource = resourceSet.getResource(trimmedURI, false);
-        if (resource != null)
-        {
-          if (!resource.isLoaded())
-          {
-            try
-            {
-              resource.load(resourceSet.getLoadOptions());
-            }
-            catch (IOException exception)
-            {
-              // Continue with a different approach.
-            }
-          }
-        }
-        else if (!XMLResource.XML_SCHEMA_URI.equals(uriString) && (usePackageNsURIAsLocation || uri != nsURI))
+        if (resource != null ||
+              !XMLResource.XML_SCHEMA_URI.equals(uriString) &&
+                (usePackageNsURIAsLocation || uri != nsURI) &&
+                getURIConverter().exists(trimmedURI, null))
         {
           try
           {
-            InputStream inputStream = getURIConverter().createInputStream(trimmedURI, null);
-            resource = resourceSet.createResource(trimmedURI, ContentHandler.UNSPECIFIED_CONTENT_TYPE);
-            if (resource == null)
-            {
-              inputStream.close();
-            }
-            else
-            {
-              resource.load(inputStream, resourceSet.getLoadOptions());
-            }
+            resource = resourceSet.getResource(trimmedURI, true);
           }
-          catch (IOException exception)
+          catch (RuntimeException exception)
           {
             // Continue with a different approach.
           }
@@ -2934,7 +2927,8 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     }
     else
     {
-      URI uri = URI.createURI(uriLiteral);
+      URI uri = uriArena == null ? URI.createURI(uriLiteral) : uriArena.createURI(uriLiteral);
+      URI unresolvedURI = uri;
       if (uriHandler != null)
       {
         uri = uriHandler.resolve(uri);
@@ -2948,6 +2942,10 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
       {
         uri = helper.resolve(uri, resourceURI);
       }
+      if (uriArena != null && uri != unresolvedURI)
+      {
+        uri = uriArena.appendFragment(uri, uri.fragment());
+      }
       proxy.eSetProxyURI(proxyURI = uri);
     }
 
@@ -89,6 +89,36 @@ public class XMLHelperImpl implements XMLHelper
   protected XMLResource.URIHandler uriHandler;
   protected List<? extends EObject> roots;
   protected String [] fragmentPrefixes;
+
+  /**
+   * The prefix allocations of {@link #getPrefix(EPackage, boolean)}, in order, if they are being recorded.
+   * @since 2.33
+   */
+  protected List<PrefixAllocation> prefixAllocations;
+
+  /**
+   * The list to which dangling references are reported instead of to the resource's {@link Resource#getErrors() errors}, if not null.
+   * @since 2.33
+   */
+  protected List<DanglingHREFException> danglingHREFExceptions;
+
+  /**
+   * A record of a call to {@link XMLHelperImpl#getPrefix(EPackage, boolean)} that allocated a prefix.
+   * @since 2.33
+   */
+  protected static final class PrefixAllocation
+  {
+    protected final EPackage ePackage;
+    protected final boolean mustHavePrefix;
+    protected final String prefix;
+
+    protected PrefixAllocation(EPackage ePackage, boolean mustHavePrefix, String prefix)
+    {
+      this.ePackage = ePackage;
+      this.mustHavePrefix = mustHavePrefix;
+      this.prefix = prefix;
+    }
+  }
   
   private EPackage previousPackage;
   private String previousNS;
@@ -549,67 +579,84 @@ public class XMLHelperImpl implements XMLHelper
     String nsPrefix = packages.get(ePackage);
     if (nsPrefix == null || mustHavePrefix && nsPrefix.length() == 0)
     {
-      String nsURI = 
-        xmlSchemaTypePackage == ePackage ?
-          XMLResource.XML_SCHEMA_URI :
-          extendedMetaData == null ? 
-            ePackage.getNsURI() : 
-            extendedMetaData.getNamespace(ePackage);
+      nsPrefix = allocatePrefix(ePackage, mustHavePrefix);
+      if (prefixAllocations != null)
+      {
+        prefixAllocations.add(new PrefixAllocation(ePackage, mustHavePrefix, nsPrefix));
+      }
+    }
 
-      boolean found = false;
-      List<String> prefixes = urisToPrefixes.get(nsURI);
-      if (prefixes != null)
+    return nsPrefix;
+  }
+
+  /**
+   * Returns the prefix for a package that doesn't have one yet, or that needs a non-empty one, 
+   * recording it in the prefix maps if it's a new one.
+   * @since 2.33
+   */
+  protected String allocatePrefix(EPackage ePackage, boolean mustHavePrefix)
+  {
+    String nsPrefix = null;
+    String nsURI = 
+      xmlSchemaTypePackage == ePackage ?
+        XMLResource.XML_SCHEMA_URI :
+        extendedMetaData == null ? 
+          ePackage.getNsURI() : 
+          extendedMetaData.getNamespace(ePackage);
+
+    boolean found = false;
+    List<String> prefixes = urisToPrefixes.get(nsURI);
+    if (prefixes != null)
+    {
+      for (String prefix : prefixes)
       {
-        for (String prefix : prefixes)
+        nsPrefix = prefix;
+        if (!mustHavePrefix || nsPrefix.length() > 0)
         {
-          nsPrefix = prefix;
-          if (!mustHavePrefix || nsPrefix.length() > 0)
-          {
-            found = true;
-            break;
-          }
+          found = true;
+          break;
         }
       }
+    }
 
-      if (!found)
+    if (!found)
+    {
+      // for any content prefix to URI mapping could be in namespace context
+      nsPrefix = namespaceSupport.getPrefix(nsURI);
+      if (nsPrefix != null)
       {
-        // for any content prefix to URI mapping could be in namespace context
-        nsPrefix = namespaceSupport.getPrefix(nsURI);
-        if (nsPrefix != null)
-        {
-          return nsPrefix;
-        }
+        return nsPrefix;
+      }
 
-        if (nsURI != null)
-        {
-          nsPrefix = xmlSchemaTypePackage == ePackage ? "xsd" : ePackage.getNsPrefix();
-        }
-        if (nsPrefix == null)
-        {
-          nsPrefix = mustHavePrefix ? "_" : "";
-        }
-  
-        if (prefixesToURIs.containsKey(nsPrefix))
+      if (nsURI != null)
+      {
+        nsPrefix = xmlSchemaTypePackage == ePackage ? "xsd" : ePackage.getNsPrefix();
+      }
+      if (nsPrefix == null)
+      {
+        nsPrefix = mustHavePrefix ? "_" : "";
+      }
+
+      if (prefixesToURIs.containsKey(nsPrefix))
+      {
+        String currentValue = prefixesToURIs.get(nsPrefix);
+        if (currentValue == null ? nsURI != null : !currentValue.equals(nsURI))
         {
-          String currentValue = prefixesToURIs.get(nsPrefix);
-          if (currentValue == null ? nsURI != null : !currentValue.equals(nsURI))
+          int index = 1;
+          while (prefixesToURIs.containsKey(nsPrefix + "_" + index))
           {
-            int index = 1;
-            while (prefixesToURIs.containsKey(nsPrefix + "_" + index))
-            {
-              ++index;
-            }
-            nsPrefix += "_" + index;
+            ++index;
           }
+          nsPrefix += "_" + index;
         }
-
-        prefixesToURIs.put(nsPrefix, nsURI);
       }
 
-      if (!packages.containsKey(ePackage))
-      {
-        packages.put(ePackage, nsPrefix);
-      }
+      prefixesToURIs.put(nsPrefix, nsURI);
+    }
+
+    if (!packages.containsKey(ePackage))
+    {
+      packages.put(ePackage, nsPrefix);
     }
 
     return nsPrefix;
@@ -760,7 +807,11 @@ public class XMLHelperImpl implements XMLHelper
         danglingHREFException = exception;
       }
    
-      if (resource != null)
+      if (danglingHREFExceptions != null)
+      {
+        danglingHREFExceptions.add(exception);
+      }
+      else if (resource != null)
       {
         resource.getErrors().add(exception);
       }
@@ -15,6 +15,7 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -22,6 +23,12 @@ import java.util.Set;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
 
 import org.w3c.dom.CDATASection;
 import org.w3c.dom.Comment;
@@ -34,7 +41,9 @@ import org.w3c.dom.ProcessingInstruction;
 import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
 import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.ext.Locator2;
 import org.xml.sax.helpers.AttributesImpl;
 import org.xml.sax.helpers.DefaultHandler;
 
@@ -89,6 +98,40 @@ public class XMLLoadImpl implements XMLLoad
    */
   public void load(XMLResource resource, InputStream inputStream, Map<?, ?> options) throws IOException
   {
+    if (useStAX(options))
+    {
+      InputSource inputSource;
+      if (inputStream instanceof URIConverter.Readable)
+      {
+        URIConverter.Readable readable = (URIConverter.Readable)inputStream;
+        resource.setEncoding(readable.getEncoding());
+        inputSource = new InputSource(readable.asReader());
+      }
+      else
+      {
+        is = inputStream;
+        if (!Boolean.FALSE.equals(options.get(XMLResource.OPTION_USE_DEPRECATED_METHODS)))
+        {
+          String encoding = getEncoding();
+          resource.setEncoding(encoding);
+          inputSource = new InputSource(is);
+          inputSource.setEncoding(encoding);
+        }
+        else
+        {
+          inputSource = new InputSource(is);
+        }
+      }
+      if (resource.getURI() != null)
+      {
+        String resourceURI = resource.getURI().toString();
+        inputSource.setPublicId(resourceURI);
+        inputSource.setSystemId(resourceURI);
+      }
+      loadStAX(resource, inputSource, options);
+      return;
+    }
+
     if (inputStream instanceof URIConverter.Readable)
     {
       URIConverter.Readable readable = (URIConverter.Readable)inputStream;
@@ -203,6 +246,12 @@ public class XMLLoadImpl implements XMLLoad
   
   public void load(XMLResource resource, InputSource inputSource, Map<?, ?> options) throws IOException
   {
+    if (useStAX(options))
+    {
+      loadStAX(resource, inputSource, options);
+      return;
+    }
+
     this.resource = resource;
    
     this.options = options;
@@ -284,6 +333,188 @@ public class XMLLoadImpl implements XMLLoad
     }
   }
 
+  /**
+   * Returns whether the document should be read with a StAX reader rather than with a SAX parser.
+   * @see XMLResource#OPTION_USE_STAX
+   * @since 2.33
+   */
+  protected boolean useStAX(Map<?, ?> options)
+  {
+    return
+      Boolean.TRUE.equals(options.get(XMLResource.OPTION_USE_STAX)) &&
+        !Boolean.TRUE.equals(options.get(XMLResource.OPTION_USE_LEXICAL_HANDLER)) &&
+        isEmpty(options.get(XMLResource.OPTION_PARSER_FEATURES)) &&
+        isEmpty(options.get(XMLResource.OPTION_PARSER_PROPERTIES));
+  }
+
+  private static boolean isEmpty(Object map)
+  {
+    return map == null || ((Map<?, ?>)map).isEmpty();
+  }
+
+  /**
+   * Parses the input source with a {@link #makeStreamReader(InputSource) StAX reader},
+   * driving the same default handler as the SAX parser would.
+   * @since 2.33
+   */
+  protected void loadStAX(XMLResource resource, InputSource inputSource, Map<?, ?> options) throws IOException
+  {
+    this.resource = resource;
+    this.options = options;
+    XMLParserPool pool = (XMLParserPool)options.get(XMLResource.OPTION_USE_PARSER_POOL);
+    DefaultHandler handler;
+    if (pool != null)
+    {
+      handler = (DefaultHandler)pool.getDefaultHandler(resource, this, helper, options);
+    }
+    else
+    {
+      handler = makeDefaultHandler();
+    }
+
+    XMLStreamReader reader = null;
+    try
+    {
+      reader = makeStreamReader(inputSource);
+      handler.setDocumentLocator(new StreamReaderLocator(reader, inputSource));
+      traverse(reader, new StreamReaderAttributes(reader), handler);
+    }
+    catch (XMLStreamException exception)
+    {
+      Location location = exception.getLocation();
+      SAXParseException parseException =
+        location == null ?
+          new SAXParseException(exception.getMessage(), inputSource.getPublicId(), inputSource.getSystemId(), -1, -1, exception) :
+          new SAXParseException(exception.getMessage(), location.getPublicId(), location.getSystemId(), location.getLineNumber(), location.getColumnNumber(), exception);
+      try
+      {
+        handler.fatalError(parseException);
+      }
+      catch (SAXException fatalException)
+      {
+        // Ignore; the handler rethrows the exception it's given.
+      }
+      throw new Resource.IOWrappedException(parseException);
+    }
+    catch (SAXException exception)
+    {
+      if (exception.getException() != null)
+      {
+        throw new Resource.IOWrappedException(exception.getException());
+      }
+      else
+      {
+        throw new Resource.IOWrappedException(exception);
+      }
+    }
+    finally
+    {
+      if (reader != null)
+      {
+        try
+        {
+          reader.close();
+        }
+        catch (XMLStreamException exception)
+        {
+          // Ignore.
+        }
+      }
+    }
+
+    if (pool != null)
+    {
+      pool.releaseDefaultHandler((XMLDefaultHandler)handler, options);
+    }
+
+    helper = null;
+    handleErrors();
+  }
+
+  /**
+   * The factory used by each thread to create StAX readers, because a factory isn't necessarily thread safe.
+   */
+  private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY =
+    new ThreadLocal<XMLInputFactory>()
+    {
+      @Override
+      protected XMLInputFactory initialValue()
+      {
+        XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+        if (xmlInputFactory.isPropertySupported(XMLInputFactory.IS_NAMESPACE_AWARE))
+        {
+          xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+        }
+        xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, Boolean.TRUE);
+        return xmlInputFactory;
+      }
+    };
+
+  /**
+   * Creates a StAX reader for the input source that, if the implementation supports it, isn't namespace aware,
+   * just like the default SAX parser.
+   * @since 2.33
+   */
+  protected XMLStreamReader makeStreamReader(InputSource inputSource) throws XMLStreamException
+  {
+    StreamSource source = new StreamSource();
+    source.setPublicId(inputSource.getPublicId());
+    source.setSystemId(inputSource.getSystemId());
+    if (inputSource.getCharacterStream() != null)
+    {
+      source.setReader(inputSource.getCharacterStream());
+    }
+    else
+    {
+      source.setInputStream(inputSource.getByteStream());
+    }
+
+    return XML_INPUT_FACTORY.get().createXMLStreamReader(source);
+  }
+
+  /**
+   * Drives the handler with the events of the reader,
+   * presenting elements and attributes the same way as a SAX parser that isn't namespace aware,
+   * i.e., with qualified names and with the namespace declarations as attributes,
+   * even if the reader itself is namespace aware.
+   * @since 2.33
+   */
+  protected void traverse(XMLStreamReader reader, StreamReaderAttributes attributes, DefaultHandler handler) throws XMLStreamException, SAXException
+  {
+    handler.startDocument();
+    while (reader.hasNext())
+    {
+      switch (reader.next())
+      {
+        case XMLStreamConstants.START_ELEMENT:
+        {
+          attributes.reset();
+          handler.startElement("", "", attributes.getElementQName(), attributes);
+          break;
+        }
+        case XMLStreamConstants.END_ELEMENT:
+        {
+          handler.endElement("", "", attributes.getElementQName());
+          break;
+        }
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+        case XMLStreamConstants.SPACE:
+        {
+          handler.characters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+          break;
+        }
+        case XMLStreamConstants.PROCESSING_INSTRUCTION:
+        {
+          handler.processingInstruction(reader.getPITarget(), reader.getPIData());
+          break;
+        }
+      }
+    }
+    handler.endDocument();
+  }
+
   /**
    * Make either a validating or non-validating parser;
    * throw an if one could not be made.
@@ -770,4 +1001,253 @@ public class XMLLoadImpl implements XMLLoad
     }
   } // class AttributesProxy
 
+  /**
+   * Presents the attributes of the current start element of a StAX reader as SAX attributes, 
+   * with the namespace declarations first, followed by the attributes proper.
+   * @since 2.33
+   */
+  protected static final class StreamReaderAttributes implements Attributes
+  {
+    /** The reader positioned at a start element. */
+    protected XMLStreamReader reader;
+
+    /** The number of namespace declarations of the current element. */
+    protected int namespaceCount;
+
+    /** The total number of attributes, including namespace declarations, of the current element. */
+    protected int length;
+
+    /** The qualified names composed so far, keyed by prefix and then by local name, so that each one is composed only once per load. */
+    protected final Map<String, Map<String, String>> qNames = new HashMap<String, Map<String, String>>();
+
+    public StreamReaderAttributes(XMLStreamReader reader)
+    {
+      this.reader = reader;
+    }
+
+    /** Returns the qualified name of the reader's current element. */
+    public String getElementQName()
+    {
+      return getQName(reader.getPrefix(), reader.getLocalName());
+    }
+
+    /** Returns the qualified name for the prefix and local name, composing it only the first time it's requested. */
+    protected String getQName(String prefix, String localName)
+    {
+      if (prefix == null || prefix.length() == 0)
+      {
+        return localName;
+      }
+      Map<String, String> localNameToQName = qNames.get(prefix);
+      if (localNameToQName == null)
+      {
+        localNameToQName = new HashMap<String, String>();
+        qNames.put(prefix, localNameToQName);
+      }
+      String result = localNameToQName.get(localName);
+      if (result == null)
+      {
+        result = prefix + ':' + localName;
+        localNameToQName.put(localName, result);
+      }
+      return result;
+    }
+
+    /** Updates the counts for the current start element. */
+    public void reset()
+    {
+      namespaceCount = reader.getNamespaceCount();
+      length = namespaceCount + reader.getAttributeCount();
+    }
+
+    public int getLength()
+    {
+      return length;
+    }
+
+    public String getQName(int index)
+    {
+      if (index < 0 || index >= length)
+      {
+        return null;
+      }
+      else if (index < namespaceCount)
+      {
+        String prefix = reader.getNamespacePrefix(index);
+        return prefix == null || prefix.length() == 0 ? ExtendedMetaData.XMLNS_PREFIX : getQName(ExtendedMetaData.XMLNS_PREFIX, prefix);
+      }
+      else
+      {
+        index -= namespaceCount;
+        return getQName(reader.getAttributePrefix(index), reader.getAttributeLocalName(index));
+      }
+    }
+
+    public String getURI(int index)
+    {
+      return index < 0 || index >= length ? null : "";
+    }
+
+    public String getLocalName(int index)
+    {
+      return index < 0 || index >= length ? null : "";
+    }
+
+    public String getType(int i)
+    {
+      return "CDATA";
+    }
+
+    public String getType(String name)
+    {
+      return "CDATA";
+    }
+
+    public String getType(String uri, String localName)
+    {
+      return "CDATA";
+    }
+
+    public String getValue(int index)
+    {
+      if (index < 0 || index >= length)
+      {
+        return null;
+      }
+      else if (index < namespaceCount)
+      {
+        return reader.getNamespaceURI(index);
+      }
+      else
+      {
+        return reader.getAttributeValue(index - namespaceCount);
+      }
+    }
+
+    public String getValue(String qName)
+    {
+      return getValue(getIndex(qName));
+    }
+
+    public String getValue(String uri, String localName)
+    {
+      return reader.getAttributeValue(uri, localName);
+    }
+
+    public int getIndex(String qName)
+    {
+      for (int i = 0; i < namespaceCount; ++i)
+      {
+        String prefix = reader.getNamespacePrefix(i);
+        if (matches(qName, ExtendedMetaData.XMLNS_PREFIX, prefix))
+        {
+          return i;
+        }
+      }
+      for (int i = 0, count = length - namespaceCount; i < count; ++i)
+      {
+        if (matches(qName, reader.getAttributePrefix(i), reader.getAttributeLocalName(i)))
+        {
+          return namespaceCount + i;
+        }
+      }
+      return -1;
+    }
+
+    public int getIndex(String uri, String localPart)
+    {
+      for (int i = 0, count = length - namespaceCount; i < count; ++i)
+      {
+        String namespaceURI = reader.getAttributeNamespace(i);
+        if (localPart.equals(reader.getAttributeLocalName(i)) && uri.equals(namespaceURI == null ? "" : namespaceURI))
+        {
+          return namespaceCount + i;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Returns whether the qualified name is the given prefix and local name, without composing the qualified name.
+     */
+    private static boolean matches(String qName, String prefix, String localName)
+    {
+      if (prefix == null || prefix.length() == 0)
+      {
+        return localName == null || localName.length() == 0 ? false : qName.equals(localName);
+      }
+      else if (localName == null || localName.length() == 0)
+      {
+        return qName.equals(prefix);
+      }
+      else
+      {
+        int prefixLength = prefix.length();
+        return
+          qName.length() == prefixLength + 1 + localName.length() &&
+            qName.charAt(prefixLength) == ':' &&
+            qName.startsWith(prefix) &&
+            qName.endsWith(localName);
+      }
+    }
+  } // class StreamReaderAttributes
+
+  /**
+   * Reports the location, encoding, and version of a StAX reader as a SAX locator;
+   * like a SAX parser, it reports the encoding of the input source, if specified, and no encoding for a character stream.
+   * @since 2.33
+   */
+  protected static final class StreamReaderLocator implements Locator2
+  {
+    protected XMLStreamReader reader;
+    protected InputSource inputSource;
+
+    public StreamReaderLocator(XMLStreamReader reader, InputSource inputSource)
+    {
+      this.reader = reader;
+      this.inputSource = inputSource;
+    }
+
+    public String getPublicId()
+    {
+      return inputSource.getPublicId();
+    }
+
+    public String getSystemId()
+    {
+      return inputSource.getSystemId();
+    }
+
+    public int getLineNumber()
+    {
+      Location location = reader.getLocation();
+      return location == null ? -1 : location.getLineNumber();
+    }
+
+    public int getColumnNumber()
+    {
+      Location location = reader.getLocation();
+      return location == null ? -1 : location.getColumnNumber();
+    }
+
+    public String getXMLVersion()
+    {
+      String version = reader.getVersion();
+      return version == null ? "1.0" : version;
+    }
+
+    public String getEncoding()
+    {
+      if (inputSource.getCharacterStream() != null)
+      {
+        return null;
+      }
+      else
+      {
+        String encoding = inputSource.getEncoding();
+        return encoding == null ? reader.getEncoding() : encoding;
+      }
+    }
+  } // class StreamReaderLocator
+
 } // XMLLoad
@@ -75,39 +75,40 @@ public class XMLParserPoolImpl implements XMLParserPool
   }
   
   /**
+   * A new parser is made outside of this pool's lock, so that concurrent loads don't wait for each other's parser creation.
    * @see XMLParserPool#get(Map, Map, boolean)
    */
-  public synchronized SAXParser get(Map<String, Boolean> features, Map<String, ?> properties, boolean useLexicalHandler) throws ParserConfigurationException, SAXException
+  public SAXParser get(Map<String, Boolean> features, Map<String, ?> properties, boolean useLexicalHandler) throws ParserConfigurationException, SAXException
   {
     Map<Object, Object> map = new HashMap<Object, Object>();
     map.putAll(features);
     map.putAll(properties);
     map.put(XMLResource.OPTION_USE_LEXICAL_HANDLER, useLexicalHandler ? Boolean.TRUE : Boolean.FALSE);
-    if (parserCache.size() > size)
+    synchronized (this)
     {
-      parserCache.clear();
-    }
-    List<SAXParser> list = parserCache.get(map);
-    if (list != null)
-    {
-      int size = list.size();
-      if (size > 0)
+      if (parserCache.size() > size)
+      {
+        parserCache.clear();
+      }
+      List<SAXParser> list = parserCache.get(map);
+      if (list != null)
       {
-        return list.remove(size - 1);
+        int size = list.size();
+        if (size > 0)
+        {
+          return list.remove(size - 1);
+        }
       }
       else
       {
-        return makeParser(features, properties);
+        parserCache.put(map, new ArrayList<SAXParser>());
       }
     }
-    else
-    {
-      parserCache.put(map, new ArrayList<SAXParser>());
-      return makeParser(features, properties);
-    }
+    return makeParser(features, properties);
   }
 
   /**
+   * The cache may have been cleared since the parser was {@link #get(Map, Map, boolean) gotten}.
    * @see XMLParserPool#release(SAXParser, Map, Map, boolean)
    */
   public synchronized void release(SAXParser parser, Map<String, Boolean> features, Map<String, ?> properties, boolean useLexicalHandler)
@@ -117,6 +118,11 @@ public class XMLParserPoolImpl implements XMLParserPool
     map.putAll(properties);
     map.put(XMLResource.OPTION_USE_LEXICAL_HANDLER, useLexicalHandler ? Boolean.TRUE : Boolean.FALSE);
     List<SAXParser> list = parserCache.get(map);
+    if (list == null)
+    {
+      list = new ArrayList<SAXParser>();
+      parserCache.put(map, list);
+    }
     if (list.size() < size)
     {
       list.add(parser);
@@ -148,47 +154,60 @@ public class XMLParserPoolImpl implements XMLParserPool
     return parser;
   }
 
-  public synchronized XMLDefaultHandler getDefaultHandler(XMLResource resource, XMLLoad xmlLoad, XMLHelper helper, Map<?, ?> options)
+  /**
+   * A cached handler is prepared, or a new handler is created, outside of this pool's lock.
+   */
+  public XMLDefaultHandler getDefaultHandler(XMLResource resource, XMLLoad xmlLoad, XMLHelper helper, Map<?, ?> options)
   {
     if (handlersCache != null)
     {
-      if (handlersCache.size() > size)
+      XMLDefaultHandler handler = null;
+      synchronized (this)
       {
-        handlersCache.clear();
-      }
-      List<XMLDefaultHandler> list = handlersCache.get(options);
-      if (list != null)
-      {
-        int size = list.size();
-        if (size > 0)
+        if (handlersCache.size() > size)
+        {
+          handlersCache.clear();
+        }
+        List<XMLDefaultHandler> list = handlersCache.get(options);
+        if (list != null)
+        {
+          int size = list.size();
+          if (size > 0)
+          {
+            handler = list.remove(size - 1);
+          }
+        }
+        else
         {
-          XMLDefaultHandler handler = list.remove(size - 1);
-          handler.prepare(resource, helper, options);
-          return handler;
+          handlersCache.put(options, new ArrayList<XMLDefaultHandler>());
         }
       }
-      else
+      if (handler != null)
       {
-        handlersCache.put(options, new ArrayList<XMLDefaultHandler>());
+        handler.prepare(resource, helper, options);
+        return handler;
       }
     }
     return xmlLoad.createDefaultHandler();
   }
 
-  public synchronized void releaseDefaultHandler(XMLDefaultHandler handler, Map<?, ?> options)
+  public void releaseDefaultHandler(XMLDefaultHandler handler, Map<?, ?> options)
   {
     if (handlersCache != null)
     {
       handler.reset();
-      List<XMLDefaultHandler> list = handlersCache.get(options);
-      if (list == null)
-      {
-        list = new ArrayList<XMLDefaultHandler>();
-        handlersCache.put(options, list);
-      }
-      else if (list.size() < size)
+      synchronized (this)
       {
-        list.add(handler);
+        List<XMLDefaultHandler> list = handlersCache.get(options);
+        if (list == null)
+        {
+          list = new ArrayList<XMLDefaultHandler>();
+          handlersCache.put(options, list);
+        }
+        if (list.size() < size)
+        {
+          list.add(handler);
+        }
       }
     }
   }
@@ -130,6 +130,18 @@ public class XMLResourceImpl extends ResourceImpl implements XMLResource
     return true;
   }
 
+  /**
+   * Returns a new UUID for an object attached to this resource when {@link #useUUIDs() UUIDs are used}.
+   * This implementation calls {@link EcoreUtil#generateUUID()},
+   * which uses the {@link EcoreUtil#setUUIDGenerator(EcoreUtil.UUIDGenerator) installed generator};
+   * clients may override this to use a specific {@link EcoreUtil.UUIDGenerator generator} for this resource.
+   * @since 2.33
+   */
+  protected String generateUUID()
+  {
+    return EcoreUtil.generateUUID();
+  }
+
   public Map<Object, Object> getDefaultSaveOptions()
   {
     if (defaultSaveOptions == null)
@@ -679,7 +691,7 @@ public class XMLResourceImpl extends ResourceImpl implements XMLResource
           id = DETACHED_EOBJECT_TO_ID_MAP.remove(eObject);
           if (id == null)
           {
-            id = EcoreUtil.generateUUID();
+            id = generateUUID();
           }
           setID(eObject, id);
         }
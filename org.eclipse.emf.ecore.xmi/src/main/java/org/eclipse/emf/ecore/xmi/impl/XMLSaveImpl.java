@@ -26,6 +26,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.eclipse.emf.common.util.EMap;
 import org.eclipse.emf.common.util.URI;
@@ -115,6 +119,31 @@ public class XMLSaveImpl implements XMLSave
   protected List<? extends EObject> roots;
   protected XMLResource.ElementHandler elementHandler;
   protected boolean proxyAttributes;
+
+  /**
+   * @since 2.33
+   */
+  protected boolean streaming;
+
+  /**
+   * The pool used to save subtrees concurrently, or null if they're saved sequentially.
+   * @see XMLResource#OPTION_PARALLEL_SAVE
+   * @since 2.33
+   */
+  protected ForkJoinPool subtreeSavePool;
+
+  /**
+   * The options used by the serializers that save subtrees concurrently.
+   * @since 2.33
+   */
+  protected Map<Object, Object> subtreeSaveOptions;
+
+  /**
+   * The idle serializers for saving subtrees concurrently, created on demand.
+   * @see #saveSubtrees(List, EStructuralFeature)
+   * @since 2.33
+   */
+  protected List<XMLSaveImpl> subtreeSaves;
   
   protected static final int SKIP = 0;
   protected static final int SAME_DOC = 1;
@@ -222,9 +251,15 @@ public class XMLSaveImpl implements XMLSave
     {
       contents = resource.getContents();
     }
-    traverse(contents);
-    
-    write(writer);
+    if (streaming)
+    {
+      traverse(contents, writer);
+    }
+    else
+    {
+      traverse(contents);
+      write(writer);
+    }
     writer.flush();
 
     endSave(contents);
@@ -248,24 +283,44 @@ public class XMLSaveImpl implements XMLSave
     {
       contents = resource.getContents();
     }
-    traverse(contents);
-
-    if ("US-ASCII".equals(encoding) || "ASCII".equals(encoding))
+    if (streaming)
     {
+      Writer writer = createWriter(outputStream);
+      traverse(contents, writer);
+      writer.flush();
+    }
+    else if ("US-ASCII".equals(encoding) || "ASCII".equals(encoding))
+    {
+      traverse(contents);
       writeAscii(outputStream);
       outputStream.flush();
     }
     else
     {
-      OutputStreamWriter outputStreamWriter = new OutputStreamWriter(outputStream, helper.getJavaEncoding(encoding));
-      write((Writer)outputStreamWriter);
-      outputStreamWriter.flush();
+      traverse(contents);
+      Writer writer = createWriter(outputStream);
+      write(writer);
+      writer.flush();
     }
 
     endSave(contents);
     this.xmlResource = null;
   }
 
+  /**
+   * Returns a writer that encodes to the output stream using the {@link #encoding}.
+   * UTF-8 and ASCII are encoded directly by an {@link EncodingWriter}.
+   * @since 2.33
+   */
+  protected Writer createWriter(OutputStream outputStream) throws IOException
+  {
+    String javaEncoding = helper.getJavaEncoding(encoding);
+    return
+      EncodingWriter.isSupported(javaEncoding) ?
+        new EncodingWriter(outputStream, javaEncoding) :
+        new OutputStreamWriter(outputStream, javaEncoding);
+  }
+
   protected void endSave(List<? extends EObject> contents) throws IOException
   {
     if (extendedMetaData != null && contents.size() >= 1)
@@ -316,6 +371,7 @@ public class XMLSaveImpl implements XMLSave
     featureTable = null;
     doc = null;
     helper = null;
+    subtreeSaves = null;
   }
   
   protected void init(XMLResource resource, Map<?, ?> options)
@@ -393,8 +449,10 @@ public class XMLSaveImpl implements XMLSave
         flushThreshold = (Integer)options.get(XMLResource.OPTION_FLUSH_THRESHOLD);
       }
 
+      streaming = Boolean.TRUE.equals(options.get(XMLResource.OPTION_STREAMING_SAVE));
+
       String temporaryFileName = null;
-      if (Boolean.TRUE.equals(options.get(XMLResource.OPTION_USE_FILE_BUFFER)))
+      if (!streaming && Boolean.TRUE.equals(options.get(XMLResource.OPTION_USE_FILE_BUFFER)))
       {
         try
         {
@@ -570,6 +628,40 @@ public class XMLSaveImpl implements XMLSave
     helper.setOptions(options);
     
     proxyAttributes = Boolean.TRUE.equals(options.get(XMLResource.OPTION_PROXY_ATTRIBUTES));
+
+    Object parallelSaveOption = options.get(XMLResource.OPTION_PARALLEL_SAVE);
+    subtreeSavePool =
+      parallelSaveOption instanceof ForkJoinPool ?
+        (ForkJoinPool)parallelSaveOption :
+        Boolean.TRUE.equals(parallelSaveOption) ?
+          ForkJoinPool.commonPool() :
+          null;
+    if (subtreeSavePool != null)
+    {
+      if (toDOM ||
+            extendedMetaData != null ||
+            map != null ||
+            elementHandler != null ||
+            resourceEntityHandler != null ||
+            !(helper instanceof XMLHelperImpl) ||
+            subtreeSavePool.getParallelism() < 2)
+      {
+        subtreeSavePool = null;
+      }
+      else
+      {
+        // The subtree serializers produce no prologue, don't share any caches, and never fork.
+        //
+        subtreeSaveOptions = new HashMap<Object, Object>(options);
+        subtreeSaveOptions.remove(XMLResource.OPTION_PARALLEL_SAVE);
+        subtreeSaveOptions.remove(XMLResource.OPTION_STREAMING_SAVE);
+        subtreeSaveOptions.remove(XMLResource.OPTION_USE_FILE_BUFFER);
+        subtreeSaveOptions.remove(XMLResource.OPTION_SAVE_DOCTYPE);
+        subtreeSaveOptions.remove(XMLResource.OPTION_USE_CACHED_LOOKUP_TABLE);
+        subtreeSaveOptions.remove(XMLResource.OPTION_CONFIGURATION_CACHE);
+        subtreeSaves = new ArrayList<XMLSaveImpl>();
+      }
+    }
   }
 
   public void traverse(List<? extends EObject> contents)
@@ -607,6 +699,36 @@ public class XMLSaveImpl implements XMLSave
     addNamespaceDeclarations();
     addDoctypeInformation();
   }
+  /**
+   * Traverses the contents twice and streams the document to the writer.
+   * The first pass produces no output;
+   * it only computes the prologue of the document and the namespace declarations of the root element,
+   * which depend on everything that's serialized.
+   * The second pass writes the prologue and then each element as soon as it is complete.
+   * @see XMLResource#OPTION_STREAMING_SAVE
+   * @since 2.33
+   */
+  protected void traverse(List<? extends EObject> contents, Writer writer) throws IOException
+  {
+    // Dangling references will be reported by the second pass.
+    //
+    helper.setProcessDanglingHREF(XMLResource.OPTION_PROCESS_DANGLING_HREF_DISCARD);
+    doc.startPrologue();
+    traverse(contents);
+    helper.setProcessDanglingHREF(processDanglingHREF);
+
+    doc.startContentStreaming(writer);
+    if (contents.size() == 1)
+    {
+      writeTopObject(contents.get(0));
+    }
+    else
+    {
+      writeTopObjects(contents);
+    }
+    doc.endStreaming();
+  }
+
   /*
    * INTERNAL: this is a specialized method to add attributes for a top/root element
    */
@@ -2408,15 +2530,242 @@ public class XMLSaveImpl implements XMLSave
   {
     @SuppressWarnings("unchecked")  List<? extends InternalEObject> values = 
       ((InternalEList<? extends InternalEObject>)helper.getValue(o, f)).basicList();
-    int size = values.size();
-    for (int i = 0; i < size; i++)
+    if (!saveSubtrees(values, f))
+    {
+      int size = values.size();
+      for (int i = 0; i < size; i++)
+      {
+        InternalEObject value = values.get(i);
+        if (value != null)
+        {
+          saveElement(value, f);
+        }
+      }
+    }
+  }
+
+  /**
+   * Saves an object as a value of the feature, along with its contents, 
+   * as {@link #saveContainedMany(EObject, EStructuralFeature)} does for each of its values.
+   * A null feature indicates a top object.
+   * @see #saveSubtrees(List, EStructuralFeature)
+   * @since 2.33
+   */
+  protected void saveSubtree(EObject o, EStructuralFeature f)
+  {
+    if (o != null)
+    {
+      saveElement((InternalEObject)o, f);
+    }
+  }
+
+  /**
+   * Saves the objects, as if by {@link #saveSubtree(EObject, EStructuralFeature) saving the subtree} of each one in order, 
+   * by splitting them into ranges saved concurrently by separate {@link #createSubtreeSave() serializers},
+   * if {@link XMLResource#OPTION_PARALLEL_SAVE parallel saving} is enabled and there are at least as many objects as there are threads.
+   * The resulting segments are {@link #addSubtrees(XMLSaveImpl) added} in order,
+   * and any range whose serialization differs from what a sequential save would produce is saved again sequentially.
+   * Returns whether the objects have been saved.
+   * @since 2.33
+   */
+  protected boolean saveSubtrees(final List<? extends EObject> objects, final EStructuralFeature f)
+  {
+    int size = objects.size();
+    if (subtreeSavePool == null || size < subtreeSavePool.getParallelism() || doc.isMixed && doc.lineWidth != Integer.MAX_VALUE)
+    {
+      return false;
+    }
+
+    // Take the serializers out of the pool so that a range saved again sequentially can itself be split.
+    //
+    int count = subtreeSavePool.getParallelism();
+    XMLSaveImpl[] xmlSaves = new XMLSaveImpl [count];
+    for (int i = 0; i < count; ++i)
+    {
+      XMLSaveImpl subtreeSave = subtreeSaves.isEmpty() ? createSubtreeSave() : subtreeSaves.remove(subtreeSaves.size() - 1);
+      if (subtreeSave == null)
+      {
+        subtreeSavePool = null;
+        return false;
+      }
+      xmlSaves[i] = subtreeSave;
+    }
+
+    List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>(count);
+    for (int i = 0; i < count; ++i)
+    {
+      final XMLSaveImpl subtreeSave = xmlSaves[i];
+      subtreeSave.startSubtrees(this);
+      final int begin = (int)((long)size * i / count);
+      final int end = (int)((long)size * (i + 1) / count);
+      tasks.add
+        (new Callable<Boolean>()
+         {
+           public Boolean call()
+           {
+             return subtreeSave.saveSubtrees(objects, begin, end, f);
+           }
+         });
+    }
+
+    List<Future<Boolean>> results = subtreeSavePool.invokeAll(tasks);
+    for (int i = 0; i < count; ++i)
+    {
+      boolean saved;
+      try
+      {
+        saved = results.get(i).get();
+      }
+      catch (InterruptedException exception)
+      {
+        Thread.currentThread().interrupt();
+        saved = false;
+      }
+      catch (ExecutionException exception)
+      {
+        saved = false;
+      }
+
+      if (saved && addSubtrees(xmlSaves[i]))
+      {
+        subtreeSaves.add(xmlSaves[i]);
+      }
+      else
+      {
+        // Discard the serializer, whose prefixes may now be inconsistent, and save the range sequentially.
+        // If the range failed, the sequential save will fail in the same way.
+        //
+        for (int j = (int)((long)size * i / count), end = (int)((long)size * (i + 1) / count); j < end; ++j)
+        {
+          saveSubtree(objects.get(j), f);
+        }
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Saves the subtrees of the objects in the given range, returning false if that fails.
+   * This is called, in another thread, on a serializer {@link #startSubtrees(XMLSaveImpl) started} for the range.
+   * @since 2.33
+   */
+  protected boolean saveSubtrees(List<? extends EObject> objects, int begin, int end, EStructuralFeature f)
+  {
+    try
+    {
+      for (int i = begin; i < end; ++i)
+      {
+        saveSubtree(objects.get(i), f);
+      }
+      return true;
+    }
+    catch (RuntimeException exception)
+    {
+      return false;
+    }
+  }
+
+  /**
+   * Returns a new serializer for saving subtrees concurrently with this one, 
+   * or null if the {@link XMLResourceImpl#createXMLSave(Map) resource's serializer} isn't of the same class as this one.
+   * @since 2.33
+   */
+  protected XMLSaveImpl createSubtreeSave()
+  {
+    if (xmlResource instanceof XMLResourceImpl)
+    {
+      XMLSave xmlSave = ((XMLResourceImpl)xmlResource).createXMLSave(subtreeSaveOptions);
+      if (xmlSave != null && xmlSave.getClass() == getClass())
+      {
+        XMLSaveImpl result = (XMLSaveImpl)xmlSave;
+        if (result.helper instanceof XMLHelperImpl)
+        {
+          result.xmlResource = xmlResource;
+          result.init(xmlResource, subtreeSaveOptions);
+          result.roots = roots;
+          XMLHelperImpl xmlHelper = (XMLHelperImpl)result.helper;
+          xmlHelper.mustHavePrefix = ((XMLHelperImpl)helper).mustHavePrefix;
+          xmlHelper.checkForDuplicates = ((XMLHelperImpl)helper).checkForDuplicates;
+          return result;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Prepares this serializer for saving subtrees that will be {@link #addSubtrees(XMLSaveImpl) added} to the given serializer at its current position.
+   * The prefixes already allocated by the given serializer are copied,
+   * and the prefix allocations and dangling references are recorded from now on rather than reported.
+   * @since 2.33
+   */
+  protected void startSubtrees(XMLSaveImpl xmlSave)
+  {
+    doc.startSubtrees(xmlSave.doc);
+    root = xmlSave.root;
+    declareXSI = false;
+
+    XMLHelperImpl xmlHelper = (XMLHelperImpl)helper;
+    XMLHelperImpl otherXMLHelper = (XMLHelperImpl)xmlSave.helper;
+    for (Map.Entry<String, String> entry : otherXMLHelper.prefixesToURIs)
+    {
+      String prefix = entry.getKey();
+      if (!xmlHelper.prefixesToURIs.containsKey(prefix))
+      {
+        xmlHelper.prefixesToURIs.put(prefix, entry.getValue());
+      }
+    }
+    for (Map.Entry<EPackage, String> entry : otherXMLHelper.packages.entrySet())
+    {
+      EPackage ePackage = entry.getKey();
+      if (!xmlHelper.packages.containsKey(ePackage))
+      {
+        xmlHelper.packages.put(ePackage, entry.getValue());
+      }
+    }
+    xmlHelper.processDanglingHREF = otherXMLHelper.processDanglingHREF;
+    xmlHelper.danglingHREFException = null;
+    xmlHelper.danglingHREFExceptions = new ArrayList<DanglingHREFException>();
+    xmlHelper.prefixAllocations = new ArrayList<XMLHelperImpl.PrefixAllocation>();
+  }
+
+  /**
+   * Adds the subtrees saved by the given serializer, 
+   * provided that allocating the same prefixes in the same order yields the same prefixes for this serializer,
+   * and returns whether they've been added.
+   * The dangling references recorded by the given serializer are then reported as if this serializer had encountered them.
+   * @since 2.33
+   */
+  protected boolean addSubtrees(XMLSaveImpl xmlSave)
+  {
+    XMLHelperImpl xmlHelper = (XMLHelperImpl)helper;
+    XMLHelperImpl otherXMLHelper = (XMLHelperImpl)xmlSave.helper;
+    for (XMLHelperImpl.PrefixAllocation prefixAllocation : otherXMLHelper.prefixAllocations)
+    {
+      if (!prefixAllocation.prefix.equals(xmlHelper.getPrefix(prefixAllocation.ePackage, prefixAllocation.mustHavePrefix)))
+      {
+        return false;
+      }
+    }
+
+    doc.addSubtrees(xmlSave.doc);
+    declareXSI |= xmlSave.declareXSI;
+    root = xmlSave.root;
+
+    for (DanglingHREFException exception : otherXMLHelper.danglingHREFExceptions)
     {
-      InternalEObject value = values.get(i);
-      if (value != null)
+      if (xmlHelper.danglingHREFException == null)
+      {
+        xmlHelper.danglingHREFException = exception;
+      }
+      if (xmlHelper.resource != null)
       {
-        saveElement(value, f);
+        xmlHelper.resource.getErrors().add(exception);
       }
     }
+
+    return true;
   }
 
   protected void saveFeatureMapElementReference(EObject o, EReference f)
@@ -3248,6 +3597,28 @@ public class XMLSaveImpl implements XMLSave
     protected final char[] QUOTE = { '&', 'q', 'u', 'o', 't', ';' };
     protected final char[] LINE_FEED = System.getProperty("line.separator").toCharArray();
 
+    /**
+     * The ASCII characters that {@link #convert(String)} never changes.
+     * @since 2.33
+     */
+    protected static final boolean[] PLAIN_ATTRIBUTE_CHARACTERS = new boolean [MAX_ASCII_MAPPABLE_CODEPOINT + 1];
+
+    /**
+     * The ASCII characters that {@link #convertText(String)} never changes.
+     * @since 2.33
+     */
+    protected static final boolean[] PLAIN_TEXT_CHARACTERS = new boolean [MAX_ASCII_MAPPABLE_CODEPOINT + 1];
+
+    static
+    {
+      for (char c = ' '; c < MAX_ASCII_MAPPABLE_CODEPOINT; ++c)
+      {
+        PLAIN_ATTRIBUTE_CHARACTERS[c] = PLAIN_TEXT_CHARACTERS[c] = c != '&' && c != '<' && c != '"';
+      }
+      PLAIN_TEXT_CHARACTERS['>'] = false;
+      PLAIN_TEXT_CHARACTERS['\t'] = true;
+    }
+
     /**
      * @since 2.10
      */
@@ -3292,11 +3663,18 @@ public class XMLSaveImpl implements XMLSave
      */
     public String convert(String input)
     {
-      boolean changed = false;
       int inputLength = input.length();
+      int plainLength = getPlainLength(input, inputLength, PLAIN_ATTRIBUTE_CHARACTERS);
+      if (plainLength == inputLength)
+      {
+        return input;
+      }
+      boolean changed = false;
       grow(inputLength);
-      int outputPos = 0;
-      int inputPos = 0;
+      input.getChars(0, plainLength, value, 0);
+      int outputPos = plainLength;
+      int inputPos = plainLength;
+      inputLength -= plainLength;
       char ch = 0;
       while (inputLength-- > 0)
       {
@@ -3448,12 +3826,19 @@ public class XMLSaveImpl implements XMLSave
      */
     public String convertText(String input)
     {
+      int inputLength = input.length();
+      int plainLength = getPlainLength(input, inputLength, PLAIN_TEXT_CHARACTERS);
+      if (plainLength == inputLength)
+      {
+        return input;
+      }
       boolean changed = false;
       boolean cdataCloseBracket = false;
-      int inputLength = input.length();
       grow(inputLength);
-      int outputPos = 0;
-      int inputPos = 0;
+      input.getChars(0, plainLength, value, 0);
+      int outputPos = plainLength;
+      int inputPos = plainLength;
+      inputLength -= plainLength;
       char ch;
       while (inputLength-- > 0)
       {
@@ -3607,6 +3992,10 @@ public class XMLSaveImpl implements XMLSave
      */
     public String convertLines(String input)
     {
+      if (input.indexOf('\n') == -1)
+      {
+        return input;
+      }
       boolean changed = false;
       int inputLength = input.length();
       grow(inputLength);
@@ -3634,6 +4023,25 @@ public class XMLSaveImpl implements XMLSave
       return changed ? new String(value, 0, outputPos) : input;
     }
 
+    /**
+     * Returns the length of the longest prefix of the input made only of plain ASCII characters,
+     * i.e., of characters that are known to be left unchanged.
+     * @since 2.33
+     */
+    protected int getPlainLength(String input, int inputLength, boolean[] plainCharacters)
+    {
+      if (mappableLimit < MAX_ASCII_MAPPABLE_CODEPOINT)
+      {
+        return 0;
+      }
+      int result = 0;
+      for (char ch; result < inputLength && (ch = input.charAt(result)) <= MAX_ASCII_MAPPABLE_CODEPOINT && plainCharacters[ch]; ++result)
+      {
+        // Keep scanning.
+      }
+      return result;
+    }
+
     protected int replaceChars(int pos, char[] replacement, int inputLength)
     {
       int rlen = replacement.length;
@@ -11,6 +11,8 @@
 package org.eclipse.emf.ecore.xmi.impl;
 
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 import org.eclipse.emf.common.util.BasicEList;
@@ -63,6 +65,20 @@ public class XMLString extends StringSegment
 
   protected String systemId;
 
+  /**
+   * Whether this string only computes the prologue of the document.
+   * @see #startPrologue()
+   * @since 2.33
+   */
+  protected boolean prologueOnly;
+
+  /**
+   * The writer to which the content of the document will be streamed once the first element starts.
+   * @see #startContentStreaming(Writer)
+   * @since 2.33
+   */
+  protected Writer contentWriter;
+
   public XMLString()
   {
     this(80);
@@ -132,6 +148,8 @@ public class XMLString extends StringSegment
     this.lineWidth = lineWidth;
     currentLineWidth = 0;
     firstElementMark = null;
+    prologueOnly = false;
+    contentWriter = null;
   }
 
   public void startElement(String name)
@@ -398,6 +416,10 @@ public class XMLString extends StringSegment
 
   protected void closeStartElement()
   {
+    if (prologueOnly || contentWriter != null)
+    {
+      startContent();
+    }
     add(">");
     if (!isMixed)
     {
@@ -408,6 +430,10 @@ public class XMLString extends StringSegment
 
   public void endEmptyElement()
   {
+    if (prologueOnly || contentWriter != null)
+    {
+      startContent();
+    }
     removeLast();
     add("/>");
     if (!isMixed)
@@ -419,6 +445,10 @@ public class XMLString extends StringSegment
 
   public void endContentElement(String content)
   {
+    if (prologueOnly || contentWriter != null)
+    {
+      startContent();
+    }
     add(">");
     add(content);
     add("</");
@@ -678,6 +708,91 @@ public class XMLString extends StringSegment
     }
   }
 
+  /**
+   * Prepares this printer to print subtrees that will be {@link #addSubtrees(XMLString) added} to the given printer at its current position.
+   * The start tag of the given printer's current element is closed, if necessary, 
+   * and this printer is reset to continue with the same indentation and formatting.
+   * @since 2.33
+   */
+  public void startSubtrees(XMLString xmlString)
+  {
+    if (xmlString.lastElementIsStart)
+    {
+      xmlString.closeStartElement();
+    }
+
+    reset(null, null, xmlString.lineWidth, null);
+    lineSeparator = xmlString.lineSeparator;
+    isUnformatted = xmlString.isUnformatted;
+    isMixed = xmlString.isMixed;
+    depth = xmlString.depth;
+    currentLineWidth = xmlString.currentLineWidth;
+    seenRoot = true;
+    firstElementMark = xmlString.firstElementMark;
+  }
+
+  /**
+   * Adds the subtrees printed by the given printer, 
+   * which must have been {@link #startSubtrees(XMLString) started} at the current position of this printer.
+   * @since 2.33
+   */
+  public void addSubtrees(XMLString xmlString)
+  {
+    append(xmlString);
+    currentLineWidth = xmlString.currentLineWidth;
+  }
+
+  /**
+   * Prepares for a first pass over the document that computes only its prologue,
+   * i.e., everything up to the end of the start tag of the first element,
+   * and whatever is then inserted by {@link #resetToMark(Object) resetting to a mark},
+   * typically the namespace declarations of the root element.
+   * All the other content is ignored.
+   * @see #startContentStreaming(Writer)
+   * @since 2.33
+   */
+  public void startPrologue()
+  {
+    prologueOnly = true;
+  }
+
+  /**
+   * Writes the prologue computed by the {@link #startPrologue() first pass} to the writer,
+   * and prepares for a second pass over the document
+   * during which the prologue is ignored and the content that follows it is {@link #startStreaming(Writer) streamed} to the writer.
+   * @see #endStreaming()
+   * @since 2.33
+   */
+  public void startContentStreaming(Writer writer) throws IOException
+  {
+    write(writer, Integer.MAX_VALUE);
+
+    boolean isUnformatted = this.isUnformatted;
+    reset(publicId, systemId, lineWidth, null);
+    this.isUnformatted = isUnformatted;
+    contentWriter = writer;
+    discarding = true;
+  }
+
+  /**
+   * Called when the start tag of the first element is about to be closed;
+   * this is where the {@link #startPrologue() prologue} ends and where the content to be {@link #startContentStreaming(Writer) streamed} starts.
+   * @since 2.33
+   */
+  protected void startContent()
+  {
+    if (prologueOnly)
+    {
+      prologueOnly = false;
+      discarding = true;
+    }
+    else if (contentWriter != null)
+    {
+      startStreaming(contentWriter);
+      contentWriter = null;
+    }
+  }
+
   @Override
   public Object mark()
   {
@@ -693,6 +808,7 @@ public class XMLString extends StringSegment
       mark = firstElementMark;
     }
 
+    discarding = false;
     super.resetToMark(mark);
 
     // Ensure correct indentation for a top level attribute.
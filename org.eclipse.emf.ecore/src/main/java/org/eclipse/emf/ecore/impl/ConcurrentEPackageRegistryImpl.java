@@ -0,0 +1,444 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.impl;
+
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EPackage;
+
+
+/**
+ * A thread-safe implementation of a package registry that can delegate failed lookup to another registry.
+ * <p>
+ * Looking up a registered package or factory doesn't lock.
+ * Each {@link EPackage.Descriptor descriptor} is resolved by only one thread at a time, while holding the descriptor's lock,
+ * and its entry is then atomically replaced by the resolved package,
+ * so concurrent lookups of the same descriptor all return the same package.
+ * </p>
+ * <p>
+ * The entries are held by a {@link ConcurrentHashMap},
+ * but, as for {@link EPackageRegistryImpl}, a <code>null</code> key, i.e., for a package with no namespace, and <code>null</code> values are permitted,
+ * and are visible via the collection views, as any other entry.
+ * </p>
+ * @since 2.33
+ */
+public class ConcurrentEPackageRegistryImpl extends AbstractMap<String, Object> implements EPackage.Registry
+{
+  /**
+   * The object that represents a <code>null</code> key or value in the {@link #map}, which can't hold <code>null</code>.
+   */
+  private static final Object NULL = new Object();
+
+  /**
+   * The map holding the entries, with each <code>null</code> key or value represented by {@link #NULL}.
+   */
+  private final ConcurrentHashMap<Object, Object> map = new ConcurrentHashMap<Object, Object>();
+
+  /**
+   * The entry set view.
+   */
+  private Set<Map.Entry<String, Object>> entrySet;
+
+  /**
+   * The key set view.
+   */
+  private Set<String> keySet;
+
+  /**
+   * The delegate registry.
+   */
+  protected EPackage.Registry delegateRegistry;
+
+  /**
+   * Creates a non-delegating instance.
+   */
+  public ConcurrentEPackageRegistryImpl()
+  {
+    super();
+  }
+
+  /**
+   * Creates a delegating instance.
+   */
+  public ConcurrentEPackageRegistryImpl(EPackage.Registry delegateRegistry)
+  {
+    this.delegateRegistry = delegateRegistry;
+  }
+
+  /*
+   * Javadoc copied from interface.
+   */
+  public EPackage getEPackage(String nsURI)
+  {
+    Object ePackage = get(nsURI);
+    if (ePackage instanceof EPackage)
+    {
+      EPackage result = (EPackage)ePackage;
+      if (result.getNsURI() == null)
+      {
+        initialize(result);
+      }
+      return result;
+    }
+    else if (ePackage instanceof EPackage.Descriptor)
+    {
+      return resolve(nsURI, (EPackage.Descriptor)ePackage);
+    }
+    else
+    {
+      return delegatedGetEPackage(nsURI);
+    }
+  }
+
+  /**
+   * Resolves the descriptor registered for the namespace URI,
+   * holding the descriptor's lock so that only one thread at a time resolves it,
+   * and replaces the descriptor with the resolved package if the descriptor is still registered.
+   * @param nsURI the namespace URI.
+   * @param ePackageDescriptor the descriptor registered for the namespace URI.
+   * @return the resolved package.
+   */
+  protected EPackage resolve(String nsURI, EPackage.Descriptor ePackageDescriptor)
+  {
+    synchronized (ePackageDescriptor)
+    {
+      // Another thread may have resolved and replaced the descriptor while this thread waited for the lock.
+      //
+      Object ePackage = get(nsURI);
+      if (ePackage != ePackageDescriptor && ePackage instanceof EPackage)
+      {
+        return getEPackage(nsURI);
+      }
+
+      EPackage result = ePackageDescriptor.getEPackage();
+      if (result != null)
+      {
+        if (result.getNsURI() == null)
+        {
+          initialize(result);
+        }
+        else
+        {
+          replace(nsURI, ePackageDescriptor, result);
+        }
+      }
+      return result;
+    }
+  }
+
+  /*
+   * Javadoc copied from interface.
+   */
+  public EFactory getEFactory(String nsURI)
+  {
+    Object ePackage = get(nsURI);
+    if (ePackage instanceof EPackage)
+    {
+      EPackage result = (EPackage)ePackage;
+      if (result.getNsURI() == null)
+      {
+        initialize(result);
+      }
+      return result.getEFactoryInstance();
+    }
+    else if (ePackage instanceof EPackage.Descriptor)
+    {
+      EPackage.Descriptor ePackageDescriptor = (EPackage.Descriptor)ePackage;
+      EFactory result = ePackageDescriptor.getEFactory();
+      return result;
+    }
+    else
+    {
+      return delegatedGetEFactory(nsURI);
+    }
+  }
+
+  /**
+   * Initializes a package that has no namespace URI.
+   */
+  protected void initialize(EPackage ePackage)
+  {
+    // Do nothing.
+  }
+
+  /**
+   * Returns the package from the delegate registry, if there is one.
+   * @return the package from the delegate registry.
+   */
+  protected EPackage delegatedGetEPackage(String nsURI)
+  {
+    if (delegateRegistry != null)
+    {
+      return delegateRegistry.getEPackage(nsURI);
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the factory from the delegate registry, if there is one.
+   * @return the factory from the delegate registry.
+   */
+  protected EFactory delegatedGetEFactory(String nsURI)
+  {
+    if (delegateRegistry != null)
+    {
+      return delegateRegistry.getEFactory(nsURI);
+    }
+
+    return null;
+  }
+
+  private static Object mask(Object object)
+  {
+    return object == null ? NULL : object;
+  }
+
+  private static Object unmask(Object object)
+  {
+    return object == NULL ? null : object;
+  }
+
+  @Override
+  public Object get(Object key)
+  {
+    return unmask(map.get(mask(key)));
+  }
+
+  @Override
+  public Object put(String key, Object value)
+  {
+    return unmask(map.put(mask(key), mask(value)));
+  }
+
+  @Override
+  public Object putIfAbsent(String key, Object value)
+  {
+    return unmask(map.putIfAbsent(mask(key), mask(value)));
+  }
+
+  @Override
+  public boolean replace(String key, Object oldValue, Object newValue)
+  {
+    return map.replace(mask(key), mask(oldValue), mask(newValue));
+  }
+
+  @Override
+  public Object replace(String key, Object value)
+  {
+    return unmask(map.replace(mask(key), mask(value)));
+  }
+
+  @Override
+  public boolean remove(Object key, Object value)
+  {
+    return map.remove(mask(key), mask(value));
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ? extends Object> map)
+  {
+    for (Map.Entry<? extends String, ? extends Object> entry : map.entrySet())
+    {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  @Override
+  public int size()
+  {
+    return map.size();
+  }
+
+  @Override
+  public boolean isEmpty()
+  {
+    return map.isEmpty();
+  }
+
+  @Override
+  public boolean containsValue(Object value)
+  {
+    return map.containsValue(mask(value));
+  }
+
+  @Override
+  public void clear()
+  {
+    map.clear();
+  }
+
+  @Override
+  public Set<String> keySet()
+  {
+    if (keySet == null)
+    {
+      keySet =
+        new AbstractSet<String>()
+        {
+          @Override
+          public Iterator<String> iterator()
+          {
+            final Iterator<Object> iterator = map.keySet().iterator();
+            return
+              new Iterator<String>()
+              {
+                public boolean hasNext()
+                {
+                  return iterator.hasNext();
+                }
+
+                public String next()
+                {
+                  return (String)unmask(iterator.next());
+                }
+
+                public void remove()
+                {
+                  iterator.remove();
+                }
+              };
+          }
+
+          @Override
+          public int size()
+          {
+            return map.size();
+          }
+
+          @Override
+          public boolean contains(Object key)
+          {
+            return map.containsKey(mask(key));
+          }
+
+          @Override
+          public boolean remove(Object key)
+          {
+            return map.remove(mask(key)) != null;
+          }
+
+          @Override
+          public void clear()
+          {
+            map.clear();
+          }
+        };
+    }
+    return keySet;
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet()
+  {
+    if (entrySet == null)
+    {
+      entrySet =
+        new AbstractSet<Map.Entry<String, Object>>()
+        {
+          @Override
+          public Iterator<Map.Entry<String, Object>> iterator()
+          {
+            final Iterator<Map.Entry<Object, Object>> iterator = map.entrySet().iterator();
+            return
+              new Iterator<Map.Entry<String, Object>>()
+              {
+                public boolean hasNext()
+                {
+                  return iterator.hasNext();
+                }
+
+                public Map.Entry<String, Object> next()
+                {
+                  Map.Entry<Object, Object> entry = iterator.next();
+                  return
+                    new SimpleEntry<String, Object>((String)unmask(entry.getKey()), unmask(entry.getValue()))
+                    {
+                      private static final long serialVersionUID = 1L;
+
+                      @Override
+                      public Object setValue(Object value)
+                      {
+                        super.setValue(value);
+                        return ConcurrentEPackageRegistryImpl.this.put(getKey(), value);
+                      }
+                    };
+                }
+
+                public void remove()
+                {
+                  iterator.remove();
+                }
+              };
+          }
+
+          @Override
+          public int size()
+          {
+            return map.size();
+          }
+
+          @Override
+          public boolean contains(Object object)
+          {
+            if (object instanceof Map.Entry<?, ?>)
+            {
+              Map.Entry<?, ?> entry = (Map.Entry<?, ?>)object;
+              Object value = map.get(mask(entry.getKey()));
+              return value != null && value.equals(mask(entry.getValue()));
+            }
+            return false;
+          }
+
+          @Override
+          public boolean remove(Object object)
+          {
+            if (object instanceof Map.Entry<?, ?>)
+            {
+              Map.Entry<?, ?> entry = (Map.Entry<?, ?>)object;
+              return map.remove(mask(entry.getKey()), mask(entry.getValue()));
+            }
+            return false;
+          }
+
+          @Override
+          public void clear()
+          {
+            map.clear();
+          }
+        };
+    }
+    return entrySet;
+  }
+
+  /**
+   * Returns whether this map or the delegate map contains this key. Note that
+   * if there is a delegate map, the result of this method may
+   * <em><b>not</b></em> be the same as <code>keySet().contains(key)</code>.
+   * @param key the key whose presence in this map is to be tested.
+   * @return whether this map or the delegate map contains this key.
+   */
+  @Override
+  public boolean containsKey(Object key)
+  {
+    return map.containsKey(mask(key)) || delegateRegistry != null && delegateRegistry.containsKey(key);
+  }
+
+  @Override
+  public Object remove(Object key)
+  {
+    return unmask(map.remove(mask(key)));
+  }
+}
@@ -0,0 +1,943 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.impl;
+
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+
+/**
+ * A factory for dynamic packages that creates each instance of a dynamic class
+ * as an instance of a class generated at runtime for that class,
+ * with a field per structural feature rather than an array of boxed settings.
+ * <p>
+ * The class is generated the first time an instance of a dynamic class is created,
+ * {@link DynamicFieldEObjectImpl as described here},
+ * and is defined by a class loader of its own, so that it can be unloaded along with the dynamic class.
+ * It's regenerated if the features of the dynamic class have changed since, for the instances created from then on.
+ * The factory creates a {@link DynamicEObjectImpl} for map entry classes and for classes that aren't {@link EClassImpl} instances.
+ * </p>
+ * <p>
+ * The factory is used by setting it as the {@link org.eclipse.emf.ecore.EPackage#setEFactoryInstance(org.eclipse.emf.ecore.EFactory) factory instance}
+ * of a dynamic package.
+ * </p>
+ * @since 2.33
+ */
+public class DynamicFieldEFactoryImpl extends EFactoryImpl
+{
+  /**
+   * Creates an instance of the factory.
+   */
+  public DynamicFieldEFactoryImpl()
+  {
+    super();
+  }
+
+  @Override
+  protected EObject basicCreate(EClass eClass)
+  {
+    if (eClass.getInstanceClassName() == "java.util.Map$Entry" || !(eClass instanceof EClassImpl))
+    {
+      return super.basicCreate(eClass);
+    }
+
+    Constructor<? extends DynamicFieldEObjectImpl> constructor = GeneratedClass.getGeneratedClass((EClassImpl)eClass).constructor;
+    if (constructor == null)
+    {
+      return super.basicCreate(eClass);
+    }
+
+    try
+    {
+      DynamicFieldEObjectImpl result = constructor.newInstance();
+      result.eSetClass(eClass);
+      return result;
+    }
+    catch (Exception exception)
+    {
+      throw new WrappedException(exception);
+    }
+  }
+
+  /**
+   * The class generated for a dynamic class,
+   * held as an adapter of the dynamic class.
+   */
+  public static final class GeneratedClass extends AdapterImpl
+  {
+    /**
+     * The features of the dynamic class for which the class was generated.
+     */
+    private final EStructuralFeature [] features;
+
+    /**
+     * The constructor of the generated class, or <code>null</code> if the class couldn't be generated.
+     */
+    private final Constructor<? extends DynamicFieldEObjectImpl> constructor;
+
+    private GeneratedClass(EStructuralFeature [] features, Constructor<? extends DynamicFieldEObjectImpl> constructor)
+    {
+      this.features = features;
+      this.constructor = constructor;
+    }
+
+    /**
+     * Returns the generated class.
+     * @return the generated class, or <code>null</code> if the class couldn't be generated.
+     */
+    public Class<? extends DynamicFieldEObjectImpl> getInstanceClass()
+    {
+      return constructor == null ? null : constructor.getDeclaringClass();
+    }
+
+    @Override
+    public boolean isAdapterForType(Object type)
+    {
+      return type == GeneratedClass.class;
+    }
+
+    /**
+     * Returns the class generated for the current features of the dynamic class, generating it if needed.
+     * @param eClass a dynamic class.
+     * @return the class generated for the dynamic class.
+     */
+    public static GeneratedClass getGeneratedClass(EClassImpl eClass)
+    {
+      synchronized (eClass)
+      {
+        EStructuralFeature [] features = eClass.getEAllStructuralFeaturesData();
+        List<Adapter> eAdapters = eClass.eAdapters();
+        for (int i = 0, size = eAdapters.size(); i < size; ++i)
+        {
+          Adapter adapter = eAdapters.get(i);
+          if (adapter instanceof GeneratedClass)
+          {
+            if (((GeneratedClass)adapter).features == features)
+            {
+              return (GeneratedClass)adapter;
+            }
+            eAdapters.remove(i);
+            break;
+          }
+        }
+
+        GeneratedClass result = new GeneratedClass(features, ClassGenerator.generate(eClass.getName(), features));
+        eAdapters.add(result);
+        return result;
+      }
+    }
+  }
+
+  /**
+   * The class loader that defines a single generated class.
+   */
+  private static final class GeneratedClassLoader extends ClassLoader
+  {
+    GeneratedClassLoader()
+    {
+      super(DynamicFieldEObjectImpl.class.getClassLoader());
+    }
+
+    Class<?> define(String name, byte [] bytes)
+    {
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+
+  /**
+   * A minimal class file writer that generates a subclass of {@link DynamicFieldEObjectImpl} for a list of features.
+   * The class file version predates stack map frames, so no frames need to be computed.
+   */
+  static final class ClassGenerator
+  {
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private static final String SUPER_CLASS = "org/eclipse/emf/ecore/impl/DynamicFieldEObjectImpl";
+
+    private static final String PACKAGE = "org/eclipse/emf/ecore/impl/dynamic/";
+
+    private static final String OBJECT_DESCRIPTOR = "Ljava/lang/Object;";
+
+    private static final String EOBJECT = "org/eclipse/emf/ecore/EObject";
+
+    /**
+     * The descriptor, wrapper class, and unboxing method of each primitive type.
+     */
+    private static final Map<Class<?>, String []> PRIMITIVES = new HashMap<Class<?>, String []>();
+    static
+    {
+      PRIMITIVES.put(boolean.class, new String [] { "Z", "java/lang/Boolean", "booleanValue" });
+      PRIMITIVES.put(byte.class, new String [] { "B", "java/lang/Byte", "byteValue" });
+      PRIMITIVES.put(char.class, new String [] { "C", "java/lang/Character", "charValue" });
+      PRIMITIVES.put(short.class, new String [] { "S", "java/lang/Short", "shortValue" });
+      PRIMITIVES.put(int.class, new String [] { "I", "java/lang/Integer", "intValue" });
+      PRIMITIVES.put(float.class, new String [] { "F", "java/lang/Float", "floatValue" });
+      PRIMITIVES.put(long.class, new String [] { "J", "java/lang/Long", "longValue" });
+      PRIMITIVES.put(double.class, new String [] { "D", "java/lang/Double", "doubleValue" });
+    }
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PROTECTED = 0x0004;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ACONST_NULL = 0x01;
+    private static final int ICONST_0 = 0x03;
+    private static final int ICONST_1 = 0x04;
+    private static final int LCONST_0 = 0x09;
+    private static final int FCONST_0 = 0x0B;
+    private static final int DCONST_0 = 0x0E;
+    private static final int LDC_W = 0x13;
+    private static final int ALOAD = 0x19;
+    private static final int ILOAD_1 = 0x1B;
+    private static final int ILOAD_2 = 0x1C;
+    private static final int ILOAD_3 = 0x1D;
+    private static final int ALOAD_0 = 0x2A;
+    private static final int ALOAD_2 = 0x2C;
+    private static final int ASTORE = 0x3A;
+    private static final int DUP = 0x59;
+    private static final int IAND = 0x7E;
+    private static final int IOR = 0x80;
+    private static final int LCMP = 0x94;
+    private static final int IFEQ = 0x99;
+    private static final int IFNE = 0x9A;
+    private static final int TABLESWITCH = 0xAA;
+    private static final int IRETURN = 0xAC;
+    private static final int ARETURN = 0xB0;
+    private static final int RETURN = 0xB1;
+    private static final int GETFIELD = 0xB4;
+    private static final int PUTFIELD = 0xB5;
+    private static final int INVOKEVIRTUAL = 0xB6;
+    private static final int INVOKESPECIAL = 0xB7;
+    private static final int INVOKESTATIC = 0xB8;
+    private static final int INVOKEINTERFACE = 0xB9;
+    private static final int NEW = 0xBB;
+    private static final int ATHROW = 0xBF;
+    private static final int CHECKCAST = 0xC0;
+    private static final int IFNULL = 0xC6;
+    private static final int IFNONNULL = 0xC7;
+
+    /**
+     * The kinds of features whose values the generated reflective methods access directly rather than via the setting delegates.
+     */
+    private static final int INDIRECT = 0;
+    private static final int DIRECT_PRIMITIVE = 1;
+    private static final int DIRECT_OBJECT = 2;
+    private static final int DIRECT_STRING = 3;
+    private static final int DIRECT_REFERENCE = 4;
+    private static final int DIRECT_RESOLVING_REFERENCE = 5;
+
+    private final String className;
+    private final String [] fieldNames;
+    private final String [][] primitives;
+    private final int [] setFlagFields;
+    private final int [] setFlagMasks;
+    private final int [] kinds;
+    private final ByteBuffer constantPool = new ByteBuffer();
+    private final Map<String, Integer> constants = new HashMap<String, Integer>();
+    private int constantCount = 1;
+
+    private ClassGenerator(String name, EStructuralFeature [] features)
+    {
+      className = PACKAGE + name.replaceAll("[^A-Za-z0-9_$]", "_") + "$" + COUNTER.incrementAndGet();
+      int size = features.length;
+      fieldNames = new String [size];
+      primitives = new String [size][];
+      setFlagFields = new int [size];
+      setFlagMasks = new int [size];
+      kinds = new int [size];
+      int primitiveCount = 0;
+      for (int i = 0; i < size; ++i)
+      {
+        EStructuralFeature feature = features[i];
+        fieldNames[i] = "f" + i + "_" + feature.getName().replaceAll("[^A-Za-z0-9_$]", "_");
+        if (feature instanceof EAttribute && !feature.isMany())
+        {
+          primitives[i] = PRIMITIVES.get(feature.getEType().getInstanceClass());
+          if (primitives[i] != null)
+          {
+            setFlagFields[i] = primitiveCount >>> 5;
+            setFlagMasks[i] = 1 << primitiveCount;
+            ++primitiveCount;
+          }
+        }
+        kinds[i] = getKind(feature, primitives[i] != null);
+      }
+    }
+
+    /**
+     * Returns the kind of the feature.
+     * A feature is accessed directly only if its setting delegate is one of those whose behavior the generated methods reproduce:
+     * that of a plain single-valued attribute whose default is the intrinsic default of its type,
+     * or that of a plain single-valued reference.
+     */
+    private static int getKind(EStructuralFeature feature, boolean isPrimitive)
+    {
+      if (!(feature instanceof EStructuralFeature.Internal))
+      {
+        return INDIRECT;
+      }
+      Class<?> settingDelegateClass = ((EStructuralFeature.Internal)feature).getSettingDelegate().getClass();
+      if (settingDelegateClass == EStructuralFeatureImpl.InternalSettingDelegateSingleDataStatic.class)
+      {
+        Object defaultValue = feature.getDefaultValue();
+        if (isPrimitive)
+        {
+          return defaultValue != null && defaultValue.equals(feature.getEType().getDefaultValue()) ? DIRECT_PRIMITIVE : INDIRECT;
+        }
+        else if (defaultValue == null)
+        {
+          return feature.getEType().getInstanceClass() == String.class ? DIRECT_STRING : DIRECT_OBJECT;
+        }
+      }
+      else if (settingDelegateClass == EStructuralFeatureImpl.InternalSettingDelegateSingleEObject.class)
+      {
+        return DIRECT_REFERENCE;
+      }
+      else if (settingDelegateClass == EStructuralFeatureImpl.InternalSettingDelegateSingleEObjectResolving.class)
+      {
+        return DIRECT_RESOLVING_REFERENCE;
+      }
+      return INDIRECT;
+    }
+
+    /**
+     * Generates, defines, and returns the constructor of a subclass of {@link DynamicFieldEObjectImpl} with a field per feature.
+     * @param name the name of the dynamic class.
+     * @param features the features of the dynamic class.
+     * @return the constructor of the generated class, or <code>null</code> if the class is too large to be generated.
+     */
+    static Constructor<? extends DynamicFieldEObjectImpl> generate(String name, EStructuralFeature [] features)
+    {
+      ClassGenerator classGenerator = new ClassGenerator(name == null ? "EObject" : name, features == null ? new EStructuralFeature [0] : features);
+      byte [] bytes = classGenerator.generate();
+      if (bytes == null)
+      {
+        return null;
+      }
+      Class<?> generatedClass = new GeneratedClassLoader().define(classGenerator.className.replace('/', '.'), bytes);
+      try
+      {
+        return generatedClass.asSubclass(DynamicFieldEObjectImpl.class).getConstructor();
+      }
+      catch (NoSuchMethodException exception)
+      {
+        throw new WrappedException(exception);
+      }
+    }
+
+    private byte [] generate()
+    {
+      int thisClass = classConstant(className);
+      int superClass = classConstant(SUPER_CLASS);
+
+      ByteBuffer fields = new ByteBuffer();
+      int fieldCount = 0;
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        fields.u2(ACC_PROTECTED).u2(utf8Constant(fieldNames[i])).u2(utf8Constant(getDescriptor(i))).u2(0);
+        ++fieldCount;
+      }
+      int setFlagFieldCount = 0;
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        if (primitives[i] != null)
+        {
+          setFlagFieldCount = setFlagFields[i] + 1;
+        }
+      }
+      for (int i = 0; i < setFlagFieldCount; ++i)
+      {
+        fields.u2(ACC_PROTECTED).u2(utf8Constant("eIsSet" + i)).u2(utf8Constant("I")).u2(0);
+        ++fieldCount;
+      }
+
+      ByteBuffer methods = new ByteBuffer();
+      ByteBuffer code = new ByteBuffer();
+      code.u1(ALOAD_0).u1(INVOKESPECIAL).u2(methodConstant(SUPER_CLASS, "<init>", "()V")).u1(RETURN);
+      method(methods, ACC_PUBLIC, "<init>", "()V", 1, 1, code);
+      if (!method(methods, ACC_PUBLIC, "dynamicGet", "(I)Ljava/lang/Object;", 4, 2, generateDynamicGet()) ||
+            !method(methods, ACC_PUBLIC, "dynamicSet", "(ILjava/lang/Object;)V", 5, 3, generateDynamicSet(false)) ||
+            !method(methods, ACC_PUBLIC, "dynamicUnset", "(I)V", 5, 2, generateDynamicSet(true)) ||
+            !method(methods, ACC_PUBLIC, "eGet", "(IZZ)Ljava/lang/Object;", 4, 5, generateEGet()) ||
+            !method(methods, ACC_PUBLIC, "eSet", "(ILjava/lang/Object;)V", 5, 3, generateESet()) ||
+            !method(methods, ACC_PUBLIC, "eIsSet", "(I)Z", 4, 2, generateEIsSet()))
+      {
+        return null;
+      }
+
+      ByteBuffer result = new ByteBuffer();
+      result.u4(0xCAFEBABE).u2(0).u2(49);
+      result.u2(constantCount).bytes(constantPool);
+      result.u2(ACC_PUBLIC | ACC_FINAL | ACC_SUPER).u2(thisClass).u2(superClass).u2(0);
+      result.u2(fieldCount).bytes(fields);
+      result.u2(7).bytes(methods);
+      result.u2(0);
+      return result.toByteArray();
+    }
+
+    private String getDescriptor(int featureID)
+    {
+      return primitives[featureID] == null ? OBJECT_DESCRIPTOR : primitives[featureID][0];
+    }
+
+    /**
+     * Generates the body of <code>dynamicGet</code>,
+     * which returns the field's value, boxing the value of a primitive field, or <code>null</code> if a primitive field isn't set.
+     */
+    private ByteBuffer generateDynamicGet()
+    {
+      ByteBuffer code = new ByteBuffer();
+      int [] cases = switchOnFeatureID(code);
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        cases[i] = code.size();
+        String [] primitive = primitives[i];
+        if (primitive == null)
+        {
+          code.u1(ALOAD_0).u1(GETFIELD).u2(fieldConstant(i)).u1(ARETURN);
+        }
+        else
+        {
+          code.u1(ALOAD_0).u1(GETFIELD).u2(setFlagFieldConstant(i)).u1(LDC_W).u2(integerConstant(setFlagMasks[i])).u1(IAND);
+          int branch = code.size();
+          code.u1(IFEQ).u2(0);
+          code.u1(ALOAD_0).u1(GETFIELD).u2(fieldConstant(i));
+          code.u1(INVOKESTATIC).u2(methodConstant(primitive[1], "valueOf", "(" + primitive[0] + ")L" + primitive[1] + ";")).u1(ARETURN);
+          code.patch2(branch + 1, code.size() - branch);
+          code.u1(ACONST_NULL).u1(ARETURN);
+        }
+      }
+      completeSwitch(code, cases, null);
+      return code;
+    }
+
+    /**
+     * Generates the body of <code>eGet(int, boolean, boolean)</code>,
+     * which returns the field's value directly, boxing the value of a primitive field,
+     * for each feature {@link #getKind(EStructuralFeature, boolean) accessed directly}, unless it's a proxy to be resolved,
+     * and otherwise calls the inherited method, which uses the setting delegate.
+     */
+    private ByteBuffer generateEGet()
+    {
+      ByteBuffer code = new ByteBuffer();
+      int [] cases = switchOnFeatureID(code);
+      List<Integer> superBranches = new ArrayList<Integer>();
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        switch (kinds[i])
+        {
+          case DIRECT_PRIMITIVE:
+          {
+            cases[i] = code.size();
+            String [] primitive = primitives[i];
+            code.u1(ALOAD_0).u1(GETFIELD).u2(fieldConstant(i));
+            code.u1(INVOKESTATIC).u2(methodConstant(primitive[1], "valueOf", "(" + primitive[0] + ")L" + primitive[1] + ";")).u1(ARETURN);
+            break;
+          }
+          case DIRECT_OBJECT:
+          case DIRECT_STRING:
+          case DIRECT_REFERENCE:
+          {
+            cases[i] = code.size();
+            code.u1(ALOAD_0).u1(GETFIELD).u2(fieldConstant(i)).u1(ARETURN);
+            break;
+          }
+          case DIRECT_RESOLVING_REFERENCE:
+          {
+            // A proxy that's to be resolved is left to the inherited method.
+            //
+            cases[i] = code.size();
+            code.u1(ALOAD_0).u1(GETFIELD).u2(fieldConstant(i)).u1(ASTORE).u1(4);
+            code.u1(ALOAD).u1(4);
+            int nullBranch = code.size();
+            code.u1(IFNULL).u2(0);
+            code.u1(ILOAD_2);
+            int resolveBranch = code.size();
+            code.u1(IFEQ).u2(0);
+            code.u1(ALOAD).u1(4).u1(CHECKCAST).u2(classConstant(EOBJECT));
+            code.u1(INVOKEINTERFACE).u2(interfaceMethodConstant(EOBJECT, "eIsProxy", "()Z")).u1(1).u1(0);
+            superBranches.add(code.size());
+            code.u1(IFNE).u2(0);
+            code.patch2(nullBranch + 1, code.size() - nullBranch);
+            code.patch2(resolveBranch + 1, code.size() - resolveBranch);
+            code.u1(ALOAD).u1(4).u1(ARETURN);
+            break;
+          }
+          default:
+          {
+            cases[i] = -1;
+            break;
+          }
+        }
+      }
+      ByteBuffer superCall = new ByteBuffer();
+      superCall.u1(ALOAD_0).u1(ILOAD_1).u1(ILOAD_2).u1(ILOAD_3);
+      superCall.u1(INVOKESPECIAL).u2(methodConstant(SUPER_CLASS, "eGet", "(IZZ)Ljava/lang/Object;")).u1(ARETURN);
+      int superPosition = completeSwitch(code, cases, superCall);
+      for (int branch : superBranches)
+      {
+        code.patch2(branch + 1, superPosition - branch);
+      }
+      return code;
+    }
+
+    /**
+     * Generates the body of <code>eSet(int, Object)</code>,
+     * which sets the field directly, unboxing the value for a primitive field,
+     * for each attribute {@link #getKind(EStructuralFeature, boolean) accessed directly} whose type is primitive or <code>String</code>,
+     * unless there's a notification to send or the value of a primitive field is <code>null</code>,
+     * and otherwise calls the inherited method, which uses the setting delegate.
+     */
+    private ByteBuffer generateESet()
+    {
+      ByteBuffer code = new ByteBuffer();
+      int [] cases = switchOnFeatureID(code);
+      List<Integer> superBranches = new ArrayList<Integer>();
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        int kind = kinds[i];
+        if (kind == DIRECT_PRIMITIVE || kind == DIRECT_STRING)
+        {
+          cases[i] = code.size();
+          code.u1(ALOAD_0).u1(INVOKEVIRTUAL).u2(methodConstant(SUPER_CLASS, "eNotificationRequired", "()Z"));
+          superBranches.add(code.size());
+          code.u1(IFNE).u2(0);
+          if (kind == DIRECT_STRING)
+          {
+            code.u1(ALOAD_0).u1(ALOAD_2).u1(CHECKCAST).u2(classConstant("java/lang/String")).u1(PUTFIELD).u2(fieldConstant(i)).u1(RETURN);
+          }
+          else
+          {
+            String [] primitive = primitives[i];
+            code.u1(ALOAD_2);
+            superBranches.add(code.size());
+            code.u1(IFNULL).u2(0);
+            code.u1(ALOAD_0).u1(ALOAD_2).u1(CHECKCAST).u2(classConstant(primitive[1]));
+            code.u1(INVOKEVIRTUAL).u2(methodConstant(primitive[1], primitive[2], "()" + primitive[0])).u1(PUTFIELD).u2(fieldConstant(i));
+            code.u1(ALOAD_0).u1(ALOAD_0).u1(GETFIELD).u2(setFlagFieldConstant(i));
+            code.u1(LDC_W).u2(integerConstant(setFlagMasks[i])).u1(IOR).u1(PUTFIELD).u2(setFlagFieldConstant(i)).u1(RETURN);
+          }
+        }
+        else
+        {
+          cases[i] = -1;
+        }
+      }
+      ByteBuffer superCall = new ByteBuffer();
+      superCall.u1(ALOAD_0).u1(ILOAD_1).u1(ALOAD_2);
+      superCall.u1(INVOKESPECIAL).u2(methodConstant(SUPER_CLASS, "eSet", "(ILjava/lang/Object;)V")).u1(RETURN);
+      int superPosition = completeSwitch(code, cases, superCall);
+      for (int branch : superBranches)
+      {
+        code.patch2(branch + 1, superPosition - branch);
+      }
+      return code;
+    }
+
+    /**
+     * Generates the body of <code>eIsSet(int)</code>,
+     * which tests the field directly for each feature {@link #getKind(EStructuralFeature, boolean) accessed directly},
+     * i.e., whether a reference or an object field isn't <code>null</code>,
+     * or whether a primitive field is set to a value other than the default, as compared by the value's <code>equals</code>,
+     * and otherwise calls the inherited method, which uses the setting delegate.
+     */
+    private ByteBuffer generateEIsSet()
+    {
+      ByteBuffer code = new ByteBuffer();
+      int [] cases = switchOnFeatureID(code);
+      List<Integer> falseBranches = new ArrayList<Integer>();
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        int kind = kinds[i];
+        if (kind == INDIRECT)
+        {
+          cases[i] = -1;
+        }
+        else
+        {
+          cases[i] = code.size();
+          if (kind == DIRECT_PRIMITIVE)
+          {
+            code.u1(ALOAD_0).u1(GETFIELD).u2(setFlagFieldConstant(i)).u1(LDC_W).u2(integerConstant(setFlagMasks[i])).u1(IAND);
+            falseBranches.add(code.size());
+            code.u1(IFEQ).u2(0);
+            code.u1(ALOAD_0).u1(GETFIELD).u2(fieldConstant(i));
+            switch (primitives[i][0].charAt(0))
+            {
+              case 'J':
+              {
+                code.u1(LCONST_0).u1(LCMP);
+                break;
+              }
+              case 'F':
+              {
+                code.u1(INVOKESTATIC).u2(methodConstant("java/lang/Float", "floatToIntBits", "(F)I"));
+                break;
+              }
+              case 'D':
+              {
+                code.u1(INVOKESTATIC).u2(methodConstant("java/lang/Double", "doubleToLongBits", "(D)J")).u1(LCONST_0).u1(LCMP);
+                break;
+              }
+            }
+            falseBranches.add(code.size());
+            code.u1(IFEQ).u2(0);
+          }
+          else
+          {
+            code.u1(ALOAD_0).u1(GETFIELD).u2(fieldConstant(i));
+            falseBranches.add(code.size());
+            code.u1(IFNULL).u2(0);
+          }
+          code.u1(ICONST_1).u1(IRETURN);
+        }
+      }
+      int falsePosition = code.size();
+      code.u1(ICONST_0).u1(IRETURN);
+      for (int branch : falseBranches)
+      {
+        code.patch2(branch + 1, falsePosition - branch);
+      }
+      ByteBuffer superCall = new ByteBuffer();
+      superCall.u1(ALOAD_0).u1(ILOAD_1);
+      superCall.u1(INVOKESPECIAL).u2(methodConstant(SUPER_CLASS, "eIsSet", "(I)Z")).u1(IRETURN);
+      completeSwitch(code, cases, superCall);
+      return code;
+    }
+
+    /**
+     * Generates the body of <code>dynamicSet</code>, or of <code>dynamicUnset</code>,
+     * which sets the field, unboxing the value for a primitive field, and clearing it and its set flag if the value is <code>null</code>.
+     */
+    private ByteBuffer generateDynamicSet(boolean unset)
+    {
+      ByteBuffer code = new ByteBuffer();
+      int [] cases = switchOnFeatureID(code);
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        cases[i] = code.size();
+        String [] primitive = primitives[i];
+        if (primitive == null)
+        {
+          code.u1(ALOAD_0).u1(unset ? ACONST_NULL : ALOAD_2).u1(PUTFIELD).u2(fieldConstant(i)).u1(RETURN);
+        }
+        else
+        {
+          int branch = -1;
+          if (!unset)
+          {
+            // A non-null value sets the field and its set flag.
+            //
+            code.u1(ALOAD_2);
+            branch = code.size();
+            code.u1(IFNONNULL).u2(0);
+          }
+
+          code.u1(ALOAD_0).u1(getZeroInstruction(primitive[0])).u1(PUTFIELD).u2(fieldConstant(i));
+          code.u1(ALOAD_0).u1(ALOAD_0).u1(GETFIELD).u2(setFlagFieldConstant(i));
+          code.u1(LDC_W).u2(integerConstant(~setFlagMasks[i])).u1(IAND).u1(PUTFIELD).u2(setFlagFieldConstant(i)).u1(RETURN);
+
+          if (!unset)
+          {
+            code.patch2(branch + 1, code.size() - branch);
+            code.u1(ALOAD_0).u1(ALOAD_2).u1(CHECKCAST).u2(classConstant(primitive[1]));
+            code.u1(INVOKEVIRTUAL).u2(methodConstant(primitive[1], primitive[2], "()" + primitive[0])).u1(PUTFIELD).u2(fieldConstant(i));
+            code.u1(ALOAD_0).u1(ALOAD_0).u1(GETFIELD).u2(setFlagFieldConstant(i));
+            code.u1(LDC_W).u2(integerConstant(setFlagMasks[i])).u1(IOR).u1(PUTFIELD).u2(setFlagFieldConstant(i)).u1(RETURN);
+          }
+        }
+      }
+      completeSwitch(code, cases, null);
+      return code;
+    }
+
+    private static int getZeroInstruction(String descriptor)
+    {
+      switch (descriptor.charAt(0))
+      {
+        case 'J':
+        {
+          return LCONST_0;
+        }
+        case 'F':
+        {
+          return FCONST_0;
+        }
+        case 'D':
+        {
+          return DCONST_0;
+        }
+        default:
+        {
+          return ICONST_0;
+        }
+      }
+    }
+
+    /**
+     * Emits a <code>tableswitch</code> on the feature ID, with placeholders for the offsets, unless there are no features,
+     * and returns the array in which to record the position of each case.
+     * The last element records the position of the switch itself.
+     */
+    private int [] switchOnFeatureID(ByteBuffer code)
+    {
+      int [] cases = new int [fieldNames.length + 2];
+      if (fieldNames.length == 0)
+      {
+        return cases;
+      }
+      code.u1(ILOAD_1);
+      cases[fieldNames.length + 1] = code.size();
+      code.u1(TABLESWITCH);
+      while (code.size() % 4 != 0)
+      {
+        code.u1(0);
+      }
+      code.u4(0).u4(0).u4(fieldNames.length - 1);
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        code.u4(0);
+      }
+      return cases;
+    }
+
+    /**
+     * Emits the default case, which is the given code or, if it's <code>null</code>, throws an {@link IndexOutOfBoundsException},
+     * patches the offsets of the <code>tableswitch</code>, with the offset of the default case for each case recorded as <code>-1</code>,
+     * and returns the position of the default case.
+     */
+    private int completeSwitch(ByteBuffer code, int [] cases, ByteBuffer defaultCase)
+    {
+      int size = fieldNames.length;
+      int result = code.size();
+      cases[size] = result;
+      if (defaultCase == null)
+      {
+        code.u1(NEW).u2(classConstant("java/lang/IndexOutOfBoundsException")).u1(DUP);
+        code.u1(INVOKESPECIAL).u2(methodConstant("java/lang/IndexOutOfBoundsException", "<init>", "()V")).u1(ATHROW);
+      }
+      else
+      {
+        code.bytes(defaultCase);
+      }
+      if (size == 0)
+      {
+        return result;
+      }
+
+      int switchPosition = cases[size + 1];
+      int table = (switchPosition + 4) & ~3;
+      code.patch4(table, cases[size] - switchPosition);
+      for (int i = 0; i < size; ++i)
+      {
+        code.patch4(table + 12 + 4 * i, (cases[i] == -1 ? cases[size] : cases[i]) - switchPosition);
+      }
+      return result;
+    }
+
+    private boolean method(ByteBuffer methods, int access, String name, String descriptor, int maxStack, int maxLocals, ByteBuffer code)
+    {
+      if (code.size() > 0xFFFF)
+      {
+        return false;
+      }
+      methods.u2(access).u2(utf8Constant(name)).u2(utf8Constant(descriptor)).u2(1);
+      methods.u2(utf8Constant("Code")).u4(12 + code.size());
+      methods.u2(maxStack).u2(maxLocals).u4(code.size()).bytes(code).u2(0).u2(0);
+      return true;
+    }
+
+    private int fieldConstant(int featureID)
+    {
+      return memberConstant(9, className, fieldNames[featureID], getDescriptor(featureID));
+    }
+
+    private int setFlagFieldConstant(int featureID)
+    {
+      return memberConstant(9, className, "eIsSet" + setFlagFields[featureID], "I");
+    }
+
+    private int methodConstant(String owner, String name, String descriptor)
+    {
+      return memberConstant(10, owner, name, descriptor);
+    }
+
+    private int interfaceMethodConstant(String owner, String name, String descriptor)
+    {
+      return memberConstant(11, owner, name, descriptor);
+    }
+
+    private int memberConstant(int tag, String owner, String name, String descriptor)
+    {
+      String key = tag + " " + owner + " " + name + " " + descriptor;
+      Integer result = constants.get(key);
+      if (result == null)
+      {
+        int ownerIndex = classConstant(owner);
+        String nameAndTypeKey = "12 " + name + " " + descriptor;
+        Integer nameAndTypeIndex = constants.get(nameAndTypeKey);
+        if (nameAndTypeIndex == null)
+        {
+          int nameIndex = utf8Constant(name);
+          int descriptorIndex = utf8Constant(descriptor);
+          constantPool.u1(12).u2(nameIndex).u2(descriptorIndex);
+          nameAndTypeIndex = addConstant(nameAndTypeKey);
+        }
+        constantPool.u1(tag).u2(ownerIndex).u2(nameAndTypeIndex);
+        result = addConstant(key);
+      }
+      return result;
+    }
+
+    private int classConstant(String internalName)
+    {
+      String key = "7 " + internalName;
+      Integer result = constants.get(key);
+      if (result == null)
+      {
+        int nameIndex = utf8Constant(internalName);
+        constantPool.u1(7).u2(nameIndex);
+        result = addConstant(key);
+      }
+      return result;
+    }
+
+    private int integerConstant(int value)
+    {
+      String key = "3 " + value;
+      Integer result = constants.get(key);
+      if (result == null)
+      {
+        constantPool.u1(3).u4(value);
+        result = addConstant(key);
+      }
+      return result;
+    }
+
+    private int utf8Constant(String value)
+    {
+      String key = "1 " + value;
+      Integer result = constants.get(key);
+      if (result == null)
+      {
+        constantPool.u1(1).utf(value);
+        result = addConstant(key);
+      }
+      return result;
+    }
+
+    private int addConstant(String key)
+    {
+      int result = constantCount++;
+      constants.put(key, result);
+      return result;
+    }
+  }
+
+  /**
+   * A growable byte buffer with big-endian writes, as used by class files.
+   */
+  static final class ByteBuffer
+  {
+    private byte [] bytes = new byte [256];
+    private int size;
+
+    int size()
+    {
+      return size;
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+      if (capacity > bytes.length)
+      {
+        byte [] newBytes = new byte [Math.max(capacity, 2 * bytes.length)];
+        System.arraycopy(bytes, 0, newBytes, 0, size);
+        bytes = newBytes;
+      }
+    }
+
+    ByteBuffer u1(int value)
+    {
+      ensureCapacity(size + 1);
+      bytes[size++] = (byte)value;
+      return this;
+    }
+
+    ByteBuffer u2(int value)
+    {
+      return u1(value >>> 8).u1(value);
+    }
+
+    ByteBuffer u4(int value)
+    {
+      return u2(value >>> 16).u2(value);
+    }
+
+    ByteBuffer utf(String value)
+    {
+      try
+      {
+        // The modified UTF-8 of a class file constant is the encoding used by data output.
+        //
+        java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
+        new java.io.DataOutputStream(out).writeUTF(value);
+        byte [] utf = out.toByteArray();
+        ensureCapacity(size + utf.length);
+        System.arraycopy(utf, 0, bytes, size, utf.length);
+        size += utf.length;
+        return this;
+      }
+      catch (java.io.IOException exception)
+      {
+        throw new WrappedException(exception);
+      }
+    }
+
+    ByteBuffer bytes(ByteBuffer buffer)
+    {
+      ensureCapacity(size + buffer.size);
+      System.arraycopy(buffer.bytes, 0, bytes, size, buffer.size);
+      size += buffer.size;
+      return this;
+    }
+
+    void patch2(int position, int value)
+    {
+      bytes[position] = (byte)(value >>> 8);
+      bytes[position + 1] = (byte)value;
+    }
+
+    void patch4(int position, int value)
+    {
+      patch2(position, value >>> 16);
+      patch2(position + 2, value);
+    }
+
+    byte [] toByteArray()
+    {
+      byte [] result = new byte [size];
+      System.arraycopy(bytes, 0, result, 0, size);
+      return result;
+    }
+  }
+}
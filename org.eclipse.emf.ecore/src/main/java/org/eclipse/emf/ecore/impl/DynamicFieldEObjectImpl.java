@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.impl;
+
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+
+/**
+ * The base class of the classes generated at runtime by a {@link DynamicFieldEFactoryImpl} for dynamic classes.
+ * <p>
+ * A generated subclass holds the value of each structural feature in a field of its own,
+ * of the feature's primitive type for a single-valued attribute with a primitive instance class, and of type <code>Object</code> otherwise,
+ * and implements {@link #dynamicGet(int)}, {@link #dynamicSet(int, Object)}, and {@link #dynamicUnset(int)}
+ * with a switch on the feature ID, as generated code does.
+ * For plain single-valued features, i.e., references and attributes whose default is the intrinsic default of their type,
+ * it also overrides {@link #eGet(int, boolean, boolean) eGet}, {@link #eIsSet(int) eIsSet},
+ * and, for primitive and <code>String</code> attributes while no notification is required, {@link #eSet(int, Object) eSet},
+ * to access the fields directly, as generated code does;
+ * all other values are accessed via the features' setting delegates,
+ * so they behave exactly as for {@link DynamicEObjectImpl}.
+ * As for generated code, the instances of a generated class assume that the features of the class don't change after they're created.
+ * </p>
+ * @since 2.33
+ */
+public abstract class DynamicFieldEObjectImpl extends MinimalEObjectImpl.Container
+{
+  /**
+   * The class of this object.
+   */
+  protected EClass eClass;
+
+  /**
+   * Creates a dynamic EObject.
+   */
+  protected DynamicFieldEObjectImpl()
+  {
+    super();
+  }
+
+  @Override
+  public EClass eClass()
+  {
+    return eClass;
+  }
+
+  @Override
+  protected EClass eDynamicClass()
+  {
+    return eClass;
+  }
+
+  @Override
+  public void eSetClass(EClass eClass)
+  {
+    this.eClass = eClass;
+  }
+
+  /**
+   * Returns <code>true</code> because the fields that hold the values of the features always exist.
+   */
+  @Override
+  protected boolean eHasSettings()
+  {
+    return true;
+  }
+
+  /**
+   * Returns a new array holding the value of each feature, indexed by dynamic feature ID, as {@link #dynamicGet(int)} yields it.
+   * Because the values are held in fields, the array is a copy that doesn't reflect later changes,
+   * and changes to it don't affect this object; use {@link #eBasicSetSettings(Object[])} to store its values.
+   */
+  @Override
+  protected Object[] eBasicSettings()
+  {
+    Object[] result = new Object [eClass.getFeatureCount() - eStaticFeatureCount()];
+    for (int i = 0; i < result.length; ++i)
+    {
+      result[i] = dynamicGet(i);
+    }
+    return result;
+  }
+
+  /**
+   * Stores each value of the array, which is indexed by dynamic feature ID, as {@link #dynamicSet(int, Object)} does,
+   * or {@link #dynamicUnset(int) unsets} each field if the array is <code>null</code>.
+   */
+  @Override
+  protected void eBasicSetSettings(Object[] settings)
+  {
+    if (settings == null)
+    {
+      for (int i = 0, size = eClass.getFeatureCount() - eStaticFeatureCount(); i < size; ++i)
+      {
+        dynamicUnset(i);
+      }
+    }
+    else
+    {
+      for (int i = 0; i < settings.length; ++i)
+      {
+        dynamicSet(i, settings[i]);
+      }
+    }
+  }
+
+  @Override
+  protected EStructuralFeature.Internal.DynamicValueHolder eSettings()
+  {
+    return this;
+  }
+
+  @Override
+  public abstract Object dynamicGet(int dynamicFeatureID);
+
+  @Override
+  public abstract void dynamicSet(int dynamicFeatureID, Object newValue);
+
+  @Override
+  public abstract void dynamicUnset(int dynamicFeatureID);
+}
@@ -112,6 +112,27 @@ public class EClassImpl extends EClassifierImpl implements EClass, ESuperAdapter
    */
   protected EGenericType[] eAllStructuralFeatureTypes;
 
+  /**
+   * The {@link #getEClassIndex() indices} of this class and of all its super types, as a bit set.
+   * The first element is the index of the first word of the bit set, i.e., the lowest index divided by 64,
+   * and the remaining elements are the words from there to the word with the highest index.
+   * An empty array indicates that {@link #isSuperTypeOf(EClass)} must use the {@link #getEAllSuperTypes() list of all super types} instead.
+   * @see #getEAllSuperTypesBits()
+   * @since 2.33
+   */
+  protected long[] eAllSuperTypesBits;
+
+  /**
+   * The dense index that distinguishes this class from all other classes, or -1 if it's not yet assigned.
+   * @see #getEClassIndex()
+   */
+  private int eClassIndex = -1;
+
+  /**
+   * The next index to assign.
+   */
+  private static int nextEClassIndex;
+
   /**
    * <!-- begin-user-doc -->
    * <!-- end-user-doc -->
@@ -131,6 +152,7 @@ public class EClassImpl extends EClassifierImpl implements EClass, ESuperAdapter
     getEAllOperations();
     getEAllStructuralFeatures();
     getEAllSuperTypes();
+    getEAllSuperTypesBits();
     getEAllGenericSuperTypes();
 
     getESuperAdapter().getSubclasses().clear();
@@ -2126,7 +2148,102 @@ public class EClassImpl extends EClassifierImpl implements EClass, ESuperAdapter
    */
   public boolean isSuperTypeOf(EClass someClass)
   {
-    return someClass == this || someClass.getEAllSuperTypes().contains(this);
+    if (someClass == this)
+    {
+      return true;
+    }
+    else if (someClass instanceof EClassImpl)
+    {
+      long[] bits = ((EClassImpl)someClass).getEAllSuperTypesBits();
+      if (bits.length != 0)
+      {
+        int index = getEClassIndex();
+        int word = (index >>> 6) - (int)bits[0] + 1;
+        return word > 0 && word < bits.length && (bits[word] & 1L << index) != 0;
+      }
+    }
+    return someClass.getEAllSuperTypes().contains(this);
+  }
+
+  /**
+   * Returns the dense index that distinguishes this class from all other classes, assigning the next available one if necessary.
+   * @since 2.33
+   */
+  protected final int getEClassIndex()
+  {
+    int result = eClassIndex;
+    if (result == -1)
+    {
+      synchronized (EClassImpl.class)
+      {
+        result = eClassIndex;
+        if (result == -1)
+        {
+          result = eClassIndex = nextEClassIndex++;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the {@link #getEClassIndex() indices} of this class and of all its super types as a bit set,
+   * as described for {@link #eAllSuperTypesBits}.
+   * The bit set is computed along with the {@link #getEAllSuperTypes() list of all super types},
+   * and is discarded along with that list when the super types change.
+   * It's empty if a super type isn't an instance of this implementation class,
+   * or if the indices are so sparse that the bit set would be large compared to the list.
+   * @since 2.33
+   */
+  protected long[] getEAllSuperTypesBits()
+  {
+    long[] result = eAllSuperTypesBits;
+    if (result == null)
+    {
+      EList<EClass> eAllSuperTypes = getEAllSuperTypes();
+      int size = eAllSuperTypes.size();
+      int[] indices = new int [size + 1];
+      indices[size] = getEClassIndex();
+      int minWord = indices[size] >>> 6;
+      int maxWord = minWord;
+      for (int i = 0; i < size; ++i)
+      {
+        EClass eSuperType = eAllSuperTypes.get(i);
+        if (!(eSuperType instanceof EClassImpl))
+        {
+          minWord = 0;
+          maxWord = Integer.MAX_VALUE - 1;
+          break;
+        }
+        int index = indices[i] = ((EClassImpl)eSuperType).getEClassIndex();
+        int word = index >>> 6;
+        if (word < minWord)
+        {
+          minWord = word;
+        }
+        else if (word > maxWord)
+        {
+          maxWord = word;
+        }
+      }
+
+      int wordCount = maxWord - minWord + 1;
+      if (wordCount > size + 16)
+      {
+        result = new long [0];
+      }
+      else
+      {
+        result = new long [wordCount + 1];
+        result[0] = minWord;
+        for (int index : indices)
+        {
+          result[(index >>> 6) - minWord + 1] |= 1L << index;
+        }
+      }
+      eAllSuperTypesBits = result;
+    }
+    return result;
   }
 
   /**
@@ -2220,6 +2337,7 @@ public class EClassImpl extends EClassifierImpl implements EClass, ESuperAdapter
             if (isAllSuperCollectionModified())
             {
               eAllSuperTypes = null;
+              eAllSuperTypesBits = null;
               eAllGenericSuperTypes = null;
             }
           }
@@ -11,6 +11,7 @@
 package org.eclipse.emf.ecore.impl;
 
 
+import java.lang.ref.WeakReference;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Collection;
@@ -39,6 +40,7 @@ public class EPackageRegistryImpl extends HashMap<String, Object> implements EPa
    * a secure delegator instance is created,
    * i.e., a private registry implementation that securely accesses class loaders 
    * and keeps them private, will be used.
+   * Otherwise, unless another implementation is specified, a {@link ConcurrentEPackageRegistryImpl} is created.
    */
   public static EPackage.Registry createGlobalRegistry()
   {
@@ -53,7 +55,7 @@ public class EPackageRegistryImpl extends HashMap<String, Object> implements EPa
         }
         else
         {
-          return new EPackageRegistryImpl();
+          return new ConcurrentEPackageRegistryImpl();
         }
       }
       else
@@ -64,7 +66,7 @@ public class EPackageRegistryImpl extends HashMap<String, Object> implements EPa
     catch (Exception exception)
     {
       EcorePlugin.INSTANCE.log(exception);
-      return new EPackageRegistryImpl();
+      return new ConcurrentEPackageRegistryImpl();
     }
   }
 
@@ -205,22 +207,60 @@ public class EPackageRegistryImpl extends HashMap<String, Object> implements EPa
 
   /**
    * A map from class loader to its associated registry.
+   * It must only be accessed while holding the lock of this class,
+   * and {@link #getRegistry(ClassLoader)} caches the most recently returned registry without locking,
+   * so an entry should not be replaced or removed once it has been returned.
    */
   protected static Map<ClassLoader, EPackage.Registry> classLoaderToRegistryMap = new WeakHashMap<ClassLoader, EPackage.Registry>();
 
+  /**
+   * The class loader and registry most recently returned by {@link #getRegistry(ClassLoader)}.
+   */
+  private static final class CachedRegistry
+  {
+    final WeakReference<ClassLoader> classLoader;
+
+    final EPackage.Registry registry;
+
+    CachedRegistry(ClassLoader classLoader, EPackage.Registry registry)
+    {
+      this.classLoader = new WeakReference<ClassLoader>(classLoader);
+      this.registry = registry;
+    }
+  }
+
+  private static volatile CachedRegistry cachedRegistry;
+
   /**
    * Returns the package registry associated with the given class loader.
+   * Repeated calls for the same class loader, typically a thread's context class loader, don't lock.
    * @param classLoader the class loader.
    * @return the package registry associated with the given class loader.
    */
-  public static synchronized EPackage.Registry getRegistry(ClassLoader classLoader)
+  public static EPackage.Registry getRegistry(ClassLoader classLoader)
+  {
+    CachedRegistry cached = cachedRegistry;
+    if (cached != null && classLoader != null && cached.classLoader.get() == classLoader)
+    {
+      return cached.registry;
+    }
+
+    EPackage.Registry result = getRegistryLocked(classLoader);
+    if (result != null)
+    {
+      cachedRegistry = new CachedRegistry(classLoader, result);
+    }
+    return result;
+  }
+
+  private static synchronized EPackage.Registry getRegistryLocked(ClassLoader classLoader)
   {
     EPackage.Registry result = classLoaderToRegistryMap.get(classLoader);
     if (result == null)
     {
       if (classLoader != null)
       {
-        result = new EPackageRegistryImpl(getRegistry(classLoader.getParent()));
+        result = new ConcurrentEPackageRegistryImpl(getRegistryLocked(classLoader.getParent()));
         classLoaderToRegistryMap.put(classLoader, result);
       }
     }
@@ -414,7 +454,7 @@ public class EPackageRegistryImpl extends HashMap<String, Object> implements EPa
     {
       if (classLoader != null)
       {
-        result = new EPackageRegistryImpl(getRegistrySecurely(PARENT_CLASS_LOADER_GETTER.getParent(classLoader)));
+        result = new ConcurrentEPackageRegistryImpl(getRegistrySecurely(PARENT_CLASS_LOADER_GETTER.getParent(classLoader)));
         secureClassLoaderToRegistryMap.put(classLoader, result);
       }
     }
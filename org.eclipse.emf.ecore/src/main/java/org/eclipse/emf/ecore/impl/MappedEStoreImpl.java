@@ -0,0 +1,478 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.impl;
+
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.InternalEObject;
+
+
+/**
+ * An {@link OffHeapEStoreImpl off-heap store} whose pages are persisted in a file.
+ * <p>
+ * {@link #open(Path, EPackage.Registry, int) Opening} a store reads only the state that the store holds on the heap,
+ * from a metadata file next to the page file;
+ * each page is memory-mapped from the page file when it's first accessed, so that opening takes the same time no matter how many objects the store holds,
+ * and only the objects that are accessed have wrappers on the heap.
+ * The exception is the data values that the store holds on the heap, i.e., those of types other than strings, enumerations, and primitive types,
+ * e.g., dates, which are deserialized when the store is opened,
+ * so models with many such values should use data types that the store holds in its pages.
+ * Pages are mapped {@link FileChannel.MapMode#PRIVATE privately}, so changes stay in memory, in the changed pages,
+ * until they're written to the page file by {@link #commit()};
+ * changes that aren't committed are discarded when the store is {@link #close() closed}.
+ * </p>
+ * <p>
+ * The store's {@link #getRoots() roots} are recorded with the metadata so that a resource can be opened from the store.
+ * Commits are atomic and durable:
+ * a changed page is never written over the position at which the committed metadata records it,
+ * but at a free position of the page file, or at its end,
+ * and the metadata is replaced atomically after the changed pages are forced to the disk,
+ * so a crash during a commit leaves the previously committed state intact.
+ * The positions that a commit frees are reused only after the store is reopened,
+ * because the pages mapped from them may still be in use.
+ * </p>
+ * @since 2.33
+ */
+public class MappedEStoreImpl extends OffHeapEStoreImpl implements Closeable
+{
+  /**
+   * The suffix appended to the name of a page file to yield the name of its metadata file.
+   */
+  public static final String METADATA_FILE_SUFFIX = ".meta";
+
+  private static final int MAGIC = 0x454D4653;
+
+  private static final int VERSION = 2;
+
+  /**
+   * The file holding the pages.
+   */
+  protected final Path path;
+
+  /**
+   * The channel of the file holding the pages.
+   */
+  protected final FileChannel channel;
+
+  /**
+   * The byte order of the pages.
+   */
+  protected final ByteOrder byteOrder;
+
+  /**
+   * The position of each page in the file, and its size.
+   */
+  private long [] pagePositions = new long [16];
+
+  private int [] pageSizes = new int [16];
+
+  private long fileSize;
+
+  /**
+   * The pages changed since the last commit.
+   */
+  private final BitSet changedPages = new BitSet();
+
+  /**
+   * The pages whose position is recorded by the committed metadata.
+   */
+  private final BitSet committedPages = new BitSet();
+
+  /**
+   * The positions of the free regions of the page file that can be reused, by size.
+   */
+  private final Map<Integer, List<Long>> freeRegions = new HashMap<Integer, List<Long>>();
+
+  /**
+   * The positions of the regions of the page file freed since the store was opened, by size, which aren't reused until it's reopened.
+   */
+  private final Map<Integer, List<Long>> releasedRegions = new HashMap<Integer, List<Long>>();
+
+  /**
+   * Whether the state held on the heap, including the roots, has changed since the last commit.
+   */
+  private boolean stateChanged;
+
+  private int [] rootIDs = new int [0];
+
+  /**
+   * Creates an instance for the open channel of a page file.
+   * @param path the page file.
+   * @param channel the open channel of the page file.
+   * @param pageSize the size of each page.
+   * @param byteOrder the byte order of the pages.
+   */
+  protected MappedEStoreImpl(Path path, FileChannel channel, int pageSize, ByteOrder byteOrder)
+  {
+    super(pageSize);
+    this.path = path;
+    this.channel = channel;
+    this.byteOrder = byteOrder;
+  }
+
+  /**
+   * Opens the store persisted in the given page file, or creates a new empty store if the page file doesn't exist or is empty.
+   * @param path the page file.
+   * @param packageRegistry the registry used to find the packages of the stored objects.
+   * @param pageSize the size of each page of a new store, a power of two of at least 4096; the page size of an existing store is retained.
+   * @return the open store.
+   * @throws IOException if the store can't be opened, e.g., because the page file isn't empty but there's no metadata file.
+   */
+  public static MappedEStoreImpl open(Path path, EPackage.Registry packageRegistry, int pageSize) throws IOException
+  {
+    Path metadataPath = getMetadataPath(path);
+    if (!Files.exists(metadataPath))
+    {
+      if (Files.exists(path) && Files.size(path) != 0)
+      {
+        throw new IOException("The file '" + path + "' has no metadata file '" + metadataPath + "', so it isn't a store that can be opened");
+      }
+      FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      return new MappedEStoreImpl(path, channel, pageSize, ByteOrder.nativeOrder());
+    }
+
+    ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(metadataPath)));
+    try
+    {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION)
+      {
+        throw new IOException("The file '" + metadataPath + "' isn't the metadata of a store");
+      }
+      int storedPageSize = in.readInt();
+      ByteOrder byteOrder = in.readBoolean() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+      FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      MappedEStoreImpl result = new MappedEStoreImpl(path, channel, storedPageSize, byteOrder);
+      try
+      {
+        result.readMetadata(in, packageRegistry);
+      }
+      catch (IOException exception)
+      {
+        channel.close();
+        throw exception;
+      }
+      catch (RuntimeException exception)
+      {
+        channel.close();
+        throw exception;
+      }
+      return result;
+    }
+    finally
+    {
+      in.close();
+    }
+  }
+
+  /**
+   * Returns the metadata file of the given page file.
+   * @param path a page file.
+   * @return the metadata file.
+   */
+  public static Path getMetadataPath(Path path)
+  {
+    return path.resolveSibling(path.getFileName() + METADATA_FILE_SUFFIX);
+  }
+
+  /**
+   * Returns the file holding the pages.
+   * @return the page file.
+   */
+  public Path getPath()
+  {
+    return path;
+  }
+
+  /**
+   * Returns whether there are changes that haven't been {@link #commit() committed}.
+   * @return whether there are uncommitted changes.
+   */
+  public boolean isChanged()
+  {
+    return stateChanged || !changedPages.isEmpty();
+  }
+
+  /**
+   * Returns the objects recorded as the roots of this store.
+   * @return the roots.
+   */
+  public List<EObject> getRoots()
+  {
+    List<EObject> result = new ArrayList<EObject>(rootIDs.length);
+    for (int id : rootIDs)
+    {
+      result.add(getEObject(id));
+    }
+    return result;
+  }
+
+  /**
+   * Records the objects as the roots of this store, as of the next {@link #commit() commit}.
+   * @param roots the roots.
+   * @throws IllegalArgumentException if a root isn't {@link #isStored(InternalEObject) in this store}.
+   */
+  public void setRoots(Collection<? extends EObject> roots)
+  {
+    int [] newRootIDs = new int [roots.size()];
+    int i = 0;
+    for (EObject root : roots)
+    {
+      InternalEObject internalEObject = (InternalEObject)root;
+      if (!isStored(internalEObject))
+      {
+        throw new IllegalArgumentException("The root isn't in the store: " + root);
+      }
+      newRootIDs[i++] = getID(internalEObject, false);
+    }
+    rootIDs = newRootIDs;
+    stateChanged = true;
+  }
+
+  /**
+   * Writes the changed pages to new positions of the page file, forces them to the disk, and then atomically replaces the metadata,
+   * which is the point at which the changes are committed.
+   * Nothing is written if the {@link #checkState() state can't be read back}.
+   * @throws IOException if the state can't be read back or if there's a problem writing the files.
+   */
+  public void commit() throws IOException
+  {
+    checkState();
+    for (int i = changedPages.nextSetBit(0); i >= 0; i = changedPages.nextSetBit(i + 1))
+    {
+      if (committedPages.get(i))
+      {
+        addRegion(releasedRegions, pagePositions[i], pageSizes[i]);
+        pagePositions[i] = allocateRegion(pageSizes[i]);
+        committedPages.clear(i);
+      }
+      ByteBuffer buffer = getPage(i).duplicate();
+      buffer.clear();
+      for (long position = pagePositions[i]; buffer.hasRemaining(); )
+      {
+        position += channel.write(buffer, position);
+      }
+    }
+    channel.force(false);
+
+    Path metadataPath = getMetadataPath(path);
+    Path temporaryPath = metadataPath.resolveSibling(metadataPath.getFileName() + ".tmp");
+    ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryPath)));
+    try
+    {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(pageSize);
+      out.writeBoolean(byteOrder == ByteOrder.BIG_ENDIAN);
+      writeMetadata(out);
+    }
+    finally
+    {
+      out.close();
+    }
+    FileChannel temporaryChannel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE);
+    try
+    {
+      temporaryChannel.force(true);
+    }
+    finally
+    {
+      temporaryChannel.close();
+    }
+    Files.move(temporaryPath, metadataPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    committedPages.set(0, getPageCount());
+    changedPages.clear();
+    stateChanged = false;
+  }
+
+  /**
+   * Closes the page file and releases all the memory of this store, discarding the changes that haven't been {@link #commit() committed}.
+   * The objects in the store must no longer be used.
+   */
+  public void close() throws IOException
+  {
+    dispose();
+    changedPages.clear();
+    stateChanged = false;
+    channel.close();
+  }
+
+  /**
+   * Writes the positions and sizes of the pages, the free regions of the page file, the roots, and the {@link #writeState(ObjectOutputStream) state} held on the heap.
+   */
+  protected void writeMetadata(ObjectOutputStream out) throws IOException
+  {
+    int pageCount = getPageCount();
+    out.writeInt(pageCount);
+    for (int i = 0; i < pageCount; ++i)
+    {
+      out.writeLong(pagePositions[i]);
+      out.writeInt(pageSizes[i]);
+    }
+    out.writeLong(fileSize);
+    writeRegions(out, freeRegions, releasedRegions);
+    out.writeInt(rootIDs.length);
+    for (int id : rootIDs)
+    {
+      out.writeInt(id);
+    }
+    writeState(out);
+  }
+
+  /**
+   * Reads what's written by {@link #writeMetadata(ObjectOutputStream)}.
+   */
+  protected void readMetadata(ObjectInputStream in, EPackage.Registry packageRegistry) throws IOException
+  {
+    int pageCount = in.readInt();
+    pagePositions = new long [Math.max(16, pageCount)];
+    pageSizes = new int [Math.max(16, pageCount)];
+    for (int i = 0; i < pageCount; ++i)
+    {
+      pagePositions[i] = in.readLong();
+      pageSizes[i] = in.readInt();
+    }
+    fileSize = in.readLong();
+    freeRegions.clear();
+    releasedRegions.clear();
+    for (int i = 0, size = in.readInt(); i < size; ++i)
+    {
+      long position = in.readLong();
+      addRegion(freeRegions, position, in.readInt());
+    }
+    rootIDs = new int [in.readInt()];
+    for (int i = 0; i < rootIDs.length; ++i)
+    {
+      rootIDs[i] = in.readInt();
+    }
+    readState(in, packageRegistry);
+    committedPages.clear();
+    committedPages.set(0, pageCount);
+    changedPages.clear();
+    stateChanged = false;
+  }
+
+  private static void writeRegions(ObjectOutputStream out, Map<Integer, List<Long>> regions, Map<Integer, List<Long>> otherRegions) throws IOException
+  {
+    int size = 0;
+    for (List<Long> positions : regions.values())
+    {
+      size += positions.size();
+    }
+    for (List<Long> positions : otherRegions.values())
+    {
+      size += positions.size();
+    }
+    out.writeInt(size);
+    for (Map.Entry<Integer, List<Long>> entry : regions.entrySet())
+    {
+      for (long position : entry.getValue())
+      {
+        out.writeLong(position);
+        out.writeInt(entry.getKey());
+      }
+    }
+    for (Map.Entry<Integer, List<Long>> entry : otherRegions.entrySet())
+    {
+      for (long position : entry.getValue())
+      {
+        out.writeLong(position);
+        out.writeInt(entry.getKey());
+      }
+    }
+  }
+
+  private static void addRegion(Map<Integer, List<Long>> regions, long position, int size)
+  {
+    List<Long> positions = regions.get(size);
+    if (positions == null)
+    {
+      positions = new ArrayList<Long>();
+      regions.put(size, positions);
+    }
+    positions.add(position);
+  }
+
+  /**
+   * Returns the position of a free region of the given size, reusing one that was free when the store was opened, or else extending the page file.
+   */
+  private long allocateRegion(int size)
+  {
+    List<Long> positions = freeRegions.get(size);
+    if (positions != null && !positions.isEmpty())
+    {
+      return positions.remove(positions.size() - 1);
+    }
+    long result = fileSize;
+    fileSize += size;
+    return result;
+  }
+
+  /**
+   * Creates a page that will be written at a free position of the page file, or at its end, by the next {@link #commit() commit}.
+   */
+  @Override
+  protected ByteBuffer createPage(int index, int size)
+  {
+    if (index == pagePositions.length)
+    {
+      long [] newPagePositions = new long [2 * index];
+      System.arraycopy(pagePositions, 0, newPagePositions, 0, index);
+      pagePositions = newPagePositions;
+      int [] newPageSizes = new int [2 * index];
+      System.arraycopy(pageSizes, 0, newPageSizes, 0, index);
+      pageSizes = newPageSizes;
+    }
+    pagePositions[index] = allocateRegion(size);
+    pageSizes[index] = size;
+    changedPages.set(index);
+    return ByteBuffer.allocateDirect(size).order(byteOrder);
+  }
+
+  /**
+   * Maps the page privately from the page file.
+   */
+  @Override
+  protected ByteBuffer loadPage(int index) throws IOException
+  {
+    return channel.map(FileChannel.MapMode.PRIVATE, pagePositions[index], pageSizes[index]).order(byteOrder);
+  }
+
+  @Override
+  protected void pageChanged(int index)
+  {
+    changedPages.set(index);
+  }
+
+  @Override
+  protected void stateChanged()
+  {
+    stateChanged = true;
+  }
+}
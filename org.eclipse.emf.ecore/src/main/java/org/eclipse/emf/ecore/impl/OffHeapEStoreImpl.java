@@ -0,0 +1,1764 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.impl;
+
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.BasicEMap;
+import org.eclipse.emf.common.util.Enumerator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EEnum;
+import org.eclipse.emf.ecore.EEnumLiteral;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+
+/**
+ * A {@link org.eclipse.emf.ecore.InternalEObject.EStore store} that keeps the feature values of its objects outside the Java heap,
+ * in pages of direct {@link ByteBuffer byte buffers}.
+ * <p>
+ * Each object {@link #create(EClass) created} by the store has an integer ID and a fixed-size record,
+ * laid out per class, holding its container, a set bit per feature, and an 8 byte slot per feature.
+ * A slot holds the raw bits of a primitive value, the ID of a referenced object, the index of an enumeration literal,
+ * the address of a string's UTF-8 bytes, or the address of an array of such slots for a {@link EStructuralFeature#isMany() many-valued} feature;
+ * other data values, e.g., {@link org.eclipse.emf.ecore.util.FeatureMap.Entry feature map entries}, are held on the heap.
+ * </p>
+ * <p>
+ * The objects created by the store are {@link StoreEObjectImpl thin wrappers} around an ID that the store holds weakly,
+ * so a wrapper that isn't referenced is garbage collected and is recreated when it's next reached,
+ * e.g., via a reference or its container.
+ * A wrapper with state that isn't kept in the store, i.e., adapters, a proxy URI, or a direct resource,
+ * is held strongly.
+ * Objects not created by the store, when referenced by an object in the store, are also held strongly,
+ * but only as long as a feature value or a container of an object in the store refers to them.
+ * The instances of {@link java.util.Map.Entry map entry} classes are created in the store, too, as {@link BasicEMapEntry map entries},
+ * so that a map doesn't keep the objects of the store from being collected.
+ * </p>
+ * <p>
+ * Records are never reclaimed individually; {@link #dispose() disposing} the store releases all its memory.
+ * Subclasses can keep the pages elsewhere, e.g., {@link MappedEStoreImpl} persists them in a file.
+ * </p>
+ * <p>
+ * As for objects on the heap, the objects of the store may be read concurrently,
+ * e.g., to save or validate them in parallel:
+ * wrappers are looked up and recreated atomically, so all threads see the same wrapper for an ID,
+ * and pages are loaded under a lock.
+ * Changing the objects must not be concurrent with any other access.
+ * </p>
+ * @since 2.33
+ */
+public class OffHeapEStoreImpl implements InternalEObject.EStore
+{
+  /**
+   * The default size of a page, 1 MiB.
+   */
+  public static final int DEFAULT_PAGE_SIZE = 1 << 20;
+
+  private static final byte STRING = 9;
+  private static final byte ENUM = 10;
+  private static final byte REFERENCE = 11;
+  private static final byte VALUE = 12;
+
+  /**
+   * The slot value representing {@link EStructuralFeatureImpl.InternalSettingDelegateSingle#NIL NIL}, i.e., an explicitly set <code>null</code>.
+   */
+  private static final long NIL_SLOT = Long.MIN_VALUE;
+
+  /**
+   * The size of a record's header: the class index, the container ID, the containing feature ID, and a reserved int.
+   */
+  private static final int HEADER_SIZE = 16;
+
+  /**
+   * The size of an array's header: its size and its capacity.
+   */
+  private static final int ARRAY_HEADER_SIZE = 8;
+
+  /**
+   * The number of IDs per chunk of the ID table, as a shift.
+   */
+  private static final int ID_CHUNK_SHIFT = 13;
+
+  private static final int ID_CHUNK_MASK = (1 << ID_CHUNK_SHIFT) - 1;
+
+  private static final int MIN_SIZE_CLASS = 4;
+
+  /**
+   * The size of each page.
+   */
+  protected final int pageSize;
+
+  private ByteBuffer [] pages = new ByteBuffer [16];
+
+  private int pageCount;
+
+  private int currentPage = -1;
+
+  private int currentOffset;
+
+  private long reservedBytes;
+
+  /**
+   * The head of the free list of each size class.
+   */
+  private final long [] freeLists = new long [32];
+
+  /**
+   * The address of each chunk of the ID table, which maps each ID to the address of its record.
+   */
+  private long [] idChunks = new long [16];
+
+  private int nextID = 1;
+
+  private final List<ClassLayout> classLayouts = new ArrayList<ClassLayout>();
+
+  private final Map<EClass, ClassLayout> classLayoutMap = new HashMap<EClass, ClassLayout>();
+
+  /**
+   * The wrappers that exist, held weakly.
+   * Reading an object may add a wrapper, so this map and the following one support concurrent readers.
+   */
+  private final ConcurrentMap<Integer, EObjectReference> liveObjects = new ConcurrentHashMap<Integer, EObjectReference>();
+
+  private final ReferenceQueue<StoreEObjectImpl> queue = new ReferenceQueue<StoreEObjectImpl>();
+
+  /**
+   * The objects held strongly.
+   */
+  private final Map<Integer, InternalEObject> pinnedObjects = new ConcurrentHashMap<Integer, InternalEObject>();
+
+  /**
+   * The IDs of the objects not created by this store.
+   */
+  private final Map<InternalEObject, Integer> foreignIDs = new IdentityHashMap<InternalEObject, Integer>();
+
+  /**
+   * The number of slots and containers referring to each object not created by this store that has no record in this store.
+   */
+  private final Map<Integer, Integer> foreignReferenceCounts = new HashMap<Integer, Integer>();
+
+  /**
+   * The enumeration literals, indexed by their slot values less one, and their enumerations.
+   */
+  private final List<Object> enumerators = new ArrayList<Object>();
+
+  private final List<EEnum> enumeratorTypes = new ArrayList<EEnum>();
+
+  private final Map<Object, Integer> enumeratorIndices = new HashMap<Object, Integer>();
+
+  /**
+   * The data values held on the heap, indexed by their slot values less one, and the free indices.
+   */
+  private Object [] values = new Object [16];
+
+  private int valueCount;
+
+  private int [] freeValues = new int [16];
+
+  private int freeValueCount;
+
+  /**
+   * Creates an instance with the {@link #DEFAULT_PAGE_SIZE default page size}.
+   */
+  public OffHeapEStoreImpl()
+  {
+    this(DEFAULT_PAGE_SIZE);
+  }
+
+  /**
+   * Creates an instance with the given page size.
+   * @param pageSize the size of each page, a power of two of at least 4096.
+   */
+  public OffHeapEStoreImpl(int pageSize)
+  {
+    if (pageSize < 4096 || Integer.bitCount(pageSize) != 1)
+    {
+      throw new IllegalArgumentException("The page size must be a power of two of at least 4096: " + pageSize);
+    }
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * Returns the number of objects with an ID in this store.
+   * @return the number of objects with an ID in this store.
+   */
+  public int getObjectCount()
+  {
+    return nextID - 1;
+  }
+
+  /**
+   * Returns the number of bytes of the pages reserved by this store outside the heap.
+   * @return the number of bytes reserved outside the heap.
+   */
+  public long getReservedBytes()
+  {
+    return reservedBytes;
+  }
+
+  /**
+   * Returns the objects with a record in this store whose wrappers exist, i.e., that are held strongly or haven't been garbage collected.
+   * @return the objects with a wrapper.
+   */
+  public List<InternalEObject> getLiveObjects()
+  {
+    Map<Integer, InternalEObject> result = new HashMap<Integer, InternalEObject>();
+    for (EObjectReference reference : liveObjects.values())
+    {
+      StoreEObjectImpl object = reference.get();
+      if (object != null)
+      {
+        result.put(object.eStoreID, object);
+      }
+    }
+    for (Map.Entry<Integer, InternalEObject> entry : pinnedObjects.entrySet())
+    {
+      if (getRecord(entry.getKey()) != 0)
+      {
+        result.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return new ArrayList<InternalEObject>(result.values());
+  }
+
+  /**
+   * Releases all the memory of this store.
+   * The objects in the store must no longer be used.
+   */
+  public void dispose()
+  {
+    pages = new ByteBuffer [16];
+    pageCount = 0;
+    currentPage = -1;
+    reservedBytes = 0;
+    Arrays.fill(freeLists, 0);
+    idChunks = new long [16];
+    nextID = 1;
+    classLayouts.clear();
+    classLayoutMap.clear();
+    liveObjects.clear();
+    pinnedObjects.clear();
+    foreignIDs.clear();
+    foreignReferenceCounts.clear();
+    enumerators.clear();
+    enumeratorTypes.clear();
+    enumeratorIndices.clear();
+    values = new Object [16];
+    valueCount = 0;
+    freeValueCount = 0;
+  }
+
+  /**
+   * Returns whether the object has a record in this store, i.e., whether its feature values are held by this store.
+   * @param object an object.
+   * @return whether the object has a record in this store.
+   */
+  protected boolean isStored(InternalEObject object)
+  {
+    if (object instanceof StoreEObjectImpl && ((StoreEObjectImpl)object).eStore == this)
+    {
+      return true;
+    }
+    Integer id = foreignIDs.get(object);
+    return id != null && getRecord(id) != 0;
+  }
+
+  /**
+   * Checks that the state of this store can be {@link #writeState(ObjectOutputStream) written} and read back,
+   * i.e., that no object without a record in this store is contained by an object with a record in this store.
+   * Such an object is written only as its URI, so it would be read back as a proxy whose URI denotes the proxy itself.
+   * @throws IOException if an object without a record in this store is contained by an object with a record in this store.
+   */
+  protected void checkState() throws IOException
+  {
+    for (Map.Entry<InternalEObject, Integer> entry : foreignIDs.entrySet())
+    {
+      if (getRecord(entry.getValue()) == 0)
+      {
+        InternalEObject object = entry.getKey();
+        for (InternalEObject container = object.eInternalContainer(); container != null; container = container.eInternalContainer())
+        {
+          if (isStored(container))
+          {
+            throw new IOException("The object '" + object + "' isn't in the store but is contained by an object in the store");
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes the state of this store that's held on the heap, i.e., everything but the contents of its pages,
+   * so that a store with the same pages can {@link #readState(ObjectInputStream, EPackage.Registry) read} it.
+   * Classes and enumerations are written as the namespace URI of their package and their name,
+   * objects not created by this store as their URI and the number of references to them,
+   * and the data values held on the heap are serialized.
+   * @param out the stream to which to write.
+   * @throws IOException if the {@link #checkState() state can't be read back}, if a data value isn't serializable, or if there's a problem writing the stream.
+   */
+  protected void writeState(ObjectOutputStream out) throws IOException
+  {
+    checkState();
+
+    out.writeInt(pageCount);
+    out.writeInt(currentPage);
+    out.writeInt(currentOffset);
+    out.writeLong(reservedBytes);
+    for (long freeList : freeLists)
+    {
+      out.writeLong(freeList);
+    }
+
+    out.writeInt(nextID);
+    int chunkCount = ((nextID - 1) >>> ID_CHUNK_SHIFT) + 1;
+    for (int i = 0; i < chunkCount; ++i)
+    {
+      out.writeLong(idChunks[i]);
+    }
+
+    out.writeInt(classLayouts.size());
+    for (ClassLayout classLayout : classLayouts)
+    {
+      writeClassifier(out, classLayout.eClass);
+      out.writeInt(classLayout.kinds.length);
+      out.write(classLayout.kinds);
+    }
+
+    out.writeInt(enumerators.size());
+    for (int i = 0, size = enumerators.size(); i < size; ++i)
+    {
+      writeClassifier(out, enumeratorTypes.get(i));
+      out.writeUTF(((Enumerator)enumerators.get(i)).getName());
+    }
+
+    out.writeInt(valueCount);
+    for (int i = 0; i < valueCount; ++i)
+    {
+      out.writeObject(values[i]);
+    }
+    out.writeInt(freeValueCount);
+    for (int i = 0; i < freeValueCount; ++i)
+    {
+      out.writeInt(freeValues[i]);
+    }
+
+    List<Map.Entry<InternalEObject, Integer>> foreignObjects = new ArrayList<Map.Entry<InternalEObject, Integer>>();
+    for (Map.Entry<InternalEObject, Integer> entry : foreignIDs.entrySet())
+    {
+      if (getRecord(entry.getValue()) == 0)
+      {
+        foreignObjects.add(entry);
+      }
+    }
+    out.writeInt(foreignObjects.size());
+    for (Map.Entry<InternalEObject, Integer> entry : foreignObjects)
+    {
+      InternalEObject object = entry.getKey();
+      int id = entry.getValue();
+      out.writeInt(id);
+      Integer referenceCount = foreignReferenceCounts.get(id);
+      out.writeInt(referenceCount == null ? 0 : referenceCount);
+      writeClassifier(out, object.eClass());
+      out.writeUTF(EcoreUtil.getURI(object).toString());
+    }
+  }
+
+  /**
+   * Replaces the state of this store that's held on the heap with the state {@link #writeState(ObjectOutputStream) written} by a store with the same pages.
+   * The pages themselves are {@link #loadPage(int) loaded} when they're first accessed.
+   * The data values held on the heap, i.e., those of types other than strings, enumerations, and primitive types, are deserialized,
+   * so reading takes time proportional to their number.
+   * The objects not created by the store are recreated as {@link InternalEObject#eIsProxy() proxies}.
+   * @param in the stream from which to read.
+   * @param packageRegistry the registry used to find the packages of the classes and enumerations.
+   * @throws IOException if a class or enumeration can't be found or its features have changed, or if there's a problem reading the stream.
+   */
+  protected void readState(ObjectInputStream in, EPackage.Registry packageRegistry) throws IOException
+  {
+    dispose();
+
+    pageCount = in.readInt();
+    pages = new ByteBuffer [Math.max(16, pageCount)];
+    currentPage = in.readInt();
+    currentOffset = in.readInt();
+    reservedBytes = in.readLong();
+    for (int i = 0; i < freeLists.length; ++i)
+    {
+      freeLists[i] = in.readLong();
+    }
+
+    nextID = in.readInt();
+    int chunkCount = ((nextID - 1) >>> ID_CHUNK_SHIFT) + 1;
+    idChunks = new long [Math.max(16, chunkCount)];
+    for (int i = 0; i < chunkCount; ++i)
+    {
+      idChunks[i] = in.readLong();
+    }
+
+    for (int i = 0, size = in.readInt(); i < size; ++i)
+    {
+      EClassifier eClassifier = readClassifier(in, packageRegistry);
+      byte [] kinds = new byte [in.readInt()];
+      in.readFully(kinds);
+      if (!(eClassifier instanceof EClass) || !Arrays.equals(getClassLayout((EClass)eClassifier).kinds, kinds))
+      {
+        throw new IOException("The features of the class '" + eClassifier.getName() + "' have changed");
+      }
+    }
+
+    for (int i = 0, size = in.readInt(); i < size; ++i)
+    {
+      EClassifier eClassifier = readClassifier(in, packageRegistry);
+      String name = in.readUTF();
+      EEnumLiteral eEnumLiteral = eClassifier instanceof EEnum ? ((EEnum)eClassifier).getEEnumLiteral(name) : null;
+      if (eEnumLiteral == null)
+      {
+        throw new IOException("The literal '" + name + "' of the enumeration '" + eClassifier.getName() + "' doesn't exist");
+      }
+      Enumerator enumerator = eEnumLiteral.getInstance();
+      enumerators.add(enumerator);
+      enumeratorTypes.add((EEnum)eClassifier);
+      enumeratorIndices.put(enumerator, i);
+    }
+
+    valueCount = in.readInt();
+    values = new Object [Math.max(16, valueCount)];
+    try
+    {
+      for (int i = 0; i < valueCount; ++i)
+      {
+        values[i] = in.readObject();
+      }
+    }
+    catch (ClassNotFoundException exception)
+    {
+      throw new IOException(exception);
+    }
+    freeValueCount = in.readInt();
+    freeValues = new int [Math.max(16, freeValueCount)];
+    for (int i = 0; i < freeValueCount; ++i)
+    {
+      freeValues[i] = in.readInt();
+    }
+
+    for (int i = 0, size = in.readInt(); i < size; ++i)
+    {
+      int id = in.readInt();
+      int referenceCount = in.readInt();
+      EClassifier eClassifier = readClassifier(in, packageRegistry);
+      URI uri = URI.createURI(in.readUTF());
+      if (!(eClassifier instanceof EClass))
+      {
+        throw new IOException("The classifier '" + eClassifier.getName() + "' isn't a class");
+      }
+      EClass eClass = (EClass)eClassifier;
+      InternalEObject proxy = (InternalEObject)(eClass.getInstanceClassName() == null ? new DynamicEObjectImpl(eClass) : EcoreUtil.create(eClass));
+      proxy.eSetProxyURI(uri);
+      foreignIDs.put(proxy, id);
+      foreignReferenceCounts.put(id, referenceCount);
+      pinnedObjects.put(id, proxy);
+    }
+  }
+
+  private static void writeClassifier(ObjectOutputStream out, EClassifier eClassifier) throws IOException
+  {
+    EPackage ePackage = eClassifier.getEPackage();
+    if (ePackage == null || ePackage.getNsURI() == null)
+    {
+      throw new IOException("The classifier '" + eClassifier.getName() + "' isn't in a package with a namespace URI");
+    }
+    out.writeUTF(ePackage.getNsURI());
+    out.writeUTF(eClassifier.getName());
+  }
+
+  private static EClassifier readClassifier(ObjectInputStream in, EPackage.Registry packageRegistry) throws IOException
+  {
+    String nsURI = in.readUTF();
+    String name = in.readUTF();
+    EPackage ePackage = packageRegistry.getEPackage(nsURI);
+    EClassifier result = ePackage == null ? null : ePackage.getEClassifier(name);
+    if (result == null)
+    {
+      throw new IOException("The classifier '" + name + "' of the package '" + nsURI + "' isn't registered");
+    }
+    return result;
+  }
+
+  /**
+   * The storage layout of the records of the instances of a class.
+   */
+  protected static final class ClassLayout
+  {
+    final int index;
+    final EClass eClass;
+    final byte [] kinds;
+    final int slotsOffset;
+    final int recordSize;
+    final boolean pinInstances;
+    final boolean isMapEntry;
+
+    ClassLayout(int index, EClass eClass)
+    {
+      this.index = index;
+      this.eClass = eClass;
+      List<EStructuralFeature> eAllStructuralFeatures = eClass.getEAllStructuralFeatures();
+      int size = eAllStructuralFeatures.size();
+      kinds = new byte [size];
+      boolean pinInstances = false;
+      for (int i = 0; i < size; ++i)
+      {
+        EStructuralFeature feature = eAllStructuralFeatures.get(i);
+        kinds[i] = getKind(feature);
+
+        // The values of transient features are held by the wrapper.
+        //
+        pinInstances |= feature.isTransient() && !feature.isVolatile();
+      }
+      this.pinInstances = pinInstances;
+      isMapEntry = eClass.getInstanceClassName() == "java.util.Map$Entry";
+      slotsOffset = HEADER_SIZE + 8 * ((size + 63) >>> 6);
+      recordSize = slotsOffset + 8 * size;
+    }
+
+    private static byte getKind(EStructuralFeature feature)
+    {
+      if (feature instanceof EReference)
+      {
+        return REFERENCE;
+      }
+      else if (feature.getEType() instanceof EEnum)
+      {
+        return ENUM;
+      }
+      else
+      {
+        Class<?> instanceClass = feature.getEType().getInstanceClass();
+        if (instanceClass == String.class)
+        {
+          return STRING;
+        }
+        else if (instanceClass == boolean.class)
+        {
+          return PackedDynamicEObjectImpl.Layout.BOOLEAN;
+        }
+        else if (instanceClass == byte.class)
+        {
+          return PackedDynamicEObjectImpl.Layout.BYTE;
+        }
+        else if (instanceClass == char.class)
+        {
+          return PackedDynamicEObjectImpl.Layout.CHAR;
+        }
+        else if (instanceClass == short.class)
+        {
+          return PackedDynamicEObjectImpl.Layout.SHORT;
+        }
+        else if (instanceClass == int.class)
+        {
+          return PackedDynamicEObjectImpl.Layout.INT;
+        }
+        else if (instanceClass == float.class)
+        {
+          return PackedDynamicEObjectImpl.Layout.FLOAT;
+        }
+        else if (instanceClass == long.class)
+        {
+          return PackedDynamicEObjectImpl.Layout.LONG;
+        }
+        else if (instanceClass == double.class)
+        {
+          return PackedDynamicEObjectImpl.Layout.DOUBLE;
+        }
+        else
+        {
+          return VALUE;
+        }
+      }
+    }
+  }
+
+  /**
+   * An object created by an {@link OffHeapEStoreImpl}, whose feature values and container are held by the store.
+   */
+  public static class StoreEObjectImpl extends MinimalEStoreEObjectImpl
+  {
+    /**
+     * The store.
+     */
+    protected final OffHeapEStoreImpl eStore;
+
+    /**
+     * The ID of this object in the store.
+     */
+    protected final int eStoreID;
+
+    /**
+     * Creates a store-based EObject with the given ID.
+     */
+    protected StoreEObjectImpl(EClass eClass, OffHeapEStoreImpl eStore, int eStoreID)
+    {
+      super(eClass);
+      this.eStore = eStore;
+      this.eStoreID = eStoreID;
+
+      // The settings, which cache the lists, are allocated up front
+      // so that reading this object doesn't change the layout of its fields while other threads read them.
+      //
+      eSettings();
+    }
+
+    /**
+     * Returns the ID of this object in the store.
+     * @return the ID of this object in the store.
+     */
+    public int getStoreID()
+    {
+      return eStoreID;
+    }
+
+    @Override
+    public InternalEObject.EStore eStore()
+    {
+      return eStore;
+    }
+
+    @Override
+    protected boolean eIsCaching()
+    {
+      return false;
+    }
+
+    /**
+     * Returns the container provided by the store,
+     * or <code>null</code> if the store has been {@link OffHeapEStoreImpl#dispose() disposed} since this object was created,
+     * e.g., for an object turned into a proxy when its resource was unloaded.
+     */
+    @Override
+    public InternalEObject eInternalContainer()
+    {
+      return eStoreID < eStore.nextID ? super.eInternalContainer() : null;
+    }
+
+    @Override
+    protected void eBasicSetContainer(InternalEObject newContainer, int newContainerFeatureID)
+    {
+      eStore.setContainer(this, newContainer, newContainerFeatureID);
+    }
+
+    @Override
+    protected void eBasicSetAdapterArray(Adapter [] eAdapters)
+    {
+      super.eBasicSetAdapterArray(eAdapters);
+      eStore.updatePin(this);
+    }
+
+    @Override
+    public void eSetProxyURI(URI uri)
+    {
+      super.eSetProxyURI(uri);
+      eStore.updatePin(this);
+    }
+
+    @Override
+    protected void eSetDirectResource(Resource.Internal resource)
+    {
+      super.eSetDirectResource(resource);
+      eStore.updatePin(this);
+    }
+  }
+
+  /**
+   * A store-based map entry, i.e., an instance of a class whose instance class is {@link java.util.Map.Entry}.
+   */
+  public static class BasicEMapEntry<K, V> extends StoreEObjectImpl implements BasicEMap.Entry<K, V>
+  {
+    protected int hash = -1;
+    protected final EStructuralFeature keyFeature;
+    protected final EStructuralFeature valueFeature;
+
+    /**
+     * Creates a store-based map entry with the given ID.
+     */
+    protected BasicEMapEntry(EClass eClass, OffHeapEStoreImpl eStore, int eStoreID)
+    {
+      super(eClass, eStore, eStoreID);
+      keyFeature = eClass.getEStructuralFeature("key");
+      valueFeature = eClass.getEStructuralFeature("value");
+    }
+
+    @SuppressWarnings("unchecked")
+    public K getKey()
+    {
+      return (K)eGet(keyFeature);
+    }
+
+    public void setKey(Object key)
+    {
+      eSet(keyFeature, key);
+    }
+
+    public int getHash()
+    {
+      if (hash == -1)
+      {
+        Object theKey = getKey();
+        hash = (theKey == null ? 0 : theKey.hashCode());
+      }
+      return hash;
+    }
+
+    public void setHash(int hash)
+    {
+      this.hash = hash;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getValue()
+    {
+      return (V)eGet(valueFeature);
+    }
+
+    public V setValue(V value)
+    {
+      @SuppressWarnings("unchecked") V result = (V)eGet(valueFeature);
+      eSet(valueFeature, value);
+      return result;
+    }
+  }
+
+  /**
+   * A factory that {@link OffHeapEStoreImpl#create(EClass) creates} the instances of the classes of its package in a store,
+   * including those of map entry classes.
+   */
+  public static class Factory extends EFactoryImpl
+  {
+    /**
+     * The store.
+     */
+    protected final OffHeapEStoreImpl eStore;
+
+    /**
+     * Creates an instance for the given store.
+     */
+    public Factory(OffHeapEStoreImpl eStore)
+    {
+      this.eStore = eStore;
+    }
+
+    @Override
+    protected EObject basicCreate(EClass eClass)
+    {
+      return eStore.create(eClass);
+    }
+  }
+
+  private static final class EObjectReference extends WeakReference<StoreEObjectImpl>
+  {
+    final int id;
+
+    EObjectReference(StoreEObjectImpl object, ReferenceQueue<StoreEObjectImpl> queue)
+    {
+      super(object, queue);
+      this.id = object.eStoreID;
+    }
+  }
+
+  public EObject create(EClass eClass)
+  {
+    ClassLayout classLayout = getClassLayout(eClass);
+    int id = newID(newRecord(classLayout));
+    StoreEObjectImpl result = createEObject(classLayout, id);
+    register(result, classLayout);
+    return result;
+  }
+
+  /**
+   * Creates the wrapper for the object with the given ID,
+   * a {@link BasicEMapEntry map entry} for an instance of a map entry class.
+   * @param classLayout the layout of the object's class.
+   * @param id the ID of the object.
+   * @return a new wrapper.
+   */
+  protected StoreEObjectImpl createEObject(ClassLayout classLayout, int id)
+  {
+    return
+      classLayout.isMapEntry ?
+        new BasicEMapEntry<Object, Object>(classLayout.eClass, this, id) :
+        new StoreEObjectImpl(classLayout.eClass, this, id);
+  }
+
+  protected ClassLayout getClassLayout(EClass eClass)
+  {
+    ClassLayout result = classLayoutMap.get(eClass);
+    if (result == null)
+    {
+      result = new ClassLayout(classLayouts.size(), eClass);
+      classLayouts.add(result);
+      classLayoutMap.put(eClass, result);
+      stateChanged();
+    }
+    return result;
+  }
+
+  private long newRecord(ClassLayout classLayout)
+  {
+    long result = allocate(classLayout.recordSize);
+    putInt(result, classLayout.index);
+    putInt(result + 8, -1);
+    return result;
+  }
+
+  private int newID(long record)
+  {
+    int result = nextID++;
+    stateChanged();
+    int chunk = result >>> ID_CHUNK_SHIFT;
+    if (chunk == idChunks.length)
+    {
+      long [] newIDChunks = new long [2 * chunk];
+      System.arraycopy(idChunks, 0, newIDChunks, 0, chunk);
+      idChunks = newIDChunks;
+    }
+    if (idChunks[chunk] == 0)
+    {
+      idChunks[chunk] = allocate(8 << ID_CHUNK_SHIFT);
+    }
+    putLong(idChunks[chunk] + 8 * (result & ID_CHUNK_MASK), record);
+    return result;
+  }
+
+  private long getRecord(int id)
+  {
+    return getLong(idChunks[id >>> ID_CHUNK_SHIFT] + 8 * (id & ID_CHUNK_MASK));
+  }
+
+  private long getRecord(InternalEObject object)
+  {
+    int id = getID(object, object.eStore() == this);
+    if (id >= nextID)
+    {
+      throw new IllegalStateException("The store of the object has been disposed: " + object);
+    }
+    long result = getRecord(id);
+    if (result == 0)
+    {
+      throw new IllegalArgumentException("The object doesn't delegate to this store: " + object);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the ID of the object, optionally assigning one if it's an object not created by this store and has none yet.
+   * @param object an object.
+   * @param register whether to assign an ID to an object that has none.
+   * @return the ID of the object, or <code>0</code>.
+   */
+  protected int getID(InternalEObject object, boolean register)
+  {
+    if (object instanceof StoreEObjectImpl && ((StoreEObjectImpl)object).eStore == this)
+    {
+      return ((StoreEObjectImpl)object).eStoreID;
+    }
+
+    Integer result = foreignIDs.get(object);
+    if (result == null)
+    {
+      if (!register)
+      {
+        return 0;
+      }
+      long record = object.eStore() == this ? newRecord(getClassLayout(object.eClass())) : 0;
+      result = newID(record);
+      foreignIDs.put(object, result);
+      pinnedObjects.put(result, object);
+      if (record == 0)
+      {
+        foreignReferenceCounts.put(result, 0);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the ID of the object, assigning one if necessary, and records a reference to it from a slot or a container.
+   */
+  private int retain(InternalEObject object)
+  {
+    int result = getID(object, true);
+    if (!(object instanceof StoreEObjectImpl) || ((StoreEObjectImpl)object).eStore != this)
+    {
+      Integer referenceCount = foreignReferenceCounts.get(result);
+      if (referenceCount != null)
+      {
+        foreignReferenceCounts.put(result, referenceCount + 1);
+        stateChanged();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Records the removal of a reference from a slot or a container to the object with the given ID,
+   * dropping the ID of an object not created by this store when there are no more references to it.
+   */
+  private void release(int id)
+  {
+    if (!foreignReferenceCounts.isEmpty())
+    {
+      Integer referenceCount = foreignReferenceCounts.get(id);
+      if (referenceCount != null)
+      {
+        if (referenceCount <= 1)
+        {
+          foreignReferenceCounts.remove(id);
+          foreignIDs.remove(pinnedObjects.remove(id));
+        }
+        else
+        {
+          foreignReferenceCounts.put(id, referenceCount - 1);
+        }
+        stateChanged();
+      }
+    }
+  }
+
+  /**
+   * Returns the object with the given ID, recreating its wrapper if it has been garbage collected.
+   * @param id the ID of an object.
+   * @return the object with the given ID.
+   */
+  protected InternalEObject getEObject(int id)
+  {
+    InternalEObject result = pinnedObjects.get(id);
+    if (result == null)
+    {
+      EObjectReference reference = liveObjects.get(id);
+      if (reference != null)
+      {
+        result = reference.get();
+      }
+      if (result == null)
+      {
+        ClassLayout classLayout = classLayouts.get(getInt(getRecord(id)));
+        result = register(createEObject(classLayout, id), classLayout);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Registers the new wrapper, unless another thread has registered a wrapper for the same ID in the meantime,
+   * and returns the registered wrapper.
+   */
+  private StoreEObjectImpl register(StoreEObjectImpl object, ClassLayout classLayout)
+  {
+    for (Reference<? extends StoreEObjectImpl> reference; (reference = queue.poll()) != null; )
+    {
+      liveObjects.remove(((EObjectReference)reference).id, reference);
+    }
+
+    int id = object.eStoreID;
+    EObjectReference newReference = new EObjectReference(object, queue);
+    for (;;)
+    {
+      EObjectReference reference = liveObjects.putIfAbsent(id, newReference);
+      if (reference == null)
+      {
+        break;
+      }
+      StoreEObjectImpl existingObject = reference.get();
+      if (existingObject != null)
+      {
+        newReference.clear();
+        return existingObject;
+      }
+      if (liveObjects.replace(id, reference, newReference))
+      {
+        break;
+      }
+    }
+
+    if (classLayout.pinInstances)
+    {
+      pinnedObjects.put(id, object);
+    }
+    return object;
+  }
+
+  /**
+   * Holds the object strongly if it has state that isn't kept in the store, and weakly otherwise.
+   */
+  protected void updatePin(StoreEObjectImpl object)
+  {
+    if (object.eBasicHasAdapters() || object.eIsProxy() || object.eDirectResource() != null || getClassLayout(object.eClass()).pinInstances)
+    {
+      pinnedObjects.put(object.eStoreID, object);
+    }
+    else
+    {
+      pinnedObjects.remove(object.eStoreID);
+    }
+  }
+
+  /**
+   * Records the container of the object, as set by {@link BasicEObjectImpl#eBasicSetContainer(InternalEObject, int)}.
+   */
+  protected void setContainer(InternalEObject object, InternalEObject newContainer, int newContainerFeatureID)
+  {
+    long record = getRecord(object);
+    int oldContainerID = getInt(record + 4);
+    if (newContainer == null)
+    {
+      putInt(record + 4, 0);
+      putInt(record + 8, -1);
+    }
+    else
+    {
+      EStructuralFeature containingFeature =
+        newContainerFeatureID <= InternalEObject.EOPPOSITE_FEATURE_BASE ?
+          newContainer.eClass().getEStructuralFeature(InternalEObject.EOPPOSITE_FEATURE_BASE - newContainerFeatureID) :
+          ((EReference)object.eClass().getEStructuralFeature(newContainerFeatureID)).getEOpposite();
+      putInt(record + 4, retain(newContainer));
+      putInt(record + 8, newContainer.eClass().getFeatureID(containingFeature));
+    }
+
+    // The new container is retained before the old one is released so that the ID of a container that doesn't change is kept.
+    //
+    if (oldContainerID != 0)
+    {
+      release(oldContainerID);
+    }
+  }
+
+  public InternalEObject getContainer(InternalEObject object)
+  {
+    int containerID = getInt(getRecord(object) + 4);
+    return containerID == 0 ? null : getEObject(containerID);
+  }
+
+  public EStructuralFeature getContainingFeature(InternalEObject object)
+  {
+    long record = getRecord(object);
+    int containerID = getInt(record + 4);
+    return containerID == 0 ? null : getEObject(containerID).eClass().getEStructuralFeature(getInt(record + 8));
+  }
+
+  private ClassLayout getClassLayout(long record)
+  {
+    return classLayouts.get(getInt(record));
+  }
+
+  private static int getFeatureID(InternalEObject object, EStructuralFeature feature)
+  {
+    int result = object.eClass().getFeatureID(feature);
+    if (result < 0)
+    {
+      throw new IllegalArgumentException("The feature '" + feature.getName() + "' is not a valid feature");
+    }
+    return result;
+  }
+
+  private static long slot(ClassLayout classLayout, long record, int featureID)
+  {
+    return record + classLayout.slotsOffset + 8 * featureID;
+  }
+
+  private boolean isSetBit(long record, int featureID)
+  {
+    return (getLong(record + HEADER_SIZE + 8 * (featureID >>> 6)) & 1L << featureID) != 0;
+  }
+
+  private void setSetBit(long record, int featureID, boolean isSet)
+  {
+    long address = record + HEADER_SIZE + 8 * (featureID >>> 6);
+    long bits = getLong(address);
+    putLong(address, isSet ? bits | 1L << featureID : bits & ~(1L << featureID));
+  }
+
+  public Object get(InternalEObject object, EStructuralFeature feature, int index)
+  {
+    long record = getRecord(object);
+    ClassLayout classLayout = getClassLayout(record);
+    int featureID = getFeatureID(object, feature);
+    byte kind = classLayout.kinds[featureID];
+    long slot = slot(classLayout, record, featureID);
+    if (index == NO_INDEX)
+    {
+      if (feature.isMany())
+      {
+        return new BasicEList<Object>(Arrays.asList(toArray(object, feature)));
+      }
+      return isSetBit(record, featureID) ? decode(kind, getLong(slot)) : null;
+    }
+    else
+    {
+      long array = getLong(slot);
+      checkIndex(index, arraySize(array));
+      return decode(kind, getLong(element(array, index)));
+    }
+  }
+
+  public Object set(InternalEObject object, EStructuralFeature feature, int index, Object value)
+  {
+    long record = getRecord(object);
+    ClassLayout classLayout = getClassLayout(record);
+    int featureID = getFeatureID(object, feature);
+    byte kind = classLayout.kinds[featureID];
+    long address;
+    Object result;
+    if (index == NO_INDEX)
+    {
+      address = slot(classLayout, record, featureID);
+      result = isSetBit(record, featureID) ? decode(kind, getLong(address)) : null;
+
+      // A primitive value can't be null, so null unsets it, as it does for objects that hold their own settings.
+      //
+      setSetBit(record, featureID, value != null || kind > PackedDynamicEObjectImpl.Layout.DOUBLE);
+    }
+    else
+    {
+      long array = getLong(slot(classLayout, record, featureID));
+      checkIndex(index, arraySize(array));
+      address = element(array, index);
+      result = decode(kind, getLong(address));
+    }
+    long bits = encode(kind, feature, value);
+    release(kind, getLong(address));
+    putLong(address, bits);
+    return result;
+  }
+
+  public boolean isSet(InternalEObject object, EStructuralFeature feature)
+  {
+    long record = getRecord(object);
+    int featureID = getFeatureID(object, feature);
+    return
+      feature.isMany() ?
+        arraySize(getLong(slot(getClassLayout(record), record, featureID))) != 0 :
+        isSetBit(record, featureID);
+  }
+
+  public void unset(InternalEObject object, EStructuralFeature feature)
+  {
+    if (feature.isMany())
+    {
+      clear(object, feature);
+    }
+    else
+    {
+      long record = getRecord(object);
+      ClassLayout classLayout = getClassLayout(record);
+      int featureID = getFeatureID(object, feature);
+      long slot = slot(classLayout, record, featureID);
+      release(classLayout.kinds[featureID], getLong(slot));
+      putLong(slot, 0);
+      setSetBit(record, featureID, false);
+    }
+  }
+
+  public boolean isEmpty(InternalEObject object, EStructuralFeature feature)
+  {
+    return size(object, feature) == 0;
+  }
+
+  public int size(InternalEObject object, EStructuralFeature feature)
+  {
+    long record = getRecord(object);
+    return arraySize(getLong(slot(getClassLayout(record), record, getFeatureID(object, feature))));
+  }
+
+  public boolean contains(InternalEObject object, EStructuralFeature feature, Object value)
+  {
+    return indexOf(object, feature, value) != -1;
+  }
+
+  public int indexOf(InternalEObject object, EStructuralFeature feature, Object value)
+  {
+    long record = getRecord(object);
+    ClassLayout classLayout = getClassLayout(record);
+    int featureID = getFeatureID(object, feature);
+    byte kind = classLayout.kinds[featureID];
+    long array = getLong(slot(classLayout, record, featureID));
+    for (int i = 0, size = arraySize(array); i < size; ++i)
+    {
+      if (matches(kind, getLong(element(array, i)), value))
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public int lastIndexOf(InternalEObject object, EStructuralFeature feature, Object value)
+  {
+    long record = getRecord(object);
+    ClassLayout classLayout = getClassLayout(record);
+    int featureID = getFeatureID(object, feature);
+    byte kind = classLayout.kinds[featureID];
+    long array = getLong(slot(classLayout, record, featureID));
+    for (int i = arraySize(array) - 1; i >= 0; --i)
+    {
+      if (matches(kind, getLong(element(array, i)), value))
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private boolean matches(byte kind, long bits, Object value)
+  {
+    if (kind == REFERENCE)
+    {
+      return value instanceof InternalEObject ? bits == getID((InternalEObject)value, false) && bits != 0 : bits == 0 && value == null;
+    }
+    else
+    {
+      Object element = decode(kind, bits);
+      return value == null ? element == null : value.equals(element);
+    }
+  }
+
+  public void add(InternalEObject object, EStructuralFeature feature, int index, Object value)
+  {
+    long record = getRecord(object);
+    ClassLayout classLayout = getClassLayout(record);
+    int featureID = getFeatureID(object, feature);
+    long slot = slot(classLayout, record, featureID);
+    long array = getLong(slot);
+    int size = arraySize(array);
+    if (index < 0 || index > size)
+    {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+    }
+
+    if (array == 0 || size == getInt(array + 4))
+    {
+      int capacity = Math.max(4, 2 * size);
+      long newArray = allocate(ARRAY_HEADER_SIZE + 8 * capacity);
+      putInt(newArray + 4, capacity);
+      for (int i = 0; i < size; ++i)
+      {
+        putLong(element(newArray, i), getLong(element(array, i)));
+      }
+      if (array != 0)
+      {
+        free(array, ARRAY_HEADER_SIZE + 8 * getInt(array + 4));
+      }
+      putLong(slot, newArray);
+      array = newArray;
+    }
+
+    for (int i = size; i > index; --i)
+    {
+      putLong(element(array, i), getLong(element(array, i - 1)));
+    }
+    putLong(element(array, index), encode(classLayout.kinds[featureID], feature, value));
+    putInt(array, size + 1);
+  }
+
+  public Object remove(InternalEObject object, EStructuralFeature feature, int index)
+  {
+    long record = getRecord(object);
+    ClassLayout classLayout = getClassLayout(record);
+    int featureID = getFeatureID(object, feature);
+    byte kind = classLayout.kinds[featureID];
+    long array = getLong(slot(classLayout, record, featureID));
+    int size = arraySize(array);
+    checkIndex(index, size);
+    long bits = getLong(element(array, index));
+    Object result = decode(kind, bits);
+    release(kind, bits);
+    for (int i = index + 1; i < size; ++i)
+    {
+      putLong(element(array, i - 1), getLong(element(array, i)));
+    }
+    putInt(array, size - 1);
+    return result;
+  }
+
+  public Object move(InternalEObject object, EStructuralFeature feature, int targetIndex, int sourceIndex)
+  {
+    long record = getRecord(object);
+    ClassLayout classLayout = getClassLayout(record);
+    int featureID = getFeatureID(object, feature);
+    long array = getLong(slot(classLayout, record, featureID));
+    int size = arraySize(array);
+    checkIndex(targetIndex, size);
+    checkIndex(sourceIndex, size);
+    long bits = getLong(element(array, sourceIndex));
+    if (targetIndex < sourceIndex)
+    {
+      for (int i = sourceIndex; i > targetIndex; --i)
+      {
+        putLong(element(array, i), getLong(element(array, i - 1)));
+      }
+    }
+    else
+    {
+      for (int i = sourceIndex; i < targetIndex; ++i)
+      {
+        putLong(element(array, i), getLong(element(array, i + 1)));
+      }
+    }
+    putLong(element(array, targetIndex), bits);
+    return decode(classLayout.kinds[featureID], bits);
+  }
+
+  public void clear(InternalEObject object, EStructuralFeature feature)
+  {
+    long record = getRecord(object);
+    ClassLayout classLayout = getClassLayout(record);
+    int featureID = getFeatureID(object, feature);
+    byte kind = classLayout.kinds[featureID];
+    long slot = slot(classLayout, record, featureID);
+    long array = getLong(slot);
+    if (array != 0)
+    {
+      for (int i = 0, size = arraySize(array); i < size; ++i)
+      {
+        release(kind, getLong(element(array, i)));
+      }
+      free(array, ARRAY_HEADER_SIZE + 8 * getInt(array + 4));
+      putLong(slot, 0);
+    }
+  }
+
+  public Object [] toArray(InternalEObject object, EStructuralFeature feature)
+  {
+    long record = getRecord(object);
+    ClassLayout classLayout = getClassLayout(record);
+    int featureID = getFeatureID(object, feature);
+    byte kind = classLayout.kinds[featureID];
+    long array = getLong(slot(classLayout, record, featureID));
+    Object [] result = new Object [arraySize(array)];
+    for (int i = 0; i < result.length; ++i)
+    {
+      result[i] = decode(kind, getLong(element(array, i)));
+    }
+    return result;
+  }
+
+  public <T> T [] toArray(InternalEObject object, EStructuralFeature feature, T [] array)
+  {
+    Object [] values = toArray(object, feature);
+    if (array.length < values.length)
+    {
+      @SuppressWarnings("unchecked")
+      T [] newArray = (T [])Array.newInstance(array.getClass().getComponentType(), values.length);
+      array = newArray;
+    }
+    System.arraycopy(values, 0, array, 0, values.length);
+    if (array.length > values.length)
+    {
+      array[values.length] = null;
+    }
+    return array;
+  }
+
+  public int hashCode(InternalEObject object, EStructuralFeature feature)
+  {
+    int result = 1;
+    for (Object value : toArray(object, feature))
+    {
+      result = 31 * result + (value == null ? 0 : value.hashCode());
+    }
+    return result;
+  }
+
+  private int arraySize(long array)
+  {
+    return array == 0 ? 0 : getInt(array);
+  }
+
+  private static long element(long array, int index)
+  {
+    return array + ARRAY_HEADER_SIZE + 8 * index;
+  }
+
+  private static void checkIndex(int index, int size)
+  {
+    if (index < 0 || index >= size)
+    {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+    }
+  }
+
+  /**
+   * Returns the slot value for the value, allocating the memory it needs.
+   */
+  private long encode(byte kind, EStructuralFeature feature, Object value)
+  {
+    if (value == EStructuralFeatureImpl.InternalSettingDelegateSingle.NIL)
+    {
+      return NIL_SLOT;
+    }
+    else if (value == null)
+    {
+      return 0;
+    }
+
+    switch (kind)
+    {
+      case STRING:
+      {
+        byte [] bytes = ((String)value).getBytes(StandardCharsets.UTF_8);
+        long result = allocate(4 + bytes.length);
+        putInt(result, bytes.length);
+        ByteBuffer page = writablePage(result);
+        for (int i = 0, offset = (int)result + 4; i < bytes.length; ++i)
+        {
+          page.put(offset + i, bytes[i]);
+        }
+        return result;
+      }
+      case ENUM:
+      {
+        Integer index = enumeratorIndices.get(value);
+        if (index == null)
+        {
+          index = enumerators.size();
+          enumerators.add(value);
+          enumeratorTypes.add((EEnum)feature.getEType());
+          enumeratorIndices.put(value, index);
+          stateChanged();
+        }
+        return index + 1;
+      }
+      case REFERENCE:
+      {
+        return retain((InternalEObject)value);
+      }
+      case VALUE:
+      {
+        int index;
+        if (freeValueCount > 0)
+        {
+          index = freeValues[--freeValueCount];
+        }
+        else
+        {
+          if (valueCount == values.length)
+          {
+            Object [] newValues = new Object [2 * valueCount];
+            System.arraycopy(values, 0, newValues, 0, valueCount);
+            values = newValues;
+          }
+          index = valueCount++;
+        }
+        values[index] = value;
+        stateChanged();
+        return index + 1;
+      }
+      default:
+      {
+        return PackedDynamicEObjectImpl.Layout.encode(kind, value);
+      }
+    }
+  }
+
+  /**
+   * Returns the value for the slot value.
+   */
+  private Object decode(byte kind, long bits)
+  {
+    switch (kind)
+    {
+      case STRING:
+      case ENUM:
+      case REFERENCE:
+      case VALUE:
+      {
+        if (bits == 0)
+        {
+          return null;
+        }
+        else if (bits == NIL_SLOT)
+        {
+          return EStructuralFeatureImpl.InternalSettingDelegateSingle.NIL;
+        }
+        switch (kind)
+        {
+          case STRING:
+          {
+            byte [] bytes = new byte [getInt(bits)];
+            ByteBuffer page = page(bits);
+            for (int i = 0, offset = (int)bits + 4; i < bytes.length; ++i)
+            {
+              bytes[i] = page.get(offset + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+          }
+          case ENUM:
+          {
+            return enumerators.get((int)bits - 1);
+          }
+          case REFERENCE:
+          {
+            return getEObject((int)bits);
+          }
+          default:
+          {
+            return values[(int)bits - 1];
+          }
+        }
+      }
+      default:
+      {
+        return PackedDynamicEObjectImpl.Layout.decode(kind, bits);
+      }
+    }
+  }
+
+  /**
+   * Releases the memory allocated for the slot value.
+   */
+  private void release(byte kind, long bits)
+  {
+    if (bits != 0 && bits != NIL_SLOT)
+    {
+      if (kind == STRING)
+      {
+        free(bits, 4 + getInt(bits));
+      }
+      else if (kind == REFERENCE)
+      {
+        release((int)bits);
+      }
+      else if (kind == VALUE)
+      {
+        int index = (int)bits - 1;
+        values[index] = null;
+        if (freeValueCount == freeValues.length)
+        {
+          int [] newFreeValues = new int [2 * freeValueCount];
+          System.arraycopy(freeValues, 0, newFreeValues, 0, freeValueCount);
+          freeValues = newFreeValues;
+        }
+        freeValues[freeValueCount++] = index;
+        stateChanged();
+      }
+    }
+  }
+
+  /**
+   * Allocates a zeroed block of at least the given size and returns its address.
+   * Blocks are powers of two, so that freed blocks can be reused for any request of the same size class;
+   * blocks larger than a page get a page of their own.
+   */
+  protected long allocate(int size)
+  {
+    int sizeClass = sizeClass(size);
+    long result = freeLists[sizeClass];
+    if (result != 0)
+    {
+      freeLists[sizeClass] = getLong(result);
+      ByteBuffer page = writablePage(result);
+      for (int offset = (int)result, end = offset + (1 << sizeClass); offset < end; offset += 8)
+      {
+        page.putLong(offset, 0);
+      }
+      return result;
+    }
+
+    int blockSize = 1 << sizeClass;
+    if (blockSize > pageSize)
+    {
+      return address(addPage(blockSize), 0);
+    }
+
+    if (currentPage == -1 || currentOffset + blockSize > pageSize)
+    {
+      currentPage = addPage(pageSize);
+      currentOffset = 0;
+    }
+    result = address(currentPage, currentOffset);
+    currentOffset += blockSize;
+    return result;
+  }
+
+  /**
+   * Frees the block, of the given size, at the address.
+   */
+  protected void free(long address, int size)
+  {
+    int sizeClass = sizeClass(size);
+    putLong(address, freeLists[sizeClass]);
+    freeLists[sizeClass] = address;
+  }
+
+  private static int sizeClass(int size)
+  {
+    return Math.max(MIN_SIZE_CLASS, 32 - Integer.numberOfLeadingZeros(size - 1));
+  }
+
+  private int addPage(int size)
+  {
+    if (pageCount == pages.length)
+    {
+      ByteBuffer [] newPages = new ByteBuffer [2 * pageCount];
+      System.arraycopy(pages, 0, newPages, 0, pageCount);
+      pages = newPages;
+    }
+    pages[pageCount] = createPage(pageCount, size);
+    reservedBytes += size;
+    return pageCount++;
+  }
+
+  /**
+   * Creates a new zeroed page of the given size.
+   * This implementation allocates a direct byte buffer in the native byte order.
+   * @param index the index of the page.
+   * @param size the size of the page.
+   * @return a new page.
+   */
+  protected ByteBuffer createPage(int index, int size)
+  {
+    return ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * Loads the existing page at the given index, which isn't yet loaded because the store's state was {@link #readState(ObjectInputStream, EPackage.Registry) read}.
+   * This implementation throws an exception because this store's pages are never unloaded.
+   * @param index the index of the page.
+   * @return the page.
+   * @throws IOException if the page can't be loaded.
+   */
+  protected ByteBuffer loadPage(int index) throws IOException
+  {
+    throw new IOException("The page " + index + " isn't loaded");
+  }
+
+  /**
+   * Called before the page at the given index is changed.
+   * This implementation does nothing.
+   * @param index the index of the page.
+   */
+  protected void pageChanged(int index)
+  {
+    // Do nothing.
+  }
+
+  /**
+   * Called after the state of this store that's held on the heap, i.e., the state that's {@link #writeState(ObjectOutputStream) written} besides the pages, is changed.
+   * This implementation does nothing.
+   */
+  protected void stateChanged()
+  {
+    // Do nothing.
+  }
+
+  /**
+   * Returns the number of pages of this store.
+   * @return the number of pages.
+   */
+  protected int getPageCount()
+  {
+    return pageCount;
+  }
+
+  /**
+   * Returns the page at the given index, loading it if necessary.
+   * @param index the index of the page.
+   * @return the page.
+   */
+  protected ByteBuffer getPage(int index)
+  {
+    ByteBuffer result = pages[index];
+    if (result == null)
+    {
+      synchronized (this)
+      {
+        result = pages[index];
+        if (result == null)
+        {
+          try
+          {
+            result = loadPage(index);
+          }
+          catch (IOException exception)
+          {
+            throw new WrappedException(exception);
+          }
+          pages[index] = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  private static long address(int page, int offset)
+  {
+    // Page numbers are offset by one so that no address is 0.
+    //
+    return (long)(page + 1) << 32 | offset;
+  }
+
+  private ByteBuffer page(long address)
+  {
+    int index = (int)(address >>> 32) - 1;
+    ByteBuffer result = pages[index];
+    return result == null ? getPage(index) : result;
+  }
+
+  private ByteBuffer writablePage(long address)
+  {
+    int index = (int)(address >>> 32) - 1;
+    pageChanged(index);
+    ByteBuffer result = pages[index];
+    return result == null ? getPage(index) : result;
+  }
+
+  private int getInt(long address)
+  {
+    return page(address).getInt((int)address);
+  }
+
+  private void putInt(long address, int value)
+  {
+    writablePage(address).putInt((int)address, value);
+  }
+
+  private long getLong(long address)
+  {
+    return page(address).getLong((int)address);
+  }
+
+  private void putLong(long address, long value)
+  {
+    writablePage(address).putLong((int)address, value);
+  }
+}
@@ -0,0 +1,880 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.impl;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+
+/**
+ * An implementation of a dynamic EObject that stores the values of its primitive typed attributes without boxing them.
+ * <p>
+ * The values of the single-valued attributes whose type's {@link org.eclipse.emf.ecore.EClassifier#getInstanceClass() instance class} is primitive
+ * are packed, each aligned to its own width, into a <code>long[]</code>, along with one bit per attribute recording whether it's set;
+ * the values of all other features are held in an <code>Object[]</code>.
+ * The {@link Layout layout} is computed once per {@link EClass} from its {@link EClassImpl#getEAllStructuralFeaturesData() structural features}
+ * and is shared by all its instances.
+ * </p>
+ * <p>
+ * {@link #eGet(EStructuralFeature) eGet}, {@link #eSet(EStructuralFeature, Object) eSet},
+ * {@link #eIsSet(EStructuralFeature) eIsSet}, {@link #eUnset(EStructuralFeature) eUnset}, and their notifications behave exactly as for {@link DynamicEObjectImpl},
+ * boxing and unboxing at the boundary.
+ * The typed accessors, e.g., {@link #eGetInt(EStructuralFeature)} and {@link #eSetInt(EStructuralFeature, int)},
+ * read and write the packed value directly and produce primitive notifications,
+ * falling back to the general accessors for a feature that isn't packed or whose value isn't simply stored.
+ * </p>
+ * @since 2.33
+ */
+public class PackedDynamicEObjectImpl extends MinimalEObjectImpl.Container
+{
+  /**
+   * The class of this object.
+   */
+  protected EClass eClass;
+
+  /**
+   * The layout of this object's class.
+   */
+  protected Layout eLayout;
+
+  /**
+   * The values of the features that aren't packed.
+   */
+  protected Object[] eSettings;
+
+  /**
+   * The packed values of the primitive typed attributes and their set bits.
+   */
+  protected long[] ePrimitives;
+
+  /**
+   * Creates a dynamic EObject.
+   */
+  public PackedDynamicEObjectImpl()
+  {
+    super();
+  }
+
+  /**
+   * Creates a dynamic EObject.
+   */
+  public PackedDynamicEObjectImpl(EClass eClass)
+  {
+    super();
+    eSetClass(eClass);
+  }
+
+  @Override
+  public EClass eClass()
+  {
+    return eClass;
+  }
+
+  @Override
+  protected EClass eDynamicClass()
+  {
+    return eClass;
+  }
+
+  @Override
+  public void eSetClass(EClass eClass)
+  {
+    this.eClass = eClass;
+    eLayout = null;
+    eSettings = null;
+    ePrimitives = null;
+  }
+
+  @Override
+  protected boolean eHasSettings()
+  {
+    return eLayout != null;
+  }
+
+  /**
+   * Returns a new array holding the value of each feature, indexed by dynamic feature ID, as {@link #dynamicGet(int)} yields it,
+   * or <code>null</code> if this object has no storage yet.
+   * Because the values of the primitive typed attributes are packed, the array is a copy that doesn't reflect later changes,
+   * and changes to it don't affect this object; use {@link #eBasicSetSettings(Object[])} to store its values.
+   */
+  @Override
+  protected Object[] eBasicSettings()
+  {
+    Layout layout = eLayout;
+    if (layout == null)
+    {
+      return null;
+    }
+    else
+    {
+      Object[] result = new Object [layout.features.length];
+      for (int i = 0; i < result.length; ++i)
+      {
+        result[i] = dynamicGet(i);
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Recreates the storage for the current layout of this object's class and stores each value of the array,
+   * which is indexed by dynamic feature ID, as {@link #dynamicSet(int, Object)} does,
+   * or discards the storage if the array is <code>null</code>.
+   */
+  @Override
+  protected void eBasicSetSettings(Object[] settings)
+  {
+    if (settings == null)
+    {
+      eLayout = null;
+      eSettings = null;
+      ePrimitives = null;
+    }
+    else
+    {
+      Layout layout = Layout.getLayout(eClass);
+      eSettings = layout.objectCount == 0 ? null : new Object [layout.objectCount];
+      ePrimitives = layout.primitiveCount == 0 ? null : new long [layout.primitiveCount];
+      eLayout = layout;
+      for (int i = 0; i < settings.length; ++i)
+      {
+        dynamicSet(i, settings[i]);
+      }
+    }
+  }
+
+  @Override
+  protected EStructuralFeature.Internal.DynamicValueHolder eSettings()
+  {
+    eLayout();
+    return this;
+  }
+
+  /**
+   * Returns the layout of this object's class, creating the storage for it if needed.
+   * If the class's features have changed since the storage was created,
+   * the storage is recreated for the new layout and the values of the features that remain are copied to it.
+   * @return the layout of this object's class.
+   */
+  protected final Layout eLayout()
+  {
+    Layout layout = eLayout;
+    if (layout == null || !layout.isCurrent())
+    {
+      Layout newLayout = Layout.getLayout(eClass);
+      Object[] newSettings = newLayout.objectCount == 0 ? null : new Object [newLayout.objectCount];
+      long[] newPrimitives = newLayout.primitiveCount == 0 ? null : new long [newLayout.primitiveCount];
+      if (layout != null)
+      {
+        for (int i = 0; i < layout.features.length; ++i)
+        {
+          int newIndex = newLayout.indexOf(layout.features[i]);
+          if (newIndex != -1)
+          {
+            Object value = dynamicGet(i);
+            if (value != null)
+            {
+              if (newLayout.kinds[newIndex] == Layout.OBJECT)
+              {
+                newSettings[newLayout.offsets[newIndex]] = value;
+              }
+              else
+              {
+                Layout.setBits(newPrimitives, newLayout, newIndex, Layout.encode(newLayout.kinds[newIndex], value));
+              }
+            }
+          }
+        }
+      }
+      eSettings = newSettings;
+      ePrimitives = newPrimitives;
+      eLayout = layout = newLayout;
+    }
+    return layout;
+  }
+
+  @Override
+  public Object dynamicGet(int dynamicFeatureID)
+  {
+    Layout layout = eLayout;
+    byte kind = layout.kinds[dynamicFeatureID];
+    if (kind == Layout.OBJECT)
+    {
+      return eSettings[layout.offsets[dynamicFeatureID]];
+    }
+    else if (Layout.isSet(ePrimitives, layout, dynamicFeatureID))
+    {
+      return Layout.decode(kind, Layout.getBits(ePrimitives, layout, dynamicFeatureID));
+    }
+    else
+    {
+      return null;
+    }
+  }
+
+  @Override
+  public void dynamicSet(int dynamicFeatureID, Object newValue)
+  {
+    Layout layout = eLayout;
+    byte kind = layout.kinds[dynamicFeatureID];
+    if (kind == Layout.OBJECT)
+    {
+      eSettings[layout.offsets[dynamicFeatureID]] = newValue;
+    }
+    else if (newValue == null || newValue == EStructuralFeatureImpl.InternalSettingDelegateSingle.NIL)
+    {
+      Layout.unsetBits(ePrimitives, layout, dynamicFeatureID);
+    }
+    else
+    {
+      Layout.setBits(ePrimitives, layout, dynamicFeatureID, Layout.encode(kind, newValue));
+    }
+  }
+
+  @Override
+  public void dynamicUnset(int dynamicFeatureID)
+  {
+    Layout layout = eLayout;
+    if (layout.kinds[dynamicFeatureID] == Layout.OBJECT)
+    {
+      eSettings[layout.offsets[dynamicFeatureID]] = null;
+    }
+    else
+    {
+      Layout.unsetBits(ePrimitives, layout, dynamicFeatureID);
+    }
+  }
+
+  /**
+   * Returns the feature ID of the feature if its value is packed with the given kind and can be accessed directly,
+   * or <code>-1</code> if the general accessors must be used instead.
+   */
+  private int eDirectFeatureID(EStructuralFeature feature, byte kind)
+  {
+    Layout layout = eLayout();
+    int featureID = eClass.getFeatureID(feature);
+    return featureID >= 0 && layout.kinds[featureID] == kind && layout.direct[featureID] ? featureID : -1;
+  }
+
+  /**
+   * Returns the packed bits of the feature's value, or of its default value if it isn't set.
+   */
+  private long eGetBits(int featureID)
+  {
+    Layout layout = eLayout;
+    return Layout.isSet(ePrimitives, layout, featureID) ? Layout.getBits(ePrimitives, layout, featureID) : layout.defaultBits[featureID];
+  }
+
+  /**
+   * Returns the value of the boolean attribute, without boxing it if it's packed.
+   * @param feature a boolean attribute of this object's class.
+   * @return the value of the attribute.
+   * @see #eGet(EStructuralFeature)
+   */
+  public boolean eGetBoolean(EStructuralFeature feature)
+  {
+    int featureID = eDirectFeatureID(feature, Layout.BOOLEAN);
+    return featureID == -1 ? ((Boolean)eGet(feature)).booleanValue() : eGetBits(featureID) != 0;
+  }
+
+  /**
+   * Sets the value of the boolean attribute, without boxing it if it's packed.
+   * @param feature a boolean attribute of this object's class.
+   * @param newValue the new value of the attribute.
+   * @see #eSet(EStructuralFeature, Object)
+   */
+  public void eSetBoolean(EStructuralFeature feature, boolean newValue)
+  {
+    int featureID = eDirectFeatureID(feature, Layout.BOOLEAN);
+    if (featureID == -1)
+    {
+      eSet(feature, Boolean.valueOf(newValue));
+    }
+    else if (eNotificationRequired())
+    {
+      boolean oldIsSet = Layout.isSet(ePrimitives, eLayout, featureID);
+      boolean oldValue = eGetBits(featureID) != 0;
+      Layout.setBits(ePrimitives, eLayout, featureID, newValue ? 1 : 0);
+      eNotify
+        (eLayout.unsettable[featureID] ?
+           new ENotificationImpl(this, Notification.SET, feature, oldValue, newValue, !oldIsSet) :
+           new ENotificationImpl(this, Notification.SET, feature, oldValue, newValue));
+    }
+    else
+    {
+      Layout.setBits(ePrimitives, eLayout, featureID, newValue ? 1 : 0);
+    }
+  }
+
+  /**
+   * Returns the value of the int attribute, without boxing it if it's packed.
+   * @param feature an int attribute of this object's class.
+   * @return the value of the attribute.
+   * @see #eGet(EStructuralFeature)
+   */
+  public int eGetInt(EStructuralFeature feature)
+  {
+    int featureID = eDirectFeatureID(feature, Layout.INT);
+    return featureID == -1 ? ((Integer)eGet(feature)).intValue() : (int)eGetBits(featureID);
+  }
+
+  /**
+   * Sets the value of the int attribute, without boxing it if it's packed.
+   * @param feature an int attribute of this object's class.
+   * @param newValue the new value of the attribute.
+   * @see #eSet(EStructuralFeature, Object)
+   */
+  public void eSetInt(EStructuralFeature feature, int newValue)
+  {
+    int featureID = eDirectFeatureID(feature, Layout.INT);
+    if (featureID == -1)
+    {
+      eSet(feature, Integer.valueOf(newValue));
+    }
+    else if (eNotificationRequired())
+    {
+      boolean oldIsSet = Layout.isSet(ePrimitives, eLayout, featureID);
+      int oldValue = (int)eGetBits(featureID);
+      Layout.setBits(ePrimitives, eLayout, featureID, newValue & 0xFFFFFFFFL);
+      eNotify
+        (eLayout.unsettable[featureID] ?
+           new ENotificationImpl(this, Notification.SET, feature, oldValue, newValue, !oldIsSet) :
+           new ENotificationImpl(this, Notification.SET, feature, oldValue, newValue));
+    }
+    else
+    {
+      Layout.setBits(ePrimitives, eLayout, featureID, newValue & 0xFFFFFFFFL);
+    }
+  }
+
+  /**
+   * Returns the value of the long attribute, without boxing it if it's packed.
+   * @param feature a long attribute of this object's class.
+   * @return the value of the attribute.
+   * @see #eGet(EStructuralFeature)
+   */
+  public long eGetLong(EStructuralFeature feature)
+  {
+    int featureID = eDirectFeatureID(feature, Layout.LONG);
+    return featureID == -1 ? ((Long)eGet(feature)).longValue() : eGetBits(featureID);
+  }
+
+  /**
+   * Sets the value of the long attribute, without boxing it if it's packed.
+   * @param feature a long attribute of this object's class.
+   * @param newValue the new value of the attribute.
+   * @see #eSet(EStructuralFeature, Object)
+   */
+  public void eSetLong(EStructuralFeature feature, long newValue)
+  {
+    int featureID = eDirectFeatureID(feature, Layout.LONG);
+    if (featureID == -1)
+    {
+      eSet(feature, Long.valueOf(newValue));
+    }
+    else if (eNotificationRequired())
+    {
+      boolean oldIsSet = Layout.isSet(ePrimitives, eLayout, featureID);
+      long oldValue = eGetBits(featureID);
+      Layout.setBits(ePrimitives, eLayout, featureID, newValue);
+      eNotify
+        (eLayout.unsettable[featureID] ?
+           new ENotificationImpl(this, Notification.SET, feature, oldValue, newValue, !oldIsSet) :
+           new ENotificationImpl(this, Notification.SET, feature, oldValue, newValue));
+    }
+    else
+    {
+      Layout.setBits(ePrimitives, eLayout, featureID, newValue);
+    }
+  }
+
+  /**
+   * Returns the value of the float attribute, without boxing it if it's packed.
+   * @param feature a float attribute of this object's class.
+   * @return the value of the attribute.
+   * @see #eGet(EStructuralFeature)
+   */
+  public float eGetFloat(EStructuralFeature feature)
+  {
+    int featureID = eDirectFeatureID(feature, Layout.FLOAT);
+    return featureID == -1 ? ((Float)eGet(feature)).floatValue() : Float.intBitsToFloat((int)eGetBits(featureID));
+  }
+
+  /**
+   * Sets the value of the float attribute, without boxing it if it's packed.
+   * @param feature a float attribute of this object's class.
+   * @param newValue the new value of the attribute.
+   * @see #eSet(EStructuralFeature, Object)
+   */
+  public void eSetFloat(EStructuralFeature feature, float newValue)
+  {
+    int featureID = eDirectFeatureID(feature, Layout.FLOAT);
+    if (featureID == -1)
+    {
+      eSet(feature, Float.valueOf(newValue));
+    }
+    else if (eNotificationRequired())
+    {
+      boolean oldIsSet = Layout.isSet(ePrimitives, eLayout, featureID);
+      float oldValue = Float.intBitsToFloat((int)eGetBits(featureID));
+      Layout.setBits(ePrimitives, eLayout, featureID, Float.floatToRawIntBits(newValue) & 0xFFFFFFFFL);
+      eNotify
+        (eLayout.unsettable[featureID] ?
+           new ENotificationImpl(this, Notification.SET, feature, oldValue, newValue, !oldIsSet) :
+           new ENotificationImpl(this, Notification.SET, feature, oldValue, newValue));
+    }
+    else
+    {
+      Layout.setBits(ePrimitives, eLayout, featureID, Float.floatToRawIntBits(newValue) & 0xFFFFFFFFL);
+    }
+  }
+
+  /**
+   * Returns the value of the double attribute, without boxing it if it's packed.
+   * @param feature a double attribute of this object's class.
+   * @return the value of the attribute.
+   * @see #eGet(EStructuralFeature)
+   */
+  public double eGetDouble(EStructuralFeature feature)
+  {
+    int featureID = eDirectFeatureID(feature, Layout.DOUBLE);
+    return featureID == -1 ? ((Double)eGet(feature)).doubleValue() : Double.longBitsToDouble(eGetBits(featureID));
+  }
+
+  /**
+   * Sets the value of the double attribute, without boxing it if it's packed.
+   * @param feature a double attribute of this object's class.
+   * @param newValue the new value of the attribute.
+   * @see #eSet(EStructuralFeature, Object)
+   */
+  public void eSetDouble(EStructuralFeature feature, double newValue)
+  {
+    int featureID = eDirectFeatureID(feature, Layout.DOUBLE);
+    if (featureID == -1)
+    {
+      eSet(feature, Double.valueOf(newValue));
+    }
+    else if (eNotificationRequired())
+    {
+      boolean oldIsSet = Layout.isSet(ePrimitives, eLayout, featureID);
+      double oldValue = Double.longBitsToDouble(eGetBits(featureID));
+      Layout.setBits(ePrimitives, eLayout, featureID, Double.doubleToRawLongBits(newValue));
+      eNotify
+        (eLayout.unsettable[featureID] ?
+           new ENotificationImpl(this, Notification.SET, feature, oldValue, newValue, !oldIsSet) :
+           new ENotificationImpl(this, Notification.SET, feature, oldValue, newValue));
+    }
+    else
+    {
+      Layout.setBits(ePrimitives, eLayout, featureID, Double.doubleToRawLongBits(newValue));
+    }
+  }
+
+  /**
+   * The storage layout of the instances of a class,
+   * held as an adapter of the class and shared by all its instances.
+   */
+  public static final class Layout extends AdapterImpl
+  {
+    static final byte OBJECT = 0;
+    static final byte BOOLEAN = 1;
+    static final byte BYTE = 2;
+    static final byte CHAR = 3;
+    static final byte SHORT = 4;
+    static final byte INT = 5;
+    static final byte FLOAT = 6;
+    static final byte LONG = 7;
+    static final byte DOUBLE = 8;
+
+    /**
+     * The width, in bits, of each kind of value.
+     */
+    private static final int [] WIDTHS = { 0, 1, 8, 16, 16, 32, 32, 64, 64 };
+
+    /**
+     * The class's structural features, indexed by feature ID.
+     */
+    final EStructuralFeature [] features;
+
+    /**
+     * The kind of value of each feature.
+     */
+    final byte [] kinds;
+
+    /**
+     * The index in the object settings of each feature that isn't packed,
+     * or the bit offset in the packed primitives of each feature that is.
+     */
+    final int [] offsets;
+
+    /**
+     * The bit offset in the packed primitives of the set bit of each packed feature.
+     */
+    final int [] setOffsets;
+
+    /**
+     * The packed bits of the default value of each packed feature.
+     */
+    final long [] defaultBits;
+
+    /**
+     * Whether each packed feature's value can be accessed directly by the typed accessors.
+     */
+    final boolean [] direct;
+
+    /**
+     * Whether each feature is unsettable.
+     */
+    final boolean [] unsettable;
+
+    /**
+     * The number of features that aren't packed.
+     */
+    final int objectCount;
+
+    /**
+     * The number of longs needed to hold the packed features and their set bits.
+     */
+    final int primitiveCount;
+
+    /**
+     * The class whose features this layout describes.
+     */
+    private final EClass eClass;
+
+    private Layout(EClass eClass, EStructuralFeature [] features)
+    {
+      this.eClass = eClass;
+      this.features = features;
+      int size = features.length;
+      kinds = new byte [size];
+      offsets = new int [size];
+      setOffsets = new int [size];
+      defaultBits = new long [size];
+      direct = new boolean [size];
+      unsettable = new boolean [size];
+
+      int objectCount = 0;
+      List<Integer> packed = new ArrayList<Integer>();
+      for (int i = 0; i < size; ++i)
+      {
+        EStructuralFeature feature = features[i];
+        byte kind = getKind(feature);
+        kinds[i] = kind;
+        unsettable[i] = feature.isUnsettable();
+        if (kind == OBJECT)
+        {
+          offsets[i] = objectCount++;
+        }
+        else
+        {
+          packed.add(i);
+          Object defaultValue = feature.getDefaultValue();
+          defaultBits[i] = defaultValue == null ? 0 : encode(kind, defaultValue);
+          Class<?> settingDelegateClass = ((EStructuralFeature.Internal)feature).getSettingDelegate().getClass();
+          direct[i] =
+            feature.isChangeable() &&
+              (settingDelegateClass == EStructuralFeatureImpl.InternalSettingDelegateSingleData.class ||
+                 settingDelegateClass == EStructuralFeatureImpl.InternalSettingDelegateSingleDataUnsettable.class);
+        }
+      }
+      this.objectCount = objectCount;
+
+      // Allocating the widest values first keeps each value aligned to its own width, so that no value straddles two longs.
+      //
+      Integer [] order = packed.toArray(new Integer [packed.size()]);
+      Arrays.sort
+        (order,
+         new Comparator<Integer>()
+         {
+           public int compare(Integer i1, Integer i2)
+           {
+             return WIDTHS[kinds[i2]] - WIDTHS[kinds[i1]];
+           }
+         });
+      int offset = 0;
+      for (Integer i : order)
+      {
+        offsets[i] = offset;
+        offset += WIDTHS[kinds[i]];
+      }
+      for (Integer i : order)
+      {
+        setOffsets[i] = offset++;
+      }
+      primitiveCount = (offset + 63) >>> 6;
+    }
+
+    /**
+     * Returns the shared layout of the class, creating it if the class has none yet or its features have changed.
+     * @param eClass a class.
+     * @return the layout of the class.
+     */
+    public static Layout getLayout(EClass eClass)
+    {
+      synchronized (eClass)
+      {
+        EStructuralFeature [] features = getFeatures(eClass);
+        List<Adapter> eAdapters = eClass.eAdapters();
+        for (int i = 0, size = eAdapters.size(); i < size; ++i)
+        {
+          Adapter adapter = eAdapters.get(i);
+          if (adapter instanceof Layout)
+          {
+            Layout layout = (Layout)adapter;
+            if (layout.features == features)
+            {
+              return layout;
+            }
+            eAdapters.remove(i);
+            break;
+          }
+        }
+        Layout result = new Layout(eClass, features);
+        eAdapters.add(result);
+        return result;
+      }
+    }
+
+    private static EStructuralFeature [] getFeatures(EClass eClass)
+    {
+      if (eClass instanceof EClassImpl)
+      {
+        EStructuralFeature [] result = ((EClassImpl)eClass).getEAllStructuralFeaturesData();
+        return result == null ? new EStructuralFeature [0] : result;
+      }
+      else
+      {
+        List<EStructuralFeature> eAllStructuralFeatures = eClass.getEAllStructuralFeatures();
+        return eAllStructuralFeatures.toArray(new EStructuralFeature [eAllStructuralFeatures.size()]);
+      }
+    }
+
+    /**
+     * Returns whether this layout still describes the features of its class.
+     */
+    boolean isCurrent()
+    {
+      return !(eClass instanceof EClassImpl) || ((EClassImpl)eClass).getEAllStructuralFeaturesData() == features;
+    }
+
+    /**
+     * Returns the feature ID of the feature in this layout, or <code>-1</code>.
+     */
+    int indexOf(EStructuralFeature feature)
+    {
+      for (int i = 0; i < features.length; ++i)
+      {
+        if (features[i] == feature)
+        {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public boolean isAdapterForType(Object type)
+    {
+      return type == Layout.class;
+    }
+
+    /**
+     * Returns the number of features whose values are packed.
+     * @return the number of features whose values are packed.
+     */
+    public int getPackedFeatureCount()
+    {
+      return features.length - objectCount;
+    }
+
+    /**
+     * Returns whether the value of the feature is packed.
+     * @param featureID the feature ID of a feature of the class.
+     * @return whether the value of the feature is packed.
+     */
+    public boolean isPacked(int featureID)
+    {
+      return kinds[featureID] != OBJECT;
+    }
+
+    private static byte getKind(EStructuralFeature feature)
+    {
+      if (feature instanceof EAttribute && !feature.isMany())
+      {
+        Class<?> instanceClass = feature.getEType().getInstanceClass();
+        if (instanceClass != null && instanceClass.isPrimitive())
+        {
+          if (instanceClass == boolean.class)
+          {
+            return BOOLEAN;
+          }
+          else if (instanceClass == byte.class)
+          {
+            return BYTE;
+          }
+          else if (instanceClass == char.class)
+          {
+            return CHAR;
+          }
+          else if (instanceClass == short.class)
+          {
+            return SHORT;
+          }
+          else if (instanceClass == int.class)
+          {
+            return INT;
+          }
+          else if (instanceClass == float.class)
+          {
+            return FLOAT;
+          }
+          else if (instanceClass == long.class)
+          {
+            return LONG;
+          }
+          else if (instanceClass == double.class)
+          {
+            return DOUBLE;
+          }
+        }
+      }
+      return OBJECT;
+    }
+
+    static long encode(byte kind, Object value)
+    {
+      switch (kind)
+      {
+        case BOOLEAN:
+        {
+          return ((Boolean)value).booleanValue() ? 1 : 0;
+        }
+        case BYTE:
+        {
+          return ((Byte)value).byteValue() & 0xFFL;
+        }
+        case CHAR:
+        {
+          return ((Character)value).charValue();
+        }
+        case SHORT:
+        {
+          return ((Short)value).shortValue() & 0xFFFFL;
+        }
+        case INT:
+        {
+          return ((Integer)value).intValue() & 0xFFFFFFFFL;
+        }
+        case FLOAT:
+        {
+          return Float.floatToRawIntBits(((Float)value).floatValue()) & 0xFFFFFFFFL;
+        }
+        case LONG:
+        {
+          return ((Long)value).longValue();
+        }
+        default:
+        {
+          return Double.doubleToRawLongBits(((Double)value).doubleValue());
+        }
+      }
+    }
+
+    static Object decode(byte kind, long bits)
+    {
+      switch (kind)
+      {
+        case BOOLEAN:
+        {
+          return bits == 0 ? Boolean.FALSE : Boolean.TRUE;
+        }
+        case BYTE:
+        {
+          return Byte.valueOf((byte)bits);
+        }
+        case CHAR:
+        {
+          return Character.valueOf((char)bits);
+        }
+        case SHORT:
+        {
+          return Short.valueOf((short)bits);
+        }
+        case INT:
+        {
+          return Integer.valueOf((int)bits);
+        }
+        case FLOAT:
+        {
+          return Float.valueOf(Float.intBitsToFloat((int)bits));
+        }
+        case LONG:
+        {
+          return Long.valueOf(bits);
+        }
+        default:
+        {
+          return Double.valueOf(Double.longBitsToDouble(bits));
+        }
+      }
+    }
+
+    static boolean isSet(long [] primitives, Layout layout, int featureID)
+    {
+      int setOffset = layout.setOffsets[featureID];
+      return (primitives[setOffset >>> 6] & 1L << setOffset) != 0;
+    }
+
+    static long getBits(long [] primitives, Layout layout, int featureID)
+    {
+      int offset = layout.offsets[featureID];
+      int width = WIDTHS[layout.kinds[featureID]];
+      long word = primitives[offset >>> 6];
+      return width == 64 ? word : word >>> offset & (1L << width) - 1;
+    }
+
+    static void setBits(long [] primitives, Layout layout, int featureID, long bits)
+    {
+      int offset = layout.offsets[featureID];
+      int width = WIDTHS[layout.kinds[featureID]];
+      int index = offset >>> 6;
+      if (width == 64)
+      {
+        primitives[index] = bits;
+      }
+      else
+      {
+        long mask = (1L << width) - 1 << offset;
+        primitives[index] = primitives[index] & ~mask | bits << offset & mask;
+      }
+      int setOffset = layout.setOffsets[featureID];
+      primitives[setOffset >>> 6] |= 1L << setOffset;
+    }
+
+    static void unsetBits(long [] primitives, Layout layout, int featureID)
+    {
+      int offset = layout.offsets[featureID];
+      int width = WIDTHS[layout.kinds[featureID]];
+      int index = offset >>> 6;
+      primitives[index] = width == 64 ? 0 : primitives[index] & ~((1L << width) - 1 << offset);
+      int setOffset = layout.setOffsets[featureID];
+      primitives[setOffset >>> 6] &= ~(1L << setOffset);
+    }
+  }
+}
@@ -128,6 +128,14 @@ public interface Resource extends Notifier
    */  
   String OPTION_ZIP = "ZIP"; 
 
+  /**
+   * A load option that specifies a {@link org.eclipse.emf.common.util.URIArena URI arena} in which to create the URIs of proxies.
+   * An arena specified in a resource set's {@link ResourceSet#getLoadOptions() load options} is shared by all the resources it loads,
+   * and the URIs it holds are released when the arena is no longer referenced.
+   * @since 2.33
+   */
+  String OPTION_URI_ARENA = "URI_ARENA";
+
   /**
    * A save option that can be used only with {@link #save(Map)}
    * to specify that the resource is to be saved only if the new contents
@@ -12,10 +12,15 @@ package org.eclipse.emf.ecore.resource.impl;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -25,6 +30,8 @@ import org.eclipse.emf.common.util.BasicEList;
 import org.eclipse.emf.common.util.CommonUtil;
 import org.eclipse.emf.common.util.Enumerator;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.URIArena;
+import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EDataType;
@@ -184,6 +191,52 @@ public class BinaryResourceImpl extends ResourceImpl
     return 0;
   }
 
+  /**
+   * A save option to specify the minimum number of objects that a subtree contained by a proxy resolving containment reference must have
+   * for it to be serialized as a separate chunk of a {@link BinaryIO.Version#VERSION_1_2 version 1.2} serialization.
+   * Such a chunk is decoded only when the proxy representing it in its container is first resolved.
+   * The value must be an integer.
+   * If not specified, {@link #DEFAULT_CHUNK_SIZE} is used.
+   * @since 2.33
+   */
+  public static final String OPTION_CHUNK_SIZE = "CHUNK_SIZE";
+
+  /**
+   * The default {@link #OPTION_CHUNK_SIZE} of a {@link BinaryIO.Version#VERSION_1_2 version 1.2} serialization.
+   * @since 2.33
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+  /**
+   * Extract the {@link #OPTION_CHUNK_SIZE} from the options.
+   * @param options a map of options.
+   * @return the value associated with the {@link #OPTION_CHUNK_SIZE} key in the options map.
+   * @since 2.33
+   */
+  public static int getChunkSize(Map<?, ?> options)
+  {
+    if (options != null)
+    {
+      Integer chunkSize = (Integer)options.get(OPTION_CHUNK_SIZE);
+      if (chunkSize != null)
+      {
+        return chunkSize;
+      }
+    }
+    return DEFAULT_CHUNK_SIZE;
+  }
+
+  /**
+   * The prefix of the fragments of the proxies that reference objects in chunks of a {@link BinaryIO.Version#VERSION_1_2 version 1.2} serialization.
+   */
+  private static final String CHUNK_FRAGMENT_PREFIX = "/~";
+
+  /**
+   * The chunks of the {@link BinaryIO.Version#VERSION_1_2 version 1.2} serialization from which this resource was loaded, if some of them are still to be decoded.
+   * @since 2.33
+   */
+  protected ChunkIndex chunkIndex;
+
   public BinaryResourceImpl()
   {
     super();
@@ -194,9 +247,32 @@ public class BinaryResourceImpl extends ResourceImpl
     super(uri);
   }
 
+  /**
+   * Decodes all remaining chunks before the output stream is created, because that may truncate the memory mapped file from which they're decoded.
+   * @since 2.33
+   */
+  @Override
+  public void save(Map<?, ?> options) throws IOException
+  {
+    if (chunkIndex != null)
+    {
+      chunkIndex.resolveAll();
+      chunkIndex = null;
+    }
+    super.save(options);
+  }
+
   @Override
   protected void doSave(OutputStream outputStream, Map<?, ?> options) throws IOException
   {
+    // Decode all remaining chunks before anything is written.
+    //
+    if (chunkIndex != null)
+    {
+      chunkIndex.resolveAll();
+      chunkIndex = null;
+    }
+
     if (outputStream instanceof URIConverter.Saveable)
     {
       ((URIConverter.Saveable)outputStream).saveResource(this);
@@ -219,9 +295,16 @@ public class BinaryResourceImpl extends ResourceImpl
 
       try
       {
-        EObjectOutputStream eObjectOutputStream = createEObjectOutputStream(outputStream, options);
-        eObjectOutputStream.saveResource(this);
-        eObjectOutputStream.flush();
+        if (options != null && options.get(OPTION_VERSION) == BinaryIO.Version.VERSION_1_2)
+        {
+          saveChunks(outputStream, options);
+        }
+        else
+        {
+          EObjectOutputStream eObjectOutputStream = createEObjectOutputStream(outputStream, options);
+          eObjectOutputStream.saveResource(this);
+          eObjectOutputStream.flush();
+        }
       }
       finally
       {
@@ -241,6 +324,60 @@ public class BinaryResourceImpl extends ResourceImpl
     return new EObjectOutputStream(outputStream, options);
   }
 
+  /**
+   * Creates a stream for writing the given chunk of a {@link BinaryIO.Version#VERSION_1_2 version 1.2} serialization.
+   * @since 2.33
+   */
+  protected EObjectOutputStream createEObjectOutputStream(OutputStream outputStream, Map<?, ?> options, BinaryIO.Version version, int style, ChunkLayout chunkLayout, int chunk) throws IOException
+  {
+    return new EObjectOutputStream(outputStream, options, version, style, chunkLayout, chunk);
+  }
+
+  /**
+   * Saves a {@link BinaryIO.Version#VERSION_1_2 version 1.2} serialization:
+   * the header, each chunk of the {@link #OPTION_CHUNK_SIZE partitioned} containment tree,
+   * the index of the chunks, and finally the length of that index.
+   * @since 2.33
+   */
+  protected void saveChunks(OutputStream outputStream, Map<?, ?> options) throws IOException
+  {
+    PositionOutputStream positionOutputStream = new PositionOutputStream(outputStream);
+    EObjectOutputStream eObjectOutputStream = createEObjectOutputStream(positionOutputStream, options);
+    eObjectOutputStream.flush();
+
+    ChunkLayout chunkLayout = new ChunkLayout(this, getChunkSize(options));
+    int chunkCount = chunkLayout.getChunkCount();
+    long[] offsets = new long [chunkCount];
+    int[] lengths = new int [chunkCount];
+    for (int i = 0; i < chunkCount; ++i)
+    {
+      long offset = positionOutputStream.position;
+      EObjectOutputStream chunkOutputStream = createEObjectOutputStream(positionOutputStream, options, eObjectOutputStream.version, eObjectOutputStream.style, chunkLayout, i);
+      chunkOutputStream.saveChunk(this);
+      chunkOutputStream.flush();
+      long length = positionOutputStream.position - offset;
+      if (length > Integer.MAX_VALUE)
+      {
+        throw new IOException("The chunk at offset " + offset + " is too large; specify a smaller OPTION_CHUNK_SIZE");
+      }
+      offsets[i] = offset;
+      lengths[i] = (int)length;
+    }
+
+    long indexOffset = positionOutputStream.position;
+    eObjectOutputStream.writeCompressedInt(chunkCount);
+    for (int i = 0; i < chunkCount; ++i)
+    {
+      eObjectOutputStream.writeLong(offsets[i]);
+      eObjectOutputStream.writeInt(lengths[i]);
+      eObjectOutputStream.writeCompressedInt(chunkLayout.getParentChunk(i));
+      eObjectOutputStream.writeCompressedInt(chunkLayout.getObjectCount(i));
+    }
+    eObjectOutputStream.flush();
+    eObjectOutputStream.writeLong(positionOutputStream.position - indexOffset);
+    eObjectOutputStream.flush();
+  }
+
   @Override
   protected void doLoad(InputStream inputStream, Map<?, ?> options) throws IOException
   {
@@ -250,6 +387,7 @@ public class BinaryResourceImpl extends ResourceImpl
     }
     else
     {
+      InputStream originalInputStream = inputStream;
       if (!(inputStream instanceof BufferedInputStream))
       {
         int bufferCapacity = getBufferCapacity(options);
@@ -260,8 +398,15 @@ public class BinaryResourceImpl extends ResourceImpl
       }
 
       EObjectInputStream eObjectInputStream = createEObjectInputStream(inputStream, options);
-      eObjectInputStream.loadResource(this);
-      eObjectInputStream.flush();
+      if (eObjectInputStream.version == BinaryIO.Version.VERSION_1_2)
+      {
+        loadChunks(originalInputStream, inputStream, eObjectInputStream, options);
+      }
+      else
+      {
+        eObjectInputStream.loadResource(this);
+        eObjectInputStream.flush();
+      }
     }
   }
 
@@ -273,6 +418,182 @@ public class BinaryResourceImpl extends ResourceImpl
     return new EObjectInputStream(inputStream, options);
   }
 
+  /**
+   * Creates a stream for reading the given chunk of a {@link BinaryIO.Version#VERSION_1_2 version 1.2} serialization.
+   * @since 2.33
+   */
+  protected EObjectInputStream createEObjectInputStream(InputStream inputStream, Map<?, ?> options, BinaryIO.Version version, int style, ChunkIndex chunkIndex, int chunk) throws IOException
+  {
+    return new EObjectInputStream(inputStream, options, version, style, chunkIndex, chunk);
+  }
+
+  /**
+   * Loads a {@link BinaryIO.Version#VERSION_1_2 version 1.2} serialization whose header has been read by the given stream.
+   * A file input stream is memory mapped, so the file may be larger than 2 GB as long as each chunk and the index are smaller;
+   * any other input stream is read fully into an array, so it must be smaller than 2 GB.
+   * An offset or length in the index that's outside the serialization fails the load.
+   * The chunk with the resource's contents is decoded immediately.
+   * The other chunks are decoded on demand if this resource is in a resource set, which is needed to resolve the proxies that represent them,
+   * and if {@link #OPTION_EAGER_PROXY_RESOLUTION eager proxy resolution} isn't requested;
+   * otherwise, they're all decoded immediately too.
+   * Because only the subtrees contained by proxy resolving containment references are {@link #OPTION_CHUNK_SIZE saved} as separate chunks,
+   * i.e., a chunk is only decoded on demand when the containment proxy representing it is resolved,
+   * a model without such references is saved as a single chunk that's always decoded immediately.
+   * @since 2.33
+   */
+  protected void loadChunks(InputStream originalInputStream, InputStream inputStream, EObjectInputStream eObjectInputStream, Map<?, ?> options) throws IOException
+  {
+    ByteBuffer buffer;
+    long bufferOffset;
+    FileChannel fileChannel = null;
+    long fileIndexOffset = 0;
+    if (originalInputStream instanceof FileInputStream)
+    {
+      fileChannel = ((FileInputStream)originalInputStream).getChannel();
+      long size = fileChannel.size();
+      if (size <= Integer.MAX_VALUE)
+      {
+        buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        fileChannel = null;
+        bufferOffset = 0;
+      }
+      else
+      {
+        // Only the index is mapped as a whole; each chunk is mapped separately at its offset in the file.
+        //
+        ByteBuffer trailer = ByteBuffer.allocate(8);
+        while (trailer.hasRemaining() && fileChannel.read(trailer, size - 8 + trailer.position()) != -1)
+        {
+          // Keep reading.
+        }
+        trailer.flip();
+        long indexLength = trailer.getLong();
+        if (indexLength < 0 || indexLength > size - 8 || indexLength > Integer.MAX_VALUE - 8)
+        {
+          throw new IOException("The index length " + indexLength + " is invalid");
+        }
+        fileIndexOffset = size - 8 - indexLength;
+        buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, fileIndexOffset, indexLength + 8);
+        bufferOffset = 0;
+      }
+    }
+    else
+    {
+      eObjectInputStream.flush();
+      buffer = ByteBuffer.wrap(inputStream.readAllBytes());
+      bufferOffset = -1;
+    }
+
+    int limit = buffer.limit();
+    long indexLength = limit < 8 ? -1 : buffer.getLong(limit - 8);
+    if (indexLength < 0 || indexLength > limit - 8)
+    {
+      throw new IOException("The index length " + indexLength + " is invalid");
+    }
+    int indexOffset = limit - 8 - (int)indexLength;
+    ByteBuffer index = buffer.duplicate();
+    index.position(indexOffset).limit(limit - 8);
+    EObjectInputStream indexInputStream = createEObjectInputStream(new ByteBufferInputStream(index), options, eObjectInputStream.version, eObjectInputStream.style, null, -1);
+    int chunkCount = indexInputStream.readCompressedInt();
+    ByteBuffer[] buffers = new ByteBuffer [chunkCount];
+    int[] parentChunks = new int [chunkCount];
+    int[] objectCounts = new int [chunkCount];
+    for (int i = 0; i < chunkCount; ++i)
+    {
+      long offset = indexInputStream.readLong();
+      int length = indexInputStream.readInt();
+      parentChunks[i] = indexInputStream.readCompressedInt();
+      objectCounts[i] = indexInputStream.readCompressedInt();
+
+      // The offsets are checked as longs, before they're narrowed, so that a chunk outside the serialization fails the load.
+      //
+      if (fileChannel != null)
+      {
+        if (offset < 0 || length < 0 || offset + length > fileIndexOffset)
+        {
+          throw new IOException("The chunk " + i + " at offset " + offset + " with length " + length + " is outside the serialization");
+        }
+        buffers[i] = fileChannel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+      }
+      else
+      {
+        // The chunks of a stream are read starting with the first one.
+        //
+        if (bufferOffset == -1)
+        {
+          bufferOffset = offset;
+        }
+        long position = offset - bufferOffset;
+        if (offset < 0 || length < 0 || position < 0 || position + length > indexOffset)
+        {
+          throw new IOException("The chunk " + i + " at offset " + offset + " with length " + length + " is outside the serialization");
+        }
+        ByteBuffer chunkBuffer = buffer.duplicate();
+        chunkBuffer.position((int)position).limit((int)position + length);
+        buffers[i] = chunkBuffer.slice();
+      }
+    }
+
+    ResourceSet resourceSet = getResourceSet();
+    boolean isLazy = resourceSet != null && getURI() != null && (options == null || !Boolean.TRUE.equals(options.get(OPTION_EAGER_PROXY_RESOLUTION)));
+    ChunkIndex chunkIndex = new ChunkIndex(this, options, eObjectInputStream.version, eObjectInputStream.style, buffers, parentChunks, objectCounts, isLazy);
+    chunkIndex.decode(0, false);
+    if (isLazy && chunkCount > 1)
+    {
+      this.chunkIndex = chunkIndex;
+    }
+    else
+    {
+      chunkIndex.resolveAll();
+    }
+  }
+
+  /**
+   * Returns the object for the fragment, decoding the chunk of a {@link BinaryIO.Version#VERSION_1_2 version 1.2} serialization to which a chunk proxy's fragment refers.
+   */
+  @Override
+  public EObject getEObject(String uriFragment)
+  {
+    ChunkIndex chunkIndex = this.chunkIndex;
+    if (chunkIndex != null && uriFragment != null && uriFragment.startsWith(CHUNK_FRAGMENT_PREFIX))
+    {
+      EObject eObject = chunkIndex.getEObject(uriFragment);
+      if (eObject != null)
+      {
+        return eObject;
+      }
+    }
+    return super.getEObject(uriFragment);
+  }
+
+  /**
+   * Decodes all remaining chunks before the URI changes, because the proxies that represent them refer to the current URI.
+   */
+  @Override
+  public void setURI(URI uri)
+  {
+    if (chunkIndex != null)
+    {
+      try
+      {
+        chunkIndex.resolveAll();
+      }
+      catch (IOException exception)
+      {
+        throw new WrappedException(exception);
+      }
+      chunkIndex = null;
+    }
+    super.setURI(uri);
+  }
+
+  @Override
+  protected void doUnload()
+  {
+    chunkIndex = null;
+    super.doUnload();
+  }
+
   /**
    * Generally this abstract class is extended as a stateless singleton returned by a generated factory that implements the {@link DataConverter.Factory factory} interface.
    * The default implementation of {@link EFactoryImpl#create(EDataType)} returns <code>null</code>.
@@ -331,7 +652,18 @@ public class BinaryResourceImpl extends ResourceImpl
        * An extra integer value encoding the style is written after the version number so that deserialization will respect the styles used during serialization.
        * @since 2.7
        */
-      VERSION_1_1
+      VERSION_1_1,
+
+      /**
+       * This version supports random access.
+       * The containment tree is partitioned into {@link BinaryResourceImpl#OPTION_CHUNK_SIZE chunks} that are each serialized with their own tables,
+       * followed by an index of their byte offsets,
+       * so that loading decodes only the chunk with the resource's contents,
+       * and decodes each other chunk when the proxy representing it in its container is first resolved.
+       * The serialization supports styles, just as for {@link #VERSION_1_1}.
+       * @since 2.33
+       */
+      VERSION_1_2
     }
 
     /**
@@ -745,6 +1077,20 @@ public class BinaryResourceImpl extends ResourceImpl
     private Map<String, Integer> segmentToIDMap;
     private String[] segments;
 
+    /**
+     * The layout of the {@link Version#VERSION_1_2 version 1.2} serialization, if this stream writes one of its chunks.
+     * @since 2.33
+     */
+    protected ChunkLayout chunkLayout;
+
+    /**
+     * The chunk written by this stream.
+     * @since 2.33
+     */
+    protected int chunk;
+
+    private int nextChunkObjectID;
+
     public EObjectOutputStream(OutputStream outputStream, Map<?, ?> options) throws IOException
     {
       this(outputStream, options, options != null && options.containsKey(OPTION_VERSION)? (Version)options.get(OPTION_VERSION) : Version.VERSION_1_0);
@@ -759,11 +1105,23 @@ public class BinaryResourceImpl extends ResourceImpl
      * @since 2.7
      */
     public EObjectOutputStream(OutputStream outputStream, Map<?, ?> options, Version version, int style) throws IOException
+    {
+      this(outputStream, options, version, style, null, -1);
+    }
+
+    /**
+     * Creates a stream that writes the given chunk of a {@link Version#VERSION_1_2 version 1.2} serialization.
+     * Such a stream doesn't write a header because the chunk follows the header written by the stream without a chunk layout.
+     * @since 2.33
+     */
+    protected EObjectOutputStream(OutputStream outputStream, Map<?, ?> options, Version version, int style, ChunkLayout chunkLayout, int chunk) throws IOException
     {
       this.outputStream = outputStream;
       this.options = options;
       this.version = version;
       this.style = style;
+      this.chunkLayout = chunkLayout;
+      this.chunk = chunk;
 
       int bufferCapacity = getInternalBufferCapacity(options);
       if (bufferCapacity > 1)
@@ -771,11 +1129,18 @@ public class BinaryResourceImpl extends ResourceImpl
        bytes = new byte[bufferCapacity];
       }
 
-      writeSignature();
-      writeVersion();
-      if (version.ordinal() > 0)
+      if (chunkLayout == null)
+      {
+        writeSignature();
+        writeVersion();
+        if (version.ordinal() > 0)
+        {
+          writeStyle();
+        }
+      }
+      else
       {
-        writeStyle();
+        nextChunkObjectID = chunkLayout.getObjectCount(chunk);
       }
 
       if ((style & STYLE_DATA_CONVERTER) != 0)
@@ -990,6 +1355,29 @@ public class BinaryResourceImpl extends ResourceImpl
       saveEObjects(internalEList, Check.CONTAINER);
     }
 
+    /**
+     * Saves this stream's chunk of a {@link Version#VERSION_1_2 version 1.2} serialization:
+     * the first chunk holds the resource's contents and each other chunk holds a single subtree.
+     * @since 2.33
+     */
+    public void saveChunk(Resource resource) throws IOException
+    {
+      if (chunk == 0)
+      {
+        saveResource(resource);
+      }
+      else
+      {
+        this.resource = resource;
+        URI uri = resource.getURI();
+        if (uri != null && uri.isHierarchical() && !uri.isRelative())
+        {
+          baseURI = uri;
+        }
+        saveEObject((InternalEObject)chunkLayout.getRoot(chunk), Check.NOTHING);
+      }
+    }
+
     public void saveEObjects(InternalEList<? extends InternalEObject> internalEObjects, Check check) throws IOException
     {
       int size = internalEObjects.size();
@@ -1148,6 +1536,10 @@ public class BinaryResourceImpl extends ResourceImpl
       {
         writeCompressedInt(-1);
       }
+      else if (chunkLayout != null)
+      {
+        saveChunkEObject(internalEObject, check);
+      }
       else
       {
         Integer id = eObjectIDMap.get(internalEObject);
@@ -1156,85 +1548,164 @@ public class BinaryResourceImpl extends ResourceImpl
           int idValue = eObjectIDMap.size();
           writeCompressedInt(idValue);
           eObjectIDMap.put(internalEObject, idValue);
-          EClass eClass = internalEObject.eClass();
-          EClassData eClassData = writeEClass(eClass);
-          boolean checkIsTransientProxy = false;
-          switch (check)
+          writeEObject(internalEObject, check);
+        }
+        else
+        {
+          writeCompressedInt(id);
+        }
+      }
+    }
+
+    /**
+     * Saves an object in this stream's chunk of a {@link BinaryIO.Version#VERSION_1_2 version 1.2} serialization.
+     * An object of this chunk is saved with the ID assigned to it by the {@link ChunkLayout layout};
+     * an object of another chunk is saved as a proxy that refers to that chunk;
+     * any other object is saved with the next ID after those of the chunk's objects.
+     * The root of a nested chunk is always contained as a distinct proxy, one that refers to the chunk as a whole.
+     * @since 2.33
+     */
+    protected void saveChunkEObject(InternalEObject internalEObject, Check check) throws IOException
+    {
+      long location = chunkLayout.getLocation(internalEObject);
+      int locationChunk = (int)(location >> 32);
+      if (location != -1 && locationChunk != chunk && check == Check.DIRECT_RESOURCE && (int)location == 0)
+      {
+        writeCompressedInt(nextChunkObjectID++);
+        writeChunkProxy(internalEObject, locationChunk, -1);
+        return;
+      }
+
+      Integer id = eObjectIDMap.get(internalEObject);
+      if (id != null)
+      {
+        writeCompressedInt(id);
+      }
+      else if (location != -1 && locationChunk == chunk)
+      {
+        int idValue = (int)location;
+        writeCompressedInt(idValue);
+        eObjectIDMap.put(internalEObject, idValue);
+        writeEObject(internalEObject, check);
+      }
+      else
+      {
+        int idValue = nextChunkObjectID++;
+        writeCompressedInt(idValue);
+        eObjectIDMap.put(internalEObject, idValue);
+        if (location != -1)
+        {
+          writeChunkProxy(internalEObject, locationChunk, (int)location);
+        }
+        else
+        {
+          // An object that isn't in any chunk, and isn't in another resource, is saved in full only once.
+          //
+          Resource resource = internalEObject.eResource();
+          if ((resource == null || resource == this.resource) && !internalEObject.eIsProxy())
+          {
+            chunkLayout.setLocation(internalEObject, chunk, idValue);
+          }
+          writeEObject(internalEObject, check);
+        }
+      }
+    }
+
+    /**
+     * Saves a proxy with a null URI followed by the chunk and the ID of the object it represents.
+     */
+    private void writeChunkProxy(InternalEObject internalEObject, int proxyChunk, int proxyID) throws IOException
+    {
+      writeEClass(internalEObject.eClass());
+      writeCompressedInt(-1);
+      writeURI(null, null);
+      writeCompressedInt(proxyChunk);
+      writeCompressedInt(proxyID);
+      if ((style & STYLE_PROXY_ATTRIBUTES) != 0)
+      {
+        writeCompressedInt(0);
+      }
+    }
+
+    /**
+     * Saves the class and the feature values of an object whose ID has just been saved.
+     * @since 2.33
+     */
+    protected void writeEObject(InternalEObject internalEObject, Check check) throws IOException
+    {
+      EClass eClass = internalEObject.eClass();
+      EClassData eClassData = writeEClass(eClass);
+      boolean checkIsTransientProxy = false;
+      switch (check)
+      {
+        case DIRECT_RESOURCE:
+        {
+          Internal resource = internalEObject.eDirectResource();
+          if (resource != null)
           {
-            case DIRECT_RESOURCE:
+            writeCompressedInt(-1);
+            writeURI(resource.getURI(), resource.getURIFragment(internalEObject));
+            if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
             {
-              Internal resource = internalEObject.eDirectResource();
-              if (resource != null)
-              {
-                writeCompressedInt(-1);
-                writeURI(resource.getURI(), resource.getURIFragment(internalEObject));
-                if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
-                {
-                  return;
-                }
-                checkIsTransientProxy = true;
-              }
-              else if (internalEObject.eIsProxy())
-              {
-                writeCompressedInt(-1);
-                writeURI(internalEObject.eProxyURI());
-                if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
-                {
-                  return;
-                }
-                checkIsTransientProxy = true;
-              }
-              break;
+              return;
             }
-            case RESOURCE:
+            checkIsTransientProxy = true;
+          }
+          else if (internalEObject.eIsProxy())
+          {
+            writeCompressedInt(-1);
+            writeURI(internalEObject.eProxyURI());
+            if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
             {
-              Resource resource = internalEObject.eResource();
-              if (resource != this.resource && resource != null)
-              {
-                writeCompressedInt(-1);
-                writeURI(resource.getURI(), resource.getURIFragment(internalEObject));
-                if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
-                {
-                  return;
-                }
-                checkIsTransientProxy = true;
-              }
-              else if (internalEObject.eIsProxy())
-              {
-                writeCompressedInt(-1);
-                writeURI(internalEObject.eProxyURI());
-                if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
-                {
-                  return;
-                }
-                checkIsTransientProxy = true;
-              }
-              break;
+              return;
             }
-            case NOTHING:
-            case CONTAINER:
+            checkIsTransientProxy = true;
+          }
+          break;
+        }
+        case RESOURCE:
+        {
+          Resource resource = internalEObject.eResource();
+          if (resource != this.resource && resource != null)
+          {
+            writeCompressedInt(-1);
+            writeURI(resource.getURI(), resource.getURIFragment(internalEObject));
+            if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
             {
-              break;
+              return;
             }
+            checkIsTransientProxy = true;
           }
-          EStructuralFeatureData [] eStructuralFeatureData = eClassData.eStructuralFeatureData;
-          for (int i = 0, length = eStructuralFeatureData.length; i < length; ++i)
+          else if (internalEObject.eIsProxy())
           {
-            EStructuralFeatureData structuralFeatureData = eStructuralFeatureData[i];
-            if (!structuralFeatureData.isTransient &&
-                  (structuralFeatureData.kind != FeatureKind.EOBJECT_CONTAINER_PROXY_RESOLVING || check == Check.CONTAINER) &&
-                  (!checkIsTransientProxy || !structuralFeatureData.isProxyTransient))
+            writeCompressedInt(-1);
+            writeURI(internalEObject.eProxyURI());
+            if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
             {
-              saveFeatureValue(internalEObject, i, structuralFeatureData);
+              return;
             }
+            checkIsTransientProxy = true;
           }
-          writeCompressedInt(0);
+          break;
         }
-        else
+        case NOTHING:
+        case CONTAINER:
         {
-          writeCompressedInt(id);
+          break;
+        }
+      }
+      EStructuralFeatureData [] eStructuralFeatureData = eClassData.eStructuralFeatureData;
+      for (int i = 0, length = eStructuralFeatureData.length; i < length; ++i)
+      {
+        EStructuralFeatureData structuralFeatureData = eStructuralFeatureData[i];
+        if (!structuralFeatureData.isTransient &&
+              (structuralFeatureData.kind != FeatureKind.EOBJECT_CONTAINER_PROXY_RESOLVING || check == Check.CONTAINER) &&
+              (!checkIsTransientProxy || !structuralFeatureData.isProxyTransient))
+        {
+          saveFeatureValue(internalEObject, i, structuralFeatureData);
         }
       }
+      writeCompressedInt(0);
     }
 
     protected void saveFeatureValue(InternalEObject internalEObject, int featureID, EStructuralFeatureData eStructuralFeatureData) throws IOException
@@ -1800,9 +2271,27 @@ public class BinaryResourceImpl extends ResourceImpl
         eObjects[size++] = object;
         return true;
       }
-    }
 
-    private static class StringList extends BasicEList<String>
+      public final void put(int id, InternalEObject object)
+      {
+        if (id < size)
+        {
+          eObjects[id] = object;
+        }
+        else
+        {
+          add(object);
+        }
+      }
+
+      public final void reserve(int count)
+      {
+        grow(count);
+        size = count;
+      }
+    }
+
+    private static class StringList extends BasicEList<String>
     {
       private static final long serialVersionUID = 1L;
 
@@ -1948,10 +2437,40 @@ public class BinaryResourceImpl extends ResourceImpl
      */
     protected boolean isEagerProxyResolution;
 
+    /**
+     * The arena in which to create URIs, if one is specified by {@link Resource#OPTION_URI_ARENA}.
+     * @since 2.33
+     */
+    protected URIArena uriArena;
+
+    /**
+     * The index of the {@link Version#VERSION_1_2 version 1.2} serialization, if this stream reads one of its chunks.
+     * @since 2.33
+     */
+    protected ChunkIndex chunkIndex;
+
+    /**
+     * The chunk read by this stream.
+     * @since 2.33
+     */
+    protected int chunk;
+
     public EObjectInputStream(InputStream inputStream, Map<?, ?> options) throws IOException
+    {
+      this(inputStream, options, null, 0, null, -1);
+    }
+
+    /**
+     * Creates a stream that reads the given chunk of a {@link Version#VERSION_1_2 version 1.2} serialization, or its index if there is no chunk index.
+     * Such a stream doesn't read a header because the version and the style are those read from the header by the stream without a version.
+     * @since 2.33
+     */
+    protected EObjectInputStream(InputStream inputStream, Map<?, ?> options, Version version, int style, ChunkIndex chunkIndex, int chunk) throws IOException
     {
       this.inputStream = inputStream;
       this.options = options;
+      this.chunkIndex = chunkIndex;
+      this.chunk = chunk;
 
       int bufferCapacity = getInternalBufferCapacity(options);
       if (bufferCapacity > 1)
@@ -1963,14 +2482,32 @@ public class BinaryResourceImpl extends ResourceImpl
       if (options != null)
       {
         isEagerProxyResolution = Boolean.TRUE.equals(options.get(OPTION_EAGER_PROXY_RESOLUTION));
+        uriArena = (URIArena)options.get(Resource.OPTION_URI_ARENA);
       }
 
-      readSignature();
-      readVersion();
-      if (version.ordinal() > 0)
+      if (version == null)
       {
-        readStyle();
-        if ((style & STYLE_DATA_CONVERTER) != 0)
+        readSignature();
+        readVersion();
+        if (this.version.ordinal() > 0)
+        {
+          readStyle();
+        }
+      }
+      else
+      {
+        this.version = version;
+        this.style = style;
+      }
+
+      if (chunkIndex != null)
+      {
+        internalInternalEObjectList.reserve(chunkIndex.getObjectCount(chunk));
+      }
+
+      if (this.version.ordinal() > 0)
+      {
+        if ((this.style & STYLE_DATA_CONVERTER) != 0)
         {
           segmentedStringsList = new StringList();
           segmentsList = new StringList();
@@ -2224,6 +2761,42 @@ public class BinaryResourceImpl extends ResourceImpl
       recycle(values);
     }
 
+    /**
+     * Loads this stream's chunk of a {@link Version#VERSION_1_2 version 1.2} serialization:
+     * the first chunk holds the resource's contents and each other chunk holds a single subtree, the root of which is returned.
+     * @since 2.33
+     */
+    public InternalEObject loadChunk(Resource resource) throws IOException
+    {
+      if (chunk == 0)
+      {
+        loadResource(resource);
+        return null;
+      }
+      else
+      {
+        this.resource = resource;
+        this.resourceSet = resource.getResourceSet();
+        URI uri = resource.getURI();
+        if (uri != null && uri.isHierarchical() && !uri.isRelative())
+        {
+          baseURI = uri;
+        }
+        return loadEObject();
+      }
+    }
+
+    /**
+     * Returns the objects loaded by this stream, indexed by their ID.
+     * @since 2.33
+     */
+    public InternalEObject[] getEObjects()
+    {
+      InternalEObject[] result = new InternalEObject [internalInternalEObjectList.size()];
+      System.arraycopy(internalInternalEObjectList.eObjects, 0, result, 0, result.length);
+      return result;
+    }
+
     public void loadEObjects(InternalEList<InternalEObject> internalEObjects) throws IOException
     {
       // Read all the values into an array.
@@ -2489,7 +3062,9 @@ public class BinaryResourceImpl extends ResourceImpl
       }
       else
       {
-        if (internalInternalEObjectList.size() <= id)
+        // The IDs of the objects of a chunk are assigned in advance, so the slot of an object not yet loaded may be empty.
+        //
+        if (internalInternalEObjectList.size() <= id || internalInternalEObjectList.eObjects[id] == null)
         {
           EClassData eClassData = readEClass();
           InternalEObject internalEObject =  (InternalEObject)eClassData.eFactory.create(eClassData.eClass);
@@ -2500,11 +3075,26 @@ public class BinaryResourceImpl extends ResourceImpl
           int featureID = readCompressedInt() - 1;
           if (featureID == -2)
           {
-            internalEObject.eSetProxyURI(readURI());
-            if (isEagerProxyResolution)
+            URI proxyURI = readURI();
+            if (proxyURI == null && chunkIndex != null)
+            {
+              // A proxy for an object in another chunk is resolved by decoding that chunk.
+              //
+              int proxyChunk = readCompressedInt();
+              int proxyID = readCompressedInt();
+              internalEObject.eSetProxyURI(chunkIndex.getProxyURI(proxyChunk, proxyID));
+              chunkIndex.proxyLoaded(internalEObject, proxyChunk, proxyID);
+              internalInternalEObjectList.put(id, internalEObject);
+              if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
+              {
+                return internalEObject;
+              }
+            }
+            else if (isEagerProxyResolution)
             {
+              internalEObject.eSetProxyURI(proxyURI);
               result = (InternalEObject)EcoreUtil.resolve(internalEObject, resource);
-              internalInternalEObjectList.add(result);
+              internalInternalEObjectList.put(id, result);
               if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
               {
                 return result;
@@ -2512,7 +3102,8 @@ public class BinaryResourceImpl extends ResourceImpl
             }
             else
             {
-              internalInternalEObjectList.add(internalEObject);
+              internalEObject.eSetProxyURI(proxyURI);
+              internalInternalEObjectList.put(id, internalEObject);
               if ((style & STYLE_PROXY_ATTRIBUTES) == 0)
               {
                 return internalEObject;
@@ -2525,7 +3116,7 @@ public class BinaryResourceImpl extends ResourceImpl
           }
           else
           {
-            internalInternalEObjectList.add(internalEObject);
+            internalInternalEObjectList.put(id, internalEObject);
           }
 
           for (; featureID != -1; featureID = readCompressedInt() - 1)
@@ -2998,7 +3589,7 @@ public class BinaryResourceImpl extends ResourceImpl
         if (internalURIList.size() <= id)
         {
           String value = readSegmentedString();
-          uri = resolve(URI.createURI(value));
+          uri = resolve(uriArena == null ? URI.createURI(value) : uriArena.createURI(value));
           internalURIList.add(uri);
         }
         else
@@ -3008,10 +3599,756 @@ public class BinaryResourceImpl extends ResourceImpl
         String fragment = readSegmentedString();
         if (fragment != null)
         {
-          uri = uri.appendFragment(fragment);
+          uri = uriArena == null ? uri.appendFragment(fragment) : uriArena.appendFragment(uri, fragment);
         }
         return uri;
       }
     }
   }
+
+  /**
+   * The partitioning of a resource's containment tree into the chunks of a {@link BinaryIO.Version#VERSION_1_2 version 1.2} serialization.
+   * The first chunk holds the resource's contents.
+   * Each other chunk holds a subtree contained by a proxy resolving containment reference,
+   * with at least {@link BinaryResourceImpl#OPTION_CHUNK_SIZE chunk size} objects that aren't in a nested chunk.
+   * Because a reference that doesn't resolve proxies can't refer to an object in another chunk,
+   * the subtree of a chunk is merged into its parent chunk whenever such a reference would cross from one to the other.
+   * Each object of a chunk has an ID that's unique within that chunk.
+   * @since 2.33
+   */
+  protected static class ChunkLayout
+  {
+    protected Resource resource;
+    protected List<InternalEObject> eObjects = new ArrayList<InternalEObject>();
+    protected Map<EObject, Integer> eObjectIndexMap = new HashMap<EObject, Integer>();
+    protected Map<EObject, Long> eObjectLocationMap = new HashMap<EObject, Long>();
+    protected int[] parents = new int [100];
+    protected boolean[] isChunkRootCandidate = new boolean [100];
+    protected boolean[] isChunkRoot;
+    protected int[] chunks;
+    protected int[] ids;
+    protected int chunkCount;
+    protected int[] chunkRoots;
+    protected int[] parentChunks;
+    protected int[] objectCounts;
+    private boolean isMerged;
+
+    public ChunkLayout(Resource resource, int chunkSize)
+    {
+      this.resource = resource;
+      for (EObject eObject : resource.getContents())
+      {
+        addEObject((InternalEObject)eObject, -1, false);
+      }
+
+      // Visit the objects bottom up so that the objects of a nested chunk don't count toward the size of its parent chunk.
+      //
+      int size = eObjects.size();
+      int[] counts = new int [size];
+      isChunkRoot = new boolean [size];
+      for (int i = size - 1; i >= 0; --i)
+      {
+        int count = counts[i] + 1;
+        if (isChunkRootCandidate[i] && count >= chunkSize)
+        {
+          isChunkRoot[i] = true;
+        }
+        else if (parents[i] != -1)
+        {
+          counts[parents[i]] += count;
+        }
+      }
+
+      chunks = new int [size];
+      do
+      {
+        assignChunks();
+      }
+      while (mergeChunks());
+
+      ids = new int [size];
+      objectCounts = new int [chunkCount];
+      for (int i = 0; i < size; ++i)
+      {
+        ids[i] = objectCounts[chunks[i]]++;
+      }
+    }
+
+    public int getChunkCount()
+    {
+      return chunkCount;
+    }
+
+    public int getParentChunk(int chunk)
+    {
+      return parentChunks[chunk];
+    }
+
+    /**
+     * Returns the number of objects in the chunk, i.e., the number of IDs assigned in advance.
+     */
+    public int getObjectCount(int chunk)
+    {
+      return objectCounts[chunk];
+    }
+
+    /**
+     * Returns the root of the chunk, or null for the first chunk.
+     */
+    public EObject getRoot(int chunk)
+    {
+      return chunk == 0 ? null : eObjects.get(chunkRoots[chunk]);
+    }
+
+    /**
+     * Returns the chunk of the object, shifted into the high 32 bits, combined with its ID in that chunk,
+     * or -1 if the object isn't in any chunk.
+     */
+    public long getLocation(EObject eObject)
+    {
+      Integer index = eObjectIndexMap.get(eObject);
+      if (index != null)
+      {
+        return (long)chunks[index] << 32 | ids[index];
+      }
+      else
+      {
+        Long location = eObjectLocationMap.get(eObject);
+        return location == null ? -1 : location;
+      }
+    }
+
+    /**
+     * Records the chunk and ID with which an object that isn't in any chunk has been saved in full,
+     * so that other chunks refer to it rather than save it again.
+     */
+    public void setLocation(EObject eObject, int chunk, int id)
+    {
+      eObjectLocationMap.put(eObject, (long)chunk << 32 | id);
+    }
+
+    /**
+     * Adds the object, and then the objects of the serialized containment tree it roots, in pre-order.
+     */
+    protected void addEObject(InternalEObject eObject, int parent, boolean isChunkRootCandidate)
+    {
+      if (eObjectIndexMap.containsKey(eObject))
+      {
+        return;
+      }
+
+      int index = eObjects.size();
+      eObjects.add(eObject);
+      eObjectIndexMap.put(eObject, index);
+      if (index == parents.length)
+      {
+        int[] newParents = new int [2 * index];
+        System.arraycopy(parents, 0, newParents, 0, index);
+        parents = newParents;
+        boolean[] newIsChunkRootCandidate = new boolean [2 * index];
+        System.arraycopy(this.isChunkRootCandidate, 0, newIsChunkRootCandidate, 0, index);
+        this.isChunkRootCandidate = newIsChunkRootCandidate;
+      }
+      parents[index] = parent;
+      this.isChunkRootCandidate[index] = isChunkRootCandidate;
+
+      EClass eClass = eObject.eClass();
+      for (int i = 0, featureCount = eClass.getFeatureCount(); i < featureCount; ++i)
+      {
+        EStructuralFeature eStructuralFeature = eClass.getEStructuralFeature(i);
+        if (!eStructuralFeature.isTransient() && eObject.eIsSet(i))
+        {
+          switch (BinaryIO.FeatureKind.get(eStructuralFeature))
+          {
+            case EOBJECT_CONTAINMENT:
+            case EOBJECT_CONTAINMENT_PROXY_RESOLVING:
+            {
+              addContainedEObject((InternalEObject)eObject.eGet(i, false, true), index, (EReference)eStructuralFeature, true);
+              break;
+            }
+            case EOBJECT_CONTAINMENT_LIST:
+            case EOBJECT_CONTAINMENT_LIST_PROXY_RESOLVING:
+            {
+              InternalEList<?> values = (InternalEList<?>)eObject.eGet(i, false, true);
+              for (int j = 0, size = values.size(); j < size; ++j)
+              {
+                addContainedEObject((InternalEObject)values.basicGet(j), index, (EReference)eStructuralFeature, true);
+              }
+              break;
+            }
+            case FEATURE_MAP:
+            {
+              FeatureMap.Internal featureMap = (FeatureMap.Internal)eObject.eGet(i, false, true);
+              for (int j = 0, size = featureMap.size(); j < size; ++j)
+              {
+                FeatureMap.Entry entry = featureMap.basicGet(j);
+                EStructuralFeature entryFeature = entry.getEStructuralFeature();
+                if (entryFeature instanceof EReference && ((EReference)entryFeature).isContainment())
+                {
+                  addContainedEObject((InternalEObject)entry.getValue(), index, (EReference)entryFeature, false);
+                }
+              }
+              break;
+            }
+            default:
+            {
+              break;
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Adds an object contained by the reference unless it's serialized as a proxy,
+     * i.e., unless the reference resolves proxies and the object is a proxy or is directly contained by a resource.
+     * Only an object contained by a proxy resolving reference can be the root of a chunk.
+     */
+    protected void addContainedEObject(InternalEObject eObject, int parent, EReference eReference, boolean isChunkRootCandidate)
+    {
+      if (eObject != null)
+      {
+        if (!eReference.isResolveProxies())
+        {
+          addEObject(eObject, parent, false);
+        }
+        else if (eObject.eDirectResource() == null && !eObject.eIsProxy())
+        {
+          addEObject(eObject, parent, isChunkRootCandidate);
+        }
+      }
+    }
+
+    /**
+     * Assigns each object to the chunk of the nearest chunk root that contains it, or to the first chunk.
+     * The chunks are numbered in pre-order so a chunk's number is greater than that of its parent chunk.
+     */
+    protected void assignChunks()
+    {
+      int rootCount = 1;
+      for (boolean isRoot : isChunkRoot)
+      {
+        if (isRoot)
+        {
+          ++rootCount;
+        }
+      }
+      chunkRoots = new int [rootCount];
+      parentChunks = new int [rootCount];
+      chunkRoots[0] = -1;
+      parentChunks[0] = -1;
+      chunkCount = 1;
+      for (int i = 0, size = eObjects.size(); i < size; ++i)
+      {
+        int parent = parents[i];
+        if (parent == -1)
+        {
+          chunks[i] = 0;
+        }
+        else if (isChunkRoot[i])
+        {
+          chunks[i] = chunkCount;
+          chunkRoots[chunkCount] = i;
+          parentChunks[chunkCount] = chunks[parent];
+          ++chunkCount;
+        }
+        else
+        {
+          chunks[i] = chunks[parent];
+        }
+      }
+    }
+
+    /**
+     * Merges each chunk that a reference that doesn't resolve proxies would leave or enter into its parent chunk.
+     * Such a reference to an object that isn't in any chunk, and isn't in another resource,
+     * would need to refer to the same copy of that object from each chunk, so all chunks are merged in that case.
+     * Returns whether any chunks were merged.
+     */
+    protected boolean mergeChunks()
+    {
+      if (chunkCount == 1)
+      {
+        return false;
+      }
+
+      isMerged = false;
+      for (int i = 0, size = eObjects.size(); i < size; ++i)
+      {
+        InternalEObject eObject = eObjects.get(i);
+        EClass eClass = eObject.eClass();
+        for (int j = 0, featureCount = eClass.getFeatureCount(); j < featureCount; ++j)
+        {
+          EStructuralFeature eStructuralFeature = eClass.getEStructuralFeature(j);
+          if (!eStructuralFeature.isTransient() && eObject.eIsSet(j))
+          {
+            switch (BinaryIO.FeatureKind.get(eStructuralFeature))
+            {
+              case EOBJECT:
+              {
+                if (!mergeChunks(i, (EObject)eObject.eGet(j, false, true)))
+                {
+                  return true;
+                }
+                break;
+              }
+              case EOBJECT_LIST:
+              {
+                InternalEList<?> values = (InternalEList<?>)eObject.eGet(j, false, true);
+                for (int k = 0, valueCount = values.size(); k < valueCount; ++k)
+                {
+                  if (!mergeChunks(i, (EObject)values.basicGet(k)))
+                  {
+                    return true;
+                  }
+                }
+                break;
+              }
+              case FEATURE_MAP:
+              {
+                FeatureMap.Internal featureMap = (FeatureMap.Internal)eObject.eGet(j, false, true);
+                for (int k = 0, entryCount = featureMap.size(); k < entryCount; ++k)
+                {
+                  FeatureMap.Entry entry = featureMap.basicGet(k);
+                  BinaryIO.FeatureKind kind = BinaryIO.FeatureKind.get(entry.getEStructuralFeature());
+                  if ((kind == BinaryIO.FeatureKind.EOBJECT || kind == BinaryIO.FeatureKind.EOBJECT_LIST) && !mergeChunks(i, (EObject)entry.getValue()))
+                  {
+                    return true;
+                  }
+                }
+                break;
+              }
+              default:
+              {
+                break;
+              }
+            }
+          }
+        }
+      }
+      return isMerged;
+    }
+
+    /**
+     * Merges the chunk that a reference from the object at the index to the given object would leave or enter, if any,
+     * returning false if instead all chunks are merged.
+     */
+    private boolean mergeChunks(int index, EObject eObject)
+    {
+      if (eObject != null)
+      {
+        Integer targetIndex = eObjectIndexMap.get(eObject);
+        if (targetIndex == null)
+        {
+          Resource eResource = eObject.eResource();
+          if (!eObject.eIsProxy() && (eResource == null || eResource == resource))
+          {
+            Arrays.fill(isChunkRoot, false);
+            return false;
+          }
+        }
+        else
+        {
+          int chunk = chunks[index];
+          int targetChunk = chunks[targetIndex];
+          if (chunk != targetChunk)
+          {
+            // A reference into an ancestor chunk merges the chunk it leaves, any other reference merges the chunk it enters.
+            //
+            int mergedChunk = targetChunk;
+            for (int parentChunk = parentChunks[chunk]; parentChunk != -1; parentChunk = parentChunks[parentChunk])
+            {
+              if (parentChunk == targetChunk)
+              {
+                mergedChunk = chunk;
+                break;
+              }
+            }
+            isChunkRoot[chunkRoots[mergedChunk]] = false;
+            isMerged = true;
+          }
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * The index of the chunks of the {@link BinaryIO.Version#VERSION_1_2 version 1.2} serialization from which a resource is loaded.
+   * Each chunk is decoded, after its parent chunk, when an object in it is first {@link #getEObject(String) requested},
+   * i.e., when a proxy that refers to the chunk is resolved.
+   * <p>
+   * The fragment of such a proxy's URI refers to the chunk, so it's only meaningful for this serialization.
+   * A proxy that's obtained without resolving it, e.g., via {@link InternalEList#basicGet(int)},
+   * and that's then referenced by another resource, can escape it.
+   * So when all chunks are {@link #resolveAll() decoded}, i.e., before the resource is saved or its URI changes,
+   * each proxy that's still unresolved is given the URI of the object to which it refers.
+   * </p>
+   * @since 2.33
+   */
+  protected static class ChunkIndex
+  {
+    protected BinaryResourceImpl resource;
+    protected Map<?, ?> options;
+    protected BinaryIO.Version version;
+    protected int style;
+    protected URI uri;
+    protected ByteBuffer[] buffers;
+    protected int[] parentChunks;
+    protected int[] objectCounts;
+
+    /**
+     * Whether the proxies for the objects in other chunks are resolved on demand through the resource set,
+     * rather than replaced once all chunks are decoded.
+     */
+    protected boolean isLazy;
+    protected InternalEObject[][] eObjects;
+    protected InternalEObject[] rootProxies;
+
+    /**
+     * The proxies created for objects in other chunks, whose chunk fragments must not outlive this index.
+     */
+    protected List<InternalEObject> proxies = new ArrayList<InternalEObject>();
+
+    public ChunkIndex(BinaryResourceImpl resource, Map<?, ?> options, BinaryIO.Version version, int style, ByteBuffer[] buffers, int[] parentChunks, int[] objectCounts, boolean isLazy)
+    {
+      this.resource = resource;
+      this.options = options;
+      this.version = version;
+      this.style = style;
+      this.buffers = buffers;
+      this.parentChunks = parentChunks;
+      this.objectCounts = objectCounts;
+      this.isLazy = isLazy;
+      uri = resource.getURI();
+      eObjects = new InternalEObject [buffers.length][];
+      rootProxies = new InternalEObject [buffers.length];
+    }
+
+    public int getObjectCount(int chunk)
+    {
+      return objectCounts[chunk];
+    }
+
+    /**
+     * Returns the URI of a proxy for the object with the given ID in the chunk,
+     * or for the root of the chunk as contained by its parent chunk if the ID is -1.
+     */
+    public URI getProxyURI(int chunk, int id)
+    {
+      String fragment = id == -1 ? CHUNK_FRAGMENT_PREFIX + chunk : CHUNK_FRAGMENT_PREFIX + chunk + '.' + id;
+      return uri == null ? URI.createURI("#" + fragment) : uri.appendFragment(fragment);
+    }
+
+    /**
+     * Records a proxy, created while decoding a chunk, for the object with the given ID in another chunk.
+     */
+    public synchronized void proxyLoaded(InternalEObject proxy, int chunk, int id)
+    {
+      if (id == -1)
+      {
+        rootProxies[chunk] = proxy;
+      }
+      proxies.add(proxy);
+    }
+
+    /**
+     * Returns the object to which the fragment of a chunk proxy refers, decoding its chunk if necessary.
+     * Unless the fragment refers to the root of the chunk as contained by its parent chunk,
+     * that containment proxy is resolved so that the decoded objects are in the resource.
+     */
+    public EObject getEObject(String uriFragment)
+    {
+      try
+      {
+        int separator = uriFragment.indexOf('.', CHUNK_FRAGMENT_PREFIX.length());
+        int chunk = Integer.parseInt(uriFragment.substring(CHUNK_FRAGMENT_PREFIX.length(), separator == -1 ? uriFragment.length() : separator));
+        if (chunk >= 0 && chunk < eObjects.length)
+        {
+          if (separator == -1)
+          {
+            return decode(chunk, false)[0];
+          }
+          else
+          {
+            int id = Integer.parseInt(uriFragment.substring(separator + 1));
+            InternalEObject[] chunkEObjects = decode(chunk, true);
+            if (id >= 0 && id < chunkEObjects.length)
+            {
+              return chunkEObjects[id];
+            }
+          }
+        }
+      }
+      catch (NumberFormatException exception)
+      {
+        // Not a fragment that refers to a chunk.
+      }
+      catch (IOException exception)
+      {
+        throw new WrappedException(exception);
+      }
+      return null;
+    }
+
+    /**
+     * Decodes the chunk, if it's not already decoded, and returns its objects indexed by their ID.
+     */
+    public synchronized InternalEObject[] decode(int chunk, boolean attach) throws IOException
+    {
+      InternalEObject[] result = eObjects[chunk];
+      if (result == null)
+      {
+        int parentChunk = parentChunks[chunk];
+        if (parentChunk != -1)
+        {
+          decode(parentChunk, true);
+        }
+        EObjectInputStream eObjectInputStream =
+          resource.createEObjectInputStream(new ByteBufferInputStream(buffers[chunk].duplicate()), options, version, style, this, chunk);
+        eObjectInputStream.loadChunk(resource);
+        result = eObjects[chunk] = eObjectInputStream.getEObjects();
+        buffers[chunk] = null;
+      }
+      if (attach && isLazy)
+      {
+        attach(chunk);
+      }
+      return result;
+    }
+
+    /**
+     * Resolves the proxy that represents the root of the chunk in its container, unless that's already happened.
+     */
+    protected void attach(int chunk)
+    {
+      InternalEObject rootProxy = rootProxies[chunk];
+      if (rootProxy != null)
+      {
+        rootProxies[chunk] = null;
+        InternalEObject container = rootProxy.eInternalContainer();
+        if (container != null)
+        {
+          EReference containmentFeature = rootProxy.eContainmentFeature();
+          if (containmentFeature.isMany())
+          {
+            List<?> list = (List<?>)container.eGet(containmentFeature);
+            list.get(((InternalEList<?>)list).basicIndexOf(rootProxy));
+          }
+          else
+          {
+            container.eGet(containmentFeature);
+          }
+        }
+      }
+    }
+
+    /**
+     * Decodes all remaining chunks and resolves all the proxies for objects in other chunks,
+     * then gives each proxy that's still a chunk proxy, i.e., one that has escaped the resource, the URI of the object to which it refers.
+     */
+    public synchronized void resolveAll() throws IOException
+    {
+      for (int i = 0; i < eObjects.length; ++i)
+      {
+        decode(i, true);
+      }
+      for (InternalEObject[] chunkEObjects : eObjects)
+      {
+        for (InternalEObject eObject : chunkEObjects)
+        {
+          if (eObject != null && !eObject.eIsProxy())
+          {
+            resolveProxies(eObject);
+          }
+        }
+      }
+      for (InternalEObject proxy : proxies)
+      {
+        if (isChunkProxy(proxy))
+        {
+          EObject eObject = getEObject(proxy.eProxyURI().fragment());
+          if (eObject != null && eObject.eResource() == resource)
+          {
+            proxy.eSetProxyURI(EcoreUtil.getURI(eObject));
+          }
+        }
+      }
+      proxies.clear();
+    }
+
+    protected boolean isChunkProxy(Object value)
+    {
+      if (value instanceof InternalEObject)
+      {
+        URI proxyURI = ((InternalEObject)value).eProxyURI();
+        if (proxyURI != null)
+        {
+          String fragment = proxyURI.fragment();
+          return
+            fragment != null &&
+              fragment.startsWith(CHUNK_FRAGMENT_PREFIX) &&
+              (uri == null ? proxyURI.trimFragment().toString().length() == 0 : uri.equals(proxyURI.trimFragment()));
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Resolves the object's proxies for objects in other chunks;
+     * if the proxies can't be resolved on demand, they're replaced, taking care to preserve the order of a bidirectional reference's values.
+     */
+    protected void resolveProxies(InternalEObject eObject)
+    {
+      EClass eClass = eObject.eClass();
+      for (int i = 0, featureCount = eClass.getFeatureCount(); i < featureCount; ++i)
+      {
+        EStructuralFeature eStructuralFeature = eClass.getEStructuralFeature(i);
+        if (!eStructuralFeature.isTransient() && eObject.eIsSet(i))
+        {
+          if (eStructuralFeature instanceof EReference)
+          {
+            EReference eReference = (EReference)eStructuralFeature;
+            if (eReference.isResolveProxies() && !eReference.isContainer())
+            {
+              if (eReference.isMany())
+              {
+                @SuppressWarnings("unchecked")
+                InternalEList<EObject> values = (InternalEList<EObject>)eObject.eGet(i, false, true);
+                for (int j = 0; j < values.size(); ++j)
+                {
+                  EObject value = values.basicGet(j);
+                  if (isChunkProxy(value))
+                  {
+                    if (isLazy)
+                    {
+                      values.get(j);
+                    }
+                    else
+                    {
+                      EObject resolvedValue = getEObject(((InternalEObject)value).eProxyURI().fragment());
+                      int index = eReference.isContainment() || resolvedValue == null ? -1 : values.basicIndexOf(resolvedValue);
+                      if (index == -1)
+                      {
+                        values.setUnique(j, resolvedValue == null ? value : resolvedValue);
+                      }
+                      else
+                      {
+                        // The inverse of the bidirectional reference has already added the resolved value,
+                        // so remove the proxy, move the resolved value to its position, and start over.
+                        //
+                        values.remove(j);
+                        values.move(Math.min(j, values.size() - 1), values.basicIndexOf(resolvedValue));
+                        j = -1;
+                      }
+                    }
+                  }
+                }
+              }
+              else
+              {
+                Object value = eObject.eGet(i, false, true);
+                if (isChunkProxy(value))
+                {
+                  if (isLazy)
+                  {
+                    eObject.eGet(i, true, true);
+                  }
+                  else
+                  {
+                    EObject resolvedValue = getEObject(((InternalEObject)value).eProxyURI().fragment());
+                    if (resolvedValue != null)
+                    {
+                      eObject.eSet(i, resolvedValue);
+                    }
+                  }
+                }
+              }
+            }
+          }
+          else if (FeatureMapUtil.isFeatureMap(eStructuralFeature))
+          {
+            FeatureMap.Internal featureMap = (FeatureMap.Internal)eObject.eGet(i, false, true);
+            for (int j = 0, size = featureMap.size(); j < size; ++j)
+            {
+              Object value = featureMap.basicGet(j).getValue();
+              if (isChunkProxy(value))
+              {
+                EObject resolvedValue = getEObject(((InternalEObject)value).eProxyURI().fragment());
+                if (resolvedValue != null)
+                {
+                  featureMap.setValue(j, resolvedValue);
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * An output stream that keeps track of the number of bytes written.
+   */
+  private static final class PositionOutputStream extends FilterOutputStream
+  {
+    long position;
+
+    public PositionOutputStream(OutputStream outputStream)
+    {
+      super(outputStream);
+    }
+
+    @Override
+    public void write(int b) throws IOException
+    {
+      out.write(b);
+      ++position;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException
+    {
+      out.write(bytes, offset, length);
+      position += length;
+    }
+  }
+
+  /**
+   * An input stream that reads the remaining bytes of a byte buffer.
+   */
+  private static final class ByteBufferInputStream extends InputStream
+  {
+    private final ByteBuffer buffer;
+
+    public ByteBufferInputStream(ByteBuffer buffer)
+    {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read()
+    {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length)
+    {
+      int remaining = buffer.remaining();
+      if (remaining == 0)
+      {
+        return length == 0 ? 0 : -1;
+      }
+      int count = Math.min(length, remaining);
+      buffer.get(bytes, offset, count);
+      return count;
+    }
+
+    @Override
+    public int available()
+    {
+      return buffer.remaining();
+    }
+  }
 }
@@ -0,0 +1,256 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.resource.impl;
+
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.resource.Resource;
+
+
+/**
+ * A resource set implementation that supports {@link #getResource(URI, boolean) locating} and demand loading resources from multiple threads.
+ * <p>
+ * Demand loads of resources with the same {@link org.eclipse.emf.ecore.resource.URIConverter#normalize(URI) normalized} URI
+ * are collapsed into a single load, performed by the first thread that requests it,
+ * and the other threads that request that resource wait for the load to complete rather than see a partially loaded resource;
+ * loads of resources with different URIs proceed in parallel.
+ * A thread that requests a resource it is itself loading, directly or via a load on which it waits,
+ * gets the partially loaded resource, as it would with a single thread, rather than deadlock.
+ * </p>
+ * <p>
+ * All changes to the {@link #getResources() resources} made by this resource set, and the updates of the {@link #getURIResourceMap() URI resource map}
+ * and of any {@link ResourceSetImpl.MappedResourceLocator resource locator} that they imply, are made while holding this resource set's lock.
+ * Clients that change the resources or their URIs must also hold that lock.
+ * By default, the URI resource map is a concurrent map, so that a loaded resource is located without locking.
+ * </p>
+ * @since 2.33
+ */
+public class ConcurrentResourceSetImpl extends ResourceSetImpl
+{
+  /**
+   * The demand loads in progress, keyed by the normalized URI of the resource being loaded.
+   */
+  protected final Map<URI, DemandLoad> demandLoads = new ConcurrentHashMap<URI, DemandLoad>();
+
+  /**
+   * The demand load for which each thread is waiting.
+   * It's used to detect a thread that would wait for a load on which its own load depends.
+   * Access is guarded by the map's lock.
+   */
+  protected final Map<Thread, DemandLoad> waitingThreads = new HashMap<Thread, DemandLoad>();
+
+  /**
+   * A demand load in progress.
+   */
+  protected static class DemandLoad
+  {
+    /**
+     * The resource being loaded.
+     */
+    protected final Resource resource;
+
+    /**
+     * The thread that loads the resource.
+     */
+    protected final Thread thread;
+
+    /**
+     * The latch released when the load completes.
+     */
+    protected final CountDownLatch latch = new CountDownLatch(1);
+
+    protected DemandLoad(Resource resource, Thread thread)
+    {
+      this.resource = resource;
+      this.thread = thread;
+    }
+  }
+
+  /**
+   * Creates an empty instance.
+   */
+  public ConcurrentResourceSetImpl()
+  {
+    super();
+
+    // Initialize the lazily created state so that it's safely published.
+    //
+    getResources();
+    getLoadOptions();
+    getResourceFactoryRegistry();
+    getURIConverter();
+    getPackageRegistry();
+    eAdapters();
+    setURIResourceMap(new ConcurrentHashMap<URI, Resource>());
+  }
+
+  @Override
+  public Resource createResource(URI uri, String contentType)
+  {
+    synchronized (this)
+    {
+      return super.createResource(uri, contentType);
+    }
+  }
+
+  @Override
+  public Resource getResource(URI uri, boolean loadOnDemand)
+  {
+    // A resource in the URI resource map is loaded, unless it has since been unloaded, because it's only added once its load completes.
+    //
+    Map<URI, Resource> map = getURIResourceMap();
+    if (map != null)
+    {
+      Resource resource = map.get(uri);
+      if (resource != null && resource.isLoaded())
+      {
+        return resource;
+      }
+    }
+
+    URI normalizedURI = getURIConverter().normalize(uri);
+    for (;;)
+    {
+      DemandLoad demandLoad;
+      boolean isOwner = false;
+      synchronized (this)
+      {
+        demandLoad = demandLoads.get(normalizedURI);
+        if (demandLoad == null)
+        {
+          Resource resource = basicGetResource(uri);
+          if (!loadOnDemand || resource != null && resource.isLoaded())
+          {
+            if (resource != null && map != null && resource.isLoaded())
+            {
+              map.put(uri, resource);
+            }
+            return resource;
+          }
+
+          if (resource == null)
+          {
+            resource = demandCreateResource(uri);
+            if (resource == null)
+            {
+              throw new RuntimeException("Cannot create a resource for '" + uri + "'; a registered resource factory is needed");
+            }
+          }
+          else if (map != null)
+          {
+            map.values().removeAll(Collections.singleton(resource));
+          }
+
+          demandLoad = new DemandLoad(resource, Thread.currentThread());
+          demandLoads.put(normalizedURI, demandLoad);
+          isOwner = true;
+        }
+      }
+
+      if (isOwner)
+      {
+        return load(uri, normalizedURI, demandLoad);
+      }
+      else if (!await(demandLoad))
+      {
+        return demandLoad.resource;
+      }
+    }
+  }
+
+  /**
+   * Returns the resource located for the URI, as {@link ResourceSetImpl#getResource(URI, boolean) getResource(uri, false)} would,
+   * while holding this resource set's lock.
+   * @param uri the URI of the resource.
+   * @return the resource located for the URI, or <code>null</code>.
+   */
+  protected Resource basicGetResource(URI uri)
+  {
+    return super.getResource(uri, false);
+  }
+
+  /**
+   * Performs the demand load owned by the current thread,
+   * and once it completes, records the loaded resource in the URI resource map and releases the threads waiting for it.
+   * @param uri the URI of the resource.
+   * @param normalizedURI the normalized URI of the resource.
+   * @param demandLoad the demand load.
+   * @return the loaded resource.
+   */
+  protected Resource load(URI uri, URI normalizedURI, DemandLoad demandLoad)
+  {
+    Resource resource = demandLoad.resource;
+    boolean isLoaded = false;
+    try
+    {
+      demandLoadHelper(resource);
+      isLoaded = true;
+    }
+    finally
+    {
+      synchronized (this)
+      {
+        demandLoads.remove(normalizedURI);
+        Map<URI, Resource> map = getURIResourceMap();
+        if (isLoaded && map != null && resource.getResourceSet() == this)
+        {
+          map.put(uri, resource);
+        }
+      }
+      demandLoad.latch.countDown();
+    }
+    return resource;
+  }
+
+  /**
+   * Waits for the demand load to complete,
+   * unless the thread that performs it is the current thread or is waiting, directly or indirectly, for a load performed by the current thread.
+   * @param demandLoad the demand load.
+   * @return whether the current thread waited for the load.
+   */
+  protected boolean await(DemandLoad demandLoad)
+  {
+    Thread currentThread = Thread.currentThread();
+    synchronized (waitingThreads)
+    {
+      for (DemandLoad load = demandLoad; load != null; load = waitingThreads.get(load.thread))
+      {
+        if (load.thread == currentThread)
+        {
+          return false;
+        }
+      }
+      waitingThreads.put(currentThread, demandLoad);
+    }
+
+    try
+    {
+      demandLoad.latch.await();
+      return true;
+    }
+    catch (InterruptedException exception)
+    {
+      Thread.currentThread().interrupt();
+      throw new WrappedException(exception);
+    }
+    finally
+    {
+      synchronized (waitingThreads)
+      {
+        waitingThreads.remove(currentThread);
+      }
+    }
+  }
+}
@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.resource.impl;
+
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.impl.MappedEStoreImpl;
+import org.eclipse.emf.ecore.impl.OffHeapEStoreImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+
+
+/**
+ * A resource whose contents are the {@link MappedEStoreImpl#getRoots() roots} of a {@link MappedEStoreImpl memory-mapped store}
+ * persisted in the file denoted by the resource's URI.
+ * <p>
+ * {@link #load(Map) Loading} opens the store, which takes the same time no matter how big the model is,
+ * except for the data values that the store {@link MappedEStoreImpl holds on the heap},
+ * and objects are paged in as they're accessed;
+ * {@link #save(Map) saving} records the contents as the roots and {@link MappedEStoreImpl#commit() commits} the store.
+ * New objects must be created in the resource's {@link #getStore() store},
+ * e.g., via {@link OffHeapEStoreImpl#create(org.eclipse.emf.ecore.EClass) create} or an {@link OffHeapEStoreImpl.Factory};
+ * saving fails if a root or a contained object isn't in the store.
+ * {@link #unload() Unloading} turns into proxies only the objects whose wrappers exist, so it doesn't visit the whole model.
+ * Only {@link URI#isFile() file} URIs are supported.
+ * </p>
+ * @since 2.33
+ */
+public class MappedEStoreResourceImpl extends ResourceImpl
+{
+  /**
+   * A factory for creating {@link MappedEStoreResourceImpl memory-mapped store resources}.
+   */
+  public static class Factory extends ResourceFactoryImpl
+  {
+    /**
+     * Creates an instance.
+     */
+    public Factory()
+    {
+      super();
+    }
+
+    @Override
+    public Resource createResource(URI uri)
+    {
+      return new MappedEStoreResourceImpl(uri);
+    }
+  }
+
+  /**
+   * The store, or <code>null</code> if it isn't open.
+   */
+  protected MappedEStoreImpl store;
+
+  /**
+   * Creates an empty instance.
+   */
+  public MappedEStoreResourceImpl()
+  {
+    super();
+  }
+
+  /**
+   * Creates an instance with the given URI.
+   * @param uri the URI of the page file.
+   */
+  public MappedEStoreResourceImpl(URI uri)
+  {
+    super(uri);
+  }
+
+  /**
+   * Returns the store, opening it, or creating it if it doesn't exist yet, if it isn't open.
+   * @return the store.
+   */
+  public MappedEStoreImpl getStore()
+  {
+    if (store == null)
+    {
+      try
+      {
+        store = openStore();
+      }
+      catch (IOException exception)
+      {
+        throw new WrappedException(exception);
+      }
+    }
+    return store;
+  }
+
+  /**
+   * Opens the store persisted in the file denoted by the resource's URI.
+   * @return the store.
+   * @throws IOException if the URI doesn't denote a file or the store can't be opened.
+   */
+  protected MappedEStoreImpl openStore() throws IOException
+  {
+    URI normalizedURI = getURIConverter().normalize(getURI());
+    if (normalizedURI == null || !normalizedURI.isFile())
+    {
+      throw new IOException("The URI '" + getURI() + "' doesn't denote a file");
+    }
+    Path path = Paths.get(normalizedURI.toFileString());
+    EPackage.Registry packageRegistry = getResourceSet() == null ? EPackage.Registry.INSTANCE : getResourceSet().getPackageRegistry();
+    return MappedEStoreImpl.open(path, packageRegistry, OffHeapEStoreImpl.DEFAULT_PAGE_SIZE);
+  }
+
+  /**
+   * Opens the store and adds its roots to the contents, without reading the rest of the model.
+   */
+  @Override
+  public void load(Map<?, ?> options) throws IOException
+  {
+    if (!isLoaded)
+    {
+      Notification notification = setLoaded(true);
+      isLoading = true;
+      if (errors != null)
+      {
+        errors.clear();
+      }
+      if (warnings != null)
+      {
+        warnings.clear();
+      }
+      try
+      {
+        if (store == null)
+        {
+          store = openStore();
+        }
+        getContents().addAll(store.getRoots());
+      }
+      finally
+      {
+        isLoading = false;
+        if (notification != null)
+        {
+          eNotify(notification);
+        }
+        setModified(false);
+      }
+    }
+  }
+
+  /**
+   * Records the contents as the roots of the store and commits it.
+   * @throws IOException if a root or a contained object isn't in the store, or if the store can't be committed.
+   */
+  @Override
+  public void save(Map<?, ?> options) throws IOException
+  {
+    MappedEStoreImpl store = getStore();
+    try
+    {
+      store.setRoots(getContents());
+    }
+    catch (IllegalArgumentException exception)
+    {
+      throw new IOException(exception.getMessage(), exception);
+    }
+    store.commit();
+    setModified(false);
+  }
+
+  /**
+   * Doesn't visit the contents while they're being unloaded, because that would create a wrapper for every object in the store;
+   * {@link #doUnload()} clears the state that the helpers maintain instead.
+   */
+  @Override
+  protected boolean isAttachedDetachedHelperRequired()
+  {
+    return unloadingContents == null && super.isAttachedDetachedHelperRequired();
+  }
+
+  /**
+   * Clears the contents and then closes the store, discarding the changes that haven't been saved.
+   * Only the objects whose wrappers {@link OffHeapEStoreImpl#getLiveObjects() exist} can be referenced from elsewhere,
+   * so only they are turned into proxies;
+   * the rest of the model isn't visited.
+   */
+  @Override
+  protected void doUnload()
+  {
+    if (store == null)
+    {
+      super.doUnload();
+      return;
+    }
+
+    // The proxy URIs are computed while the objects are still in this resource.
+    //
+    List<InternalEObject> unloadedObjects = new ArrayList<InternalEObject>();
+    List<URI> proxyURIs = new ArrayList<URI>();
+    for (InternalEObject eObject : store.getLiveObjects())
+    {
+      if (!eObject.eIsProxy() && eObject.eResource() == this)
+      {
+        unloadedObjects.add(eObject);
+        proxyURIs.add(uri.appendFragment(getURIFragment(eObject)));
+      }
+    }
+
+    // This guard is needed to ensure that clear doesn't make the resource become loaded.
+    //
+    if (!getContents().isEmpty())
+    {
+      getContents().clear();
+    }
+    getErrors().clear();
+    getWarnings().clear();
+
+    if (intrinsicIDToEObjectMap != null)
+    {
+      intrinsicIDToEObjectMap.clear();
+    }
+    if (uriFragmentCache != null)
+    {
+      uriFragmentCache.fragments.clear();
+      uriFragmentCache.eObjects.clear();
+      uriFragmentCache.indices.clear();
+    }
+
+    for (int i = 0, size = unloadedObjects.size(); i < size; ++i)
+    {
+      InternalEObject eObject = unloadedObjects.get(i);
+      eObject.eSetProxyURI(proxyURIs.get(i));
+      eObject.eAdapters().clear();
+    }
+
+    try
+    {
+      store.close();
+    }
+    catch (IOException exception)
+    {
+      throw new WrappedException(exception);
+    }
+    finally
+    {
+      store = null;
+    }
+  }
+}
@@ -19,10 +19,12 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -43,7 +45,10 @@ import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.impl.BasicEObjectImpl;
 import org.eclipse.emf.ecore.resource.ContentHandler;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
@@ -226,6 +231,13 @@ public class ResourceImpl extends NotifierImpl implements Resource, Resource.Int
    */
   protected Map<String, EObject> intrinsicIDToEObjectMap;
 
+  /**
+   * The URI fragment cache.
+   * @see #isCachingURIFragments()
+   * @since 2.33
+   */
+  protected URIFragmentCache uriFragmentCache;
+
   /**
    * Creates a empty instance.
    */
@@ -643,7 +655,7 @@ public class ResourceImpl extends NotifierImpl implements Resource, Resource.Int
   {
     List<EObject> contents = unloadingContents != null ? unloadingContents : getContents();
     return contents.size() > 1 ?
-      Integer.toString(contents.indexOf(eObject)) :
+      Integer.toString(uriFragmentCache == null ? contents.indexOf(eObject) : uriFragmentCache.indexOf(contents, eObject)) :
       "";
   }
 
@@ -651,6 +663,31 @@ public class ResourceImpl extends NotifierImpl implements Resource, Resource.Int
    * Javadoc copied from interface.
    */
   public String getURIFragment(EObject eObject)
+  {
+    if (uriFragmentCache != null && unloadingContents == null)
+    {
+      String result = uriFragmentCache.fragments.get(eObject);
+      if (result == null)
+      {
+        result = basicGetURIFragment(eObject);
+        if (isLoaded && !isLoading && result != null && !"/-1".equals(result))
+        {
+          uriFragmentCache.fragments.put(eObject, result);
+        }
+      }
+      return result;
+    }
+    else
+    {
+      return basicGetURIFragment(eObject);
+    }
+  }
+
+  /**
+   * Computes the fragment that {@link #getURIFragment(EObject)} returns for the object.
+   * @since 2.33
+   */
+  protected String basicGetURIFragment(EObject eObject)
   {
     String id = EcoreUtil.getID(eObject);
     if (id != null)
@@ -676,7 +713,10 @@ public class ResourceImpl extends NotifierImpl implements Resource, Resource.Int
           //
           if (id == null)
           {
-            builder.append(container.eURIFragmentSegment(internalEObject.eContainingFeature(), internalEObject));
+            builder.append
+              (uriFragmentCache == null ?
+                 container.eURIFragmentSegment(internalEObject.eContainingFeature(), internalEObject) :
+                 uriFragmentCache.getURIFragmentSegment(container, internalEObject.eContainingFeature(), internalEObject));
 
             // We will stop appending segments but will continue the loop for proper isContained checking if there is an ID.
             //
@@ -778,6 +818,31 @@ public class ResourceImpl extends NotifierImpl implements Resource, Resource.Int
    * Javadoc copied from interface.
    */
   public EObject getEObject(String uriFragment)
+  {
+    if (uriFragmentCache != null && isLoaded && !isLoading && unloadingContents == null)
+    {
+      EObject result = uriFragmentCache.eObjects.get(uriFragment);
+      if (result == null)
+      {
+        result = basicGetEObject(uriFragment);
+        if (result != null)
+        {
+          uriFragmentCache.eObjects.put(uriFragment, result);
+        }
+      }
+      return result;
+    }
+    else
+    {
+      return basicGetEObject(uriFragment);
+    }
+  }
+
+  /**
+   * Computes the object that {@link #getEObject(String)} returns for the fragment.
+   * @since 2.33
+   */
+  protected EObject basicGetEObject(String uriFragment)
   {
     int length = uriFragment.length();
     if (length > 0)
@@ -895,7 +960,7 @@ public class ResourceImpl extends NotifierImpl implements Resource, Resource.Int
 
   protected boolean isAttachedDetachedHelperRequired()
   {
-    return isTrackingModification() || getIntrinsicIDToEObjectMap() != null;
+    return isTrackingModification() || getIntrinsicIDToEObjectMap() != null || uriFragmentCache != null;
   }
 
   protected void attachedHelper(EObject eObject)
@@ -905,6 +970,11 @@ public class ResourceImpl extends NotifierImpl implements Resource, Resource.Int
       eObject.eAdapters().add(modificationTrackingAdapter);
     }
 
+    if (uriFragmentCache != null)
+    {
+      eObject.eAdapters().add(uriFragmentCache);
+    }
+
     Map<String, EObject> map = getIntrinsicIDToEObjectMap();
     if (map != null)
     {
@@ -958,6 +1028,11 @@ public class ResourceImpl extends NotifierImpl implements Resource, Resource.Int
     {
       eObject.eAdapters().remove(modificationTrackingAdapter);
     }
+
+    if (uriFragmentCache != null)
+    {
+      eObject.eAdapters().remove(uriFragmentCache);
+    }
   }
 
   /**
@@ -1832,6 +1907,209 @@ public class ResourceImpl extends NotifierImpl implements Resource, Resource.Int
     return new ModificationTrackingAdapter();
   }
 
+  /**
+   * Returns whether the {@link #getURIFragment(EObject) fragments} of objects and the {@link #getEObject(String) objects} of fragments are cached.
+   * @return whether URI fragments are cached.
+   * @see #setCachingURIFragments(boolean)
+   * @since 2.33
+   */
+  public boolean isCachingURIFragments()
+  {
+    return uriFragmentCache != null;
+  }
+
+  /**
+   * Sets whether the {@link #getURIFragment(EObject) fragments} of objects and the {@link #getEObject(String) objects} of fragments are cached.
+   * While caching, an adapter attached to this resource and to each object of its content tree keeps the cache up to date,
+   * and the position of an object in a containment list is looked up in an index of the list
+   * so that computing the fragments of the many objects of a large list isn't quadratic.
+   * @param isCachingURIFragments whether to cache URI fragments.
+   * @see #createURIFragmentCache()
+   * @since 2.33
+   */
+  public void setCachingURIFragments(boolean isCachingURIFragments)
+  {
+    if (isCachingURIFragments != (uriFragmentCache != null))
+    {
+      if (isCachingURIFragments)
+      {
+        uriFragmentCache = createURIFragmentCache();
+        eAdapters().add(uriFragmentCache);
+        for (TreeIterator<EObject> i = getAllProperContents(getContents()); i.hasNext(); )
+        {
+          EObject eObject = i.next();
+          eObject.eAdapters().add(uriFragmentCache);
+        }
+      }
+      else
+      {
+        URIFragmentCache oldURIFragmentCache = uriFragmentCache;
+        uriFragmentCache = null;
+        eAdapters().remove(oldURIFragmentCache);
+        for (TreeIterator<EObject> i = getAllProperContents(getContents()); i.hasNext(); )
+        {
+          EObject eObject = i.next();
+          eObject.eAdapters().remove(oldURIFragmentCache);
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates a URI fragment cache.
+   * This implementation creates a {@link ResourceImpl.URIFragmentCache}.
+   * @see #setCachingURIFragments(boolean)
+   * @since 2.33
+   */
+  protected URIFragmentCache createURIFragmentCache()
+  {
+    return new URIFragmentCache();
+  }
+
+  /**
+   * An adapter that caches the {@link #getURIFragment(EObject) fragments} of the objects in the resource,
+   * the {@link #getEObject(String) objects} of fragments,
+   * and the index of each object in the containment lists of the resource's content tree.
+   * It's attached to the resource and to each object of its content tree,
+   * and discards the fragments and the objects upon any change
+   * and the index of a containment list upon a change to that list.
+   * Because {@link #getURIFragment(EObject) computing a fragment} and {@link #getEObject(String) resolving an object} fill the cache,
+   * the cache supports being filled by multiple threads at once,
+   * e.g., threads that save or resolve proxies concurrently while the resource isn't being changed.
+   * @see ResourceImpl#setCachingURIFragments(boolean)
+   * @since 2.33
+   */
+  protected class URIFragmentCache extends AdapterImpl
+  {
+    /**
+     * The map from each object to its cached fragment.
+     */
+    protected Map<EObject, String> fragments = new ConcurrentHashMap<EObject, String>();
+
+    /**
+     * The map from each fragment to its cached object.
+     */
+    protected Map<String, EObject> eObjects = new ConcurrentHashMap<String, EObject>();
+
+    /**
+     * The map from each indexed containment list to the map from each object in the list to its index.
+     * An index isn't modified once it's in this map.
+     */
+    protected Map<List<?>, Map<Object, Integer>> indices = Collections.synchronizedMap(new IdentityHashMap<List<?>, Map<Object, Integer>>());
+
+    /**
+     * The map from each class of container to whether that class {@link InternalEObject#eURIFragmentSegment(EStructuralFeature, EObject) computes} the default segments.
+     */
+    protected Map<Class<?>, Boolean> defaultURIFragmentSegmentClasses = new ConcurrentHashMap<Class<?>, Boolean>();
+
+    @Override
+    public void notifyChanged(Notification notification)
+    {
+      if (!notification.isTouch())
+      {
+        if (!fragments.isEmpty())
+        {
+          fragments.clear();
+        }
+        if (!eObjects.isEmpty())
+        {
+          eObjects.clear();
+        }
+
+        if (!indices.isEmpty())
+        {
+          Object notifier = notification.getNotifier();
+          if (notifier == ResourceImpl.this)
+          {
+            switch (notification.getFeatureID(Resource.class))
+            {
+              case RESOURCE__CONTENTS:
+              {
+                indices.remove(getContents());
+                break;
+              }
+              case RESOURCE__IS_LOADED:
+              {
+                indices.clear();
+                break;
+              }
+            }
+          }
+          else
+          {
+            Object feature = notification.getFeature();
+            if (feature instanceof EReference && ((EReference)feature).isContainment() && ((EReference)feature).isMany())
+            {
+              indices.remove(((EObject)notifier).eGet((EReference)feature, false));
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Returns the index of the object in the list, indexing the list if it's not yet indexed.
+     * Threads that concurrently index the same list each build an equal index.
+     */
+    protected int indexOf(List<?> list, Object object)
+    {
+      Map<Object, Integer> index = indices.get(list);
+      if (index == null)
+      {
+        index = new IdentityHashMap<Object, Integer>(list.size());
+        int position = 0;
+        for (Object value : list)
+        {
+          index.put(value, position++);
+        }
+        indices.put(list, index);
+      }
+      Integer result = index.get(object);
+      return result == null ? -1 : result;
+    }
+
+    /**
+     * Returns the {@link InternalEObject#eURIFragmentSegment(EStructuralFeature, EObject) fragment segment} of the object in its container,
+     * using the index of the containing list for the default segment of an object in a many-valued containment reference.
+     */
+    protected String getURIFragmentSegment(InternalEObject container, EStructuralFeature eStructuralFeature, InternalEObject eObject)
+    {
+      if (eStructuralFeature instanceof EReference &&
+            eStructuralFeature.isMany() &&
+            !eStructuralFeature.isDerived() &&
+            ((EReference)eStructuralFeature).getEKeys().isEmpty() &&
+            isDefaultURIFragmentSegmentClass(container.getClass()))
+      {
+        return "@" + eStructuralFeature.getName() + "." + indexOf((List<?>)container.eGet(eStructuralFeature, false), eObject);
+      }
+      else
+      {
+        return container.eURIFragmentSegment(eStructuralFeature, eObject);
+      }
+    }
+
+    /**
+     * Returns whether instances of the class compute the default {@link BasicEObjectImpl#eURIFragmentSegment(EStructuralFeature, EObject) fragment segments}.
+     */
+    protected boolean isDefaultURIFragmentSegmentClass(Class<?> containerClass)
+    {
+      Boolean result = defaultURIFragmentSegmentClasses.get(containerClass);
+      if (result == null)
+      {
+        try
+        {
+          result = containerClass.getMethod("eURIFragmentSegment", EStructuralFeature.class, EObject.class).getDeclaringClass() == BasicEObjectImpl.class;
+        }
+        catch (NoSuchMethodException exception)
+        {
+          result = Boolean.FALSE;
+        }
+        defaultURIFragmentSegmentClasses.put(containerClass, result);
+      }
+      return result;
+    }
+  }
+
   /*
    * Javadoc copied from interface.
    */
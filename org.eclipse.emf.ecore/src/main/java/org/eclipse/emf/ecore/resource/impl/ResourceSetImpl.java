@@ -12,10 +12,20 @@ package org.eclipse.emf.ecore.resource.impl;
 
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import org.eclipse.emf.common.notify.AdapterFactory;
 import org.eclipse.emf.common.notify.Notification;
@@ -29,8 +39,13 @@ import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.common.util.UniqueEList;
 import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EFactory;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.impl.ConcurrentEPackageRegistryImpl;
 import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
 import org.eclipse.emf.ecore.resource.ContentHandler;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -111,6 +126,12 @@ public class ResourceSetImpl extends NotifierImpl implements ResourceSet
    */
   protected ResourceLocator resourceLocator;
 
+  /**
+   * A cache used for efficiently {@link #getEObject(URI, boolean) resolving} the URIs of proxies within the resource set.
+   * @since 2.33
+   */
+  protected ProxyResolutionCache proxyResolutionCache;
+
   /**
    * Creates an empty instance.
    */
@@ -217,6 +238,25 @@ public class ResourceSetImpl extends NotifierImpl implements ResourceSet
    */
   public EObject getEObject(URI uri, boolean loadOnDemand)
   {
+    if (resourceLocator instanceof EvictingResourceLocator)
+    {
+      return ((EvictingResourceLocator)resourceLocator).getEObject(uri, loadOnDemand);
+    }
+    return basicGetEObject(uri, loadOnDemand);
+  }
+
+  /**
+   * Returns the object resolved for the URI, as {@link #getEObject(URI, boolean)} does,
+   * without involving an {@link EvictingResourceLocator}.
+   * @since 2.33
+   */
+  protected EObject basicGetEObject(URI uri, boolean loadOnDemand)
+  {
+    if (proxyResolutionCache != null)
+    {
+      return proxyResolutionCache.getEObject(uri, loadOnDemand);
+    }
+
     Resource resource = getResource(uri.trimFragment(), loadOnDemand);
     if (resource != null)
     {
@@ -415,6 +455,283 @@ public class ResourceSetImpl extends NotifierImpl implements ResourceSet
     return null;
   }
 
+  /**
+   * Loads the resources for the given URIs, parsing them in parallel with the given executor,
+   * and returns them in the order of the URIs.
+   * A resource that's already in this resource set is returned as is, and is demand loaded if it's not yet loaded.
+   * Each other resource is {@link Resource.Factory#createResource(URI) created} on the calling thread,
+   * and is loaded by the executor in a single {@link #createStagingResourceSet(Map) staging resource set} shared by all the loads,
+   * so that a resource on which several of them depend, e.g., a package located via a schema location or the target of a proxy resolved during the load,
+   * is loaded just once, by the first load that needs it, while the others wait for it.
+   * A resource that's already loaded in this resource set is used rather than loaded again.
+   * Once all the resources are loaded, they're attached to this resource set,
+   * together with any resources demand loaded by the staging resource set,
+   * in a single addition to the {@link #getResources() resources}, first those for the URIs in the order of the URIs,
+   * while holding this resource set's lock.
+   * Proxies are resolved, as usual, only after the resources are attached.
+   * A failure to load a resource is handled, after all resources are attached, as for a {@link #handleDemandLoadException(Resource, IOException) demand load}.
+   * The load options, and the XML parser pool and other caches they may specify, must support concurrent use.
+   * @param uris the URIs of the resources to load.
+   * @param options the load options, or <code>null</code> to use the {@link #getLoadOptions() default load options}.
+   * @param executor the executor that loads the resources, or <code>null</code> to load them on the calling thread.
+   * @return the resources, in the order of the URIs.
+   * @since 2.33
+   */
+  public EList<Resource> loadAll(Collection<URI> uris, Map<?, ?> options, Executor executor)
+  {
+    Map<?, ?> loadOptions = options == null ? getLoadOptions() : options;
+    List<URI> uniqueURIs = new UniqueEList<URI>(uris);
+    int size = uniqueURIs.size();
+    Resource[] result = new Resource [size];
+    boolean[] isStaged = new boolean [size];
+    final Map<Resource, IOException> loadExceptions = new ConcurrentHashMap<Resource, IOException>();
+    final ResourceSet stagingResourceSet = createStagingResourceSet(loadExceptions);
+    stagingResourceSet.getLoadOptions().putAll(loadOptions);
+    List<FutureTask<Void>> tasks = new ArrayList<FutureTask<Void>>(Collections.<FutureTask<Void>>nCopies(size, null));
+    for (int i = 0; i < size; ++i)
+    {
+      final URI uri = uniqueURIs.get(i);
+      Resource resource = getResource(uri, false);
+      if (resource == null)
+      {
+        Resource.Factory resourceFactory = getResourceFactoryRegistry().getFactory(uri, ContentHandler.UNSPECIFIED_CONTENT_TYPE);
+        if (resourceFactory == null)
+        {
+          throw new RuntimeException("Cannot create a resource for '" + uri + "'; a registered resource factory is needed");
+        }
+        final Resource stagedResource = resourceFactory.createResource(uri);
+        synchronized (stagingResourceSet)
+        {
+          stagingResourceSet.getResources().add(stagedResource);
+        }
+        isStaged[i] = true;
+        resource = stagedResource;
+
+        FutureTask<Void> task =
+          new FutureTask<Void>
+            (new Runnable()
+             {
+               public void run()
+               {
+                 try
+                 {
+                   stagingResourceSet.getResource(uri, true);
+                 }
+                 catch (RuntimeException exception)
+                 {
+                   // A failed load is handled once all the resources are attached.
+                   //
+                   if (!loadExceptions.containsKey(stagedResource))
+                   {
+                     throw exception;
+                   }
+                 }
+               }
+             },
+             null);
+        tasks.set(i, task);
+        if (executor == null)
+        {
+          task.run();
+        }
+        else
+        {
+          executor.execute(task);
+        }
+      }
+      result[i] = resource;
+    }
+
+    for (int i = 0; i < size; ++i)
+    {
+      FutureTask<Void> task = tasks.get(i);
+      if (task != null)
+      {
+        try
+        {
+          task.get();
+        }
+        catch (InterruptedException exception)
+        {
+          for (int j = i; j < size; ++j)
+          {
+            FutureTask<Void> otherTask = tasks.get(j);
+            if (otherTask != null)
+            {
+              otherTask.cancel(true);
+            }
+          }
+          Thread.currentThread().interrupt();
+          throw new WrappedException(exception);
+        }
+        catch (ExecutionException exception)
+        {
+          Throwable cause = exception.getCause();
+          if (cause instanceof RuntimeException)
+          {
+            throw (RuntimeException)cause;
+          }
+          else if (cause instanceof Error)
+          {
+            throw (Error)cause;
+          }
+          else
+          {
+            throw new WrappedException((Exception)cause);
+          }
+        }
+      }
+    }
+
+    // A load acquires this resource set's lock while holding the staging resource set's lock, so the locks are never held the other way around.
+    //
+    List<Resource> loadedResources;
+    synchronized (stagingResourceSet)
+    {
+      loadedResources = new ArrayList<Resource>(stagingResourceSet.getResources());
+    }
+
+    synchronized (this)
+    {
+      List<Resource> stagedResources = new UniqueEList.FastCompare<Resource>();
+      List<URI> stagedURIs = new UniqueEList<URI>();
+      for (int i = 0; i < size; ++i)
+      {
+        if (isStaged[i])
+        {
+          stagedResources.add(result[i]);
+          stagedURIs.add(uniqueURIs.get(i));
+        }
+      }
+      for (Resource resource : loadedResources)
+      {
+        URI uri = resource.getURI();
+        if (!stagedResources.contains(resource) && getResource(uri, false) == null && stagedURIs.add(uri))
+        {
+          stagedResources.add(resource);
+        }
+      }
+      getResources().addAll(stagedResources);
+
+      Map<URI, Resource> map = getURIResourceMap();
+      if (map != null)
+      {
+        for (int i = 0; i < size; ++i)
+        {
+          map.put(uniqueURIs.get(i), result[i]);
+        }
+      }
+    }
+
+    RuntimeException firstException = null;
+    for (int i = 0; i < size; ++i)
+    {
+      try
+      {
+        Resource resource = result[i];
+        IOException loadException = isStaged[i] ? loadExceptions.get(resource) : null;
+        if (loadException != null)
+        {
+          handleDemandLoadException(resource, loadException);
+        }
+        else if (!resource.isLoaded())
+        {
+          demandLoadHelper(resource);
+        }
+      }
+      catch (RuntimeException exception)
+      {
+        if (firstException == null)
+        {
+          firstException = exception;
+        }
+      }
+    }
+    if (firstException != null)
+    {
+      throw firstException;
+    }
+
+    return new BasicEList.UnmodifiableEList<Resource>(size, result);
+  }
+
+  /**
+   * Creates the resource set in which {@link #loadAll(Collection, Map, Executor)} loads resources before attaching them to this resource set.
+   * The resource set is used by all the loads at once, and must support that as a {@link ConcurrentResourceSetImpl} does,
+   * so that each resource is loaded just once;
+   * it must record in the given map the exception of each failed {@link #handleDemandLoadException(Resource, IOException) demand load}.
+   * It shares this resource set's {@link #getResourceFactoryRegistry() resource factory registry} and {@link #getURIConverter() URI converter},
+   * {@link #delegatedGetResource(URI, boolean) locates} the resources already loaded in this resource set, while holding this resource set's lock,
+   * and has a local package registry that delegates to this resource set's {@link #getPackageRegistry() package registry}.
+   * Unless that registry is a {@link ConcurrentEPackageRegistryImpl},
+   * the delegation holds that registry's lock, because looking up a package may modify the registry.
+   * Clients may extend this as appropriate.
+   * @param loadExceptions the map in which to record the exception of each failed load.
+   * @return a new resource set for loading resources concurrently.
+   * @since 2.33
+   */
+  protected ResourceSet createStagingResourceSet(final Map<Resource, IOException> loadExceptions)
+  {
+    final EPackage.Registry sharedPackageRegistry = getPackageRegistry();
+    ConcurrentResourceSetImpl result =
+      new ConcurrentResourceSetImpl()
+      {
+        @Override
+        protected Resource delegatedGetResource(URI uri, boolean loadOnDemand)
+        {
+          synchronized (ResourceSetImpl.this)
+          {
+            Resource resource = ResourceSetImpl.this.getResource(uri, false);
+            if (resource != null && resource.isLoaded())
+            {
+              return resource;
+            }
+          }
+          return super.delegatedGetResource(uri, loadOnDemand);
+        }
+
+        @Override
+        protected void handleDemandLoadException(Resource resource, IOException exception) throws RuntimeException
+        {
+          loadExceptions.put(resource, exception);
+          super.handleDemandLoadException(resource, exception);
+        }
+      };
+    result.setResourceFactoryRegistry(getResourceFactoryRegistry());
+    result.setURIConverter(getURIConverter());
+    if (sharedPackageRegistry instanceof ConcurrentEPackageRegistryImpl)
+    {
+      result.setPackageRegistry(new ConcurrentEPackageRegistryImpl(sharedPackageRegistry));
+    }
+    else
+    {
+      result.setPackageRegistry
+        (new EPackageRegistryImpl(sharedPackageRegistry)
+         {
+           private static final long serialVersionUID = 1L;
+
+           @Override
+           protected EPackage delegatedGetEPackage(String nsURI)
+           {
+             synchronized (sharedPackageRegistry)
+             {
+               return super.delegatedGetEPackage(nsURI);
+             }
+           }
+
+           @Override
+           protected EFactory delegatedGetEFactory(String nsURI)
+           {
+             synchronized (sharedPackageRegistry)
+             {
+               return super.delegatedGetEFactory(nsURI);
+             }
+           }
+         });
+    }
+    return result;
+  }
+
   /*
    * Javadoc copied from interface.
    */
@@ -516,7 +833,7 @@ public class ResourceSetImpl extends NotifierImpl implements ResourceSet
   {
     if (packageRegistry == null)
     {
-      packageRegistry = new EPackageRegistryImpl(EPackage.Registry.INSTANCE);
+      packageRegistry = new ConcurrentEPackageRegistryImpl(EPackage.Registry.INSTANCE);
     }
     return packageRegistry;
   }
@@ -1210,4 +1527,685 @@ public class ResourceSetImpl extends NotifierImpl implements ResourceSet
       return null;
     }
   }
+
+  /**
+   * An implementation of a {@link ResourceLocator} that bounds the number of loaded resources in the resource set
+   * by {@link Resource#unload() unloading} the least recently used ones.
+   * Each resource {@link ResourceSet#getResource(URI, boolean) located}, including each resource located to resolve a proxy,
+   * becomes the most recently used, as does the resource of the object from which a proxy is {@link EcoreUtil#resolve(EObject, EObject) resolved},
+   * and once more than the {@link #getCapacity() capacity} of resources are loaded,
+   * the least recently used resources that are {@link #isEvictable(Resource) evictable} are {@link #evict(Resource) evicted}.
+   * Resources are evicted only when a resource is located by a top-level call to {@link ResourceSet#getResource(URI, boolean) getResource},
+   * or when the locator is explicitly {@link #trim() trimmed};
+   * they're never evicted while {@link ResourceSet#getEObject(URI, boolean) resolving} a URI or while demand loading a resource,
+   * because objects being traversed by the caller could be turned into proxies.
+   * So while proxies are being resolved, more than the capacity of resources may be loaded until the next such call.
+   * An evicted resource stays in the resource set;
+   * unloading it turns its objects into proxies, and the resource is demand loaded again the next time it's located,
+   * e.g., to resolve one of those proxies.
+   * A {@link #pin(Resource) pinned} resource, or a {@link Resource#isModified() modified} resource, is never evicted;
+   * because changes can only be recognized for a resource that's {@link Resource#isTrackingModification() tracking modification},
+   * a resource that isn't is never evicted either,
+   * so resources must be {@link Resource#setTrackingModification(boolean) tracking modification} to be evicted.
+   * The numbers of {@link #getHitCount() hits}, {@link #getMissCount() misses}, and {@link #getEvictionCount() evictions} are counted.
+   * <p>
+   * The locator's state is accessed while holding the resource set's lock,
+   * as a {@link ConcurrentResourceSetImpl} requires for changes to its resources,
+   * so the locator can be used by multiple threads.
+   * Resources aren't evicted while any thread is resolving a URI or demand loading a resource via the locator,
+   * but evicting a resource is only safe if no other thread is using its objects;
+   * resources whose objects other threads may be using must be {@link #pin(Resource) pinned}.
+   * </p>
+   * @since 2.33
+   */
+  public static class EvictingResourceLocator extends ResourceLocator
+  {
+    /**
+     * The maximum number of loaded resources.
+     */
+    protected int capacity;
+
+    /**
+     * The loaded resources, from the least recently to the most recently used.
+     */
+    protected Map<Resource, Resource> loadedResources = new LinkedHashMap<Resource, Resource>(16, 0.75f, true);
+
+    /**
+     * The pinned resources.
+     */
+    protected Set<Resource> pinnedResources = new HashSet<Resource>();
+
+    /**
+     * The number of times a loaded resource was located.
+     */
+    protected long hitCount;
+
+    /**
+     * The number of times a resource that isn't loaded was located and demand loaded.
+     */
+    protected long missCount;
+
+    /**
+     * The number of evicted resources.
+     */
+    protected long evictionCount;
+
+    /**
+     * The number of nested calls that {@link #getEObject(URI, boolean) resolve} a URI or demand load a resource;
+     * resources are only evicted when it's zero.
+     */
+    protected int depth;
+
+    /**
+     * Creates an instance for the given resource set that keeps at most the given number of resources loaded.
+     */
+    public EvictingResourceLocator(ResourceSetImpl resourceSet, int capacity)
+    {
+      super(resourceSet);
+      this.capacity = capacity;
+    }
+
+    /**
+     * Returns the maximum number of loaded resources.
+     */
+    public int getCapacity()
+    {
+      return capacity;
+    }
+
+    /**
+     * Sets the maximum number of loaded resources, evicting resources if necessary.
+     */
+    public void setCapacity(int capacity)
+    {
+      synchronized (resourceSet)
+      {
+        this.capacity = capacity;
+        evict();
+      }
+    }
+
+    /**
+     * Returns the number of times a loaded resource was located.
+     */
+    public long getHitCount()
+    {
+      synchronized (resourceSet)
+      {
+        return hitCount;
+      }
+    }
+
+    /**
+     * Returns the number of times a resource that isn't loaded was located and demand loaded.
+     */
+    public long getMissCount()
+    {
+      synchronized (resourceSet)
+      {
+        return missCount;
+      }
+    }
+
+    /**
+     * Returns the number of evicted resources.
+     */
+    public long getEvictionCount()
+    {
+      synchronized (resourceSet)
+      {
+        return evictionCount;
+      }
+    }
+
+    /**
+     * Evicts resources until at most the {@link #getCapacity() capacity} of resources are loaded, or no more resources are evictable.
+     * It must not be called while objects of the resources that may be evicted are being traversed.
+     */
+    public void trim()
+    {
+      synchronized (resourceSet)
+      {
+        evict();
+      }
+    }
+
+    /**
+     * Makes the resource, if it's loaded, the most recently used.
+     * It's called for the resource of the object from which a proxy is {@link EcoreUtil#resolve(EObject, EObject) resolved}.
+     */
+    public void use(Resource resource)
+    {
+      synchronized (resourceSet)
+      {
+        loadedResources.get(resource);
+      }
+    }
+
+    /**
+     * Returns the evicting resource locator of the resource set, or <code>null</code> if it doesn't have one.
+     */
+    public static EvictingResourceLocator getEvictingResourceLocator(ResourceSet resourceSet)
+    {
+      if (resourceSet instanceof ResourceSetImpl)
+      {
+        ResourceLocator resourceLocator = ((ResourceSetImpl)resourceSet).resourceLocator;
+        if (resourceLocator instanceof EvictingResourceLocator)
+        {
+          return (EvictingResourceLocator)resourceLocator;
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Pins the resource so that it's never evicted.
+     */
+    public void pin(Resource resource)
+    {
+      synchronized (resourceSet)
+      {
+        pinnedResources.add(resource);
+      }
+    }
+
+    /**
+     * Unpins the resource so that it may be evicted again.
+     */
+    public void unpin(Resource resource)
+    {
+      synchronized (resourceSet)
+      {
+        pinnedResources.remove(resource);
+      }
+    }
+
+    /**
+     * Returns whether the resource is pinned.
+     */
+    public boolean isPinned(Resource resource)
+    {
+      synchronized (resourceSet)
+      {
+        return pinnedResources.contains(resource);
+      }
+    }
+
+    /**
+     * Removes this resource locator from the resource set, along with the pins; the loaded resources stay loaded.
+     */
+    @Override
+    protected void dispose()
+    {
+      super.dispose();
+      synchronized (resourceSet)
+      {
+        loadedResources.clear();
+        pinnedResources.clear();
+      }
+    }
+
+    @Override
+    public Resource getResource(URI uri, boolean loadOnDemand)
+    {
+      Resource resource = basicGetResource(uri, false);
+      if (resource != null && resource.isLoaded())
+      {
+        synchronized (resourceSet)
+        {
+          ++hitCount;
+          loadedResources.put(resource, resource);
+          if (depth == 0)
+          {
+            evict();
+          }
+        }
+        return resource;
+      }
+      else if (!loadOnDemand)
+      {
+        return resource;
+      }
+
+      // The demand load itself isn't done while holding the lock, so that other threads can load other resources.
+      //
+      synchronized (resourceSet)
+      {
+        ++missCount;
+        ++depth;
+      }
+      try
+      {
+        if (resource == null)
+        {
+          resource = basicGetResource(uri, true);
+        }
+        else
+        {
+          demandLoadHelper(resource);
+        }
+      }
+      finally
+      {
+        synchronized (resourceSet)
+        {
+          --depth;
+        }
+      }
+
+      if (resource != null && resource.isLoaded())
+      {
+        synchronized (resourceSet)
+        {
+          loadedResources.put(resource, resource);
+          if (depth == 0)
+          {
+            evict();
+          }
+        }
+      }
+      return resource;
+    }
+
+    /**
+     * Returns the object resolved for the URI, as {@link ResourceSetImpl#basicGetEObject(URI, boolean)} does,
+     * without evicting any resources.
+     */
+    public EObject getEObject(URI uri, boolean loadOnDemand)
+    {
+      synchronized (resourceSet)
+      {
+        ++depth;
+      }
+      try
+      {
+        return resourceSet.basicGetEObject(uri, loadOnDemand);
+      }
+      finally
+      {
+        synchronized (resourceSet)
+        {
+          --depth;
+        }
+      }
+    }
+
+    /**
+     * Evicts the least recently used evictable resources until at most the {@link #getCapacity() capacity} of resources are loaded,
+     * or no more resources are evictable.
+     * Resources that are no longer loaded or no longer in the resource set are forgotten.
+     * It's called while holding the resource set's lock.
+     */
+    protected void evict()
+    {
+      int excess = loadedResources.size() - capacity;
+      for (Iterator<Resource> i = loadedResources.keySet().iterator(); excess > 0 && i.hasNext(); )
+      {
+        Resource resource = i.next();
+        if (!resource.isLoaded() || resource.getResourceSet() != resourceSet)
+        {
+          i.remove();
+          --excess;
+        }
+        else if (isEvictable(resource))
+        {
+          i.remove();
+          --excess;
+          evict(resource);
+          ++evictionCount;
+        }
+      }
+    }
+
+    /**
+     * Returns whether the loaded resource may be evicted.
+     * This implementation returns <code>false</code> for a resource that's pinned, modified, or in the process of being loaded,
+     * and for a resource that isn't {@link Resource#isTrackingModification() tracking modification},
+     * because whether it's modified isn't known.
+     */
+    protected boolean isEvictable(Resource resource)
+    {
+      return
+        !pinnedResources.contains(resource) &&
+          resource.isTrackingModification() &&
+          !resource.isModified() &&
+          !(resource instanceof Resource.Internal && ((Resource.Internal)resource).isLoading());
+    }
+
+    /**
+     * Evicts the resource.
+     * This implementation {@link Resource#unload() unloads} it.
+     */
+    protected void evict(Resource resource)
+    {
+      resource.unload();
+    }
+  }
+
+  /**
+   * A cache for efficiently {@link ResourceSet#getEObject(URI, boolean) resolving} URIs, typically those of proxies, in a resource set.
+   * Once a URI is resolved to an object of a loaded resource in the resource set,
+   * any number of proxies with an equal URI are resolved to that same object without normalizing the URI, locating the resource,
+   * or {@link Resource#getEObject(String) walking} the fragment.
+   * The cached objects of a resource are discarded when the resource is unloaded or removed from the resource set,
+   * when its {@link Resource#getURI() URI} or its {@link Resource#getContents() contents} change,
+   * and all cached objects are discarded when the resource set's {@link ResourceSet#getURIConverter() URI converter} or its URI map changes.
+   * Within a resource's containment tree, only the cached objects and their containers are tracked:
+   * the cached objects of a resource are also discarded when an attribute or a containment reference of any of them changes,
+   * e.g., when an object before a cached object is removed from a list or when a cached object's ID changes.
+   * A cached object is then used, without computing its fragment, as long as it's still in the resource to which it was resolved;
+   * this assumes that the resource's {@link Resource#getURIFragment(EObject) fragment} for an object depends only on those attributes and containment references,
+   * as is the case for the default fragments, for IDs, and for {@link org.eclipse.emf.ecore.EReference#getEKeys() keys},
+   * so a cache for a resource whose fragments depend on anything else,
+   * e.g., on the extrinsic IDs of an XML resource, which change without notification, must be {@link #clear() cleared} when that changes.
+   * Only a URI whose fragment is the one that the resource yields for the resolved object is cached.
+   * The cache can be used concurrently by multiple threads, e.g., with a {@link ConcurrentResourceSetImpl}.
+   * @since 2.33
+   */
+  public static class ProxyResolutionCache
+  {
+    /**
+     * The resource set for which this caches resolved objects.
+     */
+    protected final ResourceSetImpl resourceSet;
+
+    /**
+     * The adapter that listens to the resource set and to its resources.
+     */
+    protected final ResourceAdapter resourceAdapter;
+
+    /**
+     * The map from each resolved URI to its cached object and the resource to which it was resolved.
+     */
+    protected Map<URI, Entry> eObjectMap = new HashMap<URI, Entry>();
+
+    /**
+     * The map from each resource to the URIs that were resolved to objects of that resource.
+     */
+    protected Map<Resource, Set<URI>> resourceURIMap = new HashMap<Resource, Set<URI>>();
+
+    /**
+     * The map from each resource to the objects of that resource to which the {@link #resourceAdapter resource adapter} has been added,
+     * i.e., the cached objects and their containers.
+     */
+    protected Map<Resource, Set<EObject>> resourceEObjectMap = new HashMap<Resource, Set<EObject>>();
+
+    /**
+     * The {@link ResourceSet#getURIConverter() URI converter} used to resolve the cached URIs.
+     */
+    protected URIConverter cachedURIConverter;
+
+    /**
+     * The {@link ExtensibleURIConverterImpl.URIMap.Internal#modificationCount() modification count} of the {@link #cachedURIConverter cached URI converter}'s URI map.
+     */
+    protected int expectedModificationCount;
+
+    /**
+     * A cached object and the resource to which its URI was resolved.
+     */
+    protected static final class Entry
+    {
+      protected final Resource resource;
+      protected final EObject eObject;
+
+      protected Entry(Resource resource, EObject eObject)
+      {
+        this.resource = resource;
+        this.eObject = eObject;
+      }
+    }
+
+    /**
+     * A {@link EContentAdapter content adapter} that listens to the {@link ProxyResolutionCache#resourceSet resource set}
+     * for {@link ResourceSet#getResources() resources} being added and removed,
+     * to the resources in the resource set for changes to the resource's {@link Resource#getURI() URI}, load state, and contents,
+     * and to the {@link ProxyResolutionCache#resourceEObjectMap cached objects and their containers} for changes to their attributes and containment references.
+     */
+    public class ResourceAdapter extends EContentAdapter
+    {
+      @Override
+      public void notifyChanged(Notification notification)
+      {
+        Object notifier = notification.getNotifier();
+        if (notifier == resourceSet)
+        {
+          if (notification.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES)
+          {
+            if (notification.getEventType() == Notification.MOVE)
+            {
+              // The order of the resources determines which of the resources with the same normalized URI is located.
+              //
+              clear();
+            }
+            else
+            {
+              handleContainment(notification);
+            }
+          }
+        }
+        else if (notifier instanceof Resource)
+        {
+          switch (notification.getFeatureID(Resource.class))
+          {
+            case Resource.RESOURCE__URI:
+            case Resource.RESOURCE__IS_LOADED:
+            case Resource.RESOURCE__CONTENTS:
+            {
+              discard((Resource)notifier);
+              break;
+            }
+          }
+        }
+        else if (notifier instanceof EObject && !notification.isTouch())
+        {
+          Object feature = notification.getFeature();
+          if (feature instanceof EAttribute || feature instanceof EReference && ((EReference)feature).isContainment())
+          {
+            Resource resource = ((EObject)notifier).eResource();
+            if (resource != null)
+            {
+              discard(resource);
+            }
+          }
+        }
+      }
+
+      @Override
+      protected void setTarget(Resource target)
+      {
+        basicSetTarget(target);
+      }
+
+      @Override
+      protected void setTarget(EObject target)
+      {
+        basicSetTarget(target);
+      }
+
+      @Override
+      protected void unsetTarget(EObject target)
+      {
+        basicUnsetTarget(target);
+      }
+
+      @Override
+      protected void unsetTarget(Resource target)
+      {
+        basicUnsetTarget(target);
+        discard(target);
+      }
+    }
+
+    /**
+     * Creates an instance for the given resource set, and sets the resource set's {@link ResourceSetImpl#proxyResolutionCache proxy resolution cache}.
+     */
+    public ProxyResolutionCache(ResourceSetImpl resourceSet)
+    {
+      this.resourceSet = resourceSet;
+      resourceAdapter = new ResourceAdapter();
+      resourceSet.eAdapters().add(resourceAdapter);
+      resourceSet.proxyResolutionCache = this;
+    }
+
+    /**
+     * Removes this cache from the resource set and discards all cached objects.
+     */
+    public void dispose()
+    {
+      if (resourceSet.proxyResolutionCache == this)
+      {
+        resourceSet.proxyResolutionCache = null;
+      }
+      resourceSet.eAdapters().remove(resourceAdapter);
+      clear();
+    }
+
+    /**
+     * Discards all cached objects.
+     */
+    public synchronized void clear()
+    {
+      eObjectMap.clear();
+      resourceURIMap.clear();
+      for (Set<EObject> eObjects : resourceEObjectMap.values())
+      {
+        unadapt(eObjects);
+      }
+      resourceEObjectMap.clear();
+    }
+
+    private void unadapt(Set<EObject> eObjects)
+    {
+      for (EObject eObject : eObjects)
+      {
+        eObject.eAdapters().remove(resourceAdapter);
+      }
+    }
+
+    /**
+     * Discards the cached objects resolved in the given resource.
+     * @param resource a resource.
+     */
+    protected synchronized void discard(Resource resource)
+    {
+      Set<URI> uris = resourceURIMap.remove(resource);
+      if (uris != null)
+      {
+        for (URI uri : uris)
+        {
+          Entry entry = eObjectMap.get(uri);
+          if (entry != null && entry.resource == resource)
+          {
+            eObjectMap.remove(uri);
+          }
+        }
+      }
+      Set<EObject> eObjects = resourceEObjectMap.remove(resource);
+      if (eObjects != null)
+      {
+        unadapt(eObjects);
+      }
+    }
+
+    /**
+     * Returns the object resolved for the URI, as {@link ResourceSetImpl#getEObject(URI, boolean)} would,
+     * using the cached object if there is one.
+     */
+    public EObject getEObject(URI uri, boolean loadOnDemand)
+    {
+      Entry entry;
+      synchronized (this)
+      {
+        cacheURIConverter();
+        entry = eObjectMap.get(uri);
+      }
+
+      // Changes that may change the cached object's fragment discard it,
+      // so it's valid as long as it's still in the resource to which it was resolved.
+      // The resource is located, and the object is resolved without holding this cache's lock,
+      // because locating a resource may demand load it.
+      //
+      if (entry != null)
+      {
+        if (entry.eObject.eResource() == entry.resource)
+        {
+          return entry.eObject;
+        }
+        synchronized (this)
+        {
+          if (eObjectMap.get(uri) == entry)
+          {
+            eObjectMap.remove(uri);
+          }
+        }
+      }
+
+      Resource resource = resourceSet.getResource(uri.trimFragment(), loadOnDemand);
+      if (resource == null)
+      {
+        return null;
+      }
+
+      String fragment = uri.fragment();
+      EObject result = resource.getEObject(fragment);
+
+      // Only objects of loaded resources in the resource set are cached because only those resources are tracked,
+      // and only for the fragment with which a cached object is validated.
+      //
+      if (result != null && fragment != null)
+      {
+        synchronized (this)
+        {
+          if (resource.getResourceSet() == resourceSet &&
+                resource.isLoaded() &&
+                result.eResource() == resource &&
+                resource.getURIFragment(result).equals(fragment))
+          {
+            eObjectMap.put(uri, new Entry(resource, result));
+            Set<URI> uris = resourceURIMap.get(resource);
+            if (uris == null)
+            {
+              uris = new HashSet<URI>();
+              resourceURIMap.put(resource, uris);
+            }
+            uris.add(uri);
+
+            // Track the object and all its containers within the resource, because a change to any of them may change the object's fragment.
+            //
+            Set<EObject> eObjects = resourceEObjectMap.get(resource);
+            if (eObjects == null)
+            {
+              eObjects = new HashSet<EObject>();
+              resourceEObjectMap.put(resource, eObjects);
+            }
+            for (InternalEObject eObject = (InternalEObject)result; eObject != null; eObject = eObject.eDirectResource() == null ? eObject.eInternalContainer() : null)
+            {
+              if (eObjects.add(eObject))
+              {
+                eObject.eAdapters().add(resourceAdapter);
+              }
+            }
+          }
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Discards all cached objects if the resource set's {@link ResourceSet#getURIConverter() URI converter} or its URI map has changed
+     * since the objects were cached.
+     */
+    protected void cacheURIConverter()
+    {
+      URIConverter uriConverter = resourceSet.getURIConverter();
+      Map<URI, URI> uriMap = uriConverter.getURIMap();
+      int modificationCount = uriMap instanceof ExtensibleURIConverterImpl.URIMap.Internal ? ((ExtensibleURIConverterImpl.URIMap.Internal)uriMap).modificationCount() : 0;
+      if (uriConverter != cachedURIConverter || modificationCount != expectedModificationCount)
+      {
+        cachedURIConverter = uriConverter;
+        expectedModificationCount = modificationCount;
+        clear();
+      }
+    }
+  }
 }
@@ -0,0 +1,1045 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.util;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+
+/**
+ * A read-only, column-oriented copy of the feature values of the objects in a containment tree, for fast scans.
+ * <p>
+ * The objects are grouped into a {@link Table table} per class, and numbered consecutively, table by table, in content tree order,
+ * so that each object has a {@link #indexOf(EObject) global index} as well as a row in its table.
+ * Each table has a {@link Column column} per non-derived structural feature of its class, indexed by row, holding the value {@link EObject#eGet(EStructuralFeature, boolean) eGet} yields:
+ * a primitive array for a single-valued attribute with a primitive instance class,
+ * {@link DictionaryColumn dictionary codes} for any other attribute,
+ * and the global indices of the referenced objects for a {@link ReferenceColumn reference}.
+ * The values of a many-valued feature are held in one array per column, delimited by an array of offsets, one per row plus one.
+ * </p>
+ * <p>
+ * The snapshot doesn't change once created, so any number of threads can read it, e.g., via a {@link Table#scan(RangeVisitor, ForkJoinPool) parallel scan}.
+ * It doesn't track changes to the objects from which it was created,
+ * but a {@link Tracker tracker} {@link #invalidate() invalidates} its snapshot when they change
+ * and creates a new one when it's next requested.
+ * </p>
+ * @since 2.33
+ */
+public class ColumnarSnapshot
+{
+  /**
+   * Visits a range of rows.
+   */
+  public interface RangeVisitor
+  {
+    /**
+     * Visits the rows from the start, inclusive, to the end, exclusive.
+     * @param start the first row.
+     * @param end the row after the last row.
+     */
+    void visit(int start, int end);
+  }
+
+  /**
+   * The number of rows visited by a parallel scan task without splitting the rows further.
+   */
+  private static final int MIN_SCAN_RANGE = 1024;
+
+  /**
+   * The tables, in the order in which their first object occurs in the content tree.
+   */
+  protected final List<Table> tables;
+
+  /**
+   * The tables, keyed by their class.
+   */
+  protected final Map<EClass, Table> tableMap;
+
+  /**
+   * The global index of each object.
+   */
+  protected final Map<EObject, Integer> indices;
+
+  /**
+   * The number of objects.
+   */
+  protected final int objectCount;
+
+  /**
+   * Whether the snapshot is still valid.
+   */
+  protected volatile boolean isValid = true;
+
+  /**
+   * Creates a snapshot of the objects in the proper content tree of the given notifiers, i.e., of the objects in the same resources,
+   * without resolving containment proxies.
+   * @param notifiers a collection of {@link EObject objects}, {@link Resource resources}, and {@link ResourceSet resource sets}.
+   */
+  public ColumnarSnapshot(Collection<?> notifiers)
+  {
+    Map<EClass, List<EObject>> eObjectsMap = new LinkedHashMap<EClass, List<EObject>>();
+    for (Iterator<Object> i = EcoreUtil.getAllProperContents(notifiers, false); i.hasNext(); )
+    {
+      Object object = i.next();
+      if (!(object instanceof EObject))
+      {
+        continue;
+      }
+      EObject eObject = (EObject)object;
+      EClass eClass = eObject.eClass();
+      List<EObject> eObjects = eObjectsMap.get(eClass);
+      if (eObjects == null)
+      {
+        eObjects = new ArrayList<EObject>();
+        eObjectsMap.put(eClass, eObjects);
+      }
+      eObjects.add(eObject);
+    }
+
+    List<Table> tables = new ArrayList<Table>(eObjectsMap.size());
+    Map<EClass, Table> tableMap = new HashMap<EClass, Table>();
+    Map<EObject, Integer> indices = new IdentityHashMap<EObject, Integer>();
+    int index = 0;
+    for (Map.Entry<EClass, List<EObject>> entry : eObjectsMap.entrySet())
+    {
+      EObject [] eObjects = entry.getValue().toArray(new EObject [entry.getValue().size()]);
+      Table table = new Table(this, entry.getKey(), index, eObjects);
+      tables.add(table);
+      tableMap.put(entry.getKey(), table);
+      for (EObject eObject : eObjects)
+      {
+        indices.put(eObject, index++);
+      }
+    }
+    this.tables = Collections.unmodifiableList(tables);
+    this.tableMap = tableMap;
+    this.indices = indices;
+    this.objectCount = index;
+
+    for (Table table : tables)
+    {
+      table.createColumns();
+    }
+  }
+
+  /**
+   * Creates a snapshot of the objects in the resource.
+   * @param resource a resource.
+   * @return a new snapshot.
+   */
+  public static ColumnarSnapshot create(Resource resource)
+  {
+    return new ColumnarSnapshot(Collections.singleton(resource));
+  }
+
+  /**
+   * Creates a snapshot of the objects in the resources of the resource set.
+   * @param resourceSet a resource set.
+   * @return a new snapshot.
+   */
+  public static ColumnarSnapshot create(ResourceSet resourceSet)
+  {
+    return new ColumnarSnapshot(Collections.singleton(resourceSet));
+  }
+
+  /**
+   * Returns whether the snapshot is still valid, i.e., hasn't been {@link #invalidate() invalidated}.
+   * @return whether the snapshot is still valid.
+   */
+  public boolean isValid()
+  {
+    return isValid;
+  }
+
+  /**
+   * Marks the snapshot as no longer reflecting the objects from which it was created.
+   */
+  public void invalidate()
+  {
+    isValid = false;
+  }
+
+  /**
+   * Returns the tables, one per class, in the order in which their first object occurs in the content tree.
+   * @return the tables.
+   */
+  public List<Table> getTables()
+  {
+    return tables;
+  }
+
+  /**
+   * Returns the table of the direct instances of the class.
+   * @param eClass a class.
+   * @return the table of the class, or <code>null</code> if there are no instances of the class.
+   */
+  public Table getTable(EClass eClass)
+  {
+    return tableMap.get(eClass);
+  }
+
+  /**
+   * Returns the tables of the instances of the class, i.e., those of the class and its subclasses.
+   * @param eClass a class.
+   * @return the tables of the class and its subclasses.
+   */
+  public List<Table> getTables(EClass eClass)
+  {
+    List<Table> result = new ArrayList<Table>();
+    for (Table table : tables)
+    {
+      if (eClass.isSuperTypeOf(table.eClass))
+      {
+        result.add(table);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of objects in the snapshot.
+   * @return the number of objects.
+   */
+  public int getObjectCount()
+  {
+    return objectCount;
+  }
+
+  /**
+   * Returns the global index of the object.
+   * @param eObject an object.
+   * @return the global index of the object, or <code>-1</code> if the object isn't in the snapshot.
+   */
+  public int indexOf(EObject eObject)
+  {
+    Integer result = indices.get(eObject);
+    return result == null ? -1 : result;
+  }
+
+  /**
+   * Returns the table that holds the object with the given global index.
+   * @param index a global index.
+   * @return the table holding the object.
+   */
+  public Table getTable(int index)
+  {
+    if (index < 0 || index >= objectCount)
+    {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=" + objectCount);
+    }
+    int low = 0;
+    int high = tables.size() - 1;
+    while (low < high)
+    {
+      int middle = (low + high + 1) >>> 1;
+      if (tables.get(middle).offset <= index)
+      {
+        low = middle;
+      }
+      else
+      {
+        high = middle - 1;
+      }
+    }
+    return tables.get(low);
+  }
+
+  /**
+   * Returns the object with the given global index.
+   * @param index a global index.
+   * @return the object with the index.
+   */
+  public EObject getEObject(int index)
+  {
+    Table table = getTable(index);
+    return table.eObjects[index - table.offset];
+  }
+
+  /**
+   * Visits the rows from <code>0</code> to the size, in ranges visited in parallel if there's a fork join pool, or as a single range otherwise.
+   * The visitor must be thread safe if the ranges are visited in parallel.
+   * @param size the number of rows.
+   * @param visitor the visitor of the ranges.
+   * @param forkJoinPool the pool in which to visit the ranges in parallel, or <code>null</code>.
+   */
+  public static void scan(int size, RangeVisitor visitor, ForkJoinPool forkJoinPool)
+  {
+    if (forkJoinPool == null || size <= MIN_SCAN_RANGE)
+    {
+      visitor.visit(0, size);
+    }
+    else
+    {
+      int range = Math.max(MIN_SCAN_RANGE, size / (4 * forkJoinPool.getParallelism()));
+      forkJoinPool.invoke(new ScanTask(visitor, 0, size, range));
+    }
+  }
+
+  private static final class ScanTask extends RecursiveAction
+  {
+    private static final long serialVersionUID = 1L;
+
+    final RangeVisitor visitor;
+
+    final int start;
+
+    final int end;
+
+    final int range;
+
+    ScanTask(RangeVisitor visitor, int start, int end, int range)
+    {
+      this.visitor = visitor;
+      this.start = start;
+      this.end = end;
+      this.range = range;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if (end - start <= range)
+      {
+        visitor.visit(start, end);
+      }
+      else
+      {
+        int middle = (start + end) >>> 1;
+        invokeAll(new ScanTask(visitor, start, middle, range), new ScanTask(visitor, middle, end, range));
+      }
+    }
+  }
+
+  /**
+   * The columns of the direct instances of a class.
+   */
+  public static final class Table
+  {
+    final ColumnarSnapshot snapshot;
+
+    final EClass eClass;
+
+    final int offset;
+
+    final EObject [] eObjects;
+
+    Column [] columns;
+
+    Table(ColumnarSnapshot snapshot, EClass eClass, int offset, EObject [] eObjects)
+    {
+      this.snapshot = snapshot;
+      this.eClass = eClass;
+      this.offset = offset;
+      this.eObjects = eObjects;
+    }
+
+    void createColumns()
+    {
+      List<EStructuralFeature> eAllStructuralFeatures = eClass.getEAllStructuralFeatures();
+      columns = new Column [eAllStructuralFeatures.size()];
+      for (int i = 0; i < columns.length; ++i)
+      {
+        EStructuralFeature feature = eAllStructuralFeatures.get(i);
+        if (!feature.isDerived() && !FeatureMapUtil.isFeatureMap(feature))
+        {
+          columns[i] = createColumn(feature);
+        }
+      }
+    }
+
+    private Column createColumn(EStructuralFeature feature)
+    {
+      int size = eObjects.length;
+      if (feature instanceof EReference)
+      {
+        if (feature.isMany())
+        {
+          int [] offsets = new int [size + 1];
+          int [] targets = new int [16];
+          int count = 0;
+          for (int i = 0; i < size; ++i)
+          {
+            List<?> values = basicList(eObjects[i].eGet(feature, false));
+            if (count + values.size() > targets.length)
+            {
+              targets = Arrays.copyOf(targets, Math.max(2 * targets.length, count + values.size()));
+            }
+            for (Object value : values)
+            {
+              targets[count++] = snapshot.indexOf((EObject)value);
+            }
+            offsets[i + 1] = count;
+          }
+          return new ReferenceColumn(this, (EReference)feature, offsets, Arrays.copyOf(targets, count));
+        }
+        else
+        {
+          int [] targets = new int [size];
+          for (int i = 0; i < size; ++i)
+          {
+            EObject value = (EObject)eObjects[i].eGet(feature, false);
+            targets[i] = value == null ? -1 : snapshot.indexOf(value);
+          }
+          return new ReferenceColumn(this, (EReference)feature, null, targets);
+        }
+      }
+
+      Class<?> instanceClass = feature.getEType().getInstanceClass();
+      if (!feature.isMany() && instanceClass != null && instanceClass.isPrimitive())
+      {
+        if (instanceClass == long.class)
+        {
+          long [] values = new long [size];
+          for (int i = 0; i < size; ++i)
+          {
+            values[i] = (Long)eObjects[i].eGet(feature, false);
+          }
+          return new LongColumn(this, (EAttribute)feature, values);
+        }
+        else if (instanceClass == double.class || instanceClass == float.class)
+        {
+          double [] values = new double [size];
+          for (int i = 0; i < size; ++i)
+          {
+            values[i] = ((Number)eObjects[i].eGet(feature, false)).doubleValue();
+          }
+          return new DoubleColumn(this, (EAttribute)feature, values);
+        }
+        else
+        {
+          int [] values = new int [size];
+          for (int i = 0; i < size; ++i)
+          {
+            Object value = eObjects[i].eGet(feature, false);
+            values[i] =
+              value instanceof Boolean ?
+                (Boolean)value ? 1 : 0 :
+                value instanceof Character ?
+                  (Character)value :
+                  ((Number)value).intValue();
+          }
+          return new IntColumn(this, (EAttribute)feature, values);
+        }
+      }
+
+      List<Object> dictionary = new ArrayList<Object>();
+      Map<Object, Integer> codes = new HashMap<Object, Integer>();
+      if (feature.isMany())
+      {
+        int [] offsets = new int [size + 1];
+        int [] values = new int [16];
+        int count = 0;
+        for (int i = 0; i < size; ++i)
+        {
+          List<?> list = (List<?>)eObjects[i].eGet(feature, false);
+          if (count + list.size() > values.length)
+          {
+            values = Arrays.copyOf(values, Math.max(2 * values.length, count + list.size()));
+          }
+          for (Object value : list)
+          {
+            values[count++] = encode(dictionary, codes, value);
+          }
+          offsets[i + 1] = count;
+        }
+        return new DictionaryColumn(this, (EAttribute)feature, offsets, Arrays.copyOf(values, count), dictionary.toArray());
+      }
+      else
+      {
+        int [] values = new int [size];
+        for (int i = 0; i < size; ++i)
+        {
+          values[i] = encode(dictionary, codes, eObjects[i].eGet(feature, false));
+        }
+        return new DictionaryColumn(this, (EAttribute)feature, null, values, dictionary.toArray());
+      }
+    }
+
+    private static List<?> basicList(Object value)
+    {
+      return value instanceof InternalEList<?> ? ((InternalEList<?>)value).basicList() : (List<?>)value;
+    }
+
+    private static int encode(List<Object> dictionary, Map<Object, Integer> codes, Object value)
+    {
+      if (value == null)
+      {
+        return -1;
+      }
+      Integer result = codes.get(value);
+      if (result == null)
+      {
+        result = dictionary.size();
+        dictionary.add(value);
+        codes.put(value, result);
+      }
+      return result;
+    }
+
+    /**
+     * Returns the snapshot.
+     * @return the snapshot.
+     */
+    public ColumnarSnapshot getSnapshot()
+    {
+      return snapshot;
+    }
+
+    /**
+     * Returns the class of the objects.
+     * @return the class of the objects.
+     */
+    public EClass getEClass()
+    {
+      return eClass;
+    }
+
+    /**
+     * Returns the global index of the object in the first row.
+     * @return the global index of the first object.
+     */
+    public int getOffset()
+    {
+      return offset;
+    }
+
+    /**
+     * Returns the number of rows, i.e., of objects.
+     * @return the number of rows.
+     */
+    public int size()
+    {
+      return eObjects.length;
+    }
+
+    /**
+     * Returns the object in the given row.
+     * @param row a row.
+     * @return the object in the row.
+     */
+    public EObject getEObject(int row)
+    {
+      return eObjects[row];
+    }
+
+    /**
+     * Returns the column of the feature.
+     * @param feature a feature of the class.
+     * @return the column of the feature, or <code>null</code> if the feature is derived or a feature map.
+     * @throws IllegalArgumentException if the feature isn't a feature of the class.
+     */
+    public Column getColumn(EStructuralFeature feature)
+    {
+      int featureID = eClass.getFeatureID(feature);
+      if (featureID < 0)
+      {
+        throw new IllegalArgumentException("The feature '" + feature.getName() + "' is not a valid feature");
+      }
+      return columns[featureID];
+    }
+
+    /**
+     * Visits the rows, in ranges visited in parallel if there's a fork join pool, or as a single range otherwise.
+     * @param visitor the visitor of the ranges.
+     * @param forkJoinPool the pool in which to visit the ranges in parallel, or <code>null</code>.
+     * @see ColumnarSnapshot#scan(int, RangeVisitor, ForkJoinPool)
+     */
+    public void scan(RangeVisitor visitor, ForkJoinPool forkJoinPool)
+    {
+      ColumnarSnapshot.scan(eObjects.length, visitor, forkJoinPool);
+    }
+  }
+
+  /**
+   * The values of a feature for each row of a table.
+   */
+  public abstract static class Column
+  {
+    /**
+     * The table.
+     */
+    protected final Table table;
+
+    /**
+     * The feature.
+     */
+    protected final EStructuralFeature feature;
+
+    Column(Table table, EStructuralFeature feature)
+    {
+      this.table = table;
+      this.feature = feature;
+    }
+
+    /**
+     * Returns the table.
+     * @return the table.
+     */
+    public Table getTable()
+    {
+      return table;
+    }
+
+    /**
+     * Returns the feature.
+     * @return the feature.
+     */
+    public EStructuralFeature getFeature()
+    {
+      return feature;
+    }
+
+    /**
+     * Returns the value of the given row, as {@link EObject#eGet(EStructuralFeature, boolean) eGet} would, or as an unmodifiable list for a many-valued feature.
+     * @param row a row.
+     * @return the value of the row.
+     */
+    public abstract Object get(int row);
+  }
+
+  /**
+   * A column of the values of a single-valued attribute of type <code>boolean</code>, <code>byte</code>, <code>char</code>, <code>short</code>, or <code>int</code>,
+   * as <code>int</code> values, with <code>1</code> for <code>true</code>.
+   */
+  public static final class IntColumn extends Column
+  {
+    final int [] values;
+
+    IntColumn(Table table, EAttribute attribute, int [] values)
+    {
+      super(table, attribute);
+      this.values = values;
+    }
+
+    /**
+     * Returns the value of the given row.
+     * @param row a row.
+     * @return the value of the row.
+     */
+    public int getInt(int row)
+    {
+      return values[row];
+    }
+
+    /**
+     * Returns the values, indexed by row.
+     * The array must not be modified.
+     * @return the values.
+     */
+    public int [] getValues()
+    {
+      return values;
+    }
+
+    @Override
+    public Object get(int row)
+    {
+      int value = values[row];
+      Class<?> instanceClass = feature.getEType().getInstanceClass();
+      if (instanceClass == boolean.class)
+      {
+        return value != 0;
+      }
+      else if (instanceClass == byte.class)
+      {
+        return (byte)value;
+      }
+      else if (instanceClass == char.class)
+      {
+        return (char)value;
+      }
+      else if (instanceClass == short.class)
+      {
+        return (short)value;
+      }
+      else
+      {
+        return value;
+      }
+    }
+  }
+
+  /**
+   * A column of the values of a single-valued attribute of type <code>long</code>.
+   */
+  public static final class LongColumn extends Column
+  {
+    final long [] values;
+
+    LongColumn(Table table, EAttribute attribute, long [] values)
+    {
+      super(table, attribute);
+      this.values = values;
+    }
+
+    /**
+     * Returns the value of the given row.
+     * @param row a row.
+     * @return the value of the row.
+     */
+    public long getLong(int row)
+    {
+      return values[row];
+    }
+
+    /**
+     * Returns the values, indexed by row.
+     * The array must not be modified.
+     * @return the values.
+     */
+    public long [] getValues()
+    {
+      return values;
+    }
+
+    @Override
+    public Object get(int row)
+    {
+      return values[row];
+    }
+  }
+
+  /**
+   * A column of the values of a single-valued attribute of type <code>float</code> or <code>double</code>, as <code>double</code> values.
+   */
+  public static final class DoubleColumn extends Column
+  {
+    final double [] values;
+
+    DoubleColumn(Table table, EAttribute attribute, double [] values)
+    {
+      super(table, attribute);
+      this.values = values;
+    }
+
+    /**
+     * Returns the value of the given row.
+     * @param row a row.
+     * @return the value of the row.
+     */
+    public double getDouble(int row)
+    {
+      return values[row];
+    }
+
+    /**
+     * Returns the values, indexed by row.
+     * The array must not be modified.
+     * @return the values.
+     */
+    public double [] getValues()
+    {
+      return values;
+    }
+
+    @Override
+    public Object get(int row)
+    {
+      return feature.getEType().getInstanceClass() == float.class ? (Object)(float)values[row] : (Object)values[row];
+    }
+  }
+
+  /**
+   * A column of the values of an attribute, each encoded as the index of an equal value in a dictionary, or as <code>-1</code> for <code>null</code>.
+   * The codes of a many-valued attribute are delimited by {@link #getOffsets() offsets}.
+   */
+  public static final class DictionaryColumn extends Column
+  {
+    final int [] offsets;
+
+    final int [] codes;
+
+    final Object [] dictionary;
+
+    DictionaryColumn(Table table, EAttribute attribute, int [] offsets, int [] codes, Object [] dictionary)
+    {
+      super(table, attribute);
+      this.offsets = offsets;
+      this.codes = codes;
+      this.dictionary = dictionary;
+    }
+
+    /**
+     * Returns the code of the value of the given row of a single-valued attribute.
+     * @param row a row.
+     * @return the code of the value of the row.
+     */
+    public int getCode(int row)
+    {
+      return codes[row];
+    }
+
+    /**
+     * Returns the codes, indexed by row for a single-valued attribute, or delimited by the {@link #getOffsets() offsets} for a many-valued attribute.
+     * The array must not be modified.
+     * @return the codes.
+     */
+    public int [] getCodes()
+    {
+      return codes;
+    }
+
+    /**
+     * Returns the offsets of the codes of each row of a many-valued attribute, followed by the number of codes:
+     * the codes of row <code>i</code> are those from <code>offsets[i]</code>, inclusive, to <code>offsets[i + 1]</code>, exclusive.
+     * The array must not be modified.
+     * @return the offsets, or <code>null</code> for a single-valued attribute.
+     */
+    public int [] getOffsets()
+    {
+      return offsets;
+    }
+
+    /**
+     * Returns the distinct values, indexed by code.
+     * The array must not be modified.
+     * @return the distinct values.
+     */
+    public Object [] getDictionary()
+    {
+      return dictionary;
+    }
+
+    /**
+     * Returns the code of a value equal to the given value.
+     * @param value a value.
+     * @return the code of the value, or <code>-1</code> if there's no such value.
+     */
+    public int getCode(Object value)
+    {
+      if (value == null)
+      {
+        return -1;
+      }
+      for (int i = 0; i < dictionary.length; ++i)
+      {
+        if (value.equals(dictionary[i]))
+        {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public Object get(int row)
+    {
+      if (offsets == null)
+      {
+        return decode(codes[row]);
+      }
+      else
+      {
+        Object [] result = new Object [offsets[row + 1] - offsets[row]];
+        for (int i = 0; i < result.length; ++i)
+        {
+          result[i] = decode(codes[offsets[row] + i]);
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+      }
+    }
+
+    private Object decode(int code)
+    {
+      return code == -1 ? null : dictionary[code];
+    }
+  }
+
+  /**
+   * A column of the values of a reference, each encoded as the global index of the referenced object,
+   * or as <code>-1</code> for <code>null</code> or an object that isn't in the snapshot, e.g., an object in another resource.
+   * The indices of a many-valued reference are delimited by {@link #getOffsets() offsets}.
+   */
+  public static final class ReferenceColumn extends Column
+  {
+    final int [] offsets;
+
+    final int [] targets;
+
+    ReferenceColumn(Table table, EReference reference, int [] offsets, int [] targets)
+    {
+      super(table, reference);
+      this.offsets = offsets;
+      this.targets = targets;
+    }
+
+    /**
+     * Returns the global index of the object referenced by the given row of a single-valued reference.
+     * @param row a row.
+     * @return the global index of the referenced object, or <code>-1</code>.
+     */
+    public int getTarget(int row)
+    {
+      return targets[row];
+    }
+
+    /**
+     * Returns the global indices of the referenced objects, indexed by row for a single-valued reference,
+     * or delimited by the {@link #getOffsets() offsets} for a many-valued reference.
+     * The array must not be modified.
+     * @return the global indices of the referenced objects.
+     */
+    public int [] getTargets()
+    {
+      return targets;
+    }
+
+    /**
+     * Returns the offsets of the targets of each row of a many-valued reference, followed by the number of targets:
+     * the targets of row <code>i</code> are those from <code>offsets[i]</code>, inclusive, to <code>offsets[i + 1]</code>, exclusive.
+     * The array must not be modified.
+     * @return the offsets, or <code>null</code> for a single-valued reference.
+     */
+    public int [] getOffsets()
+    {
+      return offsets;
+    }
+
+    /**
+     * Returns the referenced objects that are in the snapshot; those that aren't are <code>null</code>.
+     */
+    @Override
+    public Object get(int row)
+    {
+      if (offsets == null)
+      {
+        return decode(targets[row]);
+      }
+      else
+      {
+        EObject [] result = new EObject [offsets[row + 1] - offsets[row]];
+        for (int i = 0; i < result.length; ++i)
+        {
+          result[i] = decode(targets[offsets[row] + i]);
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+      }
+    }
+
+    private EObject decode(int target)
+    {
+      return target == -1 ? null : table.snapshot.getEObject(target);
+    }
+  }
+
+  /**
+   * A content adapter that {@link ColumnarSnapshot#invalidate() invalidates} its snapshot when the adapted objects change,
+   * and creates a new snapshot when one is next {@link #getSnapshot() requested}.
+   * It installs itself for an {@link EObject}, a {@link Resource}, or a {@link ResourceSet} when it's created,
+   * and is removed by {@link #dispose()}.
+   * <p>
+   * Like any adapter, this adapter is not thread-safe, though the snapshots it creates are.
+   * </p>
+   */
+  public static class Tracker extends EContentAdapter
+  {
+    /**
+     * The object, resource, or resource set whose content tree is tracked.
+     */
+    protected final Notifier root;
+
+    /**
+     * The current snapshot, or <code>null</code>.
+     */
+    protected ColumnarSnapshot snapshot;
+
+    /**
+     * Creates an instance and installs it for the given object, resource, or resource set.
+     * @param root the object, resource, or resource set whose content tree to track.
+     */
+    public Tracker(Notifier root)
+    {
+      super();
+      this.root = root;
+      root.eAdapters().add(this);
+    }
+
+    /**
+     * Returns the current snapshot of the content tree, creating it if the tree has changed since the last snapshot was created.
+     * @return the current snapshot.
+     */
+    public ColumnarSnapshot getSnapshot()
+    {
+      if (snapshot == null)
+      {
+        snapshot = new ColumnarSnapshot(Collections.singleton(root));
+      }
+      return snapshot;
+    }
+
+    /**
+     * Removes this adapter from the content tree and invalidates the current snapshot.
+     */
+    public void dispose()
+    {
+      root.eAdapters().remove(this);
+      if (snapshot != null)
+      {
+        snapshot.invalidate();
+        snapshot = null;
+      }
+    }
+
+    @Override
+    public void notifyChanged(Notification notification)
+    {
+      super.notifyChanged(notification);
+
+      if (snapshot != null && isChange(notification))
+      {
+        snapshot.invalidate();
+        snapshot = null;
+      }
+    }
+
+    /**
+     * Returns whether the notification changes the feature values of the adapted objects or the objects in the content tree.
+     */
+    protected boolean isChange(Notification notification)
+    {
+      if (notification.isTouch())
+      {
+        return false;
+      }
+      Object notifier = notification.getNotifier();
+      if (notifier instanceof ResourceSet)
+      {
+        return notification.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES;
+      }
+      else if (notifier instanceof Resource)
+      {
+        return notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS;
+      }
+      else
+      {
+        return true;
+      }
+    }
+  }
+}
@@ -11,12 +11,15 @@
 package org.eclipse.emf.ecore.util;
 
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import org.eclipse.emf.common.util.BasicDiagnostic;
 import org.eclipse.emf.common.util.Diagnostic;
@@ -29,6 +32,9 @@ import org.eclipse.emf.ecore.EStructuralFeature;
 
 import org.eclipse.emf.ecore.EValidator;
 import org.eclipse.emf.ecore.plugin.EcorePlugin;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ConcurrentResourceSetImpl;
 
 /**
  * A validity checker for basic EObject constraints.
@@ -53,6 +59,40 @@ public class Diagnostician implements EValidator.SubstitutionLabelProvider, EVal
    */
   public static final String VALIDATE_RECURSIVELY = "VALIDATE_RECURSIVELY";
 
+  /**
+   * A key to be used in <code>context</code> maps to indicate that {@link #validate(EObject, DiagnosticChain, Map)}
+   * should validate the containment tree in parallel.
+   * The value is either the {@link ForkJoinPool} to use or {@code Boolean.TRUE} to use the {@link ForkJoinPool#commonPool() common pool}.
+   * The tree is split into containment subtrees, each validated by a task with its own copy of the <code>context</code>,
+   * and the resulting diagnostics are merged in the same order in which iterative validation would produce them.
+   * Validators that implement {@link SingleThreaded} are never called concurrently during a parallel validation.
+   * This key has no effect if {@link #isValidateContentsRecursively()} is {@code true}
+   * or if {@link #VALIDATE_RECURSIVELY} is mapped to {@code Boolean.TRUE}.
+   * <p>
+   * The tasks read the model concurrently, so they must not demand load resources into a resource set that isn't thread-safe.
+   * Unless the object's resource set is a {@link ConcurrentResourceSetImpl},
+   * the cross references of the tree are {@link EcoreUtil#resolveAll(EObject) resolved} before the tasks are forked;
+   * validators that navigate further must then only be used with models whose proxies are already resolved.
+   * The resource of the object is {@link EObjectValidator.IDIndex#index(Resource) indexed by ID} before the tasks are forked.
+   * </p>
+   *
+   * @see #isThreadSafe(EValidator)
+   * @since 2.33
+   */
+  public static final String VALIDATE_IN_PARALLEL = "VALIDATE_IN_PARALLEL";
+
+  /**
+   * A marker interface for an {@link EValidator} that is not thread-safe.
+   * During a {@link #VALIDATE_IN_PARALLEL parallel} validation, such a validator is only called by one thread at a time.
+   *
+   * @see #isThreadSafe(EValidator)
+   * @since 2.33
+   */
+  public interface SingleThreaded
+  {
+    // Marker only.
+  }
+
   public static final Diagnostician INSTANCE = new Diagnostician();
 
   private boolean validateContentsRecursively;
@@ -190,6 +230,12 @@ public class Diagnostician implements EValidator.SubstitutionLabelProvider, EVal
       else
       {
         context.put(VALIDATE_RECURSIVELY, Boolean.FALSE);
+        Object parallel = context.get(VALIDATE_IN_PARALLEL);
+        if (parallel instanceof ForkJoinPool || Boolean.TRUE.equals(parallel))
+        {
+          return validateInParallel(eObject, diagnostics, context, parallel instanceof ForkJoinPool ? (ForkJoinPool)parallel : ForkJoinPool.commonPool());
+        }
+
         boolean result = true;
         for (TreeIterator<? extends EObject> i = EcoreUtil.getAllContents(Collections.singleton(eObject)); i.hasNext();)
         {
@@ -240,7 +286,19 @@ public class Diagnostician implements EValidator.SubstitutionLabelProvider, EVal
         }
       }
       boolean circular = context.get(EObjectValidator.ROOT_OBJECT) == eObject;
-      boolean result = doValidate((EValidator)eValidator, eClass, eObject, diagnostics, context);
+      boolean result;
+      Object parallelValidation = context.get(VALIDATE_IN_PARALLEL);
+      if (parallelValidation instanceof ParallelValidation && !isThreadSafe((EValidator)eValidator))
+      {
+        synchronized (((ParallelValidation)parallelValidation).lock)
+        {
+          result = doValidate((EValidator)eValidator, eClass, eObject, diagnostics, context);
+        }
+      }
+      else
+      {
+        result = doValidate((EValidator)eValidator, eClass, eObject, diagnostics, context);
+      }
       if (!Boolean.FALSE.equals(context.get(VALIDATE_RECURSIVELY)) && (result || diagnostics != null) && !circular)
       {
         result &= doValidateContents(eObject, diagnostics, context);
@@ -264,6 +322,55 @@ public class Diagnostician implements EValidator.SubstitutionLabelProvider, EVal
     return false;
   }
 
+  /**
+   * Returns whether the validator may be called concurrently during a {@link #VALIDATE_IN_PARALLEL parallel} validation.
+   * This implementation returns {@code false} only for a validator that implements {@link SingleThreaded}.
+   *
+   * @since 2.33
+   */
+  protected boolean isThreadSafe(EValidator eValidator)
+  {
+    return !(eValidator instanceof SingleThreaded);
+  }
+
+  /**
+   * Validates the containment tree of the object using tasks in the given pool,
+   * as described for {@link #VALIDATE_IN_PARALLEL}.
+   *
+   * @since 2.33
+   */
+  protected boolean validateInParallel(EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context, ForkJoinPool forkJoinPool)
+  {
+    Map<Object, Object> sharedContext = new HashMap<Object, Object>(context);
+
+    // Resolve before forking so that the tasks don't demand load into a resource set that isn't thread-safe.
+    //
+    Resource resource = eObject.eResource();
+    ResourceSet resourceSet = resource == null ? null : resource.getResourceSet();
+    if (resourceSet != null && !(resourceSet instanceof ConcurrentResourceSetImpl))
+    {
+      EcoreUtil.resolveAll(eObject);
+    }
+
+    // All tasks share one ID index, with the object's resource indexed before forking, so that each resource is indexed only once.
+    //
+    EObjectValidator.IDIndex idIndex = EObjectValidator.IDIndex.getIDIndex(sharedContext);
+    if (resource != null)
+    {
+      idIndex.index(resource);
+    }
+
+    ParallelValidation parallelValidation = new ParallelValidation(this, sharedContext, diagnostics != null);
+    sharedContext.put(VALIDATE_IN_PARALLEL, parallelValidation);
+    ValidationTask validationTask = new ValidationTask(parallelValidation, eObject);
+    boolean result = forkJoinPool.invoke(validationTask);
+    if (diagnostics != null)
+    {
+      validationTask.mergeInto(diagnostics);
+    }
+    return result;
+  }
+
   /**
    * Called by {@link #validate(EClass, EObject, DiagnosticChain, Map)} when an exception is thrown during validation.
    * If diagnostics are being recorded and the exception is a {@link RuntimeException} or an {@link AssertionError},
@@ -333,6 +440,15 @@ public class Diagnostician implements EValidator.SubstitutionLabelProvider, EVal
       eValidator = eValidatorRegistry.get(null);
     }
 
+    Object parallelValidation = context.get(VALIDATE_IN_PARALLEL);
+    if (parallelValidation instanceof ParallelValidation && !isThreadSafe((EValidator)eValidator))
+    {
+      synchronized (((ParallelValidation)parallelValidation).lock)
+      {
+        return doValidate((EValidator)eValidator, eDataType, value, diagnostics, context);
+      }
+    }
+
     return doValidate((EValidator)eValidator, eDataType, value, diagnostics, context);
   }
 
@@ -344,6 +460,141 @@ public class Diagnostician implements EValidator.SubstitutionLabelProvider, EVal
     return eValidator.validate(eDataType, value, diagnostics, context);
   }
 
+  /**
+   * The state shared by all the {@link ValidationTask tasks} of one {@link #validateInParallel(EObject, DiagnosticChain, Map, ForkJoinPool) parallel validation}.
+   * It replaces the value of {@link #VALIDATE_IN_PARALLEL} in each task's context,
+   * so any nested call to {@link #validate(EObject, DiagnosticChain, Map)} validates sequentially.
+   */
+  private static final class ParallelValidation
+  {
+    final Diagnostician diagnostician;
+
+    final Map<Object, Object> context;
+
+    final boolean isRecording;
+
+    final Object lock = new Object();
+
+    volatile boolean isCancelled;
+
+    ParallelValidation(Diagnostician diagnostician, Map<Object, Object> context, boolean isRecording)
+    {
+      this.diagnostician = diagnostician;
+      this.context = context;
+      this.isRecording = isRecording;
+    }
+  }
+
+  /**
+   * A task that iteratively validates a containment subtree,
+   * forking a new task for each nested subtree encountered while the pool has few queued tasks.
+   * The diagnostics of the task are kept as a sequence of segments, interleaved with the forked tasks,
+   * so that they can be merged in tree order.
+   */
+  private static final class ValidationTask extends RecursiveTask<Boolean>
+  {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of queued tasks beyond which subtrees are validated by the current task rather than forked.
+     */
+    private static final int MAXIMUM_SURPLUS = 3;
+
+    private final ParallelValidation parallelValidation;
+
+    private final EObject eObject;
+
+    private final List<Object> segments = new ArrayList<Object>();
+
+    ValidationTask(ParallelValidation parallelValidation, EObject eObject)
+    {
+      this.parallelValidation = parallelValidation;
+      this.eObject = eObject;
+    }
+
+    @Override
+    protected Boolean compute()
+    {
+      Diagnostician diagnostician = parallelValidation.diagnostician;
+      Map<Object, Object> context = new HashMap<Object, Object>(parallelValidation.context);
+      Object rootObject = context.get(EObjectValidator.ROOT_OBJECT);
+      BasicDiagnostic diagnostics = parallelValidation.isRecording ? new BasicDiagnostic() : null;
+      List<ValidationTask> subtasks = null;
+      boolean result = true;
+      for (TreeIterator<? extends EObject> i = EcoreUtil.getAllContents(Collections.singleton(eObject)); i.hasNext(); )
+      {
+        if (parallelValidation.isCancelled)
+        {
+          result = false;
+          break;
+        }
+
+        EObject child = i.next();
+        if (child != eObject && child != rootObject && !child.eContents().isEmpty() && getSurplusQueuedTaskCount() <= MAXIMUM_SURPLUS)
+        {
+          ValidationTask subtask = new ValidationTask(parallelValidation, child);
+          subtask.fork();
+          if (subtasks == null)
+          {
+            subtasks = new ArrayList<ValidationTask>();
+          }
+          subtasks.add(subtask);
+          if (diagnostics != null)
+          {
+            segments.add(diagnostics);
+            diagnostics = new BasicDiagnostic();
+          }
+          segments.add(subtask);
+          i.prune();
+        }
+        else
+        {
+          boolean circular = rootObject == child;
+          result &= diagnostician.validate(child.eClass(), child, diagnostics, context);
+          if (circular)
+          {
+            i.prune();
+          }
+          else if (!result && diagnostics == null)
+          {
+            parallelValidation.isCancelled = true;
+            break;
+          }
+        }
+      }
+
+      if (diagnostics != null)
+      {
+        segments.add(diagnostics);
+      }
+
+      if (subtasks != null)
+      {
+        for (ValidationTask subtask : subtasks)
+        {
+          result &= subtask.join();
+        }
+      }
+
+      return result;
+    }
+
+    void mergeInto(DiagnosticChain diagnostics)
+    {
+      for (Object segment : segments)
+      {
+        if (segment instanceof ValidationTask)
+        {
+          ((ValidationTask)segment).mergeInto(diagnostics);
+        }
+        else
+        {
+          diagnostics.addAll((Diagnostic)segment);
+        }
+      }
+    }
+  }
+
   private static class OverrideChecker
   {
     private static final Map<Class<?>, Boolean> CLASSES_WITH_OVERRIDES = new ConcurrentHashMap<Class<?>, Boolean>();
@@ -21,6 +21,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.emf.common.util.BasicDiagnostic;
 import org.eclipse.emf.common.util.BasicEList;
@@ -1782,6 +1784,95 @@ public class EObjectValidator implements EValidator
   }
   
   /**
+   * An index of the objects of each resource by {@link EcoreUtil#getID(EObject) ID},
+   * built with a single traversal of the resource the first time an ID of that resource is looked up,
+   * so that validating the {@link #validate_UniqueID(EObject, DiagnosticChain, Map) uniqueness of the IDs} of all the objects of a resource
+   * takes linear rather than quadratic time.
+   * It's kept in the context of a validation run, so it reflects the state of the resources at the time of that validation.
+   * Lookups don't lock, so the index can be shared by the threads of a {@link Diagnostician#VALIDATE_IN_PARALLEL parallel} validation,
+   * which {@link #index(Resource) indexes} the resource of the validated object before forking.
+   * @since 2.33
+   */
+  public static class IDIndex
+  {
+    protected final ConcurrentMap<Resource, Map<String, EObject>> resourceToIDMap = new ConcurrentHashMap<Resource, Map<String, EObject>>();
+
+    /**
+     * Returns the index in the context, creating it and adding it to the context if necessary.
+     * @param context the context of a validation run.
+     * @return the index in the context.
+     */
+    public static IDIndex getIDIndex(Map<Object, Object> context)
+    {
+      IDIndex result = (IDIndex)context.get(IDIndex.class);
+      if (result == null)
+      {
+        result = new IDIndex();
+        context.put(IDIndex.class, result);
+      }
+      return result;
+    }
+
+    public IDIndex()
+    {
+      super();
+    }
+
+    /**
+     * Returns the first object, in the order of the resource's proper contents, with the given ID,
+     * i.e., the object that {@link Resource#getEObject(String)} returns for an ID in the absence of a more specialized ID lookup.
+     * @param resource the resource to search.
+     * @param id the ID to find.
+     * @return the first object with the ID, or <code>null</code>.
+     */
+    public EObject getEObject(Resource resource, String id)
+    {
+      return index(resource).get(id);
+    }
+
+    /**
+     * Indexes the resource, if it's not yet indexed, and returns the map from each ID to the first object with that ID.
+     * If threads concurrently index the same resource, each builds an equal map and the first one recorded is retained.
+     * @param resource the resource to index.
+     * @return the map from each ID to the first object with that ID, which must not be modified.
+     */
+    public Map<String, EObject> index(Resource resource)
+    {
+      Map<String, EObject> idMap = resourceToIDMap.get(resource);
+      if (idMap == null)
+      {
+        idMap = createIDMap(resource);
+        Map<String, EObject> otherIDMap = resourceToIDMap.putIfAbsent(resource, idMap);
+        if (otherIDMap != null)
+        {
+          idMap = otherIDMap;
+        }
+      }
+      return idMap;
+    }
+
+    /**
+     * Returns a map from each ID to the first object with that ID in the resource's proper contents.
+     */
+    protected Map<String, EObject> createIDMap(Resource resource)
+    {
+      Map<String, EObject> result = new HashMap<String, EObject>();
+      for (Iterator<EObject> i = EcoreUtil.getAllProperContents(resource, false); i.hasNext(); )
+      {
+        EObject eObject = i.next();
+        String id = EcoreUtil.getID(eObject);
+        if (id != null && !result.containsKey(id))
+        {
+          result.put(id, eObject);
+        }
+      }
+      return result;
+    }
+  }
+
+  /**
+   * The ID is looked up in the {@link IDIndex} of the context, if there is a context,
+   * rather than in the resource.
    * @since 2.2
    */
   public boolean validate_UniqueID(EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context)
@@ -1793,7 +1884,7 @@ public class EObjectValidator implements EValidator
       Resource resource = eObject.eResource();
       if (resource != null)
       {
-        EObject otherEObject = resource.getEObject(id);
+        EObject otherEObject = context == null ? resource.getEObject(id) : IDIndex.getIDIndex(context).getEObject(resource, id);
         if (eObject != otherEObject && otherEObject != null)
         {
           result = false;
@@ -1862,10 +1953,14 @@ public class EObjectValidator implements EValidator
     (EObject eObject, EReference eReference, DiagnosticChain diagnostics, Map<Object, Object> context)
   {
     boolean result = true;
-    Map<List<Object>, EObject> keys = new HashMap<List<Object>, EObject>();
-    EAttribute [] eAttributes = (EAttribute[])((BasicEList<?>)eReference.getEKeys()).data();
     @SuppressWarnings("unchecked")
     List<EObject> values = (List<EObject>)eObject.eGet(eReference);
+    if (values.size() < 2)
+    {
+      return result;
+    }
+    Map<List<Object>, EObject> keys = new HashMap<List<Object>, EObject>(2 * values.size());
+    EAttribute [] eAttributes = (EAttribute[])((BasicEList<?>)eReference.getEKeys()).data();
     for (EObject value : values)
     {
       ArrayList<Object> key = new ArrayList<Object>(); 
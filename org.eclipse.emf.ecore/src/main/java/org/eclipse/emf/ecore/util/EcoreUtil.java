@@ -62,6 +62,7 @@ import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.impl.EPackageImpl;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 
 
 /**
@@ -266,7 +267,16 @@ public class EcoreUtil
   public static EObject resolve(EObject proxy, EObject objectContext)
   {
     Resource resourceContext = objectContext != null ? objectContext.eResource() : null;
-    return resolve(proxy, resourceContext != null ? resourceContext.getResourceSet() : null);
+    ResourceSet resourceSet = resourceContext != null ? resourceContext.getResourceSet() : null;
+
+    // Keep the resource from which the proxy is resolved from being evicted because it's being used.
+    //
+    ResourceSetImpl.EvictingResourceLocator evictingResourceLocator = ResourceSetImpl.EvictingResourceLocator.getEvictingResourceLocator(resourceSet);
+    if (evictingResourceLocator != null && ((InternalEObject)proxy).eProxyURI() != null)
+    {
+      evictingResourceLocator.use(resourceContext);
+    }
+    return resolve(proxy, resourceSet);
   }
 
   /**
@@ -4062,7 +4072,8 @@ public class EcoreUtil
    */
   public static String generateUUID()
   {
-    return UUID.generate();
+    UUIDGenerator uuidGenerator = EcoreUtil.uuidGenerator;
+    return uuidGenerator == null ? UUID.generate() : uuidGenerator.generateUUID();
   }
 
   /**
@@ -4073,7 +4084,137 @@ public class EcoreUtil
    */
   public static void generateUUID(byte [] uuid)
   {
-    UUID.generate(uuid);
+    UUIDGenerator uuidGenerator = EcoreUtil.uuidGenerator;
+    if (uuidGenerator == null)
+    {
+      UUID.generate(uuid);
+    }
+    else
+    {
+      uuidGenerator.generateUUID(uuid);
+    }
+  }
+
+  /**
+   * A generator of {@link EcoreUtil#generateUUID() universally unique identifiers}.
+   * @see EcoreUtil#setUUIDGenerator(UUIDGenerator)
+   * @since 2.33
+   */
+  public interface UUIDGenerator
+  {
+    /**
+     * Generates a universally unique identifier encoded as described for {@link EcoreUtil#generateUUID()}.
+     * @return a universally unique identifier.
+     */
+    String generateUUID();
+
+    /**
+     * Generates a universally unique identifier as described for {@link EcoreUtil#generateUUID(byte[])}.
+     * @param uuid the value to receive the result.
+     */
+    void generateUUID(byte [] uuid);
+  }
+
+  /**
+   * The generator used by {@link #generateUUID()}, or <code>null</code> for the default synchronized generator.
+   */
+  private static volatile UUIDGenerator uuidGenerator;
+
+  /**
+   * Returns the generator used by {@link #generateUUID()} and {@link #generateUUID(byte[])},
+   * or <code>null</code> if the default generator, which serializes all threads, is used.
+   * @return the generator used to generate UUIDs.
+   * @since 2.33
+   */
+  public static UUIDGenerator getUUIDGenerator()
+  {
+    return uuidGenerator;
+  }
+
+  /**
+   * Sets the generator used by {@link #generateUUID()} and {@link #generateUUID(byte[])},
+   * e.g., to a {@link ThreadLocalUUIDGenerator} to generate UUIDs concurrently on many threads,
+   * or to <code>null</code> to use the default generator.
+   * @param uuidGenerator the generator to use to generate UUIDs.
+   * @since 2.33
+   */
+  public static void setUUIDGenerator(UUIDGenerator uuidGenerator)
+  {
+    EcoreUtil.uuidGenerator = uuidGenerator;
+  }
+
+  /**
+   * A generator of time based UUIDs in which each thread has its own node identifier and clock,
+   * so that threads never wait for each other.
+   * Each thread's node identifier is random, just like the default generator's single node identifier.
+   * Rather than waiting for the system clock to advance when it has generated 10,000 UUIDs within the same millisecond,
+   * a thread's clock advances in increments of 100 nanoseconds past the system clock,
+   * and it never goes backward when the system clock is rewound.
+   * @since 2.33
+   */
+  public static class ThreadLocalUUIDGenerator implements UUIDGenerator
+  {
+    private static final class State
+    {
+      /**
+       * The time of the previous UUID in 100s of nanoseconds since the epoch required by the specification.
+       */
+      long lastTime;
+
+      final byte [] uuid = new byte [16];
+
+      final char [] buffer = new char [23];
+
+      State(SecureRandom random)
+      {
+        UUID.setClockSequence(uuid, (short)random.nextInt(16384));
+        UUID.setNodeAddress(uuid, random);
+        buffer[0] = '_';
+      }
+
+      void updateCurrentTime()
+      {
+        long currentTime = (System.currentTimeMillis() + UUID.EPOCH_ADJUSTMENT) * 10000;
+        if (currentTime <= lastTime)
+        {
+          currentTime = lastTime + 1;
+        }
+        lastTime = currentTime;
+        UUID.setTime(uuid, currentTime);
+      }
+    }
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final ThreadLocal<State> state =
+      new ThreadLocal<State>()
+      {
+        @Override
+        protected State initialValue()
+        {
+          return new State(RANDOM);
+        }
+      };
+
+    public ThreadLocalUUIDGenerator()
+    {
+      super();
+    }
+
+    public String generateUUID()
+    {
+      State state = this.state.get();
+      state.updateCurrentTime();
+      UUID.encode(state.uuid, state.buffer);
+      return new String(state.buffer);
+    }
+
+    public void generateUUID(byte [] uuid)
+    {
+      State state = this.state.get();
+      state.updateCurrentTime();
+      System.arraycopy(state.uuid, 0, uuid, 0, 16);
+    }
   }
 
   private static final class UUID
@@ -4081,7 +4222,21 @@ public class EcoreUtil
     public synchronized static String generate()
     {
       updateCurrentTime();
+      encode(uuid, buffer);
+      return new String(buffer);
+    }
+    
+    public synchronized static void generate(byte [] uuid)
+    {
+      updateCurrentTime();
+      System.arraycopy(UUID.uuid, 0, uuid, 0, 16);
+    }
 
+    /**
+     * Encodes the UUID in base 64 after the buffer's leading "_" character.
+     */
+    static void encode(byte [] uuid, char [] buffer)
+    {
       // Do a base 64 conversion by turning every 3 bytes into 4 base 64 characters
       //
       for (int i = 0; i < 5; ++i)
@@ -4096,14 +4251,6 @@ public class EcoreUtil
       //
       buffer[21] = BASE64_DIGITS[(uuid[15] >> 2) & 0x3F];
       buffer[22] = BASE64_DIGITS[(uuid[15] << 4) & 0x30];
-
-      return new String(buffer);
-    }
-    
-    public synchronized static void generate(byte [] uuid)
-    {
-      updateCurrentTime();
-      System.arraycopy(UUID.uuid, 0, uuid, 0, 16);
     }
 
     private UUID()
@@ -4181,7 +4328,7 @@ public class EcoreUtil
      * An adjustment to convert the Java epoch of Jan 1, 1970 00:00:00 to
      * the epoch required by the IETF specification, Oct 15, 1582 00:00:00.
      */
-    private static final long EPOCH_ADJUSTMENT = new GregorianCalendar(1970, 0, 1, 0, 0, 0).getTime().getTime()
+    static final long EPOCH_ADJUSTMENT = new GregorianCalendar(1970, 0, 1, 0, 0, 0).getTime().getTime()
       - new GregorianCalendar(1582, 9, 15, 0, 0, 0).getTime().getTime();
 
     private static long lastTime = System.currentTimeMillis() + EPOCH_ADJUSTMENT;
@@ -4206,7 +4353,16 @@ public class EcoreUtil
 
       clockSequence = (short)random.nextInt(16384);
       updateClockSequence();
+      setNodeAddress(uuid, random);
+
+      buffer[0] = '_';
+    }
 
+    /**
+     * Sets a random node identifier into the UUID.
+     */
+    static void setNodeAddress(byte [] uuid, Random random)
+    {
       // Generate a 48 bit node identifier; 
       // This is an alternative to the IEEE 802 host address, which is not available in Java.
       //
@@ -4225,8 +4381,6 @@ public class EcoreUtil
       {
         uuid[i + 10] = nodeAddress[i];
       }
-
-      buffer[0] = '_';
     }
 
     /**
@@ -4236,6 +4390,11 @@ public class EcoreUtil
      * high order octet of clockseq_hi.
      */
     private static void updateClockSequence()
+    {
+      setClockSequence(uuid, clockSequence);
+    }
+
+    static void setClockSequence(byte [] uuid, short clockSequence)
     {
       // clockseq_hi
       uuid[8] = (byte)(((clockSequence >> 8) & 0x3F) | 0x80);
@@ -4315,10 +4474,17 @@ public class EcoreUtil
 
       // Since the granularity of time in Java is only milliseconds, 
       // add an adjustment so that the time is represented in 100s of nanoseconds.
+      //
+      setTime(uuid, currentTime * 10000 + timeAdjustment);
+    }
+
+    /**
+     * Sets the time, in 100s of nanoseconds, into the UUID.
+     */
+    static void setTime(byte [] uuid, long currentTime)
+    {
       // The version number (1) is multiplexed into the most significant hex digit.
       //
-      currentTime *= 10000;
-      currentTime += timeAdjustment;
       currentTime |= 0x1000000000000000L;
 
       // Place the time into the byte array in network byte order.
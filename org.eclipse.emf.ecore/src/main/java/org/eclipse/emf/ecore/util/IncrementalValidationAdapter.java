@@ -0,0 +1,533 @@
+/**
+ * Copyright (c) 2026 Eclipse contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.ecore.util;
+
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.BasicDiagnostic;
+import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+
+/**
+ * A cross reference adapter that incrementally validates the objects it adapts.
+ * It can be installed for an {@link EObject}, a {@link Resource}, or a {@link ResourceSet}.
+ * <p>
+ * Each change notification marks as dirty the changed object
+ * and each object that {@link #getInverseReferences(EObject, boolean) refers} to it, including its container.
+ * Objects added to the tree, and the objects that refer to them, are also marked as dirty,
+ * as are the objects that refer to objects removed from the tree.
+ * Each call to {@link #validate()} validates only the dirty objects, one at a time, without validating their contents,
+ * and updates the {@link #getDiagnostics() diagnostics map} accordingly,
+ * so the cost of keeping the diagnostics up to date is proportional to the size of the change rather than to the size of the model.
+ * Initially, all the adapted objects are dirty.
+ * </p>
+ * <p>
+ * The adapter also maintains a map from each ID to the objects with that ID,
+ * so that a change to an ID marks each object that shares the old or the new ID as dirty,
+ * and so that the {@link EObjectValidator#validate_UniqueID(EObject, org.eclipse.emf.common.util.DiagnosticChain, Map) uniqueness of an ID}
+ * is checked without indexing the whole resource.
+ * A constraint that depends on other objects is reevaluated only when its object is marked as dirty,
+ * so {@link #markDirty(EObject)} can be used to mark objects that the adapter can't determine to be affected by a change.
+ * </p>
+ * <p>
+ * Like any adapter, this adapter is not thread-safe.
+ * </p>
+ * @since 2.33
+ */
+public class IncrementalValidationAdapter extends ECrossReferenceAdapter
+{
+  /**
+   * An ID index backed by the {@link #idToEObjectsMap ID map} maintained by this adapter,
+   * so that the uniqueness of an ID is checked without indexing the whole resource.
+   */
+  protected class LiveIDIndex extends EObjectValidator.IDIndex
+  {
+    @Override
+    public EObject getEObject(Resource resource, String id)
+    {
+      EObject result = null;
+      List<EObject> eObjects = idToEObjectsMap.get(id);
+      if (eObjects != null)
+      {
+        for (EObject eObject : eObjects)
+        {
+          if (eObject.eResource() == resource && id.equals(EcoreUtil.getID(eObject)) && (result == null || precedes(eObject, result)))
+          {
+            result = eObject;
+          }
+        }
+      }
+      return result;
+    }
+  }
+
+  protected final Diagnostician diagnostician;
+
+  protected final Set<EObject> dirtyObjects = new LinkedHashSet<EObject>();
+
+  protected final Map<EObject, Diagnostic> diagnostics = new HashMap<EObject, Diagnostic>();
+
+  /**
+   * A map from each ID to the adapted objects with that ID.
+   */
+  protected final Map<String, List<EObject>> idToEObjectsMap = new HashMap<String, List<EObject>>();
+
+  /**
+   * The notifiers on which this adapter was explicitly installed.
+   */
+  protected final List<Notifier> targets = new ArrayList<Notifier>();
+
+  public IncrementalValidationAdapter()
+  {
+    this(Diagnostician.INSTANCE);
+  }
+
+  public IncrementalValidationAdapter(Diagnostician diagnostician)
+  {
+    super();
+    this.diagnostician = diagnostician;
+  }
+
+  /**
+   * Returns an unmodifiable live view of the diagnostics of each object whose most recent validation produced diagnostics.
+   * @return the diagnostics of each object.
+   */
+  public Map<EObject, Diagnostic> getDiagnostics()
+  {
+    return Collections.unmodifiableMap(diagnostics);
+  }
+
+  /**
+   * Returns the diagnostic produced by the most recent validation of the object,
+   * or <code>null</code> if it produced no diagnostics or the object hasn't been validated.
+   */
+  public Diagnostic getDiagnostic(EObject eObject)
+  {
+    return diagnostics.get(eObject);
+  }
+
+  /**
+   * Returns an unmodifiable live view of the objects that will be validated by the next call to {@link #validate()}.
+   */
+  public Set<EObject> getDirtyObjects()
+  {
+    return Collections.unmodifiableSet(dirtyObjects);
+  }
+
+  /**
+   * Marks the object to be validated by the next call to {@link #validate()}.
+   */
+  public void markDirty(EObject eObject)
+  {
+    dirtyObjects.add(eObject);
+  }
+
+  /**
+   * Validates each dirty object that is still {@link #isValidated(EObject) validated} by this adapter,
+   * updating the {@link #getDiagnostics() diagnostics map},
+   * and discards the diagnostics of each dirty object that is no longer validated by this adapter.
+   * The diagnostics of objects removed from the tree, or from which this adapter is removed, are discarded as that happens,
+   * so only the dirty objects are visited.
+   * @return the objects that were validated.
+   */
+  public List<EObject> validate()
+  {
+    if (dirtyObjects.isEmpty())
+    {
+      return Collections.emptyList();
+    }
+
+    // Validation may resolve proxies, so copy the dirty objects before visiting them.
+    //
+    List<EObject> eObjects = new ArrayList<EObject>(dirtyObjects);
+    dirtyObjects.clear();
+
+    List<EObject> result = new ArrayList<EObject>(eObjects.size());
+    Map<Object, Object> context = createContext();
+    for (EObject eObject : eObjects)
+    {
+      if (isValidated(eObject))
+      {
+        validate(eObject, context);
+        result.add(eObject);
+      }
+      else
+      {
+        diagnostics.remove(eObject);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Validates just the object itself, not its contents, and records the resulting diagnostic, if any.
+   */
+  protected void validate(EObject eObject, Map<Object, Object> context)
+  {
+    BasicDiagnostic chain = new BasicDiagnostic();
+    diagnostician.validate(eObject.eClass(), eObject, chain, context);
+    if (chain.getChildren().isEmpty())
+    {
+      diagnostics.remove(eObject);
+    }
+    else
+    {
+      BasicDiagnostic diagnostic = diagnostician.createDefaultDiagnostic(eObject);
+      diagnostic.addAll(chain);
+      diagnostics.put(eObject, diagnostic);
+    }
+  }
+
+  /**
+   * Creates the context for one call to {@link #validate()}.
+   */
+  protected Map<Object, Object> createContext()
+  {
+    Map<Object, Object> context = diagnostician.createDefaultContext();
+    context.put(Diagnostician.VALIDATE_RECURSIVELY, Boolean.FALSE);
+    context.put(EObjectValidator.IDIndex.class, new LiveIDIndex());
+    return context;
+  }
+
+  /**
+   * Returns whether the object is contained by one of the notifiers on which this adapter was explicitly installed.
+   * This adapter, like any cross reference adapter, remains attached to objects removed from the tree,
+   * so this determines whether a dirty object is still of interest.
+   */
+  protected boolean isValidated(EObject eObject)
+  {
+    for (InternalEObject internalEObject = (InternalEObject)eObject; internalEObject != null; internalEObject = internalEObject.eInternalContainer())
+    {
+      if (targets.contains(internalEObject))
+      {
+        return true;
+      }
+      Resource resource = internalEObject.eDirectResource();
+      if (resource != null && (targets.contains(resource) || targets.contains(resource.getResourceSet())))
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Marks the objects affected by the change as dirty, after updating the cross references.
+   */
+  @Override
+  public void notifyChanged(Notification notification)
+  {
+    super.notifyChanged(notification);
+
+    if (!notification.isTouch())
+    {
+      Object notifier = notification.getNotifier();
+      if (notifier instanceof EObject)
+      {
+        EObject eObject = (EObject)notifier;
+        markDirty(eObject);
+        markReferrersDirty(eObject);
+
+        Object feature = notification.getFeature();
+        if (feature instanceof EReference)
+        {
+          if (((EReference)feature).isContainment())
+          {
+            handleContainmentChange(notification);
+          }
+        }
+        else if (feature instanceof EAttribute && ((EAttribute)feature).isID() && notification.getEventType() != Notification.MOVE)
+        {
+          EDataType eDataType = ((EAttribute)feature).getEAttributeType();
+          Object oldValue = notification.getOldValue();
+          if (oldValue != null)
+          {
+            String oldID = EcoreUtil.convertToString(eDataType, oldValue);
+            unindex(oldID, eObject);
+            markIDDirty(oldID);
+          }
+          String newID = EcoreUtil.getID(eObject);
+          if (newID != null)
+          {
+            markIDDirty(newID);
+            index(newID, eObject);
+          }
+        }
+      }
+      else if (notifier instanceof Resource)
+      {
+        if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS)
+        {
+          handleContainmentChange(notification);
+        }
+      }
+      else if (notifier instanceof ResourceSet)
+      {
+        if (notification.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES)
+        {
+          handleContainmentChange(notification);
+        }
+      }
+    }
+  }
+
+  /**
+   * Marks the added objects, their contents, and the objects that refer to them as dirty,
+   * and marks the objects that refer to removed objects or their contents as dirty.
+   */
+  protected void handleContainmentChange(Notification notification)
+  {
+    switch (notification.getEventType())
+    {
+      case Notification.SET:
+      case Notification.UNSET:
+      {
+        Object oldValue = notification.getOldValue();
+        if (oldValue instanceof Notifier)
+        {
+          removed((Notifier)oldValue);
+        }
+        Object newValue = notification.getNewValue();
+        if (newValue instanceof Notifier)
+        {
+          added((Notifier)newValue);
+        }
+        break;
+      }
+      case Notification.ADD:
+      {
+        added((Notifier)notification.getNewValue());
+        break;
+      }
+      case Notification.ADD_MANY:
+      {
+        for (Object newValue : (Collection<?>)notification.getNewValue())
+        {
+          added((Notifier)newValue);
+        }
+        break;
+      }
+      case Notification.REMOVE:
+      {
+        removed((Notifier)notification.getOldValue());
+        break;
+      }
+      case Notification.REMOVE_MANY:
+      {
+        for (Object oldValue : (Collection<?>)notification.getOldValue())
+        {
+          removed((Notifier)oldValue);
+        }
+        break;
+      }
+    }
+  }
+
+  private void added(Notifier notifier)
+  {
+    for (Iterator<EObject> i = getAllContents(notifier); i.hasNext(); )
+    {
+      EObject eObject = i.next();
+      markDirty(eObject);
+      markReferrersDirty(eObject);
+      String id = EcoreUtil.getID(eObject);
+      if (id != null)
+      {
+        markIDDirty(id);
+        index(id, eObject);
+      }
+    }
+  }
+
+  private void removed(Notifier notifier)
+  {
+    for (Iterator<EObject> i = getAllContents(notifier); i.hasNext(); )
+    {
+      EObject eObject = i.next();
+      dirtyObjects.remove(eObject);
+      diagnostics.remove(eObject);
+      markReferrersDirty(eObject);
+      String id = EcoreUtil.getID(eObject);
+      if (id != null)
+      {
+        unindex(id, eObject);
+        markIDDirty(id);
+      }
+    }
+  }
+
+  private Iterator<EObject> getAllContents(Notifier notifier)
+  {
+    if (notifier instanceof EObject)
+    {
+      return EcoreUtil.getAllProperContents(Collections.singleton((EObject)notifier), false);
+    }
+    else if (notifier instanceof Resource)
+    {
+      return EcoreUtil.getAllProperContents((Resource)notifier, false);
+    }
+    else
+    {
+      return Collections.<EObject>emptyList().iterator();
+    }
+  }
+
+  /**
+   * Marks each object that refers to the object, including its container, as dirty.
+   */
+  protected void markReferrersDirty(EObject eObject)
+  {
+    for (EStructuralFeature.Setting setting : getInverseReferences(eObject, false))
+    {
+      markDirty(setting.getEObject());
+    }
+  }
+
+  /**
+   * Marks each object with the given ID as dirty, because the uniqueness of its ID may have changed.
+   */
+  protected void markIDDirty(String id)
+  {
+    List<EObject> eObjects = idToEObjectsMap.get(id);
+    if (eObjects != null)
+    {
+      dirtyObjects.addAll(eObjects);
+    }
+  }
+
+  private void index(String id, EObject eObject)
+  {
+    List<EObject> eObjects = idToEObjectsMap.get(id);
+    if (eObjects == null)
+    {
+      eObjects = new ArrayList<EObject>(1);
+      idToEObjectsMap.put(id, eObjects);
+    }
+    if (!eObjects.contains(eObject))
+    {
+      eObjects.add(eObject);
+    }
+  }
+
+  private void unindex(String id, EObject eObject)
+  {
+    List<EObject> eObjects = idToEObjectsMap.get(id);
+    if (eObjects != null && eObjects.remove(eObject) && eObjects.isEmpty())
+    {
+      idToEObjectsMap.remove(id);
+    }
+  }
+
+  /**
+   * Returns whether the first object precedes the second in the order of the proper contents of their resource.
+   */
+  private static boolean precedes(EObject eObject, EObject otherEObject)
+  {
+    List<EObject> path = getContainmentPath(eObject);
+    List<EObject> otherPath = getContainmentPath(otherEObject);
+    for (int i = 0, size = Math.min(path.size(), otherPath.size()); i < size; ++i)
+    {
+      EObject ancestor = path.get(i);
+      EObject otherAncestor = otherPath.get(i);
+      if (ancestor != otherAncestor)
+      {
+        List<EObject> siblings = i == 0 ? ancestor.eResource().getContents() : path.get(i - 1).eContents();
+        return siblings.indexOf(ancestor) < siblings.indexOf(otherAncestor);
+      }
+    }
+    return path.size() < otherPath.size();
+  }
+
+  /**
+   * Returns the containers of the object, within its resource, and the object itself, outermost first.
+   */
+  private static List<EObject> getContainmentPath(EObject eObject)
+  {
+    List<EObject> result = new ArrayList<EObject>();
+    for (InternalEObject internalEObject = (InternalEObject)eObject; internalEObject != null; internalEObject = internalEObject.eDirectResource() == null ? internalEObject.eInternalContainer() : null)
+    {
+      result.add(internalEObject);
+    }
+    Collections.reverse(result);
+    return result;
+  }
+
+  /**
+   * Records an explicit installation of the adapter before handling it.
+   */
+  @Override
+  public void setTarget(Notifier target)
+  {
+    if (!settingTargets)
+    {
+      targets.add(target);
+    }
+    super.setTarget(target);
+  }
+
+  /**
+   * Marks each newly adapted object as dirty.
+   */
+  @Override
+  protected void setTarget(EObject target)
+  {
+    super.setTarget(target);
+    markDirty(target);
+    String id = EcoreUtil.getID(target);
+    if (id != null)
+    {
+      index(id, target);
+    }
+  }
+
+  /**
+   * Forgets the state of each object from which the adapter is removed.
+   */
+  @Override
+  protected void unsetTarget(EObject target)
+  {
+    super.unsetTarget(target);
+    dirtyObjects.remove(target);
+    diagnostics.remove(target);
+    String id = EcoreUtil.getID(target);
+    if (id != null)
+    {
+      unindex(id, target);
+    }
+  }
+
+  /**
+   * Forgets an explicit installation of the adapter after handling its removal.
+   */
+  @Override
+  public void unsetTarget(Notifier target)
+  {
+    super.unsetTarget(target);
+    targets.remove(target);
+  }
+}